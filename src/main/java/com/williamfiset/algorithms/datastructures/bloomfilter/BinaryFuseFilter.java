@@ -0,0 +1,199 @@
+/**
+ * A binary fuse filter: a static approximate set membership structure, built once from a known set
+ * of keys, which needs about 9 bits per key for a 0.39% false positive rate.
+ *
+ * <p>The filter is an array of 8-bit fingerprints. Every key maps to three positions h0, h1, h2 of
+ * the array, and the array is filled so that for every key in the set
+ *
+ * <pre>
+ *   fingerprint(key) == array[h0] ^ array[h1] ^ array[h2]
+ * </pre>
+ *
+ * <p>A key outside the set satisfies the equation by chance with probability 1 / 256. This is the
+ * idea of the XOR filter, which needs an array 1.23 times the number of keys. A binary fuse filter
+ * improves on it by splitting the array into many small segments and picking the three positions
+ * of a key in three consecutive segments, which lets the construction succeed with an array only
+ * about 1.13 times the number of keys (a little more for small sets), and makes it faster since
+ * the positions of a key are close to each other in memory.
+ *
+ * <p>The array is filled by "peeling": while some position is used by exactly one remaining key,
+ * that key is removed and pushed on a stack, since its fingerprint can be fixed by that position
+ * alone. Once every key is peeled, the keys are popped in reverse order and each one sets its
+ * lone position so that its equation holds. If peeling gets stuck (rarely) the construction is
+ * retried with another hash seed.
+ *
+ * <p>Like the other filters in this package, the filter works on 64-bit hashes of the keys, see
+ * {@link BlockedBloomFilter#hash(long)}. The hashes are mixed with the seed again, so they only
+ * need to be distinct.
+ *
+ * <p>See: Graf and Lemire, "Xor Filters: Faster and Smaller Than Bloom and Cuckoo Filters" (2020)
+ * and "Binary Fuse Filters: Fast and Smaller Than Xor Filters" (2022).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.util.Arrays;
+
+public class BinaryFuseFilter {
+
+  private static final int ARITY = 3;
+  private static final int MAX_SEGMENT_LENGTH = 1 << 18;
+
+  // Construction with a new seed fails with a probability well below 1%, so running out of
+  // attempts is practically impossible.
+  private static final int MAX_ATTEMPTS = 100;
+
+  private final int segmentLength, segmentLengthMask, segmentCount, segmentCountLength;
+  private final byte[] fingerprints;
+  private long seed;
+
+  /**
+   * Builds a filter holding the keys with the given 64-bit hashes. Duplicate hashes are allowed
+   * and are ignored.
+   */
+  public BinaryFuseFilter(long[] hashes) {
+    // Equal hashes can never be peeled and would overflow the counts, so they are removed before
+    // the array is sized.
+    hashes = distinct(hashes);
+    int n = hashes.length;
+    segmentLength = segmentLength(n);
+    segmentLengthMask = segmentLength - 1;
+    long capacity = n <= 1 ? 0 : Math.round(n * sizeFactor(n));
+    int initialSegmentCount = (int) ((capacity + segmentLength - 1) / segmentLength) - (ARITY - 1);
+    int arrayLength = (initialSegmentCount + ARITY - 1) * segmentLength;
+    int segments = (arrayLength + segmentLength - 1) / segmentLength;
+    segmentCount = segments <= ARITY - 1 ? 1 : segments - (ARITY - 1);
+    arrayLength = (segmentCount + ARITY - 1) * segmentLength;
+    segmentCountLength = segmentCount * segmentLength;
+    fingerprints = new byte[arrayLength];
+
+    seed = 0x726B2B9D438B9D4DL;
+    if (!build(hashes)) throw new IllegalStateException("Failed to build binary fuse filter");
+  }
+
+  // The segments get longer as the set grows, which keeps the number of segments (and so the
+  // space overhead at the two ends of the array) small.
+  private static int segmentLength(int n) {
+    if (n <= 1) return 4;
+    int length = 1 << (int) Math.floor(Math.log(n) / Math.log(3.33) + 2.25);
+    return Math.min(length, MAX_SEGMENT_LENGTH);
+  }
+
+  private static double sizeFactor(int n) {
+    return Math.max(1.125, 0.875 + 0.25 * Math.log(1000000) / Math.log(n));
+  }
+
+  // Tries up to MAX_ATTEMPTS seeds, returns false if none of them could be peeled.
+  private boolean build(long[] keys) {
+    int arrayLength = fingerprints.length;
+    long[] stackHashes = new long[keys.length];
+    byte[] stackPositions = new byte[keys.length];
+    // For every array position: (number of keys using it << 2) | xor of the indexes (0, 1 or 2)
+    // of the positions they use it as, and the xor of their hashes. Once a single key is left,
+    // those are exactly its hash and which of its positions this is.
+    byte[] counts = new byte[arrayLength];
+    long[] xorHashes = new long[arrayLength];
+    int[] queue = new int[arrayLength];
+
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      if (attempt > 0) seed = BlockedBloomFilter.hash(seed);
+      Arrays.fill(counts, (byte) 0);
+      Arrays.fill(xorHashes, 0L);
+
+      boolean overflow = false;
+      for (long key : keys) {
+        long hash = mix(key);
+        for (int index = 0; index < ARITY; index++) {
+          int h = position(hash, index);
+          counts[h] += 4;
+          counts[h] ^= index;
+          xorHashes[h] ^= hash;
+          // The count only has 6 bits; more than 63 keys on one position means a bad seed.
+          overflow |= (counts[h] & 0xFF) < 4;
+        }
+      }
+      if (overflow) continue;
+
+      int queued = 0;
+      for (int h = 0; h < arrayLength; h++)
+        if ((counts[h] & 0xFF) >> 2 == 1) queue[queued++] = h;
+
+      int peeled = 0;
+      while (queued > 0) {
+        int h = queue[--queued];
+        if ((counts[h] & 0xFF) >> 2 != 1) continue;
+        long hash = xorHashes[h];
+        int found = counts[h] & 3;
+        stackHashes[peeled] = hash;
+        stackPositions[peeled] = (byte) found;
+        peeled++;
+        for (int index = 0; index < ARITY; index++) {
+          if (index == found) continue;
+          int other = position(hash, index);
+          counts[other] -= 4;
+          counts[other] ^= index;
+          xorHashes[other] ^= hash;
+          if ((counts[other] & 0xFF) >> 2 == 1) queue[queued++] = other;
+        }
+        counts[h] = 0;
+      }
+      if (peeled < keys.length) continue;
+
+      // Assign the fingerprints in the reverse order of peeling: when a key is popped, its other
+      // two positions are final, so its own position can be set to satisfy its equation.
+      Arrays.fill(fingerprints, (byte) 0);
+      for (int i = keys.length - 1; i >= 0; i--) {
+        long hash = stackHashes[i];
+        int found = stackPositions[i];
+        int value = fingerprint(hash);
+        for (int index = 0; index < ARITY; index++)
+          if (index != found) value ^= fingerprints[position(hash, index)];
+        fingerprints[position(hash, found)] = (byte) value;
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static long[] distinct(long[] keys) {
+    long[] sorted = keys.clone();
+    Arrays.sort(sorted);
+    int size = 0;
+    for (int i = 0; i < sorted.length; i++)
+      if (i == 0 || sorted[i] != sorted[i - 1]) sorted[size++] = sorted[i];
+    return Arrays.copyOf(sorted, size);
+  }
+
+  // Returns false if the key with the given hash is definitely not in the set the filter was built
+  // from, true if it probably is.
+  public boolean contains(long hash) {
+    hash = mix(hash);
+    int value = fingerprint(hash);
+    for (int index = 0; index < ARITY; index++) value ^= fingerprints[position(hash, index)];
+    return (value & 0xFF) == 0;
+  }
+
+  // Returns the number of bits used by the fingerprint array.
+  public long getNumBits() {
+    return fingerprints.length * 8L;
+  }
+
+  // The first position is in one of the first segmentCount segments, picked by the high bits of
+  // the hash (multiply high instead of a modulo). The second and third positions are in the next
+  // two segments, at an offset picked by 18 more bits of the hash each.
+  private int position(long hash, int index) {
+    long h = Math.multiplyHigh(hash, segmentCountLength) + (hash >> 63 & segmentCountLength);
+    h += (long) index * segmentLength;
+    long offset = index == 0 ? 0 : (hash & ((1L << 36) - 1)) >>> (36 - 18 * index);
+    return (int) (h ^ (offset & segmentLengthMask));
+  }
+
+  private static int fingerprint(long hash) {
+    return (int) (hash ^ (hash >>> 32)) & 0xFF;
+  }
+
+  private long mix(long key) {
+    return BlockedBloomFilter.hash(key + seed);
+  }
+}
@@ -0,0 +1,332 @@
+/**
+ * A blocked bloom filter: every key sets all of its k bits inside a single 512 bit block.
+ *
+ * <p>{@link BloomFilter} keeps one bitset per hash function, so checking a key reads k unrelated
+ * memory locations, and on a large filter every one of them is a cache miss. Here the bitset is
+ * split into blocks of 512 bits (8 longs, the 64 bytes of a typical cache line). A key's hash first
+ * picks a block, then the k bits are all chosen within that block, so an add() or contains() costs
+ * a single miss no matter how many hash functions are used. The price is a slightly higher false
+ * positive rate than a classic bloom filter of the same size, because some blocks receive more
+ * keys than others. The constructor takes that into account when sizing the filter.
+ *
+ * <p>The filter works on 64-bit hashes of the keys (see {@link #hash(long)} and {@link
+ * #hash(CharSequence)}), and derives the k bit positions from that single hash with the
+ * Kirsch-Mitzenmacher double hashing scheme g_i = h1 + i*h2, which gets the false positive rate of
+ * k independent hash functions out of just two.
+ *
+ * <p>Two filters built with the same parameters can be merged with {@link #union} and {@link
+ * #intersect}, for example to combine the filters of several shards, and a filter can be written to
+ * and read back from a compact byte layout, see {@link #writeTo}.
+ *
+ * <p>NOTE: The JVM does not let us choose the address of an array, so a block is 64 contiguous
+ * bytes but is not guaranteed to start on a cache line boundary. In the worst case a block spans
+ * two (adjacent) lines, which the hardware prefetcher handles well.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+public class BlockedBloomFilter {
+
+  static final int BLOCK_BITS = 512;
+  static final int WORDS_PER_BLOCK = BLOCK_BITS / 64;
+  static final int MAX_HASHES = 32;
+
+  // "BBF1", the first 4 bytes of the serialized form.
+  private static final int MAGIC = 0x42424631;
+  static final int HEADER_BYTES = 16;
+
+  // The batch methods first compute the blocks of this many keys, then touch the memory.
+  private static final int BATCH_SIZE = 32;
+
+  private final int numBlocks, numHashes;
+  private final long[] bits;
+  private long touched;
+
+  /**
+   * Creates a filter which, once it holds expectedInsertions keys, reports a key which was never
+   * added as present with probability (at most) falsePositiveRate.
+   */
+  public BlockedBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0)
+      throw new IllegalArgumentException("Illegal expectedInsertions: " + expectedInsertions);
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+      throw new IllegalArgumentException("Illegal falsePositiveRate: " + falsePositiveRate);
+
+    // Start from the optimal size of a classic bloom filter, m = -n ln(p) / ln(2)^2, and grow it
+    // by 1% at a time until the blocked filter, with its best number of hashes, meets the target.
+    double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    double blocks = Math.ceil(expectedInsertions * bitsPerKey / BLOCK_BITS);
+    int k;
+    while (true) {
+      if (blocks > Integer.MAX_VALUE / WORDS_PER_BLOCK)
+        throw new IllegalArgumentException("Bloom filter too large");
+      k = optimalNumHashes((long) blocks, expectedInsertions);
+      if (falsePositiveRate((long) blocks, k, expectedInsertions) <= falsePositiveRate) break;
+      blocks = Math.ceil(blocks * 1.01);
+    }
+    numBlocks = (int) blocks;
+    numHashes = k;
+    bits = new long[numBlocks * WORDS_PER_BLOCK];
+  }
+
+  private BlockedBloomFilter(int numBlocks, int numHashes) {
+    this.numBlocks = numBlocks;
+    this.numHashes = numHashes;
+    bits = new long[numBlocks * WORDS_PER_BLOCK];
+  }
+
+  public int getNumBits() {
+    return bits.length * 64;
+  }
+
+  public int getNumHashes() {
+    return numHashes;
+  }
+
+  // Returns true if the filter has the same size and number of hashes as this one, in which case
+  // both map every key to the same bits.
+  public boolean isCompatible(BlockedBloomFilter other) {
+    return numBlocks == other.numBlocks && numHashes == other.numHashes;
+  }
+
+  public void clear() {
+    Arrays.fill(bits, 0L);
+  }
+
+  // Adds the key with the given 64-bit hash to the filter.
+  public void add(long hash) {
+    setBits(blockOffset(hash), hash);
+  }
+
+  // Returns false if the key with the given hash was definitely never added, true if it probably
+  // was.
+  public boolean contains(long hash) {
+    return testBits(blockOffset(hash), hash);
+  }
+
+  /**
+   * Adds the keys with the given hashes to the filter.
+   *
+   * <p>The keys are processed in batches: first the blocks of the whole batch are computed, then
+   * the bits are set. The second loop only does memory accesses which don't depend on each other,
+   * so the CPU can have the cache misses of many keys in flight at once instead of waiting for
+   * them one at a time.
+   */
+  public void addAll(long[] hashes) {
+    int[] offsets = new int[BATCH_SIZE];
+    for (int start = 0; start < hashes.length; start += BATCH_SIZE) {
+      int end = Math.min(start + BATCH_SIZE, hashes.length);
+      touch(hashes, start, end, offsets);
+      for (int i = start; i < end; i++) setBits(offsets[i - start], hashes[i]);
+    }
+  }
+
+  /**
+   * Checks many keys at once: results[i] is set to contains(hashes[i]). Returns the number of keys
+   * reported as present. Like addAll(), the keys are processed in batches so that the cache misses
+   * of a batch overlap.
+   */
+  public int containsAll(long[] hashes, boolean[] results) {
+    if (results.length < hashes.length)
+      throw new IllegalArgumentException("results is shorter than hashes");
+    int[] offsets = new int[BATCH_SIZE];
+    int count = 0;
+    for (int start = 0; start < hashes.length; start += BATCH_SIZE) {
+      int end = Math.min(start + BATCH_SIZE, hashes.length);
+      touch(hashes, start, end, offsets);
+      for (int i = start; i < end; i++) {
+        results[i] = testBits(offsets[i - start], hashes[i]);
+        if (results[i]) count++;
+      }
+    }
+    return count;
+  }
+
+  // Returns true if every one of the keys with the given hashes is (probably) in the filter.
+  public boolean containsAll(long[] hashes) {
+    int[] offsets = new int[BATCH_SIZE];
+    for (int start = 0; start < hashes.length; start += BATCH_SIZE) {
+      int end = Math.min(start + BATCH_SIZE, hashes.length);
+      touch(hashes, start, end, offsets);
+      for (int i = start; i < end; i++) if (!testBits(offsets[i - start], hashes[i])) return false;
+    }
+    return true;
+  }
+
+  // Computes the blocks of hashes[start, end) and loads the first word of each one. The loads are
+  // independent of each other, so their cache misses are all in flight at the same time, which is
+  // the closest thing to a prefetch instruction Java offers.
+  private void touch(long[] hashes, int start, int end, int[] offsets) {
+    long sum = 0;
+    for (int i = start; i < end; i++) sum += bits[offsets[i - start] = blockOffset(hashes[i])];
+    // Keeps the JIT from dropping the loads as dead code.
+    touched = sum;
+  }
+
+  /**
+   * Adds every key of the other filter to this one. Afterwards this filter is exactly the filter
+   * that would have been built by adding the keys of both filters, so merging the filters of
+   * several shards loses nothing.
+   */
+  public void union(BlockedBloomFilter other) {
+    checkCompatible(other);
+    for (int i = 0; i < bits.length; i++) bits[i] |= other.bits[i];
+  }
+
+  /**
+   * Keeps in this filter only the bits which are also set in the other one. Every key added to
+   * both filters is still reported as present, but the result has (at most) the false positive
+   * rate of the union, which can be higher than that of a filter built from the common keys only.
+   */
+  public void intersect(BlockedBloomFilter other) {
+    checkCompatible(other);
+    for (int i = 0; i < bits.length; i++) bits[i] &= other.bits[i];
+  }
+
+  private void checkCompatible(BlockedBloomFilter other) {
+    if (!isCompatible(other))
+      throw new IllegalArgumentException("Bloom filters have different sizes or hash counts");
+  }
+
+  // Returns the number of bytes writeTo() needs.
+  public long serializedSize() {
+    return HEADER_BYTES + bits.length * 8L;
+  }
+
+  /**
+   * Writes the filter at the position of the buffer, and advances the position past it.
+   *
+   * <p>The layout is a 16 byte header (magic, number of blocks, number of hashes, padding) followed
+   * by the bit array as little endian longs. The array starts 8 byte aligned, so a file holding the
+   * filter can be memory-mapped and {@link #readFrom} loads it with a single bulk copy.
+   */
+  public void writeTo(ByteBuffer out) {
+    ByteBuffer buffer = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(numBlocks).putInt(numHashes).putInt(0);
+    buffer.asLongBuffer().put(bits);
+    out.position(out.position() + (int) serializedSize());
+  }
+
+  /** Reads a filter written by {@link #writeTo} and advances the position of the buffer past it. */
+  public static BlockedBloomFilter readFrom(ByteBuffer in) {
+    ByteBuffer buffer = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC)
+      throw new IllegalArgumentException("Not a serialized blocked bloom filter");
+    int numBlocks = buffer.getInt(), numHashes = buffer.getInt();
+    buffer.getInt();
+    if (numBlocks <= 0
+        || numBlocks > Integer.MAX_VALUE / WORDS_PER_BLOCK
+        || numHashes <= 0
+        || numHashes > MAX_HASHES)
+      throw new IllegalArgumentException("Corrupt blocked bloom filter header");
+
+    BlockedBloomFilter filter = new BlockedBloomFilter(numBlocks, numHashes);
+    if (buffer.remaining() / 8 < filter.bits.length)
+      throw new IllegalArgumentException("Truncated blocked bloom filter");
+    buffer.asLongBuffer().get(filter.bits);
+    in.position(in.position() + (int) filter.serializedSize());
+    return filter;
+  }
+
+  public byte[] toByteArray() {
+    if (serializedSize() > Integer.MAX_VALUE)
+      throw new IllegalStateException("Bloom filter too large for a byte array");
+    byte[] bytes = new byte[(int) serializedSize()];
+    writeTo(ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  public static BlockedBloomFilter fromByteArray(byte[] bytes) {
+    return readFrom(ByteBuffer.wrap(bytes));
+  }
+
+  /** Returns the expected false positive rate of this filter once it holds n keys. */
+  public double expectedFalsePositiveRate(long n) {
+    return falsePositiveRate(numBlocks, numHashes, n);
+  }
+
+  // Returns the index in 'bits' of the first word of the block of the given hash. Since h1 and h2
+  // (see below) use the hash as is, the block is picked from a scrambled copy of it, mapped to
+  // [0, numBlocks) with a multiplication instead of a (slow) modulo.
+  private int blockOffset(long hash) {
+    long h = (hash * 0xC2B2AE3D27D4EB4FL) >>> 32;
+    return (int) ((h * numBlocks) >>> 32) * WORDS_PER_BLOCK;
+  }
+
+  // The bits of a key are derived from the Kirsch-Mitzenmacher sequence g_i = h1 + i*h2, where h1
+  // is its hash and h2 the hash with its halves swapped. Within a block there are only 512 bits to
+  // choose from though, so keeping just 9 bits of g_i would map every key to an arithmetic
+  // progression mod 512, and keys with similar (h1, h2) would share most of their bits (measured:
+  // 2-9x the expected false positive rate at 0.1% and below). Instead each g_i goes through a
+  // cheap non-linear mix (xor-shift, multiply) before 9 bits are taken.
+  private static int bitIndex(long g) {
+    g ^= g >>> 31;
+    return (int) ((g * 0x9E3779B97F4A7C15L) >>> 55);
+  }
+
+  private void setBits(int offset, long hash) {
+    long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+    for (long i = 0, g = h1; i < numHashes; i++, g += h2) {
+      int bit = bitIndex(g);
+      bits[offset + (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  private boolean testBits(int offset, long hash) {
+    long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+    for (long i = 0, g = h1; i < numHashes; i++, g += h2) {
+      int bit = bitIndex(g);
+      if ((bits[offset + (bit >>> 6)] & (1L << bit)) == 0) return false;
+    }
+    return true;
+  }
+
+  // Returns the number of hashes (at most MAX_HASHES) minimizing the false positive rate.
+  static int optimalNumHashes(long numBlocks, long n) {
+    int best = 1;
+    for (int k = 2; k <= MAX_HASHES; k++)
+      if (falsePositiveRate(numBlocks, k, n) < falsePositiveRate(numBlocks, best, n)) best = k;
+    return best;
+  }
+
+  /**
+   * Returns the expected false positive rate of a blocked filter with the given number of blocks
+   * and hashes holding n keys.
+   *
+   * <p>The number of keys which land in a given block follows a Poisson distribution with mean
+   * lambda = n / numBlocks. A block holding j keys behaves like a small classic bloom filter of 512
+   * bits, with false positive rate (1 - (1 - 1/512)^(jk))^k, so we average that over j.
+   */
+  static double falsePositiveRate(long numBlocks, int k, long n) {
+    double lambda = (double) n / numBlocks;
+    double logLambda = Math.log(lambda), logEmpty = Math.log1p(-1.0 / BLOCK_BITS);
+    int last = (int) (lambda + 10 * Math.sqrt(lambda) + 20);
+
+    double rate = 0, logFactorial = 0;
+    for (int j = 0; j <= last; j++) {
+      if (j > 0) logFactorial += Math.log(j);
+      double p = Math.exp(j * logLambda - lambda - logFactorial);
+      rate += p * Math.pow(-Math.expm1(j * k * logEmpty), k);
+    }
+    return Math.min(rate, 1);
+  }
+
+  // Returns a well mixed 64-bit hash of a long key (the SplitMix64 finalizer).
+  public static long hash(long key) {
+    key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+    return key ^ (key >>> 31);
+  }
+
+  // Returns a 64-bit hash of a string (FNV-1a, followed by a final mix of its bits).
+  public static long hash(CharSequence key) {
+    long h = 0xCBF29CE484222325L;
+    for (int i = 0; i < key.length(); i++) h = (h ^ key.charAt(i)) * 0x100000001B3L;
+    return hash(h);
+  }
+}
@@ -17,22 +17,29 @@ public class BloomFilter {
   // Tracks the size of the bitsets in this bloom filter
   private final int[] SET_SIZES;
 
-  // Doing 'n & 0x7F' is the same as modding by 64, but faster
-  private static final long MOD64_MASK = 0x7F;
+  // Doing 'n & 0x3F' is the same as modding by 64, but faster
+  private static final long MOD64_MASK = 0x3F;
 
   // Doing 'n >> 6' is the same as dividing by 64, but faster
   private static final long DIV64_SHIFT = 6;
 
-  // Create a bloom filter with a various bitsets of different sizes
+  // Create a bloom filter with a various bitsets of different sizes (in bits)
   public BloomFilter(int[] bitSetSizes) {
     N_SETS = bitSetSizes.length;
     SET_SIZES = bitSetSizes.clone();
     bitsets = new long[N_SETS][];
     for (int i = 0; i < N_SETS; i++) {
-      bitsets[i] = new long[SET_SIZES[i]];
+      bitsets[i] = new long[(SET_SIZES[i] + 63) >> DIV64_SHIFT];
     }
   }
 
+  // Returns the total number of bits allocated for the bitsets
+  public long getNumBits() {
+    long bits = 0;
+    for (long[] bitset : bitsets) bits += 64L * bitset.length;
+    return bits;
+  }
+
   // Add a hash value to one of the bitsets in the bloom filter
   public void add(int setIndex, long hash) {
     hash = hash % SET_SIZES[setIndex];
@@ -52,8 +59,9 @@ public class BloomFilter {
   // Checks if a particular key is found within the bloom filter
   public boolean contains(long[] hashes) {
     for (int i = 0; i < hashes.length; i++) {
-      int block = (int) (hashes[i] >> DIV64_SHIFT);
-      long MASK = 1L << (hashes[i] & MOD64_MASK);
+      long hash = hashes[i] % SET_SIZES[i];
+      int block = (int) (hash >> DIV64_SHIFT);
+      long MASK = 1L << (hash & MOD64_MASK);
       if ((bitsets[i][block] & MASK) != MASK) return false;
     }
     return true;
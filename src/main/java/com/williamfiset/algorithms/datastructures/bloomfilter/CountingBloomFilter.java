@@ -0,0 +1,217 @@
+/**
+ * A counting bloom filter: a bloom filter which also supports deleting keys.
+ *
+ * <p>Instead of a bit, every position holds a small counter which add() increments and remove()
+ * decrements, and a key is present if all of its counters are non zero. The counters are 4 bits
+ * wide and packed 16 to a long, so the filter is only 4 times larger than the equivalent bloom
+ * filter. With the optimal number of hashes a counter overflows with probability around 1.37e-15
+ * times the number of counters, and when it does happen the counter sticks at 15 and is never
+ * decremented again, so that the filter can report a false positive but never a false negative.
+ *
+ * <p>NOTE: Only remove keys which were added. Removing a key which is merely a false positive
+ * decrements counters which belong to other keys, and those keys can then disappear from the
+ * filter.
+ *
+ * <p>Filters built with the same parameters can be merged with {@link #union} and {@link
+ * #intersect}, and serialized with {@link #writeTo}.
+ *
+ * <p>Like {@link BlockedBloomFilter}, the filter works on 64-bit hashes of the keys, see {@link
+ * BlockedBloomFilter#hash(long)} and {@link BlockedBloomFilter#hash(CharSequence)}.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+public class CountingBloomFilter {
+
+  static final int COUNTER_BITS = 4, COUNTERS_PER_WORD = 64 / COUNTER_BITS;
+  static final int MAX_COUNT = (1 << COUNTER_BITS) - 1;
+  static final int MAX_HASHES = 32;
+
+  // "CBF1", the first 4 bytes of the serialized form.
+  private static final int MAGIC = 0x43424631;
+  static final int HEADER_BYTES = 16;
+
+  private final int numCounters, numHashes;
+  private final long[] counters;
+
+  /**
+   * Creates a filter which, once it holds expectedInsertions keys, reports a key which is not in
+   * the filter as present with probability (about) falsePositiveRate.
+   */
+  public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0)
+      throw new IllegalArgumentException("Illegal expectedInsertions: " + expectedInsertions);
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+      throw new IllegalArgumentException("Illegal falsePositiveRate: " + falsePositiveRate);
+
+    // The classic bloom filter sizing: m = -n ln(p) / ln(2)^2 counters and k = (m / n) ln(2).
+    double m = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    m = Math.ceil(m / COUNTERS_PER_WORD) * COUNTERS_PER_WORD;
+    if (m > Integer.MAX_VALUE - COUNTERS_PER_WORD)
+      throw new IllegalArgumentException("Bloom filter too large");
+    numCounters = (int) m;
+    long k = Math.round(m / expectedInsertions * Math.log(2));
+    numHashes = (int) Math.max(1, Math.min(MAX_HASHES, k));
+    counters = new long[numCounters / COUNTERS_PER_WORD];
+  }
+
+  private CountingBloomFilter(int numCounters, int numHashes) {
+    this.numCounters = numCounters;
+    this.numHashes = numHashes;
+    counters = new long[numCounters / COUNTERS_PER_WORD];
+  }
+
+  public int getNumCounters() {
+    return numCounters;
+  }
+
+  public int getNumHashes() {
+    return numHashes;
+  }
+
+  public void clear() {
+    Arrays.fill(counters, 0L);
+  }
+
+  // Adds the key with the given 64-bit hash to the filter. A key may be added several times, it
+  // then needs as many remove() calls to go away.
+  public void add(long hash) {
+    long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+    for (long i = 0, g = h1; i < numHashes; i++, g += h2) {
+      int index = index(g);
+      if (get(index) < MAX_COUNT) counters[index >>> 4] += 1L << shift(index);
+    }
+  }
+
+  /**
+   * Removes one copy of the key with the given hash. Returns false, and leaves the filter
+   * unchanged, if the key is definitely not in the filter.
+   */
+  public boolean remove(long hash) {
+    if (!contains(hash)) return false;
+    long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+    for (long i = 0, g = h1; i < numHashes; i++, g += h2) {
+      int index = index(g), count = get(index);
+      // An overflowed counter no longer knows how many keys it counts, so it is left alone. A
+      // counter can also already be 0 when a false positive hits it twice.
+      if (count > 0 && count < MAX_COUNT) counters[index >>> 4] -= 1L << shift(index);
+    }
+    return true;
+  }
+
+  // Returns false if the key with the given hash is definitely not in the filter, true if it
+  // probably is.
+  public boolean contains(long hash) {
+    return count(hash) > 0;
+  }
+
+  // Returns an upper bound on the number of times the key with the given hash was added (minus the
+  // number of times it was removed): the smallest of its counters.
+  public int count(long hash) {
+    int min = MAX_COUNT;
+    long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+    for (long i = 0, g = h1; i < numHashes && min > 0; i++, g += h2)
+      min = Math.min(min, get(index(g)));
+    return min;
+  }
+
+  // Returns true if the filter has the same size and number of hashes as this one, in which case
+  // both map every key to the same counters.
+  public boolean isCompatible(CountingBloomFilter other) {
+    return numCounters == other.numCounters && numHashes == other.numHashes;
+  }
+
+  // Adds the keys of the other filter to this one: every counter becomes the (saturated) sum of
+  // the two counters.
+  public void union(CountingBloomFilter other) {
+    checkCompatible(other);
+    for (int i = 0; i < numCounters; i++) set(i, Math.min(MAX_COUNT, get(i) + other.get(i)));
+  }
+
+  // Keeps, for every counter, the smaller of the two counts, so a key added to both filters is
+  // still present afterwards.
+  public void intersect(CountingBloomFilter other) {
+    checkCompatible(other);
+    for (int i = 0; i < numCounters; i++) set(i, Math.min(get(i), other.get(i)));
+  }
+
+  private void checkCompatible(CountingBloomFilter other) {
+    if (!isCompatible(other))
+      throw new IllegalArgumentException("Bloom filters have different sizes or hash counts");
+  }
+
+  // Maps g, one of the values of the Kirsch-Mitzenmacher sequence g_i = h1 + i*h2, to a counter
+  // using its top 32 bits (multiply and shift instead of a modulo).
+  private int index(long g) {
+    return (int) (((g >>> 32) * numCounters) >>> 32);
+  }
+
+  private static int shift(int index) {
+    return (index & (COUNTERS_PER_WORD - 1)) * COUNTER_BITS;
+  }
+
+  private int get(int index) {
+    return (int) (counters[index >>> 4] >>> shift(index)) & MAX_COUNT;
+  }
+
+  private void set(int index, int count) {
+    int shift = shift(index);
+    long cleared = counters[index >>> 4] & ~((long) MAX_COUNT << shift);
+    counters[index >>> 4] = cleared | (long) count << shift;
+  }
+
+  // Returns the number of bytes writeTo() needs.
+  public long serializedSize() {
+    return HEADER_BYTES + counters.length * 8L;
+  }
+
+  /**
+   * Writes the filter at the position of the buffer, and advances the position past it. The
+   * layout is a 16 byte header (magic, number of counters, number of hashes, padding) followed by
+   * the packed counters as little endian longs, the same as {@link BlockedBloomFilter#writeTo}.
+   */
+  public void writeTo(ByteBuffer out) {
+    ByteBuffer buffer = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(numCounters).putInt(numHashes).putInt(0);
+    buffer.asLongBuffer().put(counters);
+    out.position(out.position() + (int) serializedSize());
+  }
+
+  /** Reads a filter written by {@link #writeTo} and advances the position of the buffer past it. */
+  public static CountingBloomFilter readFrom(ByteBuffer in) {
+    ByteBuffer buffer = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC)
+      throw new IllegalArgumentException("Not a serialized counting bloom filter");
+    int numCounters = buffer.getInt(), numHashes = buffer.getInt();
+    buffer.getInt();
+    if (numCounters <= 0
+        || numCounters % COUNTERS_PER_WORD != 0
+        || numHashes <= 0
+        || numHashes > MAX_HASHES)
+      throw new IllegalArgumentException("Corrupt counting bloom filter header");
+
+    CountingBloomFilter filter = new CountingBloomFilter(numCounters, numHashes);
+    if (buffer.remaining() / 8 < filter.counters.length)
+      throw new IllegalArgumentException("Truncated counting bloom filter");
+    buffer.asLongBuffer().get(filter.counters);
+    in.position(in.position() + (int) filter.serializedSize());
+    return filter;
+  }
+
+  public byte[] toByteArray() {
+    if (serializedSize() > Integer.MAX_VALUE)
+      throw new IllegalStateException("Bloom filter too large for a byte array");
+    byte[] bytes = new byte[(int) serializedSize()];
+    writeTo(ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  public static CountingBloomFilter fromByteArray(byte[] bytes) {
+    return readFrom(ByteBuffer.wrap(bytes));
+  }
+}
@@ -0,0 +1,260 @@
+/**
+ * A cuckoo filter: an approximate set membership structure like a bloom filter which supports
+ * deleting keys, and needs fewer bits per key than a bloom filter at low false positive rates.
+ *
+ * <p>The filter is a cuckoo hash table which stores a small f-bit fingerprint of every key instead
+ * of the key itself. The table has buckets of 4 slots, and a key can live in either of two buckets:
+ * i1, derived from its hash, and i2 = alt(i1, fingerprint). Since alt() only needs the fingerprint,
+ * an entry can be moved to its other bucket without knowing its key ("partial-key cuckoo
+ * hashing"), which is what lets a full bucket kick an entry out to make room. alt() is an
+ * involution, alt(alt(i, fp), fp) = i, computed as (hash(fp) - i) mod numBuckets so that the
+ * number of buckets does not have to be a power of two.
+ *
+ * <p>A lookup compares the fingerprint with the 8 slots of its two buckets, so the false positive
+ * rate is about 8 / 2^f. With 4 slots per bucket the table can be filled to about 95% before
+ * inserts start failing, so the filter costs about f / 0.95 bits per key: 10.5 bits at a 1% false
+ * positive rate (a bloom filter needs 9.6) but only 17 bits at 0.01% (a bloom filter needs 19.2).
+ *
+ * <p>The fingerprints are packed f bits apiece into a long array. Like the other filters in this
+ * package, the cuckoo filter works on 64-bit hashes of the keys, see {@link
+ * BlockedBloomFilter#hash(long)}.
+ *
+ * <p>NOTE: A key can only be added 8 times (2 buckets of 4 slots), and only keys which were added
+ * may be removed: removing a false positive deletes the fingerprint of some other key.
+ *
+ * <p>See: Fan, Andersen, Kaminsky and Mitzenmacher, "Cuckoo Filter: Practically Better Than Bloom"
+ * (2014).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.util.Arrays;
+
+public class CuckooFilter {
+
+  static final int SLOTS_PER_BUCKET = 4;
+  static final int MIN_FINGERPRINT_BITS = 4, MAX_FINGERPRINT_BITS = 32;
+
+  // The fraction of slots which can be filled before inserts (very likely) start failing.
+  static final double MAX_LOAD_FACTOR = 0.95;
+
+  // How many entries an insert may kick out before it gives up.
+  private static final int MAX_KICKS = 500;
+
+  private final int numBuckets, fingerprintBits;
+  private final long fingerprintMask;
+  private final long[] table;
+
+  private long size;
+
+  // An entry which was kicked out by the last insert and found no free slot. It is still part of
+  // the set, so lookups check it, but once it is used the filter refuses new keys.
+  private boolean victimUsed;
+  private int victimIndex, victimFingerprint;
+
+  // Picks the slots to kick out.
+  private long random = 0x2545F4914F6CDD1DL;
+
+  /**
+   * Creates a filter which can hold (at least) capacity keys, with a false positive rate of about
+   * falsePositiveRate once it is full.
+   */
+  public CuckooFilter(long capacity, double falsePositiveRate) {
+    this(capacity, fingerprintBits(falsePositiveRate));
+  }
+
+  // Creates a filter which can hold (at least) capacity keys, with fingerprints of the given size.
+  public CuckooFilter(long capacity, int fingerprintBits) {
+    if (capacity <= 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    if (fingerprintBits < MIN_FINGERPRINT_BITS || fingerprintBits > MAX_FINGERPRINT_BITS)
+      throw new IllegalArgumentException("Illegal fingerprintBits: " + fingerprintBits);
+    double buckets = Math.ceil(capacity / (MAX_LOAD_FACTOR * SLOTS_PER_BUCKET));
+    if (buckets * SLOTS_PER_BUCKET * fingerprintBits / 64 >= Integer.MAX_VALUE - 1)
+      throw new IllegalArgumentException("Cuckoo filter too large");
+
+    this.numBuckets = (int) buckets;
+    this.fingerprintBits = fingerprintBits;
+    fingerprintMask = (1L << fingerprintBits) - 1;
+    // One extra word so that reading a fingerprint which ends in the last word never goes out of
+    // bounds.
+    long bits = (long) numBuckets * SLOTS_PER_BUCKET * fingerprintBits;
+    table = new long[(int) (bits / 64) + 2];
+  }
+
+  // Returns the smallest fingerprint size with a false positive rate of 8 / 2^f <= rate.
+  static int fingerprintBits(double falsePositiveRate) {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+      throw new IllegalArgumentException("Illegal falsePositiveRate: " + falsePositiveRate);
+    double bits = Math.ceil(Math.log(2 * SLOTS_PER_BUCKET / falsePositiveRate) / Math.log(2));
+    return (int) Math.max(MIN_FINGERPRINT_BITS, Math.min(MAX_FINGERPRINT_BITS, bits));
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the number of keys the filter is sized for.
+  public long getCapacity() {
+    return (long) ((double) numBuckets * SLOTS_PER_BUCKET * MAX_LOAD_FACTOR);
+  }
+
+  public int getFingerprintBits() {
+    return fingerprintBits;
+  }
+
+  // Returns the number of bits used by the fingerprint table.
+  public long getNumBits() {
+    return (long) numBuckets * SLOTS_PER_BUCKET * fingerprintBits;
+  }
+
+  public double getLoadFactor() {
+    return (double) size / ((long) numBuckets * SLOTS_PER_BUCKET);
+  }
+
+  public void clear() {
+    Arrays.fill(table, 0L);
+    size = 0;
+    victimUsed = false;
+  }
+
+  /**
+   * Adds the key with the given 64-bit hash to the filter. Returns false, and leaves the filter
+   * unchanged, if the filter is full.
+   */
+  public boolean add(long hash) {
+    if (victimUsed) return false;
+    place(index(hash), fingerprint(hash));
+    size++;
+    return true;
+  }
+
+  // Returns false if the key with the given hash is definitely not in the filter, true if it
+  // probably is.
+  public boolean contains(long hash) {
+    int fingerprint = fingerprint(hash);
+    int i1 = index(hash), i2 = alt(i1, fingerprint);
+    if (find(i1, fingerprint) >= 0 || find(i2, fingerprint) >= 0) return true;
+    return victimUsed
+        && victimFingerprint == fingerprint
+        && (victimIndex == i1 || victimIndex == i2);
+  }
+
+  /**
+   * Removes one copy of the key with the given hash. Returns false if the key was not in the
+   * filter.
+   */
+  public boolean remove(long hash) {
+    int fingerprint = fingerprint(hash);
+    int i1 = index(hash), i2 = alt(i1, fingerprint);
+    if (victimUsed
+        && victimFingerprint == fingerprint
+        && (victimIndex == i1 || victimIndex == i2)) {
+      victimUsed = false;
+      size--;
+      return true;
+    }
+
+    int slot = find(i1, fingerprint), bucket = i1;
+    if (slot < 0) {
+      slot = find(i2, fingerprint);
+      bucket = i2;
+    }
+    if (slot < 0) return false;
+    set(bucket, slot, 0);
+    size--;
+
+    // A slot just became free, which may be enough to give the victim a home.
+    if (victimUsed) {
+      victimUsed = false;
+      place(victimIndex, victimFingerprint);
+    }
+    return true;
+  }
+
+  // Stores the fingerprint in bucket i or its alternate bucket, kicking other entries to their
+  // alternate buckets if both are full. If that does not free a slot after MAX_KICKS moves, the
+  // last entry kicked out becomes the victim.
+  private void place(int i, int fingerprint) {
+    if (insertIntoBucket(i, fingerprint)) return;
+    i = alt(i, fingerprint);
+    if (insertIntoBucket(i, fingerprint)) return;
+
+    for (int kick = 0; kick < MAX_KICKS; kick++) {
+      int slot = (int) (nextRandom() >>> 62);
+      int evicted = get(i, slot);
+      set(i, slot, fingerprint);
+      fingerprint = evicted;
+      i = alt(i, fingerprint);
+      if (insertIntoBucket(i, fingerprint)) return;
+    }
+    victimUsed = true;
+    victimIndex = i;
+    victimFingerprint = fingerprint;
+  }
+
+  private boolean insertIntoBucket(int i, int fingerprint) {
+    for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+      if (get(i, slot) == 0) {
+        set(i, slot, fingerprint);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Returns the slot of bucket i holding the fingerprint, or -1.
+  private int find(int i, int fingerprint) {
+    for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++)
+      if (get(i, slot) == fingerprint) return slot;
+    return -1;
+  }
+
+  // The bucket comes from the top 32 bits of the hash, mapped to [0, numBuckets) with a multiply
+  // and shift instead of a modulo.
+  private int index(long hash) {
+    return (int) (((hash >>> 32) * numBuckets) >>> 32);
+  }
+
+  // The fingerprint comes from the low bits of the hash. 0 marks an empty slot, so it is remapped.
+  private int fingerprint(long hash) {
+    int fingerprint = (int) (hash & fingerprintMask);
+    return fingerprint == 0 ? 1 : fingerprint;
+  }
+
+  private int alt(int i, int fingerprint) {
+    long h = ((fingerprint * 0x9E3779B97F4A7C15L) >>> 32) * numBuckets >>> 32;
+    int j = (int) h - i;
+    return j < 0 ? j + numBuckets : j;
+  }
+
+  private int get(int bucket, int slot) {
+    long bit = ((long) bucket * SLOTS_PER_BUCKET + slot) * fingerprintBits;
+    int word = (int) (bit >>> 6), offset = (int) (bit & 63);
+    long value = table[word] >>> offset;
+    if (offset + fingerprintBits > 64) value |= table[word + 1] << (64 - offset);
+    return (int) (value & fingerprintMask);
+  }
+
+  private void set(int bucket, int slot, int fingerprint) {
+    long bit = ((long) bucket * SLOTS_PER_BUCKET + slot) * fingerprintBits;
+    int word = (int) (bit >>> 6), offset = (int) (bit & 63);
+    long value = fingerprint & fingerprintMask;
+    table[word] = table[word] & ~(fingerprintMask << offset) | value << offset;
+    if (offset + fingerprintBits > 64) {
+      int high = 64 - offset;
+      table[word + 1] = table[word + 1] & ~(fingerprintMask >>> high) | value >>> high;
+    }
+  }
+
+  private long nextRandom() {
+    random ^= random << 13;
+    random ^= random >>> 7;
+    random ^= random << 17;
+    return random;
+  }
+}
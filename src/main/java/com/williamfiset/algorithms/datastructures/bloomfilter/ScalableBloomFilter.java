@@ -0,0 +1,205 @@
+/**
+ * A scalable bloom filter: a bloom filter which keeps its false positive rate as it grows past any
+ * planned capacity.
+ *
+ * <p>A regular bloom filter is sized for a fixed number of keys, and its false positive rate climbs
+ * quickly once more keys are added. A scalable bloom filter instead chains sub-filters: once the
+ * current one holds as many keys as it was sized for, a new one, growthFactor times larger, is
+ * appended, and a key is present if any of them contains it. For the rates of the sub-filters to
+ * add up to (at most) the target rate p, sub-filter i gets rate p (1 - r) r^i, where r is the
+ * tightening ratio, since the geometric series sums to p.
+ *
+ * <p>The sub-filters are {@link BlockedBloomFilter}s, and the filter works on the same 64-bit
+ * hashes, see {@link BlockedBloomFilter#hash(long)} and {@link
+ * BlockedBloomFilter#hash(CharSequence)}.
+ *
+ * <p>See: Almeida, Baquero, Preguica and Hutchison, "Scalable Bloom Filters" (2007).
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScalableBloomFilter {
+
+  private static final int DEFAULT_GROWTH_FACTOR = 2;
+  private static final double DEFAULT_TIGHTENING_RATIO = 0.5;
+
+  // "SBF1", the first 4 bytes of the serialized form.
+  private static final int MAGIC = 0x53424631;
+  static final int HEADER_BYTES = 48;
+
+  private final long initialCapacity;
+  private final double falsePositiveRate, tighteningRatio;
+  private final int growthFactor;
+
+  // The sub-filters, oldest first, and the number of keys they are sized for.
+  private final List<BlockedBloomFilter> filters = new ArrayList<>();
+  private final List<Long> capacities = new ArrayList<>();
+
+  // The number of keys added, and the number of those held by the newest sub-filter.
+  private long size, lastSize;
+
+  public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+    this(initialCapacity, falsePositiveRate, DEFAULT_GROWTH_FACTOR, DEFAULT_TIGHTENING_RATIO);
+  }
+
+  /**
+   * Creates a filter whose first sub-filter holds initialCapacity keys, and whose false positive
+   * rate stays below falsePositiveRate however many keys are added. Every new sub-filter is
+   * growthFactor times larger than the previous one, and has tighteningRatio times its rate.
+   */
+  public ScalableBloomFilter(
+      long initialCapacity, double falsePositiveRate, int growthFactor, double tighteningRatio) {
+    if (initialCapacity <= 0)
+      throw new IllegalArgumentException("Illegal initialCapacity: " + initialCapacity);
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+      throw new IllegalArgumentException("Illegal falsePositiveRate: " + falsePositiveRate);
+    if (growthFactor < 1)
+      throw new IllegalArgumentException("Illegal growthFactor: " + growthFactor);
+    if (!(tighteningRatio > 0 && tighteningRatio < 1))
+      throw new IllegalArgumentException("Illegal tighteningRatio: " + tighteningRatio);
+    this.initialCapacity = initialCapacity;
+    this.falsePositiveRate = falsePositiveRate;
+    this.growthFactor = growthFactor;
+    this.tighteningRatio = tighteningRatio;
+  }
+
+  // Returns the number of keys added (not counting the ones which were already present).
+  public long size() {
+    return size;
+  }
+
+  public int getNumFilters() {
+    return filters.size();
+  }
+
+  // Returns the total number of bits of all sub-filters.
+  public long getNumBits() {
+    long bits = 0;
+    for (BlockedBloomFilter filter : filters) bits += filter.getNumBits();
+    return bits;
+  }
+
+  public void clear() {
+    filters.clear();
+    capacities.clear();
+    size = lastSize = 0;
+  }
+
+  /**
+   * Adds the key with the given 64-bit hash to the filter. Returns false if the key was (probably)
+   * already present, in which case nothing changes: adding it again would only fill the filter up
+   * faster.
+   */
+  public boolean add(long hash) {
+    if (contains(hash)) return false;
+    if (filters.isEmpty() || lastSize == capacities.get(capacities.size() - 1)) grow();
+    filters.get(filters.size() - 1).add(hash);
+    lastSize++;
+    size++;
+    return true;
+  }
+
+  // Returns false if the key with the given hash was definitely never added, true if it probably
+  // was.
+  public boolean contains(long hash) {
+    // The newest sub-filter is the largest and holds the most keys, so it is checked first.
+    for (int i = filters.size() - 1; i >= 0; i--) if (filters.get(i).contains(hash)) return true;
+    return false;
+  }
+
+  // Returns an upper bound on the false positive rate of the filter in its current state.
+  public double expectedFalsePositiveRate() {
+    double notFalsePositive = 1;
+    for (int i = 0; i < filters.size(); i++) {
+      long keys = i == filters.size() - 1 ? lastSize : capacities.get(i);
+      notFalsePositive *= 1 - filters.get(i).expectedFalsePositiveRate(Math.max(keys, 1));
+    }
+    return 1 - notFalsePositive;
+  }
+
+  private void grow() {
+    int i = filters.size();
+    long capacity = initialCapacity;
+    for (int j = 0; j < i && capacity <= Long.MAX_VALUE / growthFactor; j++)
+      capacity *= growthFactor;
+    double rate = falsePositiveRate * (1 - tighteningRatio) * Math.pow(tighteningRatio, i);
+    filters.add(new BlockedBloomFilter(capacity, rate));
+    capacities.add(capacity);
+    lastSize = 0;
+  }
+
+  // Returns the number of bytes writeTo() needs.
+  public long serializedSize() {
+    long bytes = HEADER_BYTES + 8L * filters.size();
+    for (BlockedBloomFilter filter : filters) bytes += filter.serializedSize();
+    return bytes;
+  }
+
+  /**
+   * Writes the filter at the position of the buffer, and advances the position past it.
+   *
+   * <p>The layout is a 48 byte header (magic, number of sub-filters, initial capacity, false
+   * positive rate, growth factor, padding, tightening ratio, number of keys) followed by the
+   * capacity of every sub-filter and then the sub-filters themselves, each in the layout of {@link
+   * BlockedBloomFilter#writeTo}. Everything is little endian and every bit array starts 8 byte
+   * aligned, so the filter can be read from a memory-mapped file.
+   */
+  public void writeTo(ByteBuffer out) {
+    ByteBuffer buffer = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(filters.size()).putLong(initialCapacity);
+    buffer.putDouble(falsePositiveRate).putInt(growthFactor).putInt(0);
+    buffer.putDouble(tighteningRatio).putLong(size);
+    for (long capacity : capacities) buffer.putLong(capacity);
+    for (BlockedBloomFilter filter : filters) filter.writeTo(buffer);
+    out.position(out.position() + buffer.position());
+  }
+
+  /** Reads a filter written by {@link #writeTo} and advances the position of the buffer past it. */
+  public static ScalableBloomFilter readFrom(ByteBuffer in) {
+    ByteBuffer buffer = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC)
+      throw new IllegalArgumentException("Not a serialized scalable bloom filter");
+    int numFilters = buffer.getInt();
+    long initialCapacity = buffer.getLong();
+    double falsePositiveRate = buffer.getDouble();
+    int growthFactor = buffer.getInt();
+    buffer.getInt();
+    double tighteningRatio = buffer.getDouble();
+    long size = buffer.getLong();
+    if (numFilters < 0 || size < 0 || buffer.remaining() / 8 < numFilters)
+      throw new IllegalArgumentException("Corrupt scalable bloom filter header");
+
+    ScalableBloomFilter filter =
+        new ScalableBloomFilter(initialCapacity, falsePositiveRate, growthFactor, tighteningRatio);
+    for (int i = 0; i < numFilters; i++) filter.capacities.add(buffer.getLong());
+    for (int i = 0; i < numFilters; i++) filter.filters.add(BlockedBloomFilter.readFrom(buffer));
+
+    // Every sub-filter but the newest is full.
+    filter.size = size;
+    filter.lastSize = size;
+    for (int i = 0; i < numFilters - 1; i++) filter.lastSize -= filter.capacities.get(i);
+    long lastCapacity = numFilters == 0 ? 0 : filter.capacities.get(numFilters - 1);
+    if (filter.lastSize < 0 || filter.lastSize > lastCapacity)
+      throw new IllegalArgumentException("Corrupt scalable bloom filter header");
+    in.position(in.position() + buffer.position());
+    return filter;
+  }
+
+  public byte[] toByteArray() {
+    if (serializedSize() > Integer.MAX_VALUE)
+      throw new IllegalStateException("Bloom filter too large for a byte array");
+    byte[] bytes = new byte[(int) serializedSize()];
+    writeTo(ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  public static ScalableBloomFilter fromByteArray(byte[] bytes) {
+    return readFrom(ByteBuffer.wrap(bytes));
+  }
+}
@@ -0,0 +1,209 @@
+/**
+ * JMH benchmark comparing the approximate set membership filters of the bloomfilter package, all
+ * sized for the same target false positive rate (1% by default).
+ *
+ * <p>Two operations are measured:
+ *
+ * <ul>
+ *   <li>build: creates a filter for n keys and inserts all of them (the binary fuse filter is built
+ *       from the whole key set at once).
+ *   <li>contains: looks up n keys in a filter holding n keys, half of the lookups are misses.
+ * </ul>
+ *
+ * <p>Before the benchmarks run, main() prints the space each filter uses in bits per key, along
+ * with its measured false positive rate, since the filters don't all reach the target rate with
+ * the same precision: the binary fuse filter for example always has 8-bit fingerprints, and so a
+ * rate of 1/256 whatever the target.
+ *
+ * <p>The keys are random 64-bit hashes, so no time is spent hashing.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.bloomfilter.benchmark;
+
+import com.williamfiset.algorithms.datastructures.bloomfilter.*;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FilterBenchmark {
+
+  // The operations the benchmark needs from a filter which has been built.
+  public interface Filter {
+    boolean contains(long hash);
+
+    long getNumBits();
+  }
+
+  public enum Implementation {
+    // The original BloomFilter, with one bitset per hash function. The k bit positions of a key
+    // come from g_i = h1 + i*h2 like in the other filters.
+    BLOOM_FILTER {
+      @Override
+      Filter build(long[] hashes, double falsePositiveRate) {
+        int k = (int) Math.max(1, Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        double bits = -hashes.length * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int[] setSizes = new int[k];
+        Arrays.fill(setSizes, (int) Math.ceil(bits / k));
+        BloomFilter filter = new BloomFilter(setSizes);
+        long[] positions = new long[k];
+        for (long hash : hashes) filter.add(positions(hash, setSizes[0], positions));
+        return new Filter() {
+          @Override
+          public boolean contains(long hash) {
+            return filter.contains(positions(hash, setSizes[0], positions));
+          }
+
+          @Override
+          public long getNumBits() {
+            return filter.getNumBits();
+          }
+        };
+      }
+    },
+    BLOCKED_BLOOM_FILTER {
+      @Override
+      Filter build(long[] hashes, double falsePositiveRate) {
+        BlockedBloomFilter filter = new BlockedBloomFilter(hashes.length, falsePositiveRate);
+        for (long hash : hashes) filter.add(hash);
+        return new Filter() {
+          @Override
+          public boolean contains(long hash) {
+            return filter.contains(hash);
+          }
+
+          @Override
+          public long getNumBits() {
+            return filter.getNumBits();
+          }
+        };
+      }
+    },
+    CUCKOO_FILTER {
+      @Override
+      Filter build(long[] hashes, double falsePositiveRate) {
+        CuckooFilter filter = new CuckooFilter(hashes.length, falsePositiveRate);
+        for (long hash : hashes)
+          if (!filter.add(hash)) throw new IllegalStateException("Cuckoo filter is full");
+        return new Filter() {
+          @Override
+          public boolean contains(long hash) {
+            return filter.contains(hash);
+          }
+
+          @Override
+          public long getNumBits() {
+            return filter.getNumBits();
+          }
+        };
+      }
+    },
+    BINARY_FUSE_FILTER {
+      @Override
+      Filter build(long[] hashes, double falsePositiveRate) {
+        BinaryFuseFilter filter = new BinaryFuseFilter(hashes);
+        return new Filter() {
+          @Override
+          public boolean contains(long hash) {
+            return filter.contains(hash);
+          }
+
+          @Override
+          public long getNumBits() {
+            return filter.getNumBits();
+          }
+        };
+      }
+    };
+
+    abstract Filter build(long[] hashes, double falsePositiveRate);
+
+    // Fills 'positions' with the bit of each of the k bitsets for the given hash.
+    static long[] positions(long hash, int setSize, long[] positions) {
+      long h2 = Long.rotateLeft(hash, 32) | 1;
+      for (int i = 0; i < positions.length; i++, hash += h2)
+        positions[i] = (hash >>> 1) % setSize;
+      return positions;
+    }
+  }
+
+  @Param public Implementation implementation;
+
+  @Param({"1000000"})
+  public int n;
+
+  @Param({"0.01"})
+  public double falsePositiveRate;
+
+  private long[] keys, queries;
+  private Filter filter;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5EED);
+    keys = new long[n];
+    queries = new long[n];
+    for (int i = 0; i < n; i++) keys[i] = random.nextLong();
+    for (int i = 0; i < n; i++) queries[i] = i % 2 == 0 ? keys[i] : random.nextLong();
+    filter = implementation.build(keys, falsePositiveRate);
+  }
+
+  @Benchmark
+  public Filter build() {
+    return implementation.build(keys, falsePositiveRate);
+  }
+
+  @Benchmark
+  public int contains() {
+    int found = 0;
+    for (long query : queries) if (filter.contains(query)) found++;
+    return found;
+  }
+
+  // Prints the bits per key and the measured false positive rate of every filter.
+  static void printSpaceReport(int n, double falsePositiveRate) {
+    Random random = new Random(0x5EED);
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) keys[i] = random.nextLong();
+
+    System.out.printf(
+        "%d keys, target false positive rate %g%n%n%-20s %12s %20s%n",
+        n, falsePositiveRate, "filter", "bits/key", "false positive rate");
+    for (Implementation implementation : Implementation.values()) {
+      Filter filter = implementation.build(keys, falsePositiveRate);
+      int trials = 1000000, falsePositives = 0;
+      // Random longs are distinct from the keys with overwhelming probability.
+      for (int i = 0; i < trials; i++) if (filter.contains(random.nextLong())) falsePositives++;
+      System.out.printf(
+          "%-20s %12.2f %20.5f%n",
+          implementation,
+          (double) filter.getNumBits() / n,
+          (double) falsePositives / trials);
+    }
+    System.out.println();
+  }
+
+  public static void main(String[] args) throws Exception {
+    printSpaceReport(1000000, 0.01);
+    BenchmarkRunner.run(FilterBenchmark.class, args);
+  }
+}
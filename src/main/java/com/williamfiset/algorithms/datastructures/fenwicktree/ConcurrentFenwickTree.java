@@ -0,0 +1,110 @@
+/**
+ * A thread-safe Fenwick tree which supports point updates and sum range queries, without locks.
+ *
+ * <p>The tree is an AtomicLongArray, and add() updates each node on its path with an atomic
+ * fetch-and-add, so any number of threads can add and query at the same time.
+ *
+ * <p>Consistency of the queries while adds are in flight:
+ *
+ * <ul>
+ *   <li>An add to index i changes exactly one of the nodes summed by a prefix sum [1, r] with
+ *       i <= r, so every prefix sum counts every add either in full or not at all. It counts all
+ *       the adds which completed before it started, and none of those which started after it
+ *       returned. A thread reading the same prefix sum twice never sees an add it counted
+ *       disappear.
+ *   <li>The nodes are read one at a time, so a prefix sum isn't a snapshot. It may count an add
+ *       and miss one which completed before it, on another index.
+ *   <li>sum(l, r) is the difference of the prefix sums [1, r] and [1, l - 1], read one after the
+ *       other. An add to an index in [l, r] is counted in full or not at all. An add to an index
+ *       below l which runs at the same time may be counted by one prefix sum and not by the
+ *       other, which skews the result by its delta. Once the adds stop, every query is exact.
+ * </ul>
+ *
+ * <p>Every add to the same tree contends on its root nodes. {@link StripedFenwickTree} spreads
+ * the adds of different threads over separate trees instead.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.fenwicktree;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConcurrentFenwickTree {
+
+  // The size of the array holding the Fenwick tree values
+  private final int N;
+
+  // This array contains the Fenwick tree ranges
+  private final AtomicLongArray tree;
+
+  // Create an empty Fenwick Tree with 'sz' elements (one-based internally).
+  public ConcurrentFenwickTree(int sz) {
+    if (sz < 0) throw new IllegalArgumentException("Size cannot be negative!");
+    tree = new AtomicLongArray(N = sz + 1);
+  }
+
+  // Construct a Fenwick tree with an initial set of values.
+  // The 'values' array MUST BE ONE BASED meaning values[0]
+  // does not get used, O(n) construction.
+  public ConcurrentFenwickTree(long[] values) {
+    if (values == null) throw new IllegalArgumentException("Values array cannot be null!");
+
+    N = values.length;
+    long[] ranges = values.clone();
+    ranges[0] = 0L;
+    for (int i = 1; i < N; i++) {
+      int parent = i + lsb(i);
+      if (parent < N) ranges[parent] += ranges[i];
+    }
+    tree = new AtomicLongArray(ranges);
+  }
+
+  // Isolates the lowest one bit value
+  private static int lsb(int i) {
+    return i & -i;
+  }
+
+  // Computes the prefix sum from [1, i], O(log(n))
+  private long prefixSum(int i) {
+    long sum = 0L;
+    while (i != 0) {
+      sum += tree.get(i);
+      i &= ~lsb(i);
+    }
+    return sum;
+  }
+
+  // Returns the sum of the interval [left, right], O(log(n)). See the class documentation for
+  // what it includes while other threads are adding.
+  public long sum(int left, int right) {
+    if (right < left) throw new IllegalArgumentException("Make sure right >= left");
+    if (left < 1 || right >= N)
+      throw new IndexOutOfBoundsException("Index out of range [1, " + (N - 1) + "]");
+    return prefixSum(right) - prefixSum(left - 1);
+  }
+
+  // Get the value at index i
+  public long get(int i) {
+    return sum(i, i);
+  }
+
+  // Atomically add 'v' to index 'i', O(log(n))
+  public void add(int i, long v) {
+    if (i < 1 || i >= N)
+      throw new IndexOutOfBoundsException("Index out of range [1, " + (N - 1) + "]");
+    while (i < N) {
+      tree.getAndAdd(i, v);
+      i += lsb(i);
+    }
+  }
+
+  // Returns the number of elements in the Fenwick tree.
+  public int size() {
+    return N - 1;
+  }
+
+  @Override
+  public String toString() {
+    return tree.toString();
+  }
+}
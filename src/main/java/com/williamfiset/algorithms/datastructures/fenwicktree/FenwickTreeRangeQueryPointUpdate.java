@@ -6,9 +6,14 @@
 package com.williamfiset.algorithms.datastructures.fenwicktree;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class FenwickTreeRangeQueryPointUpdate {
 
+  // Batches of at most this many queries are answered by a single thread.
+  private static final int QUERY_CUTOFF = 1 << 11;
+
   // The size of the array holding the Fenwick tree values
   private final int N;
 
@@ -87,6 +92,117 @@ public class FenwickTreeRangeQueryPointUpdate {
     }
   }
 
+  // Sets out[j] to sum(lefts[j], rights[j]) for every j, splitting the queries between the
+  // threads of the common fork/join pool. The tree must not be modified in the meantime. Throws
+  // IndexOutOfBoundsException if any range is invalid, before any query is answered.
+  public void queryAll(int[] lefts, int[] rights, long[] out) {
+    queryAll(lefts, rights, out, ForkJoinPool.commonPool());
+  }
+
+  // Same as above on the given fork/join pool.
+  public void queryAll(int[] lefts, int[] rights, long[] out, ForkJoinPool pool) {
+    if (lefts == null || rights == null || out == null || pool == null)
+      throw new IllegalArgumentException("Arguments cannot be null!");
+    if (lefts.length != rights.length || lefts.length != out.length)
+      throw new IllegalArgumentException("The query arrays must have the same length!");
+    for (int j = 0; j < lefts.length; j++)
+      if (lefts[j] < 1 || lefts[j] > rights[j] || rights[j] >= N)
+        throw new IndexOutOfBoundsException(
+            "Invalid query range [" + lefts[j] + ", " + rights[j] + "]!");
+    if (lefts.length <= QUERY_CUTOFF) {
+      for (int j = 0; j < lefts.length; j++) out[j] = sum(lefts[j], rights[j]);
+    } else {
+      pool.invoke(new QueryTask(0, lefts.length, lefts, rights, out));
+    }
+  }
+
+  // Answers the queries lo to hi - 1, splitting them while there are too many.
+  private final class QueryTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final int[] lefts, rights;
+    final long[] out;
+
+    QueryTask(int lo, int hi, int[] lefts, int[] rights, long[] out) {
+      this.lo = lo;
+      this.hi = hi;
+      this.lefts = lefts;
+      this.rights = rights;
+      this.out = out;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= QUERY_CUTOFF) {
+        for (int j = lo; j < hi; j++) out[j] = sum(lefts[j], rights[j]);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new QueryTask(lo, mid, lefts, rights, out), new QueryTask(mid, hi, lefts, rights, out));
+    }
+  }
+
+  // Adds deltas[j] to index indices[j] for every j. Let [lo, hi] be the smallest range holding
+  // all the indices. If the batch has at least (hi - lo + 1) / 16 updates, they're added to a
+  // dense array of deltas over [lo, hi], which is then pushed up the tree in a single pass like
+  // the O(n) construction, so every node is written to at most once. This costs
+  // O(k + hi - lo + log(n)) instead of O(k*log(n)). Smaller batches are added one at a time,
+  // sorting them first costs more than the cache misses it saves.
+  public void applyUpdates(int[] indices, long[] deltas) {
+    if (indices == null || deltas == null)
+      throw new IllegalArgumentException("Arguments cannot be null!");
+    if (indices.length != deltas.length)
+      throw new IllegalArgumentException("The update arrays must have the same length!");
+    int k = indices.length;
+    if (k == 0) return;
+    int lo = N, hi = 0;
+    for (int j = 0; j < k; j++) {
+      if (indices[j] < 1 || indices[j] >= N)
+        throw new IndexOutOfBoundsException("Index out of range [1, " + (N - 1) + "]");
+      lo = Math.min(lo, indices[j]);
+      hi = Math.max(hi, indices[j]);
+    }
+
+    if (k >= (hi - lo + 1) / 16) {
+      long[] pending = new long[hi - lo + 1];
+      for (int j = 0; j < k; j++) pending[indices[j] - lo] += deltas[j];
+
+      // A node in [lo, hi] whose parent is past hi also covers hi, so its parent is one of the
+      // ancestors of hi, which collect those deltas in 'above'.
+      int[] ancestors = new int[32];
+      long[] above = new long[32];
+      int count = 0;
+      for (int i = hi + lsb(hi); i < N; i += lsb(i)) ancestors[count++] = i;
+
+      for (int i = lo; i <= hi; i++) {
+        long delta = pending[i - lo];
+        if (delta == 0) continue;
+        tree[i] += delta;
+        int parent = i + lsb(i);
+        if (parent <= hi) {
+          pending[parent - lo] += delta;
+        } else {
+          for (int c = 0; c < count; c++) {
+            if (ancestors[c] == parent) {
+              above[c] += delta;
+              break;
+            }
+          }
+        }
+      }
+      long carry = 0;
+      for (int c = 0; c < count; c++) {
+        carry += above[c];
+        tree[ancestors[c]] += carry;
+      }
+      return;
+    }
+
+    for (int j = 0; j < k; j++) add(indices[j], deltas[j]);
+  }
+
   // Set index i to be equal to v, O(log(n))
   public void set(int i, long v) {
     add(i, v - sum(i, i));
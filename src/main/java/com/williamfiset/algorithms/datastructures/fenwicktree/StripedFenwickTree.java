@@ -0,0 +1,86 @@
+/**
+ * A thread-safe Fenwick tree for many threads adding at once, such as a histogram or rank counter
+ * fed by producer threads.
+ *
+ * <p>All the adds to a {@link ConcurrentFenwickTree} go through its root nodes, so threads adding
+ * at the same time keep fighting over the same cache lines. This tree keeps a number of separate
+ * ConcurrentFenwickTrees, the stripes, and every thread adds to the stripe its identity hashes to.
+ * With at least as many stripes as adding threads most threads get a tree of their own. Queries
+ * add up the answer of every stripe, so they cost O(stripes * log(n)).
+ *
+ * <p>Consistency: each stripe gives the guarantees of {@link ConcurrentFenwickTree}, and the
+ * stripes are read one after another. So sum(l, r) still counts every add which completed before
+ * it started and none which started after it returned, and counts an add to an index in [l, r] in
+ * full or not at all. An add to an index below l which runs at the same time may skew the result
+ * by its delta. Once the adds stop, every query is exact.
+ *
+ * <p>Space: O(stripes * n)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.fenwicktree;
+
+public class StripedFenwickTree {
+
+  private final ConcurrentFenwickTree[] stripes;
+
+  // The number of stripes minus one, the number of stripes is a power of two.
+  private final int mask;
+
+  // Create an empty Fenwick Tree with 'sz' elements and a stripe per available processor,
+  // rounded up to a power of two.
+  public StripedFenwickTree(int sz) {
+    this(sz, Runtime.getRuntime().availableProcessors());
+  }
+
+  // Create an empty Fenwick Tree with 'sz' elements and at least 'stripes' stripes, rounded up to
+  // a power of two.
+  public StripedFenwickTree(int sz, int stripes) {
+    if (sz < 0) throw new IllegalArgumentException("Size cannot be negative!");
+    if (stripes < 1 || stripes > 1 << 16)
+      throw new IllegalArgumentException("The number of stripes must be in [1, 65536]");
+    int count = Integer.highestOneBit(stripes);
+    if (count < stripes) count <<= 1;
+    this.stripes = new ConcurrentFenwickTree[count];
+    for (int s = 0; s < count; s++) this.stripes[s] = new ConcurrentFenwickTree(sz);
+    mask = count - 1;
+  }
+
+  // Returns the stripe of the current thread.
+  private ConcurrentFenwickTree stripe() {
+    int h = System.identityHashCode(Thread.currentThread());
+    // Spread the bits of the hash, the stripe only uses the lowest ones.
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    return stripes[h & mask];
+  }
+
+  // Returns the sum of the interval [left, right], O(stripes * log(n)). See the class
+  // documentation for what it includes while other threads are adding.
+  public long sum(int left, int right) {
+    long sum = 0L;
+    for (ConcurrentFenwickTree stripe : stripes) sum += stripe.sum(left, right);
+    return sum;
+  }
+
+  // Get the value at index i
+  public long get(int i) {
+    return sum(i, i);
+  }
+
+  // Atomically add 'v' to index 'i' in the stripe of the current thread, O(log(n))
+  public void add(int i, long v) {
+    stripe().add(i, v);
+  }
+
+  // Returns the number of elements in the Fenwick tree.
+  public int size() {
+    return stripes[0].size();
+  }
+
+  // Returns the number of stripes.
+  public int stripes() {
+    return stripes.length;
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Multi-threaded JMH benchmark of {@link ConcurrentFenwickTree} and {@link StripedFenwickTree},
+ * used as a live histogram.
+ *
+ * <p>They are compared against what a caller would otherwise do: the sequential {@link
+ * FenwickTreeRangeQueryPointUpdate} behind a single global lock. Every thread runs a random mix of
+ * operations on a shared tree of 'size' counters: readPercent% prefix sums over a random range,
+ * the rest increments of a random counter.
+ *
+ * <p>main() runs the benchmark with 1, 2, 4, ... threads up to the number of processors, writing
+ * each result to its own JSON file, see {@link BenchmarkRunner#runThreadScaling}. Pass -t to run
+ * a single thread count instead.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.fenwicktree.benchmark;
+
+import com.williamfiset.algorithms.datastructures.fenwicktree.*;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentFenwickTreeBenchmark {
+
+  // The operations the benchmark needs from a thread-safe tree.
+  public interface Histogram {
+    long sum(int left, int right);
+
+    void add(int i, long v);
+  }
+
+  public enum Implementation {
+    CONCURRENT {
+      @Override
+      Histogram create(int size) {
+        ConcurrentFenwickTree tree = new ConcurrentFenwickTree(size);
+        return new Histogram() {
+          @Override
+          public long sum(int left, int right) {
+            return tree.sum(left, right);
+          }
+
+          @Override
+          public void add(int i, long v) {
+            tree.add(i, v);
+          }
+        };
+      }
+    },
+    STRIPED {
+      @Override
+      Histogram create(int size) {
+        StripedFenwickTree tree = new StripedFenwickTree(size);
+        return new Histogram() {
+          @Override
+          public long sum(int left, int right) {
+            return tree.sum(left, right);
+          }
+
+          @Override
+          public void add(int i, long v) {
+            tree.add(i, v);
+          }
+        };
+      }
+    },
+    // What callers do today: the sequential tree with every operation behind one lock.
+    LOCKED {
+      @Override
+      Histogram create(int size) {
+        FenwickTreeRangeQueryPointUpdate tree = new FenwickTreeRangeQueryPointUpdate(size);
+        return new Histogram() {
+          @Override
+          public synchronized long sum(int left, int right) {
+            return tree.sum(left, right);
+          }
+
+          @Override
+          public synchronized void add(int i, long v) {
+            tree.add(i, v);
+          }
+        };
+      }
+    };
+
+    abstract Histogram create(int size);
+  }
+
+  @Param public Implementation implementation;
+
+  @Param({"0", "10", "50"})
+  public int readPercent;
+
+  @Param({"4096", "1048576"})
+  public int size;
+
+  private Histogram histogram;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    histogram = implementation.create(size);
+  }
+
+  // Each thread draws its operations from its own xorshift generator.
+  @State(Scope.Thread)
+  public static class ThreadState {
+    long seed = System.nanoTime() | 1;
+
+    int next() {
+      seed ^= seed << 13;
+      seed ^= seed >>> 7;
+      seed ^= seed << 17;
+      return (int) (seed >>> 33);
+    }
+  }
+
+  @Benchmark
+  public long operation(ThreadState state) {
+    int i = 1 + state.next() % size;
+    if (state.next() % 100 < readPercent) {
+      int j = 1 + state.next() % size;
+      return histogram.sum(Math.min(i, j), Math.max(i, j));
+    }
+    histogram.add(i, 1);
+    return i;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner.runThreadScaling(ConcurrentFenwickTreeBenchmark.class, args);
+  }
+}
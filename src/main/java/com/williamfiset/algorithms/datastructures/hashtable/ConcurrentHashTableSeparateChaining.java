@@ -0,0 +1,345 @@
+/**
+ * A thread-safe hash table using separate chaining, in which reads never block.
+ *
+ * <p>Like {@link HashTableSeparateChaining} each bucket holds a linked list of entries, but the
+ * lists are made of nodes whose key and next pointer never change. A writer publishes a new chain
+ * by writing the bucket's head with a volatile write, so a reader which loads a head sees a
+ * consistent chain no matter what happens to the bucket afterwards. get() and containsKey() take
+ * no lock at all.
+ *
+ * <p>Writers lock one of a fixed number of stripes, picked from the low bits of the hash. The
+ * capacity is a power of two which is never smaller than the number of stripes, so a bucket and
+ * the two buckets it splits into when the table doubles are always guarded by the same stripe.
+ *
+ * <p>Resizing is incremental and cooperative rather than stop-the-world. The writer which pushes
+ * the table over its threshold allocates the next table, then every writer (including that one)
+ * migrates a small stride of buckets after each of its own operations. A migrated bucket is
+ * replaced by a forwarding node pointing to the next table; readers and writers simply follow it.
+ * The next table becomes the main table once the last bucket has moved.
+ *
+ * <p>size() and iteration are weakly consistent: they reflect some, but not necessarily all, of
+ * the writes running concurrently with them.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHashTableSeparateChaining<K, V> implements Iterable<K> {
+
+  private static class Node<K, V> {
+    final int hash;
+    final K key;
+    volatile V value;
+    final Node<K, V> next;
+
+    Node(int hash, K key, V value, Node<K, V> next) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  // Replaces the chain of a bucket once it has been migrated to the next table.
+  private static class ForwardingNode<K, V> extends Node<K, V> {
+    final Table<K, V> nextTable;
+
+    ForwardingNode(Table<K, V> nextTable) {
+      super(-1, null, null, null);
+      this.nextTable = nextTable;
+    }
+  }
+
+  private static class Table<K, V> {
+    final AtomicReferenceArray<Node<K, V>> buckets;
+    final int mask;
+
+    // The table being migrated to, and the progress of that migration.
+    final AtomicReference<Table<K, V>> next = new AtomicReference<>();
+    final AtomicInteger transferIndex = new AtomicInteger();
+    final AtomicInteger migrated = new AtomicInteger();
+
+    Table(int capacity) {
+      buckets = new AtomicReferenceArray<>(capacity);
+      mask = capacity - 1;
+    }
+
+    int capacity() {
+      return mask + 1;
+    }
+  }
+
+  // A lock together with the number of keys whose hash maps to it.
+  private static class Stripe extends ReentrantLock {
+    private static final long serialVersionUID = 1L;
+
+    volatile int count;
+  }
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+  // The number of buckets a writer migrates each time it helps with a resize.
+  private static final int TRANSFER_STRIDE = 16;
+
+  private final double maxLoadFactor;
+  private final Stripe[] stripes;
+  private final int stripeMask;
+  private final AtomicReference<Table<K, V>> table;
+
+  public ConcurrentHashTableSeparateChaining() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  public ConcurrentHashTableSeparateChaining(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * @param concurrencyLevel the number of lock stripes, i.e. roughly how many writers can modify
+   *     the table at the same time without waiting for each other. Rounded up to a power of two.
+   */
+  public ConcurrentHashTableSeparateChaining(
+      int capacity, double maxLoadFactor, int concurrencyLevel) {
+    if (capacity < 0) throw new IllegalArgumentException("Illegal capacity");
+    if (maxLoadFactor <= 0 || Double.isNaN(maxLoadFactor) || Double.isInfinite(maxLoadFactor))
+      throw new IllegalArgumentException("Illegal maxLoadFactor");
+    if (concurrencyLevel <= 0 || concurrencyLevel > 1 << 16)
+      throw new IllegalArgumentException("Illegal concurrencyLevel");
+
+    this.maxLoadFactor = maxLoadFactor;
+    stripes = new Stripe[HashTableRobinHood.nextPowerOfTwo(concurrencyLevel)];
+    for (int i = 0; i < stripes.length; i++) stripes[i] = new Stripe();
+    stripeMask = stripes.length - 1;
+
+    capacity = Math.max(Math.max(capacity, DEFAULT_CAPACITY), stripes.length);
+    table = new AtomicReference<>(new Table<>(HashTableRobinHood.nextPowerOfTwo(capacity)));
+  }
+
+  // Returns the number of keys, weakly consistent while writers are running.
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) size += stripe.count;
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  // Returns the number of buckets of the main table (used mostly for testing)
+  public int getCapacity() {
+    return table.get().capacity();
+  }
+
+  public boolean containsKey(K key) {
+    return key != null && findNode(key) != null;
+  }
+
+  public V get(K key) {
+    if (key == null) return null;
+    Node<K, V> node = findNode(key);
+    return node != null ? node.value : null;
+  }
+
+  /** Inserts or updates a key-value pair. Returns the previous value, or null if the key is new. */
+  public V put(K key, V value) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+
+    final int hash = spread(key.hashCode());
+    final Stripe stripe = stripes[hash & stripeMask];
+    Table<K, V> t;
+    int count;
+    stripe.lock();
+    try {
+      // Nobody can migrate this bucket while we hold its stripe, so following the forwarding
+      // nodes leads to the bucket where the key currently lives.
+      t = table.get();
+      Node<K, V> head;
+      int i;
+      while ((head = t.buckets.get(i = hash & t.mask)) instanceof ForwardingNode)
+        t = ((ForwardingNode<K, V>) head).nextTable;
+
+      for (Node<K, V> node = head; node != null; node = node.next) {
+        if (node.hash == hash && node.key.equals(key)) {
+          V oldValue = node.value;
+          node.value = value;
+          return oldValue;
+        }
+      }
+      t.buckets.set(i, new Node<>(hash, key, value, head));
+      count = ++stripe.count;
+    } finally {
+      stripe.unlock();
+    }
+
+    // Each stripe owns about 1/stripes of the keys, so compare its share against the threshold.
+    if ((double) count * stripes.length > t.capacity() * maxLoadFactor) startResize(t);
+    helpResize();
+    return null;
+  }
+
+  /** Removes a key from the map and returns its value, or null if the key does not exist. */
+  public V remove(K key) {
+    if (key == null) return null;
+
+    final int hash = spread(key.hashCode());
+    final Stripe stripe = stripes[hash & stripeMask];
+    V oldValue = null;
+    stripe.lock();
+    try {
+      Table<K, V> t = table.get();
+      Node<K, V> head;
+      int i;
+      while ((head = t.buckets.get(i = hash & t.mask)) instanceof ForwardingNode)
+        t = ((ForwardingNode<K, V>) head).nextTable;
+
+      for (Node<K, V> node = head; node != null; node = node.next) {
+        if (node.hash == hash && node.key.equals(key)) {
+          // Nodes are immutable, so the ones in front of the removed node are copied.
+          Node<K, V> newHead = node.next;
+          for (Node<K, V> p = head; p != node; p = p.next)
+            newHead = new Node<>(p.hash, p.key, p.value, newHead);
+          t.buckets.set(i, newHead);
+          stripe.count--;
+          oldValue = node.value;
+          break;
+        }
+      }
+    } finally {
+      stripe.unlock();
+    }
+    helpResize();
+    return oldValue;
+  }
+
+  public void clear() {
+    for (Stripe stripe : stripes) stripe.lock();
+    try {
+      // Any migration still in progress keeps running on the old tables, out of everyone's sight.
+      table.set(new Table<>(table.get().capacity()));
+      for (Stripe stripe : stripes) stripe.count = 0;
+    } finally {
+      for (Stripe stripe : stripes) stripe.unlock();
+    }
+  }
+
+  public List<K> keys() {
+    List<K> keys = new ArrayList<>();
+    Table<K, V> t = table.get();
+    for (int i = 0; i < t.capacity(); i++) collect(t, i, keys, null);
+    return keys;
+  }
+
+  public List<V> values() {
+    List<V> values = new ArrayList<>();
+    Table<K, V> t = table.get();
+    for (int i = 0; i < t.capacity(); i++) collect(t, i, null, values);
+    return values;
+  }
+
+  // Weakly consistent: iterates over a snapshot of the keys, never throws
+  // ConcurrentModificationException.
+  @Override
+  public Iterator<K> iterator() {
+    return Collections.unmodifiableList(keys()).iterator();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (K key : this) {
+      V value = get(key);
+      if (value == null) continue;
+      if (sb.length() > 1) sb.append(", ");
+      sb.append(key).append(" => ").append(value);
+    }
+    return sb.append("}").toString();
+  }
+
+  private Node<K, V> findNode(K key) {
+    final int hash = spread(key.hashCode());
+    Table<K, V> t = table.get();
+    Node<K, V> node;
+    while ((node = t.buckets.get(hash & t.mask)) instanceof ForwardingNode)
+      t = ((ForwardingNode<K, V>) node).nextTable;
+    for (; node != null; node = node.next) {
+      if (node.hash == hash && node.key.equals(key)) return node;
+    }
+    return null;
+  }
+
+  // Adds the keys or values of bucket i of table t to the given lists. A migrated bucket was
+  // split into buckets i and i + capacity of the next table.
+  private void collect(Table<K, V> t, int i, List<K> keys, List<V> values) {
+    Node<K, V> node = t.buckets.get(i);
+    if (node instanceof ForwardingNode) {
+      Table<K, V> next = ((ForwardingNode<K, V>) node).nextTable;
+      collect(next, i, keys, values);
+      collect(next, i + t.capacity(), keys, values);
+      return;
+    }
+    for (; node != null; node = node.next) {
+      if (keys != null) keys.add(node.key);
+      if (values != null) values.add(node.value);
+    }
+  }
+
+  // Allocates the table which t will be migrated to, unless some other writer already did.
+  private void startResize(Table<K, V> t) {
+    if (t != table.get() || t.next.get() != null || t.capacity() >= 1 << 30) return;
+    t.next.compareAndSet(null, new Table<>(t.capacity() << 1));
+  }
+
+  // If a resize is in progress, migrates the next stride of buckets which nobody claimed yet.
+  // Must not be called while holding a stripe, since migrating takes the stripes of the buckets.
+  private void helpResize() {
+    Table<K, V> t = table.get();
+    Table<K, V> next = t.next.get();
+    if (next == null) return;
+
+    int n = t.capacity();
+    int start = t.transferIndex.getAndAdd(TRANSFER_STRIDE);
+    if (start >= n) return;
+    int end = Math.min(start + TRANSFER_STRIDE, n);
+    for (int i = start; i < end; i++) migrate(t, next, i);
+
+    // Whoever migrates the last bucket publishes the next table. This fails if clear() replaced
+    // the table in the meantime, which is what we want.
+    if (t.migrated.addAndGet(end - start) == n) table.compareAndSet(t, next);
+  }
+
+  // Splits bucket i of table t into buckets i and i + n of the next table.
+  private void migrate(Table<K, V> t, Table<K, V> next, int i) {
+    final int n = t.capacity();
+    final Stripe stripe = stripes[i & stripeMask];
+    stripe.lock();
+    try {
+      Node<K, V> low = null, high = null;
+      for (Node<K, V> node = t.buckets.get(i); node != null; node = node.next) {
+        if ((node.hash & n) == 0) low = new Node<>(node.hash, node.key, node.value, low);
+        else high = new Node<>(node.hash, node.key, node.value, high);
+      }
+      // The new chains must be visible before readers get redirected to them.
+      next.buckets.set(i, low);
+      next.buckets.set(i + n, high);
+      t.buckets.set(i, new ForwardingNode<>(next));
+    } finally {
+      stripe.unlock();
+    }
+  }
+
+  // Mixes the high bits of the hash code into the low bits, which select both the bucket and the
+  // stripe. The result is non-negative, forwarding nodes use -1.
+  private static int spread(int h) {
+    h *= 0x9E3779B9;
+    return (h ^ (h >>> 16)) & 0x7FFFFFFF;
+  }
+}
@@ -343,6 +343,31 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
     return hashtableValues;
   }
 
+  /**
+   * Returns the distribution of the probe lengths: entry x is the number of keys stored at the
+   * x-th step of their probe sequence, i.e. which are found by get() on its (x+1)-th probe.
+   *
+   * <p>Unlike get(), this does not perform lazy relocation, so the table is left untouched.
+   */
+  public int[] probeLengthHistogram() {
+    int[] histogram = new int[keyCount == 0 ? 0 : 1];
+    for (int i = 0; i < capacity; i++) {
+      if (keys[i] == null || keys[i] == TOMBSTONE)
+        continue;
+
+      // Replay the probe sequence of the key until it reaches the key's bucket.
+      setupProbing(keys[i]);
+      final int offset = normalizeIndex(keys[i].hashCode());
+      int x = 0;
+      for (int j = offset; j != i; j = normalizeIndex(offset + probe(++x)));
+
+      if (x >= histogram.length)
+        histogram = Arrays.copyOf(histogram, x + 1);
+      histogram[x]++;
+    }
+    return histogram;
+  }
+
   // Doubles capacity, rehashes all live entries, and discards tombstones.
   // After resizing, all tombstones are gone because we re-insert only live keys.
   protected void resizeTable() {
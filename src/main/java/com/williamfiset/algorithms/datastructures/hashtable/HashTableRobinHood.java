@@ -0,0 +1,277 @@
+/**
+ * An implementation of a hash-table using open addressing with Robin Hood hashing.
+ *
+ * <p>Robin Hood hashing is linear probing (step 1) with one extra rule: while inserting, a key
+ * which is further from its home bucket than the key occupying the current bucket takes that
+ * bucket, "stealing from the rich to give to the poor". This keeps the variance of the probe
+ * lengths very low, so the table works well at load factors as high as 0.875, and lookups for
+ * missing keys can stop as soon as they reach a key which is closer to its home than the probe.
+ *
+ * <p>Deletion uses backward shifting instead of tombstones: the keys following the removed one in
+ * the same cluster are moved one bucket back. So there is no TOMBSTONE, no lazy relocation and
+ * get() never writes to the table.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.*;
+
+@SuppressWarnings("unchecked")
+public class HashTableRobinHood<K, V> implements Iterable<K> {
+
+  private static final int DEFAULT_CAPACITY = 8;
+  private static final double DEFAULT_LOAD_FACTOR = 0.875;
+
+  private final double loadFactor;
+  private int capacity, mask, threshold, keyCount, modificationCount;
+
+  // keys[i] maps to values[i]. hashes[i] caches the hash of keys[i] so that probe distances can
+  // be computed (and the table resized) without calling hashCode() again.
+  private K[] keys;
+  private V[] values;
+  private int[] hashes;
+
+  public HashTableRobinHood() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  public HashTableRobinHood(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  public HashTableRobinHood(int capacity, double loadFactor) {
+    if (capacity <= 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    // Every probe sequence must eventually reach an empty bucket, so the table can never be full.
+    if (!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+
+    this.loadFactor = loadFactor;
+    allocate(nextPowerOfTwo(Math.max(DEFAULT_CAPACITY, capacity)));
+  }
+
+  // Returns the number of keys currently inside the hash-table
+  public int size() {
+    return keyCount;
+  }
+
+  // Returns true/false depending on whether the hash-table is empty
+  public boolean isEmpty() {
+    return keyCount == 0;
+  }
+
+  // Returns the capacity of the hash-table (used mostly for testing)
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, null);
+    Arrays.fill(values, null);
+    keyCount = 0;
+    modificationCount++;
+  }
+
+  /** Inserts or updates a key-value pair. Returns the previous value, or null if the key is new. */
+  public V put(K key, V value) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+
+    final int hash = hash(key);
+    for (int i = hash & mask, dist = 0; ; i = (i + 1) & mask, dist++) {
+      // Reached an empty bucket or a key richer than us: the key is not in the table and
+      // this is exactly where it belongs.
+      if (keys[i] == null || distance(hashes[i], i) < dist) break;
+      if (hashes[i] == hash && keys[i].equals(key)) {
+        V oldValue = values[i];
+        values[i] = value;
+        modificationCount++;
+        return oldValue;
+      }
+    }
+
+    if (keyCount >= threshold) resizeTable(capacity << 1);
+    insert(key, value, hash);
+    keyCount++;
+    modificationCount++;
+    return null;
+  }
+
+  // Returns true/false on whether a given key exists within the hash-table
+  public boolean containsKey(K key) {
+    return indexOf(key) != -1;
+  }
+
+  /**
+   * Returns the value for the given key, or null if not found.
+   *
+   * <p>NOTE: returns null if the value is null AND also returns null if the key does not exist.
+   */
+  public V get(K key) {
+    int i = indexOf(key);
+    return i == -1 ? null : values[i];
+  }
+
+  /**
+   * Removes a key from the map and returns the value. The keys after it in the same cluster are
+   * shifted one bucket back, so the table looks exactly as if the key had never been inserted.
+   *
+   * <p>NOTE: returns null if the value is null AND also returns null if the key does not exist.
+   */
+  public V remove(K key) {
+    int i = indexOf(key);
+    if (i == -1) return null;
+    V oldValue = values[i];
+
+    // Pull back every following key until an empty bucket or a key already in its home bucket.
+    for (int j = (i + 1) & mask;
+        keys[j] != null && distance(hashes[j], j) > 0;
+        j = (j + 1) & mask) {
+      keys[i] = keys[j];
+      values[i] = values[j];
+      hashes[i] = hashes[j];
+      i = j;
+    }
+    keys[i] = null;
+    values[i] = null;
+
+    keyCount--;
+    modificationCount++;
+    return oldValue;
+  }
+
+  /**
+   * Returns the distribution of the probe lengths: entry d is the number of keys stored d buckets
+   * away from their home bucket, i.e. which are found by get() on its (d+1)-th probe.
+   */
+  public int[] probeLengthHistogram() {
+    if (keyCount == 0) return new int[0];
+    int maxDistance = 0;
+    for (int i = 0; i < capacity; i++)
+      if (keys[i] != null) maxDistance = Math.max(maxDistance, distance(hashes[i], i));
+
+    int[] histogram = new int[maxDistance + 1];
+    for (int i = 0; i < capacity; i++) if (keys[i] != null) histogram[distance(hashes[i], i)]++;
+    return histogram;
+  }
+
+  // Returns a list of keys found in the hash table
+  public List<K> keys() {
+    List<K> hashtableKeys = new ArrayList<>(keyCount);
+    for (K key : this) hashtableKeys.add(key);
+    return hashtableKeys;
+  }
+
+  // Returns a list of non-unique values found in the hash table
+  public List<V> values() {
+    List<V> hashtableValues = new ArrayList<>(keyCount);
+    for (int i = 0; i < capacity; i++) if (keys[i] != null) hashtableValues.add(values[i]);
+    return hashtableValues;
+  }
+
+  // Returns the bucket of the key, or -1 if the key does not exist.
+  private int indexOf(K key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+
+    final int hash = hash(key);
+    for (int i = hash & mask, dist = 0; ; i = (i + 1) & mask, dist++) {
+      // Had the key been inserted, it would have taken this bucket.
+      if (keys[i] == null || distance(hashes[i], i) < dist) return -1;
+      if (hashes[i] == hash && keys[i].equals(key)) return i;
+    }
+  }
+
+  // Inserts a key known not to be in the table. The key goes in the first bucket holding a key
+  // richer than itself, and the rest of the cluster shifts one bucket forward to make room.
+  // Shifting keeps every cluster sorted by home bucket, which is the Robin Hood invariant.
+  private void insert(K key, V value, int hash) {
+    int i = hash & mask;
+    for (int dist = 0; keys[i] != null && distance(hashes[i], i) >= dist; dist++)
+      i = (i + 1) & mask;
+
+    int j = i;
+    while (keys[j] != null) j = (j + 1) & mask;
+    for (; j != i; j = (j - 1) & mask) {
+      int prev = (j - 1) & mask;
+      keys[j] = keys[prev];
+      values[j] = values[prev];
+      hashes[j] = hashes[prev];
+    }
+    keys[i] = key;
+    values[i] = value;
+    hashes[i] = hash;
+  }
+
+  // Returns how many buckets away from its home bucket a key with the given hash is at index i.
+  private int distance(int hash, int i) {
+    return (i - hash) & mask;
+  }
+
+  private void allocate(int newCapacity) {
+    capacity = newCapacity;
+    mask = capacity - 1;
+    threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    keys = (K[]) new Object[capacity];
+    values = (V[]) new Object[capacity];
+    hashes = new int[capacity];
+  }
+
+  private void resizeTable(int newCapacity) {
+    K[] oldKeys = keys;
+    V[] oldValues = values;
+    int[] oldHashes = hashes;
+
+    // A tiny load factor may need more than one doubling before a single key fits.
+    while ((int) (newCapacity * loadFactor) <= keyCount) newCapacity <<= 1;
+    allocate(newCapacity);
+    for (int i = 0; i < oldKeys.length; i++)
+      if (oldKeys[i] != null) insert(oldKeys[i], oldValues[i], oldHashes[i]);
+  }
+
+  // Scrambles the hash code, the capacity being a power of two only its lower bits are used.
+  static int hash(Object key) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  static int nextPowerOfTwo(int n) {
+    int pow2 = Integer.highestOneBit(n);
+    return n == pow2 ? n : pow2 << 1;
+  }
+
+  // Return a String view of this hash-table.
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (int i = 0; i < capacity; i++) {
+      if (keys[i] == null) continue;
+      if (sb.length() > 1) sb.append(", ");
+      sb.append(keys[i]).append(" => ").append(values[i]);
+    }
+    return sb.append("}").toString();
+  }
+
+  @Override
+  public Iterator<K> iterator() {
+    // Before the iteration begins record the number of modifications done to the hash-table.
+    // This value should not change as we iterate otherwise a concurrent modification has occurred.
+    final int expectedModCount = modificationCount;
+    return new Iterator<K>() {
+      int index, keysLeft = keyCount;
+
+      @Override
+      public boolean hasNext() {
+        if (expectedModCount != modificationCount) throw new ConcurrentModificationException();
+        return keysLeft != 0;
+      }
+
+      @Override
+      public K next() {
+        if (expectedModCount != modificationCount) throw new ConcurrentModificationException();
+        if (keysLeft == 0) throw new NoSuchElementException();
+        while (keys[index] == null) index++;
+        keysLeft--;
+        return keys[index++];
+      }
+    };
+  }
+}
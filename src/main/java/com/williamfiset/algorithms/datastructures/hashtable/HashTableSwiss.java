@@ -0,0 +1,326 @@
+/**
+ * An implementation of a hash-table using open addressing in the style of Google's Swiss tables.
+ *
+ * <p>Next to the key and value arrays the table keeps one control byte per bucket: EMPTY, DELETED,
+ * or for a full bucket the low 7 bits of its key's hash (h2). The buckets are split into groups of
+ * 8 whose control bytes are packed into a single long, so one probe compares the h2 of the key
+ * against all 8 buckets of a group at once using a few word-wide bit tricks (SWAR, "SIMD within a
+ * register"). Only the buckets whose control byte matches are compared with equals(), which almost
+ * always means only the right one. The probe sequence visits whole groups (quadratically) and
+ * stops at the first group containing an EMPTY bucket.
+ *
+ * <p>Because a probe only has to look at the dense control array most of the time, the table
+ * works well at load factors as high as 0.875. A removed key leaves a DELETED control byte only if
+ * its group is full, otherwise no probe ever went past the group and the bucket becomes EMPTY.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.*;
+
+@SuppressWarnings("unchecked")
+public class HashTableSwiss<K, V> implements Iterable<K> {
+
+  private static final int GROUP_SIZE = 8;
+  private static final int DEFAULT_CAPACITY = GROUP_SIZE;
+  private static final double DEFAULT_LOAD_FACTOR = 0.875;
+
+  // Control bytes. A full bucket stores h2 in [0, 127], so its high bit is always 0.
+  private static final long EMPTY = 0x80, DELETED = 0xFE;
+
+  // 0x01 and 0x80 repeated in each of the 8 bytes of a long.
+  private static final long LSBS = 0x0101010101010101L, MSBS = 0x8080808080808080L;
+
+  private final double loadFactor;
+  private int capacity, groupMask, keyCount, modificationCount;
+
+  // The number of keys which can still be inserted into EMPTY buckets before the table has to be
+  // rebuilt. Filling a DELETED bucket does not use any of it.
+  private int growthLeft;
+
+  // control[g] holds the control bytes of the buckets 8g to 8g+7, bucket 8g+j in byte j (counting
+  // from the least significant byte).
+  private long[] control;
+  private K[] keys;
+  private V[] values;
+
+  public HashTableSwiss() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  public HashTableSwiss(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  public HashTableSwiss(int capacity, double loadFactor) {
+    if (capacity <= 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    // Every probe sequence must eventually reach an EMPTY bucket, so the table can never be full.
+    if (!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+
+    this.loadFactor = loadFactor;
+    int groups = HashTableRobinHood.nextPowerOfTwo((capacity + GROUP_SIZE - 1) / GROUP_SIZE);
+    while (maxLoad(groups * GROUP_SIZE) == 0) groups <<= 1;
+    allocate(groups * GROUP_SIZE);
+  }
+
+  // Returns the number of keys currently inside the hash-table
+  public int size() {
+    return keyCount;
+  }
+
+  // Returns true/false depending on whether the hash-table is empty
+  public boolean isEmpty() {
+    return keyCount == 0;
+  }
+
+  // Returns the capacity of the hash-table (used mostly for testing)
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void clear() {
+    Arrays.fill(control, EMPTY * LSBS);
+    Arrays.fill(keys, null);
+    Arrays.fill(values, null);
+    keyCount = 0;
+    growthLeft = maxLoad(capacity);
+    modificationCount++;
+  }
+
+  /** Inserts or updates a key-value pair. Returns the previous value, or null if the key is new. */
+  public V put(K key, V value) {
+    int hash = hash(key);
+    int i = indexOf(key, hash);
+    if (i != -1) {
+      V oldValue = values[i];
+      values[i] = value;
+      modificationCount++;
+      return oldValue;
+    }
+
+    i = findFreeBucket(hash);
+    if (growthLeft == 0 && controlByte(i) == EMPTY) {
+      rebuild();
+      i = findFreeBucket(hash);
+    }
+    if (controlByte(i) == EMPTY) growthLeft--;
+    setControlByte(i, h2(hash));
+    keys[i] = key;
+    values[i] = value;
+    keyCount++;
+    modificationCount++;
+    return null;
+  }
+
+  // Returns true/false on whether a given key exists within the hash-table
+  public boolean containsKey(K key) {
+    return indexOf(key, hash(key)) != -1;
+  }
+
+  /**
+   * Returns the value for the given key, or null if not found.
+   *
+   * <p>NOTE: returns null if the value is null AND also returns null if the key does not exist.
+   */
+  public V get(K key) {
+    int i = indexOf(key, hash(key));
+    return i == -1 ? null : values[i];
+  }
+
+  /**
+   * Removes a key from the map and returns the value.
+   *
+   * <p>NOTE: returns null if the value is null AND also returns null if the key does not exist.
+   */
+  public V remove(K key) {
+    int i = indexOf(key, hash(key));
+    if (i == -1) return null;
+    V oldValue = values[i];
+
+    // A group gets an EMPTY bucket back only here, so a group containing an EMPTY bucket has not
+    // been full since the last rebuild and no probe sequence continues past it.
+    if (matchEmpty(control[i / GROUP_SIZE]) != 0) {
+      setControlByte(i, EMPTY);
+      growthLeft++;
+    } else {
+      setControlByte(i, DELETED);
+    }
+    keys[i] = null;
+    values[i] = null;
+
+    keyCount--;
+    modificationCount++;
+    return oldValue;
+  }
+
+  /**
+   * Returns the distribution of the probe lengths: entry d is the number of keys stored d groups
+   * after their home group on the probe sequence, i.e. which are found by get() in the (d+1)-th
+   * group it looks at. Each group costs a single word comparison on the control array.
+   */
+  public int[] probeLengthHistogram() {
+    int[] histogram = new int[1];
+    for (int i = 0; i < capacity; i++) {
+      if (controlByte(i) >= EMPTY) continue;
+      int target = i / GROUP_SIZE, length = 0;
+      for (int g = homeGroup(hash(keys[i])), step = 1; g != target; g = (g + step++) & groupMask)
+        length++;
+      if (length >= histogram.length) histogram = Arrays.copyOf(histogram, length + 1);
+      histogram[length]++;
+    }
+    return keyCount == 0 ? new int[0] : histogram;
+  }
+
+  // Returns a list of keys found in the hash table
+  public List<K> keys() {
+    List<K> hashtableKeys = new ArrayList<>(keyCount);
+    for (K key : this) hashtableKeys.add(key);
+    return hashtableKeys;
+  }
+
+  // Returns a list of non-unique values found in the hash table
+  public List<V> values() {
+    List<V> hashtableValues = new ArrayList<>(keyCount);
+    for (int i = 0; i < capacity; i++) if (controlByte(i) < EMPTY) hashtableValues.add(values[i]);
+    return hashtableValues;
+  }
+
+  // Returns the bucket of the key, or -1 if the key does not exist.
+  private int indexOf(K key, int hash) {
+    long pattern = LSBS * h2(hash);
+    for (int g = homeGroup(hash), step = 1; ; g = (g + step++) & groupMask) {
+      long group = control[g];
+      for (long match = matchByte(group, pattern); match != 0; match &= match - 1) {
+        int i = g * GROUP_SIZE + (Long.numberOfTrailingZeros(match) >>> 3);
+        if (key.equals(keys[i])) return i;
+      }
+      if (matchEmpty(group) != 0) return -1;
+    }
+  }
+
+  // Returns the first EMPTY or DELETED bucket on the probe sequence of the given hash.
+  private int findFreeBucket(int hash) {
+    for (int g = homeGroup(hash), step = 1; ; g = (g + step++) & groupMask) {
+      long free = matchEmptyOrDeleted(control[g]);
+      if (free != 0) return g * GROUP_SIZE + (Long.numberOfTrailingZeros(free) >>> 3);
+    }
+  }
+
+  // Called when an insert needs an EMPTY bucket and none is left. Rebuilding drops every DELETED
+  // bucket, if more than half the budget was taken up by them the capacity stays the same.
+  private void rebuild() {
+    long[] oldControl = control;
+    K[] oldKeys = keys;
+    V[] oldValues = values;
+
+    int newCapacity = keyCount < maxLoad(capacity) / 2 ? capacity : capacity << 1;
+    while (maxLoad(newCapacity) <= keyCount) newCapacity <<= 1;
+    allocate(newCapacity);
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if ((oldControl[i / GROUP_SIZE] >>> (8 * (i % GROUP_SIZE)) & 0x80) != 0) continue;
+      int hash = hash(oldKeys[i]);
+      int j = findFreeBucket(hash);
+      setControlByte(j, h2(hash));
+      keys[j] = oldKeys[i];
+      values[j] = oldValues[i];
+    }
+    growthLeft -= keyCount;
+  }
+
+  private void allocate(int newCapacity) {
+    capacity = newCapacity;
+    groupMask = capacity / GROUP_SIZE - 1;
+    growthLeft = maxLoad(capacity);
+    control = new long[capacity / GROUP_SIZE];
+    Arrays.fill(control, EMPTY * LSBS);
+    keys = (K[]) new Object[capacity];
+    values = (V[]) new Object[capacity];
+  }
+
+  // The maximum number of buckets which may be full or DELETED for the given capacity.
+  private int maxLoad(int capacity) {
+    return Math.min((int) (capacity * loadFactor), capacity - 1);
+  }
+
+  private int homeGroup(int hash) {
+    return (hash >>> 7) & groupMask;
+  }
+
+  private long controlByte(int i) {
+    return (control[i / GROUP_SIZE] >>> (8 * (i % GROUP_SIZE))) & 0xFF;
+  }
+
+  private void setControlByte(int i, long b) {
+    int shift = 8 * (i % GROUP_SIZE);
+    control[i / GROUP_SIZE] = (control[i / GROUP_SIZE] & ~(0xFFL << shift)) | (b << shift);
+  }
+
+  // The high bit of byte j of the result is set if byte j of the group equals the byte repeated
+  // in 'pattern'. This may report a few false positives (only after a true match), which is fine
+  // since every candidate gets compared with equals() anyway.
+  private static long matchByte(long group, long pattern) {
+    long x = group ^ pattern;
+    return (x - LSBS) & ~x & MSBS;
+  }
+
+  // Of the control bytes only EMPTY (0x80) has its high bit set and bit 1 clear.
+  private static long matchEmpty(long group) {
+    return group & ~(group << 6) & MSBS;
+  }
+
+  // Of the control bytes only EMPTY and DELETED (0xFE) have their high bit set and bit 0 clear.
+  private static long matchEmptyOrDeleted(long group) {
+    return group & ~(group << 7) & MSBS;
+  }
+
+  // The upper 25 bits of the hash select the home group, the lower 7 bits are the h2 stored in
+  // the control bytes.
+  private static int hash(Object key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    return HashTableRobinHood.hash(key);
+  }
+
+  private static long h2(int hash) {
+    return hash & 0x7F;
+  }
+
+  // Return a String view of this hash-table.
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (int i = 0; i < capacity; i++) {
+      if (controlByte(i) >= EMPTY) continue;
+      if (sb.length() > 1) sb.append(", ");
+      sb.append(keys[i]).append(" => ").append(values[i]);
+    }
+    return sb.append("}").toString();
+  }
+
+  @Override
+  public Iterator<K> iterator() {
+    // Before the iteration begins record the number of modifications done to the hash-table.
+    // This value should not change as we iterate otherwise a concurrent modification has occurred.
+    final int expectedModCount = modificationCount;
+    return new Iterator<K>() {
+      int index, keysLeft = keyCount;
+
+      @Override
+      public boolean hasNext() {
+        if (expectedModCount != modificationCount) throw new ConcurrentModificationException();
+        return keysLeft != 0;
+      }
+
+      @Override
+      public K next() {
+        if (expectedModCount != modificationCount) throw new ConcurrentModificationException();
+        if (keysLeft == 0) throw new NoSuchElementException();
+        while (controlByte(index) >= EMPTY) index++;
+        keysLeft--;
+        return keys[index++];
+      }
+    };
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * An open addressing hash table mapping primitive int keys to int values.
+ *
+ * <p>Keys and values live in two parallel int arrays, so unlike {@code
+ * HashTableLinearProbing<Integer, Integer>} nothing gets boxed and put(), get() and remove() never
+ * allocate memory (except when the table grows). See {@link PrimitiveHashTableBase} for how empty
+ * and deleted buckets are marked with reserved sentinel keys instead of null and TOMBSTONE.
+ *
+ * <p>Since 0 is a perfectly valid value, get(), put() and remove() cannot use null to say that a
+ * key is missing. They return 0 instead, use containsKey() or getOrDefault() to tell the two apart.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.Arrays;
+
+public class IntIntHashTable extends PrimitiveHashTableBase {
+
+  static final int FREE_KEY = 0;
+  static final int REMOVED_KEY = Integer.MIN_VALUE;
+
+  private int[] keys;
+  private int[] values;
+
+  // Entries for the two sentinel keys, which cannot be stored in the arrays.
+  private boolean hasFreeKey, hasRemovedKey;
+  private int freeKeyValue, removedKeyValue;
+
+  public IntIntHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, ProbingStrategy.LINEAR);
+  }
+
+  public IntIntHashTable(ProbingStrategy probing) {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probing);
+  }
+
+  // Designated constructor
+  public IntIntHashTable(int capacity, double loadFactor, ProbingStrategy probing) {
+    super(capacity, loadFactor, probing);
+    keys = new int[this.capacity];
+    values = new int[this.capacity];
+  }
+
+  /** Inserts or updates a key-value pair. Returns the previous value, or 0 if the key is new. */
+  public int put(int key, int value) {
+    if (key == FREE_KEY) {
+      int oldValue = freeKeyValue;
+      freeKeyValue = value;
+      if (hasFreeKey) return oldValue;
+      hasFreeKey = true;
+      return 0;
+    }
+    if (key == REMOVED_KEY) {
+      int oldValue = removedKeyValue;
+      removedKeyValue = value;
+      if (hasRemovedKey) return oldValue;
+      hasRemovedKey = true;
+      return 0;
+    }
+    ensureCapacity();
+
+    long hash = hash(key);
+    int step = stepSize(hash);
+    // The first REMOVED bucket on the probe sequence, where a new key can be placed.
+    int removed = -1;
+    for (int i = homeIndex(hash), x = 1; ; i = probing.next(i, x++, step, capacity)) {
+      int k = keys[i];
+      if (k == key) {
+        int oldValue = values[i];
+        values[i] = value;
+        return oldValue;
+      }
+      if (k == FREE_KEY) {
+        // The key is not in the table. Reuse a REMOVED bucket if we passed one.
+        if (removed == -1) usedBuckets++;
+        else i = removed;
+        keys[i] = key;
+        values[i] = value;
+        keyCount++;
+        return 0;
+      }
+      if (k == REMOVED_KEY && removed == -1) removed = i;
+    }
+  }
+
+  /** Returns the value for the given key, or 0 if the key does not exist. */
+  public int get(int key) {
+    return getOrDefault(key, 0);
+  }
+
+  /** Returns the value for the given key, or defaultValue if the key does not exist. */
+  public int getOrDefault(int key, int defaultValue) {
+    if (key == FREE_KEY) return hasFreeKey ? freeKeyValue : defaultValue;
+    if (key == REMOVED_KEY) return hasRemovedKey ? removedKeyValue : defaultValue;
+    int i = indexOf(key);
+    return i == -1 ? defaultValue : values[i];
+  }
+
+  public boolean containsKey(int key) {
+    if (key == FREE_KEY) return hasFreeKey;
+    if (key == REMOVED_KEY) return hasRemovedKey;
+    return indexOf(key) != -1;
+  }
+
+  /** Removes the key and returns its value, or 0 if the key does not exist. */
+  public int remove(int key) {
+    if (key == FREE_KEY) {
+      if (!hasFreeKey) return 0;
+      hasFreeKey = false;
+      return freeKeyValue;
+    }
+    if (key == REMOVED_KEY) {
+      if (!hasRemovedKey) return 0;
+      hasRemovedKey = false;
+      return removedKeyValue;
+    }
+    int i = indexOf(key);
+    if (i == -1) return 0;
+    // The bucket stays used: it must not become FREE or it would cut the probe
+    // sequences of other keys which passed through it in two.
+    keys[i] = REMOVED_KEY;
+    keyCount--;
+    return values[i];
+  }
+
+  public void clear() {
+    Arrays.fill(keys, FREE_KEY);
+    hasFreeKey = hasRemovedKey = false;
+    keyCount = usedBuckets = 0;
+  }
+
+  /** Returns the keys of the table, in no particular order. */
+  public int[] keys() {
+    int[] result = new int[size()];
+    int n = 0;
+    if (hasFreeKey) result[n++] = FREE_KEY;
+    if (hasRemovedKey) result[n++] = REMOVED_KEY;
+    for (int k : keys) if (k != FREE_KEY && k != REMOVED_KEY) result[n++] = k;
+    return result;
+  }
+
+  // Returns the bucket of a (non sentinel) key, or -1 if the key does not exist.
+  private int indexOf(int key) {
+    long hash = hash(key);
+    int step = stepSize(hash);
+    for (int i = homeIndex(hash), x = 1; ; i = probing.next(i, x++, step, capacity)) {
+      int k = keys[i];
+      if (k == key) return i;
+      if (k == FREE_KEY) return -1;
+    }
+  }
+
+  @Override
+  protected int sentinelKeyCount() {
+    return (hasFreeKey ? 1 : 0) + (hasRemovedKey ? 1 : 0);
+  }
+
+  @Override
+  protected void rehash(int newCapacity) {
+    int[] oldKeys = keys, oldValues = values;
+    setCapacity(newCapacity);
+    keys = new int[capacity];
+    values = new int[capacity];
+    usedBuckets = keyCount;
+
+    // Every key is distinct and there are no REMOVED buckets yet, so each
+    // key simply goes into the first FREE bucket of its probe sequence.
+    for (int j = 0; j < oldKeys.length; j++) {
+      int key = oldKeys[j];
+      if (key == FREE_KEY || key == REMOVED_KEY) continue;
+      long hash = hash(key);
+      int step = stepSize(hash);
+      int i = homeIndex(hash);
+      for (int x = 1; keys[i] != FREE_KEY; x++) i = probing.next(i, x, step, capacity);
+      keys[i] = key;
+      values[i] = oldValues[j];
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (int key : keys()) {
+      if (sb.length() > 1) sb.append(", ");
+      sb.append(key).append(" => ").append(get(key));
+    }
+    return sb.append("}").toString();
+  }
+}
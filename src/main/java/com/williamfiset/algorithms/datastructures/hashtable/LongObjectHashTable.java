@@ -0,0 +1,189 @@
+/**
+ * An open addressing hash table mapping primitive long keys to object values.
+ *
+ * <p>Keys live in a long array and values in a parallel Object array. Compared to {@code
+ * HashTableLinearProbing<Long, V>} the keys are never boxed and are compared with == directly in
+ * the array, so a lookup only touches the value array once the key has been found. Like the
+ * boxed tables, get(), put() and remove() return null when the key does not exist.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.Arrays;
+
+@SuppressWarnings("unchecked")
+public class LongObjectHashTable<V> extends PrimitiveHashTableBase {
+
+  static final long FREE_KEY = 0;
+  static final long REMOVED_KEY = Long.MIN_VALUE;
+
+  private long[] keys;
+  private V[] values;
+
+  // Entries for the two sentinel keys, which cannot be stored in the arrays.
+  private boolean hasFreeKey, hasRemovedKey;
+  private V freeKeyValue, removedKeyValue;
+
+  public LongObjectHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, ProbingStrategy.LINEAR);
+  }
+
+  public LongObjectHashTable(ProbingStrategy probing) {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, probing);
+  }
+
+  // Designated constructor
+  public LongObjectHashTable(int capacity, double loadFactor, ProbingStrategy probing) {
+    super(capacity, loadFactor, probing);
+    keys = new long[this.capacity];
+    values = (V[]) new Object[this.capacity];
+  }
+
+  /** Inserts or updates a key-value pair. Returns the previous value, or null if the key is new. */
+  public V put(long key, V value) {
+    if (key == FREE_KEY) {
+      V oldValue = freeKeyValue;
+      freeKeyValue = value;
+      hasFreeKey = true;
+      return oldValue;
+    }
+    if (key == REMOVED_KEY) {
+      V oldValue = removedKeyValue;
+      removedKeyValue = value;
+      hasRemovedKey = true;
+      return oldValue;
+    }
+    ensureCapacity();
+
+    long hash = hash(key);
+    int step = stepSize(hash);
+    // The first REMOVED bucket on the probe sequence, where a new key can be placed.
+    int removed = -1;
+    for (int i = homeIndex(hash), x = 1; ; i = probing.next(i, x++, step, capacity)) {
+      long k = keys[i];
+      if (k == key) {
+        V oldValue = values[i];
+        values[i] = value;
+        return oldValue;
+      }
+      if (k == FREE_KEY) {
+        if (removed == -1) usedBuckets++;
+        else i = removed;
+        keys[i] = key;
+        values[i] = value;
+        keyCount++;
+        return null;
+      }
+      if (k == REMOVED_KEY && removed == -1) removed = i;
+    }
+  }
+
+  /**
+   * Returns the value for the given key, or null if not found.
+   *
+   * <p>NOTE: returns null if the value is null AND also returns null if the key does not exist.
+   */
+  public V get(long key) {
+    if (key == FREE_KEY) return freeKeyValue;
+    if (key == REMOVED_KEY) return removedKeyValue;
+    int i = indexOf(key);
+    return i == -1 ? null : values[i];
+  }
+
+  public boolean containsKey(long key) {
+    if (key == FREE_KEY) return hasFreeKey;
+    if (key == REMOVED_KEY) return hasRemovedKey;
+    return indexOf(key) != -1;
+  }
+
+  /** Removes the key and returns its value, or null if the key does not exist. */
+  public V remove(long key) {
+    V oldValue;
+    if (key == FREE_KEY) {
+      oldValue = freeKeyValue;
+      freeKeyValue = null;
+      hasFreeKey = false;
+      return oldValue;
+    }
+    if (key == REMOVED_KEY) {
+      oldValue = removedKeyValue;
+      removedKeyValue = null;
+      hasRemovedKey = false;
+      return oldValue;
+    }
+    int i = indexOf(key);
+    if (i == -1) return null;
+    oldValue = values[i];
+    keys[i] = REMOVED_KEY;
+    // Drop the reference so the value can be garbage collected.
+    values[i] = null;
+    keyCount--;
+    return oldValue;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, FREE_KEY);
+    Arrays.fill(values, null);
+    hasFreeKey = hasRemovedKey = false;
+    freeKeyValue = removedKeyValue = null;
+    keyCount = usedBuckets = 0;
+  }
+
+  /** Returns the keys of the table, in no particular order. */
+  public long[] keys() {
+    long[] result = new long[size()];
+    int n = 0;
+    if (hasFreeKey) result[n++] = FREE_KEY;
+    if (hasRemovedKey) result[n++] = REMOVED_KEY;
+    for (long k : keys) if (k != FREE_KEY && k != REMOVED_KEY) result[n++] = k;
+    return result;
+  }
+
+  // Returns the bucket of a (non sentinel) key, or -1 if the key does not exist.
+  private int indexOf(long key) {
+    long hash = hash(key);
+    int step = stepSize(hash);
+    for (int i = homeIndex(hash), x = 1; ; i = probing.next(i, x++, step, capacity)) {
+      long k = keys[i];
+      if (k == key) return i;
+      if (k == FREE_KEY) return -1;
+    }
+  }
+
+  @Override
+  protected int sentinelKeyCount() {
+    return (hasFreeKey ? 1 : 0) + (hasRemovedKey ? 1 : 0);
+  }
+
+  @Override
+  protected void rehash(int newCapacity) {
+    long[] oldKeys = keys;
+    V[] oldValues = values;
+    setCapacity(newCapacity);
+    keys = new long[capacity];
+    values = (V[]) new Object[capacity];
+    usedBuckets = keyCount;
+
+    for (int j = 0; j < oldKeys.length; j++) {
+      long key = oldKeys[j];
+      if (key == FREE_KEY || key == REMOVED_KEY) continue;
+      long hash = hash(key);
+      int step = stepSize(hash);
+      int i = homeIndex(hash);
+      for (int x = 1; keys[i] != FREE_KEY; x++) i = probing.next(i, x, step, capacity);
+      keys[i] = key;
+      values[i] = oldValues[j];
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (long key : keys()) {
+      if (sb.length() > 1) sb.append(", ");
+      sb.append(key).append(" => ").append(get(key));
+    }
+    return sb.append("}").toString();
+  }
+}
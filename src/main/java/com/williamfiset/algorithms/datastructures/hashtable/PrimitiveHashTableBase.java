@@ -0,0 +1,104 @@
+/**
+ * Base class for the open addressing hash tables with primitive keys ({@link IntIntHashTable},
+ * {@link LongLongHashTable} and {@link LongObjectHashTable}).
+ *
+ * <p>{@link HashTableOpenAddressingBase} stores its keys and values in Object arrays, so every int
+ * key is boxed into an Integer, every lookup follows a pointer to compare keys with equals(), and
+ * every put() creates garbage. The primitive tables instead store keys and values in parallel
+ * primitive arrays (keys[i] maps to values[i]) so that nothing is allocated on the hot path.
+ *
+ * <p>Without objects there is no null to mark an empty bucket and no TOMBSTONE object to mark a
+ * deleted bucket, so two key values are reserved as sentinels instead: FREE_KEY (0) marks an empty
+ * bucket and REMOVED_KEY (MIN_VALUE) marks a deleted one. A freshly allocated primitive array is
+ * all zeros, which conveniently means all buckets start out FREE. The sentinel keys are still
+ * valid keys for the user though! Their entries simply live in dedicated fields outside the arrays.
+ *
+ * <p>This class keeps track of the capacity, the load factor and the probing strategy, the
+ * subclasses implement the probing loops for their key type.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+public abstract class PrimitiveHashTableBase {
+
+  protected static final int DEFAULT_CAPACITY = 7;
+  protected static final double DEFAULT_LOAD_FACTOR = 0.65;
+
+  protected final ProbingStrategy probing;
+  protected final double loadFactor;
+  protected int capacity, threshold;
+
+  // 'usedBuckets' counts the buckets which are not FREE (includes REMOVED buckets) and drives
+  // resize decisions. 'keyCount' is the number of keys stored in the arrays, it does not include
+  // the (at most two) sentinel keys stored outside of them.
+  protected int usedBuckets, keyCount;
+
+  protected PrimitiveHashTableBase(int capacity, double loadFactor, ProbingStrategy probing) {
+    if (capacity <= 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    // Every probe sequence must eventually reach a FREE bucket, so the table can never be full.
+    if (!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+    if (probing == null) throw new IllegalArgumentException("Null probing strategy");
+
+    this.probing = probing;
+    this.loadFactor = loadFactor;
+    setCapacity(probing.adjustCapacity(Math.max(DEFAULT_CAPACITY, capacity)));
+  }
+
+  // Returns the number of keys inside the hash-table
+  public int size() {
+    return keyCount + sentinelKeyCount();
+  }
+
+  // Returns true/false depending on whether the hash-table is empty
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  // Returns the capacity of the hash-table (used mostly for testing)
+  public int getCapacity() {
+    return capacity;
+  }
+
+  // Returns the number of sentinel keys (0, 1 or 2) currently stored outside the arrays.
+  protected abstract int sentinelKeyCount();
+
+  // Reallocates the arrays with the new capacity and re-inserts every key.
+  protected abstract void rehash(int newCapacity);
+
+  protected final void setCapacity(int newCapacity) {
+    capacity = newCapacity;
+    threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+  }
+
+  // Called before inserting a new key. Once the used buckets reach the threshold the table is
+  // rebuilt, which also clears out every REMOVED bucket. If most of the used buckets are REMOVED
+  // ones the capacity stays the same, otherwise it grows.
+  protected final void ensureCapacity() {
+    if (usedBuckets < threshold) return;
+    if (keyCount < usedBuckets / 2) rehash(capacity);
+    else rehash(probing.increaseCapacity(capacity));
+  }
+
+  // Returns the bucket at which the probe sequence for the given hash starts.
+  protected final int homeIndex(long hash) {
+    return ((int) hash & 0x7FFFFFFF) % capacity;
+  }
+
+  // Returns the double hashing step for the given hash, a value in [1, capacity).
+  protected final int stepSize(long hash) {
+    if (probing != ProbingStrategy.DOUBLE_HASHING) return 0;
+    int step = ((int) (hash >>> 32) & 0x7FFFFFFF) % capacity;
+    return step == 0 ? 1 : step;
+  }
+
+  // Scrambles the bits of a key so that keys which differ only slightly (like consecutive ids)
+  // end up in unrelated buckets. The lower 32 bits choose the home bucket, the upper 32 bits the
+  // double hashing step. This is the finalizer of the SplitMix64 random number generator.
+  protected static long hash(long key) {
+    key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+    return key ^ (key >>> 31);
+  }
+}
@@ -0,0 +1,70 @@
+/**
+ * The open addressing probe sequences used by the primitive hash tables.
+ *
+ * <p>These are the same three strategies implemented by {@link HashTableLinearProbing}, {@link
+ * HashTableQuadraticProbing} and {@link HashTableDoubleHashing}, including the constraint each one
+ * puts on the table capacity so that the probe sequence visits every bucket:
+ *
+ * <ul>
+ *   <li>LINEAR: H(k, x) = h(k) + 17x, with GCD(capacity, 17) = 1
+ *   <li>QUADRATIC: H(k, x) = h(k) + (x^2 + x)/2, with capacity a power of two
+ *   <li>DOUBLE_HASHING: H(k, x) = h(k) + x*h2(k), with capacity a prime number
+ * </ul>
+ *
+ * <p>Rather than evaluating H(k, x) from scratch at each step, {@link #next} moves from bucket
+ * H(k, x-1) to bucket H(k, x) by adding the difference between the two offsets. This visits the
+ * exact same buckets but avoids both the multiplications and the integer overflow of x*x for long
+ * probe sequences.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.math.BigInteger;
+
+public enum ProbingStrategy {
+  LINEAR,
+  QUADRATIC,
+  DOUBLE_HASHING;
+
+  private static final int LINEAR_CONSTANT = 17;
+
+  // Returns the bucket of the x-th probe (x >= 1) given the bucket of the (x-1)-th probe.
+  // 'step' is the secondary hash h2(k) in [1, capacity), only used by double hashing.
+  final int next(int index, int x, int step, int capacity) {
+    int delta;
+    switch (this) {
+      case LINEAR:
+        delta = LINEAR_CONSTANT;
+        break;
+      case QUADRATIC:
+        // (x^2 + x)/2 - ((x-1)^2 + (x-1))/2 = x
+        delta = x;
+        break;
+      default:
+        delta = step;
+    }
+    return (int) ((index + (long) delta) % capacity);
+  }
+
+  // Returns the smallest valid capacity for this strategy which is at least 'capacity'.
+  final int adjustCapacity(int capacity) {
+    switch (this) {
+      case LINEAR:
+        while (HashTableOpenAddressingBase.gcd(LINEAR_CONSTANT, capacity) != 1) capacity++;
+        return capacity;
+      case QUADRATIC:
+        int pow2 = Integer.highestOneBit(capacity);
+        return capacity == pow2 ? capacity : pow2 << 1;
+      default:
+        while (!BigInteger.valueOf(capacity).isProbablePrime(20)) capacity++;
+        return capacity;
+    }
+  }
+
+  // Returns the next (valid) capacity when the table needs to grow.
+  final int increaseCapacity(int capacity) {
+    if (this == QUADRATIC) return Integer.highestOneBit(capacity) << 1;
+    return adjustCapacity(2 * capacity + 1);
+  }
+}
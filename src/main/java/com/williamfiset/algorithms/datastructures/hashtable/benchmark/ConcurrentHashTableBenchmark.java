@@ -0,0 +1,173 @@
+/**
+ * Multi-threaded JMH benchmark of {@link ConcurrentHashTableSeparateChaining}.
+ *
+ * <p>It is compared against the two alternatives a caller would otherwise reach for: the
+ * sequential {@link HashTableSeparateChaining} behind a single global lock, and
+ * java.util.concurrent.ConcurrentHashMap. Every thread runs a random mix of operations on a shared
+ * table holding about half of the keys of a fixed range: readPercent% get() calls, the rest split
+ * evenly between put() and remove() so that the size stays stable.
+ *
+ * <p>main() runs the benchmark with 1, 2, 4, ... threads up to the number of processors, writing
+ * each result to its own JSON file, see {@link BenchmarkRunner#runThreadScaling}. Pass -t to run
+ * a single thread count instead.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable.benchmark;
+
+import com.williamfiset.algorithms.datastructures.hashtable.*;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentHashTableBenchmark {
+
+  // The operations the benchmark needs from a thread-safe table.
+  public interface ConcurrentMap {
+    Integer get(Integer key);
+
+    void put(Integer key, Integer value);
+
+    void remove(Integer key);
+  }
+
+  public enum Implementation {
+    CONCURRENT_SEPARATE_CHAINING {
+      @Override
+      ConcurrentMap create() {
+        ConcurrentHashTableSeparateChaining<Integer, Integer> map =
+            new ConcurrentHashTableSeparateChaining<>();
+        return new ConcurrentMap() {
+          @Override
+          public Integer get(Integer key) {
+            return map.get(key);
+          }
+
+          @Override
+          public void put(Integer key, Integer value) {
+            map.put(key, value);
+          }
+
+          @Override
+          public void remove(Integer key) {
+            map.remove(key);
+          }
+        };
+      }
+    },
+    // What callers do today: the sequential table with every operation behind one lock.
+    LOCKED_SEPARATE_CHAINING {
+      @Override
+      ConcurrentMap create() {
+        HashTableSeparateChaining<Integer, Integer> map = new HashTableSeparateChaining<>();
+        return new ConcurrentMap() {
+          @Override
+          public synchronized Integer get(Integer key) {
+            return map.get(key);
+          }
+
+          @Override
+          public synchronized void put(Integer key, Integer value) {
+            map.put(key, value);
+          }
+
+          @Override
+          public synchronized void remove(Integer key) {
+            map.remove(key);
+          }
+        };
+      }
+    },
+    CONCURRENT_HASH_MAP {
+      @Override
+      ConcurrentMap create() {
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        return new ConcurrentMap() {
+          @Override
+          public Integer get(Integer key) {
+            return map.get(key);
+          }
+
+          @Override
+          public void put(Integer key, Integer value) {
+            map.put(key, value);
+          }
+
+          @Override
+          public void remove(Integer key) {
+            map.remove(key);
+          }
+        };
+      }
+    };
+
+    abstract ConcurrentMap create();
+  }
+
+  @Param public Implementation implementation;
+
+  @Param({"100", "90", "50"})
+  public int readPercent;
+
+  @Param({"100000"})
+  public int keyRange;
+
+  private ConcurrentMap map;
+  // Boxed once up front so that the benchmark does not measure Integer allocation.
+  private Integer[] keys;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    keys = new Integer[keyRange];
+    for (int i = 0; i < keyRange; i++) keys[i] = i;
+    map = implementation.create();
+    Random random = new Random(0x5EED);
+    for (int i = 0; i < keyRange; i++) if (random.nextBoolean()) map.put(keys[i], keys[i]);
+  }
+
+  // Each thread draws its operations from its own xorshift generator.
+  @State(Scope.Thread)
+  public static class ThreadState {
+    long seed = System.nanoTime() | 1;
+
+    int next() {
+      seed ^= seed << 13;
+      seed ^= seed >>> 7;
+      seed ^= seed << 17;
+      return (int) (seed >>> 33);
+    }
+  }
+
+  @Benchmark
+  public Integer operation(ThreadState state) {
+    Integer key = keys[state.next() % keyRange];
+    int op = state.next() % 100;
+    if (op < readPercent) return map.get(key);
+    if ((op & 1) == 0) map.put(key, key);
+    else map.remove(key);
+    return key;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner.runThreadScaling(ConcurrentHashTableBenchmark.class, args);
+  }
+}
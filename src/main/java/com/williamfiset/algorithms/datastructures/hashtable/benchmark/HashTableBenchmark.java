@@ -0,0 +1,232 @@
+/**
+ * JMH benchmark comparing the primitive int keyed hash tables against the boxed open addressing
+ * tables (including the Robin Hood and Swiss tables) and java.util.HashMap.
+ *
+ * <p>Every implementation is driven through the small {@link IntMap} adapter so that each one pays
+ * the same (megamorphic) call overhead, what remains is the cost of the table itself: boxing,
+ * pointer chasing and the probe sequence. Two operations are measured:
+ *
+ * <ul>
+ *   <li>put: inserts n random keys into an empty table, including every resize along the way.
+ *   <li>get: looks up n keys in a table already holding them, half of the lookups are misses.
+ * </ul>
+ *
+ * <p>Run with {@code -prof gc} to also see the bytes allocated per operation, which should be
+ * close to zero for the primitive tables once they have been sized.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable.benchmark;
+
+import com.williamfiset.algorithms.datastructures.hashtable.*;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class HashTableBenchmark {
+
+  // The operations the benchmark needs from a table with int keys and int values.
+  public interface IntMap {
+    void put(int key, int value);
+
+    int get(int key);
+  }
+
+  public enum Implementation {
+    INT_INT_LINEAR {
+      @Override
+      IntMap create() {
+        return primitive(new IntIntHashTable(ProbingStrategy.LINEAR));
+      }
+    },
+    INT_INT_QUADRATIC {
+      @Override
+      IntMap create() {
+        return primitive(new IntIntHashTable(ProbingStrategy.QUADRATIC));
+      }
+    },
+    INT_INT_DOUBLE_HASHING {
+      @Override
+      IntMap create() {
+        return primitive(new IntIntHashTable(ProbingStrategy.DOUBLE_HASHING));
+      }
+    },
+    BOXED_LINEAR {
+      @Override
+      IntMap create() {
+        return boxed(new HashTableLinearProbing<>());
+      }
+    },
+    BOXED_QUADRATIC {
+      @Override
+      IntMap create() {
+        return boxed(new HashTableQuadraticProbing<>());
+      }
+    },
+    // The boxed double hashing table needs keys implementing SecondaryHash, so every
+    // operation also wraps its key in a DoubleHashingTestObject.
+    BOXED_DOUBLE_HASHING {
+      @Override
+      IntMap create() {
+        HashTableDoubleHashing<DoubleHashingTestObject, Integer> map =
+            new HashTableDoubleHashing<>();
+        return new IntMap() {
+          @Override
+          public void put(int key, int value) {
+            map.put(new DoubleHashingTestObject(key), value);
+          }
+
+          @Override
+          public int get(int key) {
+            Integer value = map.get(new DoubleHashingTestObject(key));
+            return value == null ? 0 : value;
+          }
+        };
+      }
+    },
+    // Robin Hood and Swiss tables run at their default load factor of 0.875.
+    ROBIN_HOOD {
+      @Override
+      IntMap create() {
+        HashTableRobinHood<Integer, Integer> map = new HashTableRobinHood<>();
+        return new IntMap() {
+          @Override
+          public void put(int key, int value) {
+            map.put(key, value);
+          }
+
+          @Override
+          public int get(int key) {
+            Integer value = map.get(key);
+            return value == null ? 0 : value;
+          }
+        };
+      }
+    },
+    SWISS {
+      @Override
+      IntMap create() {
+        HashTableSwiss<Integer, Integer> map = new HashTableSwiss<>();
+        return new IntMap() {
+          @Override
+          public void put(int key, int value) {
+            map.put(key, value);
+          }
+
+          @Override
+          public int get(int key) {
+            Integer value = map.get(key);
+            return value == null ? 0 : value;
+          }
+        };
+      }
+    },
+    JAVA_HASH_MAP {
+      @Override
+      IntMap create() {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        return new IntMap() {
+          @Override
+          public void put(int key, int value) {
+            map.put(key, value);
+          }
+
+          @Override
+          public int get(int key) {
+            Integer value = map.get(key);
+            return value == null ? 0 : value;
+          }
+        };
+      }
+    };
+
+    abstract IntMap create();
+
+    static IntMap primitive(IntIntHashTable map) {
+      return new IntMap() {
+        @Override
+        public void put(int key, int value) {
+          map.put(key, value);
+        }
+
+        @Override
+        public int get(int key) {
+          return map.get(key);
+        }
+      };
+    }
+
+    static IntMap boxed(HashTableOpenAddressingBase<Integer, Integer> map) {
+      return new IntMap() {
+        @Override
+        public void put(int key, int value) {
+          map.put(key, value);
+        }
+
+        @Override
+        public int get(int key) {
+          Integer value = map.get(key);
+          return value == null ? 0 : value;
+        }
+      };
+    }
+  }
+
+  @Param public Implementation implementation;
+
+  @Param({"1000", "100000", "1000000"})
+  public int n;
+
+  private int[] keys, lookups;
+  private IntMap filled;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5EED);
+    keys = new int[n];
+    lookups = new int[n];
+    for (int i = 0; i < n; i++) keys[i] = random.nextInt();
+    // Every other lookup is a key which is (almost certainly) not in the table.
+    for (int i = 0; i < n; i++) lookups[i] = i % 2 == 0 ? keys[i] : random.nextInt();
+
+    filled = implementation.create();
+    for (int key : keys) filled.put(key, key);
+  }
+
+  @Benchmark
+  public IntMap put() {
+    IntMap map = implementation.create();
+    for (int i = 0; i < n; i++) map.put(keys[i], i);
+    return map;
+  }
+
+  @Benchmark
+  public long get() {
+    long sum = 0;
+    for (int key : lookups) sum += filled.get(key);
+    return sum;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner.run(HashTableBenchmark.class, args);
+  }
+}
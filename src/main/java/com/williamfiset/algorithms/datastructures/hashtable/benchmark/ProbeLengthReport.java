@@ -0,0 +1,180 @@
+/**
+ * Prints the probe length distribution of every boxed open addressing hash table, filled with
+ * random keys right up to its resize threshold at load factors 0.65 and 0.875.
+ *
+ * <p>Where {@link HashTableBenchmark} measures the average cost of an operation, this shows the
+ * shape of the tail: the mean, the 99th and 99.9th percentiles and the maximum number of extra
+ * probes a successful get() needs. For the linear, quadratic, double hashing and Robin Hood tables
+ * a probe is one bucket, for the Swiss table it is one group of 8 buckets.
+ *
+ * <p>Usage: ProbeLengthReport [capacity], the capacity defaults to 2^20.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.hashtable.benchmark;
+
+import com.williamfiset.algorithms.datastructures.hashtable.*;
+import java.util.Random;
+
+public class ProbeLengthReport {
+
+  // The operations the report needs from a table with Integer keys.
+  interface Table {
+    int getCapacity();
+
+    void put(int key);
+
+    int[] probeLengthHistogram();
+  }
+
+  enum Implementation {
+    LINEAR {
+      @Override
+      Table create(int capacity, double loadFactor) {
+        return boxed(new HashTableLinearProbing<>(capacity, loadFactor));
+      }
+    },
+    QUADRATIC {
+      @Override
+      Table create(int capacity, double loadFactor) {
+        return boxed(new HashTableQuadraticProbing<>(capacity, loadFactor));
+      }
+    },
+    DOUBLE_HASHING {
+      @Override
+      Table create(int capacity, double loadFactor) {
+        HashTableDoubleHashing<DoubleHashingTestObject, Integer> map =
+            new HashTableDoubleHashing<>(capacity, loadFactor);
+        return new Table() {
+          @Override
+          public int getCapacity() {
+            return map.getCapacity();
+          }
+
+          @Override
+          public void put(int key) {
+            map.put(new DoubleHashingTestObject(key), key);
+          }
+
+          @Override
+          public int[] probeLengthHistogram() {
+            return map.probeLengthHistogram();
+          }
+        };
+      }
+    },
+    ROBIN_HOOD {
+      @Override
+      Table create(int capacity, double loadFactor) {
+        HashTableRobinHood<Integer, Integer> map = new HashTableRobinHood<>(capacity, loadFactor);
+        return new Table() {
+          @Override
+          public int getCapacity() {
+            return map.getCapacity();
+          }
+
+          @Override
+          public void put(int key) {
+            map.put(key, key);
+          }
+
+          @Override
+          public int[] probeLengthHistogram() {
+            return map.probeLengthHistogram();
+          }
+        };
+      }
+    },
+    SWISS {
+      @Override
+      Table create(int capacity, double loadFactor) {
+        HashTableSwiss<Integer, Integer> map = new HashTableSwiss<>(capacity, loadFactor);
+        return new Table() {
+          @Override
+          public int getCapacity() {
+            return map.getCapacity();
+          }
+
+          @Override
+          public void put(int key) {
+            map.put(key, key);
+          }
+
+          @Override
+          public int[] probeLengthHistogram() {
+            return map.probeLengthHistogram();
+          }
+        };
+      }
+    };
+
+    abstract Table create(int capacity, double loadFactor);
+
+    static Table boxed(HashTableOpenAddressingBase<Integer, Integer> map) {
+      return new Table() {
+        @Override
+        public int getCapacity() {
+          return map.getCapacity();
+        }
+
+        @Override
+        public void put(int key) {
+          map.put(key, key);
+        }
+
+        @Override
+        public int[] probeLengthHistogram() {
+          return map.probeLengthHistogram();
+        }
+      };
+    }
+  }
+
+  public static void main(String[] args) {
+    int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+
+    System.out.printf(
+        "%-15s %5s %9s %7s %6s %6s %6s%n", "table", "load", "keys", "mean", "p99", "p99.9", "max");
+    for (double loadFactor : new double[] {0.65, 0.875}) {
+      for (Implementation implementation : Implementation.values()) {
+        Table table = implementation.create(capacity, loadFactor);
+        // Every table can take this many keys without resizing, so it ends up at its load factor.
+        int n = (int) (table.getCapacity() * loadFactor) - 1;
+        Random random = new Random(0x5EED);
+        for (int i = 0; i < n; i++) table.put(random.nextInt());
+
+        int[] histogram = table.probeLengthHistogram();
+        System.out.printf(
+            "%-15s %5.3f %9d %7.3f %6d %6d %6d%n",
+            implementation,
+            loadFactor,
+            n,
+            mean(histogram),
+            percentile(histogram, 0.99),
+            percentile(histogram, 0.999),
+            histogram.length - 1);
+      }
+    }
+  }
+
+  static double mean(int[] histogram) {
+    long total = 0, count = 0;
+    for (int d = 0; d < histogram.length; d++) {
+      total += (long) d * histogram[d];
+      count += histogram[d];
+    }
+    return count == 0 ? 0 : (double) total / count;
+  }
+
+  // Returns the smallest probe length d such that a fraction p of the keys have length <= d.
+  static int percentile(int[] histogram, double p) {
+    long count = 0;
+    for (int c : histogram) count += c;
+    long seen = 0;
+    for (int d = 0; d < histogram.length; d++) {
+      seen += histogram[d];
+      if (seen >= p * count) return d;
+    }
+    return histogram.length - 1;
+  }
+}
@@ -0,0 +1,242 @@
+/**
+ * An indexed min D-ary heap priority queue with primitive double values.
+ *
+ * <p>This is {@link MinIndexedDHeap} specialized for doubles, for callers like Dijkstra's algorithm
+ * which do millions of decrease key operations: the values are never boxed, and they are stored in
+ * heap order rather than by key index, so the comparisons made while sifting read one contiguous
+ * array instead of following the inverse map to a Double somewhere on the heap. The child and
+ * parent positions are computed instead of being looked up, which saves two ints per key.
+ *
+ * <p>{@link #clear} takes time proportional to the number of keys in the heap rather than to its
+ * capacity, so one large heap can be reused across many small searches.
+ *
+ * <p>As convention, I denote 'ki' as the index value in the domain [0, N) associated with a key k,
+ * therefore: ki = map[k]
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class MinIndexedDHeapDouble {
+
+  // Current number of elements in the heap.
+  private int sz;
+
+  // Maximum number of elements in the heap.
+  private final int N;
+
+  // The degree of every node in the heap.
+  private final int D;
+
+  // The Position Map (pm) maps Key Indexes (ki) to where the position of that
+  // key is represented in the priority queue in the domain [0, sz).
+  private final int[] pm;
+
+  // The Inverse Map (im) stores the indexes of the keys in the range
+  // [0, sz) which make up the priority queue, so: pm[im[i]] = im[pm[i]] = i
+  private final int[] im;
+
+  // The value of the key at position i of the heap. Unlike MinIndexedDHeap this array is indexed
+  // by heap position, not by key index.
+  private final double[] values;
+
+  // Initializes a D-ary heap with a maximum capacity of maxSize.
+  public MinIndexedDHeapDouble(int degree, int maxSize) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+
+    D = max(2, degree);
+    N = maxSize;
+
+    im = new int[N];
+    pm = new int[N];
+    values = new double[N];
+    Arrays.fill(pm, -1);
+  }
+
+  public int size() {
+    return sz;
+  }
+
+  public boolean isEmpty() {
+    return sz == 0;
+  }
+
+  public boolean contains(int ki) {
+    keyInBoundsOrThrow(ki);
+    return pm[ki] != -1;
+  }
+
+  public int peekMinKeyIndex() {
+    isNotEmptyOrThrow();
+    return im[0];
+  }
+
+  public int pollMinKeyIndex() {
+    int minki = peekMinKeyIndex();
+    delete(minki);
+    return minki;
+  }
+
+  public double peekMinValue() {
+    isNotEmptyOrThrow();
+    return values[0];
+  }
+
+  public double pollMinValue() {
+    double minValue = peekMinValue();
+    delete(im[0]);
+    return minValue;
+  }
+
+  public void insert(int ki, double value) {
+    if (contains(ki)) throw new IllegalArgumentException("index already exists; received: " + ki);
+    pm[ki] = sz;
+    im[sz] = ki;
+    values[sz] = value;
+    swim(sz++);
+  }
+
+  public double valueOf(int ki) {
+    keyExistsOrThrow(ki);
+    return values[pm[ki]];
+  }
+
+  public double delete(int ki) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    double value = values[i];
+    swap(i, --sz);
+    if (i < sz) {
+      sink(i);
+      swim(i);
+    }
+    pm[ki] = -1;
+    return value;
+  }
+
+  public double update(int ki, double value) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    double oldValue = values[i];
+    values[i] = value;
+    sink(i);
+    swim(pm[ki]);
+    return oldValue;
+  }
+
+  // Strictly decreases the value associated with 'ki' to 'value'
+  public void decrease(int ki, double value) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    if (value < values[i]) {
+      values[i] = value;
+      swim(i);
+    }
+  }
+
+  // Strictly increases the value associated with 'ki' to 'value'
+  public void increase(int ki, double value) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    if (values[i] < value) {
+      values[i] = value;
+      sink(i);
+    }
+  }
+
+  // Removes all the keys in O(size) time.
+  public void clear() {
+    for (int i = 0; i < sz; i++) pm[im[i]] = -1;
+    sz = 0;
+  }
+
+  /* Helper functions */
+
+  // Moves the key at position i down until its children are no smaller. The key is held aside
+  // and only written once its final position is known, instead of being swapped at every level.
+  private void sink(int i) {
+    int ki = im[i];
+    double value = values[i];
+    while (true) {
+      int from = i * D + 1, to = min(sz, from + D), j = -1;
+      double smallest = value;
+      for (int c = from; c < to; c++) {
+        if (values[c] < smallest) {
+          smallest = values[c];
+          j = c;
+        }
+      }
+      if (j == -1) break;
+      move(j, i);
+      i = j;
+    }
+    place(ki, value, i);
+  }
+
+  private void swim(int i) {
+    int ki = im[i];
+    double value = values[i];
+    while (i > 0) {
+      int parent = (i - 1) / D;
+      if (!(value < values[parent])) break;
+      move(parent, i);
+      i = parent;
+    }
+    place(ki, value, i);
+  }
+
+  // Moves the key at heap position 'from' to heap position 'to'.
+  private void move(int from, int to) {
+    im[to] = im[from];
+    values[to] = values[from];
+    pm[im[to]] = to;
+  }
+
+  private void place(int ki, double value, int i) {
+    im[i] = ki;
+    values[i] = value;
+    pm[ki] = i;
+  }
+
+  private void swap(int i, int j) {
+    pm[im[j]] = i;
+    pm[im[i]] = j;
+    int tmp = im[i];
+    im[i] = im[j];
+    im[j] = tmp;
+    double value = values[i];
+    values[i] = values[j];
+    values[j] = value;
+  }
+
+  /* Helper functions to make the code more readable. */
+
+  private void isNotEmptyOrThrow() {
+    if (isEmpty()) throw new NoSuchElementException("Priority queue underflow");
+  }
+
+  private void keyExistsOrThrow(int ki) {
+    if (!contains(ki)) throw new NoSuchElementException("Index does not exist; received: " + ki);
+  }
+
+  private void keyInBoundsOrThrow(int ki) {
+    if (ki < 0 || ki >= N)
+      throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
+  }
+
+  /* Test functions */
+
+  // Checks if this heap is a min heap. This method is used for testing purposes to validate the
+  // heap invariant.
+  public boolean isMinHeap() {
+    for (int i = 1; i < sz; i++) if (values[i] < values[(i - 1) / D]) return false;
+    for (int i = 0; i < sz; i++) if (pm[im[i]] != i) return false;
+    return true;
+  }
+}
@@ -0,0 +1,236 @@
+/**
+ * An indexed min D-ary heap priority queue with primitive long values, for instance the distances
+ * of a shortest path search over integer edge weights, which are exact where doubles would round.
+ *
+ * <p>It is laid out like {@link MinIndexedDHeapDouble}, see there for the details.
+ *
+ * <p>As convention, I denote 'ki' as the index value in the domain [0, N) associated with a key k,
+ * therefore: ki = map[k]
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class MinIndexedDHeapLong {
+
+  // Current number of elements in the heap.
+  private int sz;
+
+  // Maximum number of elements in the heap.
+  private final int N;
+
+  // The degree of every node in the heap.
+  private final int D;
+
+  // The Position Map (pm) maps Key Indexes (ki) to where the position of that
+  // key is represented in the priority queue in the domain [0, sz).
+  private final int[] pm;
+
+  // The Inverse Map (im) stores the indexes of the keys in the range
+  // [0, sz) which make up the priority queue, so: pm[im[i]] = im[pm[i]] = i
+  private final int[] im;
+
+  // The value of the key at position i of the heap. Unlike MinIndexedDHeap this array is indexed
+  // by heap position, not by key index.
+  private final long[] values;
+
+  // Initializes a D-ary heap with a maximum capacity of maxSize.
+  public MinIndexedDHeapLong(int degree, int maxSize) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+
+    D = max(2, degree);
+    N = maxSize;
+
+    im = new int[N];
+    pm = new int[N];
+    values = new long[N];
+    Arrays.fill(pm, -1);
+  }
+
+  public int size() {
+    return sz;
+  }
+
+  public boolean isEmpty() {
+    return sz == 0;
+  }
+
+  public boolean contains(int ki) {
+    keyInBoundsOrThrow(ki);
+    return pm[ki] != -1;
+  }
+
+  public int peekMinKeyIndex() {
+    isNotEmptyOrThrow();
+    return im[0];
+  }
+
+  public int pollMinKeyIndex() {
+    int minki = peekMinKeyIndex();
+    delete(minki);
+    return minki;
+  }
+
+  public long peekMinValue() {
+    isNotEmptyOrThrow();
+    return values[0];
+  }
+
+  public long pollMinValue() {
+    long minValue = peekMinValue();
+    delete(im[0]);
+    return minValue;
+  }
+
+  public void insert(int ki, long value) {
+    if (contains(ki)) throw new IllegalArgumentException("index already exists; received: " + ki);
+    pm[ki] = sz;
+    im[sz] = ki;
+    values[sz] = value;
+    swim(sz++);
+  }
+
+  public long valueOf(int ki) {
+    keyExistsOrThrow(ki);
+    return values[pm[ki]];
+  }
+
+  public long delete(int ki) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    long value = values[i];
+    swap(i, --sz);
+    if (i < sz) {
+      sink(i);
+      swim(i);
+    }
+    pm[ki] = -1;
+    return value;
+  }
+
+  public long update(int ki, long value) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    long oldValue = values[i];
+    values[i] = value;
+    sink(i);
+    swim(pm[ki]);
+    return oldValue;
+  }
+
+  // Strictly decreases the value associated with 'ki' to 'value'
+  public void decrease(int ki, long value) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    if (value < values[i]) {
+      values[i] = value;
+      swim(i);
+    }
+  }
+
+  // Strictly increases the value associated with 'ki' to 'value'
+  public void increase(int ki, long value) {
+    keyExistsOrThrow(ki);
+    final int i = pm[ki];
+    if (values[i] < value) {
+      values[i] = value;
+      sink(i);
+    }
+  }
+
+  // Removes all the keys in O(size) time.
+  public void clear() {
+    for (int i = 0; i < sz; i++) pm[im[i]] = -1;
+    sz = 0;
+  }
+
+  /* Helper functions */
+
+  // Moves the key at position i down until its children are no smaller. The key is held aside
+  // and only written once its final position is known, instead of being swapped at every level.
+  private void sink(int i) {
+    int ki = im[i];
+    long value = values[i];
+    while (true) {
+      int from = i * D + 1, to = min(sz, from + D), j = -1;
+      long smallest = value;
+      for (int c = from; c < to; c++) {
+        if (values[c] < smallest) {
+          smallest = values[c];
+          j = c;
+        }
+      }
+      if (j == -1) break;
+      move(j, i);
+      i = j;
+    }
+    place(ki, value, i);
+  }
+
+  private void swim(int i) {
+    int ki = im[i];
+    long value = values[i];
+    while (i > 0) {
+      int parent = (i - 1) / D;
+      if (!(value < values[parent])) break;
+      move(parent, i);
+      i = parent;
+    }
+    place(ki, value, i);
+  }
+
+  // Moves the key at heap position 'from' to heap position 'to'.
+  private void move(int from, int to) {
+    im[to] = im[from];
+    values[to] = values[from];
+    pm[im[to]] = to;
+  }
+
+  private void place(int ki, long value, int i) {
+    im[i] = ki;
+    values[i] = value;
+    pm[ki] = i;
+  }
+
+  private void swap(int i, int j) {
+    pm[im[j]] = i;
+    pm[im[i]] = j;
+    int tmp = im[i];
+    im[i] = im[j];
+    im[j] = tmp;
+    long value = values[i];
+    values[i] = values[j];
+    values[j] = value;
+  }
+
+  /* Helper functions to make the code more readable. */
+
+  private void isNotEmptyOrThrow() {
+    if (isEmpty()) throw new NoSuchElementException("Priority queue underflow");
+  }
+
+  private void keyExistsOrThrow(int ki) {
+    if (!contains(ki)) throw new NoSuchElementException("Index does not exist; received: " + ki);
+  }
+
+  private void keyInBoundsOrThrow(int ki) {
+    if (ki < 0 || ki >= N)
+      throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
+  }
+
+  /* Test functions */
+
+  // Checks if this heap is a min heap. This method is used for testing purposes to validate the
+  // heap invariant.
+  public boolean isMinHeap() {
+    for (int i = 1; i < sz; i++) if (values[i] < values[(i - 1) / D]) return false;
+    for (int i = 0; i < sz; i++) if (pm[im[i]] != i) return false;
+    return true;
+  }
+}
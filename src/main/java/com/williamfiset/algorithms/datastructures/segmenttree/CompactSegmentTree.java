@@ -1,6 +1,8 @@
 package com.williamfiset.algorithms.datastructures.segmenttree;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Compact Array-Based Segment Tree
@@ -17,6 +19,10 @@ import java.util.Arrays;
  *   - Range sum / min / max queries with point updates
  *   - Competitive programming (very short, cache-friendly implementation)
  *
+ * Batches of queries can be answered in parallel with queryAll, and batches
+ * of point updates share the recomputation of their common ancestors with
+ * applyUpdates.
+ *
  * Time:  O(n) construction, O(log(n)) per query and update
  * Space: O(n)
  *
@@ -24,6 +30,9 @@ import java.util.Arrays;
  */
 public class CompactSegmentTree {
 
+  // Batches of at most this many queries are answered by a single thread.
+  private static final int QUERY_CUTOFF = 1 << 11;
+
   private int N;
 
   // Flat array storing the segment tree. Leaves are at indices [N, 2N),
@@ -114,6 +123,128 @@ public class CompactSegmentTree {
     return res;
   }
 
+  /**
+   * Sets out[j] to query(lefts[j], rights[j]) for every j, splitting the
+   * queries between the threads of the common fork/join pool. The tree must
+   * not be modified in the meantime.
+   *
+   * @throws IndexOutOfBoundsException if any range is empty or out of
+   *     [0, size), before any query is answered
+   */
+  public void queryAll(int[] lefts, int[] rights, long[] out) {
+    queryAll(lefts, rights, out, ForkJoinPool.commonPool());
+  }
+
+  /** Same as {@link #queryAll(int[], int[], long[])} on the given pool. */
+  public void queryAll(int[] lefts, int[] rights, long[] out, ForkJoinPool pool) {
+    if (lefts == null || rights == null || out == null || pool == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (lefts.length != rights.length || lefts.length != out.length) {
+      throw new IllegalArgumentException("The query arrays must have the same length.");
+    }
+    for (int j = 0; j < lefts.length; j++) {
+      if (lefts[j] < 0 || lefts[j] >= rights[j] || rights[j] > N) {
+        throw new IndexOutOfBoundsException(
+            "Invalid query range [" + lefts[j] + ", " + rights[j] + ").");
+      }
+    }
+    if (lefts.length <= QUERY_CUTOFF) {
+      for (int j = 0; j < lefts.length; j++) out[j] = query(lefts[j], rights[j]);
+    } else {
+      pool.invoke(new QueryTask(0, lefts.length, lefts, rights, out));
+    }
+  }
+
+  // Answers the queries lo to hi - 1, splitting them while there are too many.
+  private final class QueryTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final int[] lefts, rights;
+    final long[] out;
+
+    QueryTask(int lo, int hi, int[] lefts, int[] rights, long[] out) {
+      this.lo = lo;
+      this.hi = hi;
+      this.lefts = lefts;
+      this.rights = rights;
+      this.out = out;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= QUERY_CUTOFF) {
+        for (int j = lo; j < hi; j++) out[j] = query(lefts[j], rights[j]);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new QueryTask(lo, mid, lefts, rights, out), new QueryTask(mid, hi, lefts, rights, out));
+    }
+  }
+
+  /**
+   * Calls modify(indices[j], values[j]) for every j, in order.
+   *
+   * All the leaves are updated first, then the ancestors are recomputed in
+   * decreasing index order, each of them once and after its children,
+   * however many of the leaves are below it. A batch of k updates costs O(k*log(k)) to sort the leaves plus the
+   * number of distinct ancestors, which is much less than k*log(n) when the
+   * indices are close together.
+   *
+   * @param indices the leaf indices to update (0-based)
+   * @param values  the values to combine at those positions
+   */
+  public void applyUpdates(int[] indices, long[] values) {
+    if (indices == null || values == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (indices.length != values.length) {
+      throw new IllegalArgumentException("The update arrays must have the same length.");
+    }
+    int k = indices.length;
+
+    // Sort the updates by index, keeping the position of each in the low 32
+    // bits so that updates to the same leaf are combined in order.
+    long[] order = new long[k];
+    for (int j = 0; j < k; j++) {
+      if (indices[j] < 0 || indices[j] >= N) {
+        throw new IndexOutOfBoundsException("Index out of range [0, " + (N - 1) + "]");
+      }
+      order[j] = (long) indices[j] << 32 | j;
+    }
+    Arrays.sort(order);
+
+    // Update the leaves, keeping the distinct ones in increasing order
+    int[] nodes = new int[k];
+    int count = 0;
+    for (long o : order) {
+      int i = (int) (o >>> 32) + N;
+      tree[i] = function(tree[i], values[(int) o]);
+      if (count == 0 || nodes[count - 1] != i) nodes[count++] = i;
+    }
+
+    // Recompute the ancestors in decreasing index order, which puts every
+    // node after its children since the parent i/2 is smaller than i. Taking
+    // the nodes from a queue in decreasing order adds their parents in
+    // decreasing order too, so the queue stays sorted and the duplicates are
+    // next to each other. A leaf has at most 'depth' ancestors.
+    int depth = 32 - Integer.numberOfLeadingZeros(N);
+    int[] queue = new int[(int) Math.min(N, (long) count * depth)];
+    int head = 0, tail = 0;
+    for (int j = count - 1; j >= 0; j--) {
+      int p = nodes[j] >> 1;
+      if (p >= 1 && (tail == 0 || queue[tail - 1] != p)) queue[tail++] = p;
+    }
+    while (head < tail) {
+      int i = queue[head++];
+      tree[i] = function(tree[2 * i], tree[2 * i + 1]);
+      int p = i >> 1;
+      if (p >= 1 && queue[tail - 1] != p) queue[tail++] = p;
+    }
+  }
+
   public static void main(String[] args) {
     long[] values = new long[] {1, 1, 1, 1, 1, 1};
     CompactSegmentTree st = new CompactSegmentTree(values);
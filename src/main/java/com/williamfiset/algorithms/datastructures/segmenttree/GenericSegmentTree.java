@@ -28,14 +28,23 @@
  * <p>NOTE: MIN/MAX + MULTIPLICATION may produce incorrect results when multiplying by negative
  * values, since the min can become the max and vice versa.
  *
+ * <p>rangeQuery pushes lazy deltas down as it goes, so it writes to the tree. {@link #queryAll}
+ * answers a batch of queries without writing anything, which lets it split them between threads.
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.datastructures.segmenttree;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BinaryOperator;
 
 public class GenericSegmentTree {
 
+  // Batches of at most this many queries are answered by a single thread.
+  private static final int QUERY_CUTOFF = 1 << 11;
+
   // The type of segment combination function to use.
   // This determines how child segments are merged to form the parent segment value.
   public static enum SegmentCombinationFn {
@@ -377,6 +386,162 @@ public class GenericSegmentTree {
     }
   }
 
+  /**
+   * Sets out[j] to rangeQuery(lefts[j], rights[j]) for every j, splitting the queries between the
+   * threads of the common fork/join pool. Unlike rangeQuery, this doesn't push lazy deltas down, so
+   * the tree is only read. It must not be updated in the meantime.
+   *
+   * @throws IndexOutOfBoundsException if any range is invalid, before any query is answered
+   */
+  public void queryAll(int[] lefts, int[] rights, long[] out) {
+    queryAll(lefts, rights, out, ForkJoinPool.commonPool());
+  }
+
+  /** Same as {@link #queryAll(int[], int[], long[])} on the given fork/join pool. */
+  public void queryAll(int[] lefts, int[] rights, long[] out, ForkJoinPool pool) {
+    if (lefts == null || rights == null || out == null || pool == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (lefts.length != rights.length || lefts.length != out.length) {
+      throw new IllegalArgumentException("The query arrays must have the same length.");
+    }
+    for (int j = 0; j < lefts.length; j++) {
+      if (lefts[j] < 0 || lefts[j] > rights[j] || rights[j] >= n) {
+        throw new IndexOutOfBoundsException(
+            "Invalid query range [" + lefts[j] + ", " + rights[j] + "].");
+      }
+    }
+    if (lefts.length <= QUERY_CUTOFF) {
+      for (int j = 0; j < lefts.length; j++) {
+        out[j] = peekQuery(0, 0, n - 1, lefts[j], rights[j], null);
+      }
+    } else {
+      pool.invoke(new QueryTask(0, lefts.length, lefts, rights, out));
+    }
+  }
+
+  // Same as rangeQuery, without writing to the tree. 'pending' is the lazy delta which rangeQuery
+  // would have pushed down to segment i from its ancestors. The lazy delta of an ancestor is always
+  // newer than the one of its descendants, since it's pushed down before any update reaches them.
+  private Long peekQuery(int i, int tl, int tr, int l, int r, Long pending) {
+    if (l > r) {
+      return null;
+    }
+    Long delta = pending == null ? lazy[i] : lruf.apply(lazy[i], tl, tr, pending);
+    if (tl == l && tr == r) {
+      return delta == null ? t[i] : ruf.apply(t[i], tl, tr, delta);
+    }
+    int tm = (tl + tr) / 2;
+    return combinationFn.apply(
+        peekQuery(2 * i + 1, tl, tm, l, Math.min(tm, r), delta),
+        peekQuery(2 * i + 2, tm + 1, tr, Math.max(l, tm + 1), r, delta));
+  }
+
+  // Answers the queries lo to hi - 1, splitting them while there are too many.
+  private final class QueryTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final int[] lefts, rights;
+    final long[] out;
+
+    QueryTask(int lo, int hi, int[] lefts, int[] rights, long[] out) {
+      this.lo = lo;
+      this.hi = hi;
+      this.lefts = lefts;
+      this.rights = rights;
+      this.out = out;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= QUERY_CUTOFF) {
+        for (int j = lo; j < hi; j++) {
+          out[j] = peekQuery(0, 0, n - 1, lefts[j], rights[j], null);
+        }
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new QueryTask(lo, mid, lefts, rights, out), new QueryTask(mid, hi, lefts, rights, out));
+    }
+  }
+
+  /**
+   * Applies the point updates rangeUpdate(indices[j], indices[j], values[j]) for every j, in order.
+   *
+   * <p>The updates are sorted by index and applied in a single pass down the tree, so every
+   * ancestor of the updated indices is visited and recomputed once, however many of them are below
+   * it. A batch of k updates costs O(k*log(k)) to sort plus the number of distinct ancestors,
+   * which is much less than k*log(n) when the indices are close together.
+   *
+   * @param indices the indices to update
+   * @param values the value to apply at each index (added, multiplied, or assigned depending on the
+   *     RangeUpdateFn)
+   */
+  public void applyUpdates(int[] indices, long[] values) {
+    if (indices == null || values == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (indices.length != values.length) {
+      throw new IllegalArgumentException("The update arrays must have the same length.");
+    }
+    int k = indices.length;
+
+    // Sort the updates by index, keeping the position of each in the low 32 bits so that updates
+    // to the same index are applied in order.
+    long[] order = new long[k];
+    for (int j = 0; j < k; j++) {
+      if (indices[j] < 0 || indices[j] >= n) {
+        throw new IndexOutOfBoundsException("Index out of range [0, " + (n - 1) + "]");
+      }
+      order[j] = (long) indices[j] << 32 | j;
+    }
+    Arrays.sort(order);
+    int[] sortedIndices = new int[k];
+    long[] sortedValues = new long[k];
+    for (int j = 0; j < k; j++) {
+      sortedIndices[j] = (int) (order[j] >>> 32);
+      sortedValues[j] = values[(int) order[j]];
+    }
+    if (k > 0) {
+      applyUpdates(0, 0, n - 1, sortedIndices, sortedValues, 0, k);
+    }
+  }
+
+  // Applies the updates lo to hi - 1, whose indices are all in segment i.
+  private void applyUpdates(int i, int tl, int tr, int[] indices, long[] values, int lo, int hi) {
+    propagate(i, tl, tr);
+    if (tl == tr) {
+      for (int j = lo; j < hi; j++) {
+        t[i] = ruf.apply(t[i], tl, tr, values[j]);
+      }
+      return;
+    }
+    int tm = (tl + tr) / 2;
+    // Binary search for the first update of the right child.
+    int mid = lo, end = hi;
+    while (mid < end) {
+      int m = (mid + end) >>> 1;
+      if (indices[m] <= tm) {
+        mid = m + 1;
+      } else {
+        end = m;
+      }
+    }
+    if (lo < mid) {
+      applyUpdates(2 * i + 1, tl, tm, indices, values, lo, mid);
+    } else {
+      propagate(2 * i + 1, tl, tm);
+    }
+    if (mid < hi) {
+      applyUpdates(2 * i + 2, tm + 1, tr, indices, values, mid, hi);
+    } else {
+      propagate(2 * i + 2, tm + 1, tr);
+    }
+    t[i] = combinationFn.apply(t[2 * i + 1], t[2 * i + 2]);
+  }
+
   public void printDebugInfo() {
     printDebugInfo(0, 0, n - 1);
     System.out.println();
@@ -0,0 +1,128 @@
+/**
+ * A range update of a {@link LongSegmentTree}, described by a long tag such as the value added or
+ * assigned. The tree applies a tag to the value of a whole segment at once, and keeps it on the
+ * segment (lazily) until a query or update needs to go below it.
+ *
+ * <p>The actions provided as constants cover every combination of {@link
+ * GenericSegmentTree.SegmentCombinationFn} and {@link GenericSegmentTree.RangeUpdateFn} which
+ * GenericSegmentTree supports:
+ *
+ * <ul>
+ *   <li>SUM + {SUM_ADD, SUM_ASSIGN, MULTIPLY}
+ *   <li>MIN, MAX + {ADD, ASSIGN, MULTIPLY}
+ *   <li>GCD + {ASSIGN, MULTIPLY}
+ *   <li>PRODUCT + {PRODUCT_ASSIGN, PRODUCT_MULTIPLY}
+ * </ul>
+ *
+ * <p>NOTE: like in GenericSegmentTree, MIN/MAX + MULTIPLY is only correct for non-negative tags.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.segmenttree;
+
+public interface LongLazyAction {
+
+  /** Returns the value of a segment of 'length' elements and value 'value' after update 'tag'. */
+  long apply(long value, long tag, int length);
+
+  /** Returns the single tag with the effect of update 'older' followed by update 'newer'. */
+  long compose(long older, long newer);
+
+  /** Adds the tag to every element, for MIN and MAX. */
+  LongLazyAction ADD =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return value + tag;
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return older + newer;
+        }
+      };
+
+  /** Adds the tag to every element, for SUM. */
+  LongLazyAction SUM_ADD =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return value + tag * length;
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return older + newer;
+        }
+      };
+
+  /** Sets every element to the tag, for MIN, MAX and GCD. */
+  LongLazyAction ASSIGN =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return tag;
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return newer;
+        }
+      };
+
+  /** Sets every element to the tag, for SUM. */
+  LongLazyAction SUM_ASSIGN =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return tag * length;
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return newer;
+        }
+      };
+
+  /** Sets every element to the tag, for PRODUCT. */
+  LongLazyAction PRODUCT_ASSIGN =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return LongSegmentTree.pow(tag, length);
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return newer;
+        }
+      };
+
+  /** Multiplies every element by the tag, for SUM, MIN, MAX and GCD. */
+  LongLazyAction MULTIPLY =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return value * tag;
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return older * newer;
+        }
+      };
+
+  /** Multiplies every element by the tag, for PRODUCT. */
+  LongLazyAction PRODUCT_MULTIPLY =
+      new LongLazyAction() {
+        @Override
+        public long apply(long value, long tag, int length) {
+          return value * LongSegmentTree.pow(tag, length);
+        }
+
+        @Override
+        public long compose(long older, long newer) {
+          return older * newer;
+        }
+      };
+}
@@ -0,0 +1,90 @@
+/**
+ * How a {@link LongSegmentTree} combines the values of two adjacent segments into the value of
+ * their union. The combine function must be associative, and identity() must leave any value
+ * unchanged when combined with it.
+ *
+ * <p>The common monoids are provided as constants. They match the {@link
+ * GenericSegmentTree.SegmentCombinationFn} of the same name.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.segmenttree;
+
+public interface LongMonoid {
+
+  /** Returns the value of an empty segment. */
+  long identity();
+
+  /** Returns the value of the segment made of a segment of value a followed by one of value b. */
+  long combine(long a, long b);
+
+  LongMonoid SUM =
+      new LongMonoid() {
+        @Override
+        public long identity() {
+          return 0;
+        }
+
+        @Override
+        public long combine(long a, long b) {
+          return a + b;
+        }
+      };
+
+  LongMonoid MIN =
+      new LongMonoid() {
+        @Override
+        public long identity() {
+          return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long combine(long a, long b) {
+          return Math.min(a, b);
+        }
+      };
+
+  LongMonoid MAX =
+      new LongMonoid() {
+        @Override
+        public long identity() {
+          return Long.MIN_VALUE;
+        }
+
+        @Override
+        public long combine(long a, long b) {
+          return Math.max(a, b);
+        }
+      };
+
+  LongMonoid GCD =
+      new LongMonoid() {
+        @Override
+        public long identity() {
+          return 0;
+        }
+
+        @Override
+        public long combine(long a, long b) {
+          while (b != 0) {
+            long tmp = b;
+            b = a % b;
+            a = tmp;
+          }
+          return Math.abs(a);
+        }
+      };
+
+  LongMonoid PRODUCT =
+      new LongMonoid() {
+        @Override
+        public long identity() {
+          return 1;
+        }
+
+        @Override
+        public long combine(long a, long b) {
+          return a * b;
+        }
+      };
+}
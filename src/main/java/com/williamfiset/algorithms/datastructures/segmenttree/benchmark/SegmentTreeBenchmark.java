@@ -0,0 +1,127 @@
+/**
+ * JMH benchmark comparing the boxed {@link GenericSegmentTree} against the primitive {@link
+ * LongSegmentTree}, on a random mix of range queries and range updates.
+ *
+ * <p>Both trees hold the same 2^20 random values. Every invocation runs the same 10,000
+ * operations, half of them range queries and half range updates, over ranges with random
+ * endpoints. The trees keep their updates from one invocation to the next, the values stay small
+ * since the update tags are in [-5, 5].
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.datastructures.segmenttree.benchmark;
+
+import com.williamfiset.algorithms.datastructures.segmenttree.GenericSegmentTree;
+import com.williamfiset.algorithms.datastructures.segmenttree.GenericSegmentTree.RangeUpdateFn;
+import com.williamfiset.algorithms.datastructures.segmenttree.GenericSegmentTree.SegmentCombinationFn;
+import com.williamfiset.algorithms.datastructures.segmenttree.LongSegmentTree;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SegmentTreeBenchmark {
+
+  private static final int N = 1 << 20;
+  private static final int OPERATIONS = 10_000;
+
+  public enum Combination {
+    SUM_ADDITION(SegmentCombinationFn.SUM, RangeUpdateFn.ADDITION),
+    MIN_ASSIGN(SegmentCombinationFn.MIN, RangeUpdateFn.ASSIGN);
+
+    final SegmentCombinationFn combinationFn;
+    final RangeUpdateFn updateFn;
+
+    Combination(SegmentCombinationFn combinationFn, RangeUpdateFn updateFn) {
+      this.combinationFn = combinationFn;
+      this.updateFn = updateFn;
+    }
+  }
+
+  public enum Implementation {
+    GENERIC {
+      @Override
+      long run(SegmentTreeBenchmark b) {
+        long checksum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+          if (b.isQuery[i]) checksum += b.generic.rangeQuery(b.lefts[i], b.rights[i]);
+          else b.generic.rangeUpdate(b.lefts[i], b.rights[i], b.tags[i]);
+        }
+        return checksum;
+      }
+    },
+    LONG {
+      @Override
+      long run(SegmentTreeBenchmark b) {
+        long checksum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+          if (b.isQuery[i]) checksum += b.primitive.rangeQuery(b.lefts[i], b.rights[i]);
+          else b.primitive.rangeUpdate(b.lefts[i], b.rights[i], b.tags[i]);
+        }
+        return checksum;
+      }
+    };
+
+    abstract long run(SegmentTreeBenchmark b);
+  }
+
+  @Param public Implementation implementation;
+
+  @Param public Combination combination;
+
+  private GenericSegmentTree generic;
+  private LongSegmentTree primitive;
+  private int[] lefts, rights;
+  private long[] tags;
+  private boolean[] isQuery;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(0x5EED);
+    long[] values = new long[N];
+    for (int i = 0; i < N; i++) values[i] = random.nextInt(1000);
+    if (implementation == Implementation.GENERIC) {
+      generic = new GenericSegmentTree(values, combination.combinationFn, combination.updateFn);
+    } else {
+      primitive = new LongSegmentTree(values, combination.combinationFn, combination.updateFn);
+    }
+
+    lefts = new int[OPERATIONS];
+    rights = new int[OPERATIONS];
+    tags = new long[OPERATIONS];
+    isQuery = new boolean[OPERATIONS];
+    for (int i = 0; i < OPERATIONS; i++) {
+      int a = random.nextInt(N), b = random.nextInt(N);
+      lefts[i] = Math.min(a, b);
+      rights[i] = Math.max(a, b);
+      tags[i] = random.nextInt(11) - 5;
+      isQuery[i] = random.nextBoolean();
+    }
+  }
+
+  @Benchmark
+  public long operations() {
+    return implementation.run(this);
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner.run(SegmentTreeBenchmark.class, args);
+  }
+}
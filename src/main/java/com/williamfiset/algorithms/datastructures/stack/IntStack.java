@@ -9,7 +9,8 @@ import java.util.EmptyStackException;
  * An extremely fast and lightweight stack for primitive ints. Can outperform
  * java.util.ArrayDeque by a large factor due to avoiding boxing/unboxing.
  * The trade-off is you must know an upper bound on the number of elements
- * at construction time.
+ * at construction time. The Stack methods box their values, the primitive push(int), popInt() and
+ * peekInt() don't.
  *
  * Time:  O(1) for push, pop, and peek
  * Space: O(maxSize)
@@ -42,22 +43,42 @@ public class IntStack implements Stack<Integer> {
 
   @Override
   public Integer peek() {
-    if (isEmpty()) throw new EmptyStackException();
-    return ar[pos - 1];
+    return peekInt();
   }
 
   @Override
   public void push(Integer value) {
-    if (pos == ar.length) throw new RuntimeException("Stack overflow: capacity exceeded");
-    ar[pos++] = value;
+    push(value.intValue());
   }
 
   @Override
   public Integer pop() {
+    return popInt();
+  }
+
+  /** Returns the top element without removing it or boxing it. */
+  public int peekInt() {
+    if (isEmpty()) throw new EmptyStackException();
+    return ar[pos - 1];
+  }
+
+  /** Pushes a primitive int onto the top of the stack. */
+  public void push(int value) {
+    if (pos == ar.length) throw new RuntimeException("Stack overflow: capacity exceeded");
+    ar[pos++] = value;
+  }
+
+  /** Removes and returns the top element without boxing it. */
+  public int popInt() {
     if (isEmpty()) throw new EmptyStackException();
     return ar[--pos];
   }
 
+  /** Removes all the elements. */
+  public void clear() {
+    pos = 0;
+  }
+
   // Example usage and benchmark
   public static void main(String[] args) {
     IntStack s = new IntStack(5);
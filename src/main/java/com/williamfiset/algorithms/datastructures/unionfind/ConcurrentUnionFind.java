@@ -0,0 +1,103 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent Union-Find (Disjoint Set)
+ *
+ * A lock-free union find which any number of threads can use at once. The parent
+ * pointers live in an AtomicIntegerArray:
+ *
+ *   - unify links one root below the other with a compare and set, which fails and
+ *     is retried if another thread linked that root first.
+ *   - find uses path halving, pointing every node it walks over at its grandparent
+ *     with a compare and set. Losing that race is harmless, the other thread also
+ *     pointed the node higher up the same tree.
+ *
+ * Roots are linked by index rather than by size, the larger index below the smaller
+ * one, so parents always have smaller indices than their children. That keeps the
+ * concurrent links from ever forming a cycle, and makes the root of every component
+ * its smallest element no matter the order of the unions.
+ *
+ * Time:  O(log(n)) amortized per find/unify for unions in random order
+ * Space: O(n)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+public class ConcurrentUnionFind {
+
+  // The number of elements in this union find
+  private final int size;
+
+  // parent.get(i) is the parent of i, which is never larger than i; i is a root if it's i itself
+  private final AtomicIntegerArray parent;
+
+  // The number of successful unions, components() is size minus this
+  private final LongAdder unions = new LongAdder();
+
+  /**
+   * Creates a concurrent Union-Find with n elements, each in its own component.
+   *
+   * @param size the number of elements
+   */
+  public ConcurrentUnionFind(int size) {
+    if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+
+    this.size = size;
+    parent = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) parent.set(i, i);
+  }
+
+  /**
+   * Finds the root of the component containing element p, which is its smallest element once
+   * the concurrent unions are done.
+   */
+  public int find(int p) {
+    while (true) {
+      int up = parent.get(p);
+      if (up == p) return p;
+      int grandparent = parent.get(up);
+      if (grandparent != up) parent.compareAndSet(p, up, grandparent);
+      p = grandparent;
+    }
+  }
+
+  /** Returns true if elements p and q are in the same component. */
+  public boolean connected(int p, int q) {
+    while (true) {
+      int root1 = find(p), root2 = find(q);
+      if (root1 == root2) return true;
+      // Not connected unless root1 got linked somewhere in the meantime.
+      if (parent.get(root1) == root1) return false;
+    }
+  }
+
+  /** Returns the total number of elements. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the number of disjoint components. */
+  public int components() {
+    return size - unions.intValue();
+  }
+
+  /**
+   * Merges the components containing elements p and q.
+   *
+   * @return true if they were different components, false if they were already the same
+   */
+  public boolean unify(int p, int q) {
+    while (true) {
+      int root1 = find(p), root2 = find(q);
+      if (root1 == root2) return false;
+
+      int high = Math.max(root1, root2), low = Math.min(root1, root2);
+      if (parent.compareAndSet(high, high, low)) {
+        unions.increment();
+        return true;
+      }
+    }
+  }
+}
@@ -16,6 +16,11 @@
  *
  * Works on disconnected graphs by running DFS from every unvisited node.
  *
+ * The DFS keeps its own stack of nodes instead of recursing, so graphs with millions
+ * of nodes and very long paths don't need a big thread stack, and allocates nothing
+ * per edge. Besides adjacency lists the graph can be given as an int[][] or a
+ * CsrGraph, both of which must hold every undirected edge in both directions.
+ *
  * See also: {@link BridgesAdjacencyList} for finding bridge edges.
  *
  * Tested against HackerEarth online judge at:
@@ -30,13 +35,18 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.datastructures.stack.IntStack;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.List;
 
 public class ArticulationPointsAdjacencyList {
 
   private final int n;
+  // Exactly one of the three representations is non null.
   private final List<List<Integer>> graph;
+  private final CsrGraph csrGraph;
+  private final int[][] adjacency;
   private boolean solved;
   private int id, rootNodeOutgoingEdgeCount;
   private int[] low, ids;
@@ -45,9 +55,28 @@ public class ArticulationPointsAdjacencyList {
   public ArticulationPointsAdjacencyList(List<List<Integer>> graph, int n) {
     if (graph == null || n <= 0 || graph.size() != n) throw new IllegalArgumentException();
     this.graph = graph;
+    this.csrGraph = null;
+    this.adjacency = null;
     this.n = n;
   }
 
+  public ArticulationPointsAdjacencyList(CsrGraph graph) {
+    if (graph == null || graph.numNodes() == 0) throw new IllegalArgumentException();
+    this.graph = null;
+    this.csrGraph = graph;
+    this.adjacency = null;
+    this.n = graph.numNodes();
+  }
+
+  public ArticulationPointsAdjacencyList(int[][] graph) {
+    if (graph == null || graph.length == 0) throw new IllegalArgumentException();
+    for (int[] edges : graph) if (edges == null) throw new IllegalArgumentException();
+    this.graph = null;
+    this.csrGraph = null;
+    this.adjacency = graph;
+    this.n = graph.length;
+  }
+
   /**
    * Returns a boolean array where index i is true if node i is an articulation point.
    * Works even if the graph is not fully connected.
@@ -61,11 +90,16 @@ public class ArticulationPointsAdjacencyList {
     visited = new boolean[n];
     isArticulationPoint = new boolean[n];
 
+    // The DFS path, and for every node its parent and the number of its edges visited so far.
+    IntStack path = new IntStack(n);
+    int[] parent = new int[n], edgeIndex = new int[n];
+
     // Run DFS from each unvisited node to handle disconnected components.
     for (int i = 0; i < n; i++) {
       if (!visited[i]) {
         rootNodeOutgoingEdgeCount = 0;
-        dfs(i, i, -1);
+        parent[i] = -1;
+        dfs(i, path, parent, edgeIndex);
         // Root is an articulation point only if it has 2+ children in the DFS tree.
         isArticulationPoint[i] = (rootNodeOutgoingEdgeCount > 1);
       }
@@ -75,29 +109,55 @@ public class ArticulationPointsAdjacencyList {
     return isArticulationPoint;
   }
 
-  private void dfs(int root, int at, int parent) {
-    if (parent == root) rootNodeOutgoingEdgeCount++;
-
-    visited[at] = true;
-    low[at] = ids[at] = id++;
+  private void dfs(int root, IntStack path, int[] parent, int[] edgeIndex) {
+    visit(root, path);
+    while (!path.isEmpty()) {
+      int at = path.peekInt();
+      if (edgeIndex[at] < degree(at)) {
+        int to = neighbor(at, edgeIndex[at]++);
+        if (to == parent[at]) continue;
+        if (!visited[to]) {
+          if (at == root) rootNodeOutgoingEdgeCount++;
+          parent[to] = at;
+          visit(to, path);
+        } else {
+          // Back edge: update low-link to the earliest reachable ancestor.
+          low[at] = min(low[at], ids[to]);
+        }
+        continue;
+      }
 
-    for (int to : graph.get(at)) {
-      if (to == parent) continue;
-      if (!visited[to]) {
-        dfs(root, to, at);
-        low[at] = min(low[at], low[to]);
-        // If no vertex in the subtree rooted at 'to' can reach above 'at',
-        // then removing 'at' would disconnect 'to's subtree.
-        if (ids[at] <= low[to]) {
-          isArticulationPoint[at] = true;
+      // All the edges of 'at' are done, so its low-link is final and its parent can use it.
+      path.popInt();
+      int from = parent[at];
+      if (from != -1) {
+        low[from] = min(low[from], low[at]);
+        // If no vertex in the subtree rooted at 'at' can reach above 'from',
+        // then removing 'from' would disconnect 'at's subtree.
+        if (ids[from] <= low[at]) {
+          isArticulationPoint[from] = true;
         }
-      } else {
-        // Back edge: update low-link to the earliest reachable ancestor.
-        low[at] = min(low[at], ids[to]);
       }
     }
   }
 
+  private void visit(int at, IntStack path) {
+    visited[at] = true;
+    low[at] = ids[at] = id++;
+    path.push(at);
+  }
+
+  private int degree(int at) {
+    if (csrGraph != null) return csrGraph.outDegree(at);
+    return adjacency != null ? adjacency[at].length : graph.get(at).size();
+  }
+
+  // The lists are expected to be random access, like the ones createGraph makes.
+  private int neighbor(int at, int i) {
+    if (csrGraph != null) return csrGraph.target(csrGraph.edgeStart(at) + i);
+    return adjacency != null ? adjacency[at][i] : graph.get(at).get(i);
+  }
+
   /* Graph helpers */
 
   public static List<List<Integer>> createGraph(int n) {
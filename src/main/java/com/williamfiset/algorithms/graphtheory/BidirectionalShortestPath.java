@@ -0,0 +1,272 @@
+/**
+ * Point to point shortest paths with bidirectional Dijkstra and bidirectional A*.
+ *
+ * <p>A forward search grows from the start over the edges of the graph while a backward search
+ * grows from the end over the reversed edges, and the two stop once they can no longer improve
+ * the best path through a node reached by both. On a road network each search settles the nodes
+ * within about half of the start-end distance, which is roughly half of what a single Dijkstra
+ * settles.
+ *
+ * <p>Stopping criterion: let mu be the length of the best path found so far and topF, topR the
+ * smallest keys of the two priority queues. Any path not found yet is at least topF + topR long,
+ * so the search stops as soon as topF + topR >= mu. Stopping when the searches first settle a
+ * common node is a classic mistake, the best path doesn't necessarily go through that node.
+ *
+ * <p>A* guides both searches with a heuristic h(u, v), a lower bound on the distance from u to v.
+ * The forward search wants h(v, end) and the backward search wants h(start, v), and using them as
+ * they are would make the two searches run on different reduced edge costs, and the stopping
+ * criterion above would be wrong. Instead both use the average potential p(v) = (h(v, end) -
+ * h(start, v)) / 2: the forward keys are g(v) + p(v), the backward keys g'(v) - p(v), and with
+ * those the criterion holds unchanged. If h is consistent (h(u, t) <= cost(u, v) + h(v, t), which
+ * the euclidean distance is whenever edge costs are at least the distance between their ends) the
+ * reduced costs are non negative and the result is exact.
+ *
+ * <p>Like {@link DijkstrasShortestPathAdjacencyListWithDHeap} the arrays are allocated once, and a
+ * query only resets the nodes the previous one reached.
+ *
+ * <p>Time: O(E log(V)) in the worst case, usually a fraction of the graph is explored.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+public class BidirectionalShortestPath {
+
+  /** A lower bound on the length of the shortest path between two nodes. */
+  @FunctionalInterface
+  public interface Heuristic {
+    double estimate(int from, int to);
+  }
+
+  /**
+   * Returns the straight line distance between nodes at the given coordinates. It is consistent
+   * for graphs where no edge is cheaper than the distance between its two nodes.
+   */
+  public static Heuristic euclidean(double[] x, double[] y) {
+    return (from, to) -> Math.hypot(x[from] - x[to], y[from] - y[to]);
+  }
+
+  private final int n;
+
+  // Edges added with addEdge, built into the two graphs on the first query.
+  private CsrGraph.Builder builder;
+  private CsrGraph graph, reverseGraph;
+
+  // The state of a query, indexed by node. F is the forward search from the start and R the
+  // backward search from the end. nextR[v] is the node after v on the path from v to the end.
+  private double[] distF, distR, potential;
+  private int[] prevF, nextR;
+  private boolean[] settledF, settledR;
+  private MinIndexedDHeapDouble pqF, pqR;
+  private int[] reached;
+  private int reachedCount, settledCount;
+
+  // The best path found, through the node 'meeting', and its length. Before the first query there
+  // is no path.
+  private double mu = Double.POSITIVE_INFINITY;
+  private int meeting;
+
+  /**
+   * Creates a solver for a graph with n nodes, use {@link #addEdge} to add its edges before the
+   * first query.
+   */
+  public BidirectionalShortestPath(int n) {
+    if (n <= 0) throw new IllegalArgumentException("n <= 0");
+    this.n = n;
+    this.builder = CsrGraph.builder(n);
+  }
+
+  /** Creates a solver for a directed graph whose edge weights are the costs. */
+  public BidirectionalShortestPath(CsrGraph graph) {
+    if (graph == null || graph.numNodes() == 0) throw new IllegalArgumentException();
+    for (int e = 0; e < graph.numEdges(); e++)
+      if (graph.weight(e) < 0) throw new IllegalArgumentException("No negative edge weights");
+    this.n = graph.numNodes();
+    this.graph = graph;
+  }
+
+  /** Adds a directed edge, which is only possible before the first query. */
+  public void addEdge(int from, int to, double cost) {
+    if (builder == null) throw new IllegalStateException("The graph can't change after a query");
+    if (cost < 0) throw new IllegalArgumentException("No negative edge weights");
+    builder.addEdge(from, to, cost);
+  }
+
+  // Returns the number of nodes settled by the two searches of the last query.
+  public int nodesSettled() {
+    return settledCount;
+  }
+
+  /**
+   * Returns the length of the shortest path from 'start' to 'end' found with bidirectional
+   * Dijkstra, or Double.POSITIVE_INFINITY if there is none.
+   */
+  public double dijkstra(int start, int end) {
+    return search(start, end, null);
+  }
+
+  /**
+   * Returns the length of the shortest path from 'start' to 'end' found with bidirectional A*
+   * guided by a consistent heuristic, or Double.POSITIVE_INFINITY if there is none.
+   */
+  public double astar(int start, int end, Heuristic heuristic) {
+    if (heuristic == null) throw new IllegalArgumentException("heuristic can not be null");
+    return search(start, end, heuristic);
+  }
+
+  /**
+   * Returns the nodes of the shortest path found by the last query, from its start to its end
+   * inclusive, or an empty list if there is no path or no query was made yet.
+   */
+  public List<Integer> reconstructPath() {
+    LinkedList<Integer> path = new LinkedList<>();
+    if (mu == Double.POSITIVE_INFINITY) return path;
+    for (int at = meeting; at != -1; at = prevF[at]) path.addFirst(at);
+    for (int at = nextR[meeting]; at != -1; at = nextR[at]) path.addLast(at);
+    return path;
+  }
+
+  private double search(int start, int end, Heuristic heuristic) {
+    if (start < 0 || start >= n || end < 0 || end >= n)
+      throw new IllegalArgumentException("Node out of range");
+    init();
+    reset();
+
+    reach(start, heuristic, start, end);
+    reach(end, heuristic, start, end);
+    distF[start] = 0;
+    distR[end] = 0;
+    pqF.insert(start, potential[start]);
+    pqR.insert(end, -potential[end]);
+    mu = start == end ? 0 : Double.POSITIVE_INFINITY;
+    meeting = start;
+
+    while (!pqF.isEmpty() && !pqR.isEmpty()) {
+      double topF = pqF.peekMinValue(), topR = pqR.peekMinValue();
+      if (topF + topR >= mu) break;
+
+      // Grow the search whose frontier is closer, which balances the work between the two.
+      if (topF <= topR) {
+        int u = pqF.pollMinKeyIndex();
+        settledF[u] = true;
+        settledCount++;
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++)
+          relax(graph.target(e), u, distF[u] + graph.weight(e), true, heuristic, start, end);
+      } else {
+        int u = pqR.pollMinKeyIndex();
+        settledR[u] = true;
+        settledCount++;
+        for (int e = reverseGraph.edgeStart(u); e < reverseGraph.edgeEnd(u); e++)
+          relax(
+              reverseGraph.target(e),
+              u,
+              distR[u] + reverseGraph.weight(e),
+              false,
+              heuristic,
+              start,
+              end);
+      }
+    }
+    return mu;
+  }
+
+  // Offers a path of length 'dist' to node v coming from node u, in the forward or the backward
+  // search, and checks whether the best path through v improves on mu.
+  private void relax(
+      int v, int u, double dist, boolean forward, Heuristic heuristic, int start, int end) {
+    reach(v, heuristic, start, end);
+    if (forward) {
+      if (settledF[v] || dist >= distF[v]) return;
+      if (distF[v] == Double.POSITIVE_INFINITY) pqF.insert(v, dist + potential[v]);
+      else pqF.decrease(v, dist + potential[v]);
+      distF[v] = dist;
+      prevF[v] = u;
+    } else {
+      if (settledR[v] || dist >= distR[v]) return;
+      if (distR[v] == Double.POSITIVE_INFINITY) pqR.insert(v, dist - potential[v]);
+      else pqR.decrease(v, dist - potential[v]);
+      distR[v] = dist;
+      nextR[v] = u;
+    }
+    double length = distF[v] + distR[v];
+    if (length < mu) {
+      mu = length;
+      meeting = v;
+    }
+  }
+
+  // Records the first time a query reaches a node, and computes its potential.
+  private void reach(int v, Heuristic heuristic, int start, int end) {
+    if (!Double.isNaN(potential[v])) return;
+    reached[reachedCount++] = v;
+    potential[v] =
+        heuristic == null ? 0 : (heuristic.estimate(v, end) - heuristic.estimate(start, v)) / 2;
+  }
+
+  // Builds the graphs and allocates the arrays on the first query.
+  private void init() {
+    if (distF != null) return;
+    if (builder != null) {
+      graph = builder.build();
+      builder = null;
+    }
+    reverseGraph = graph.transpose();
+    distF = new double[n];
+    distR = new double[n];
+    potential = new double[n];
+    prevF = new int[n];
+    nextR = new int[n];
+    settledF = new boolean[n];
+    settledR = new boolean[n];
+    reached = new int[n];
+    Arrays.fill(distF, Double.POSITIVE_INFINITY);
+    Arrays.fill(distR, Double.POSITIVE_INFINITY);
+    Arrays.fill(potential, Double.NaN);
+    Arrays.fill(prevF, -1);
+    Arrays.fill(nextR, -1);
+    int degree = Math.max(2, graph.numEdges() / n);
+    pqF = new MinIndexedDHeapDouble(degree, n);
+    pqR = new MinIndexedDHeapDouble(degree, n);
+  }
+
+  // Undoes the changes the last query made, which are limited to the nodes it reached.
+  private void reset() {
+    for (int i = 0; i < reachedCount; i++) {
+      int v = reached[i];
+      distF[v] = distR[v] = Double.POSITIVE_INFINITY;
+      potential[v] = Double.NaN;
+      prevF[v] = nextR[v] = -1;
+      settledF[v] = settledR[v] = false;
+    }
+    reachedCount = settledCount = 0;
+    pqF.clear();
+    pqR.clear();
+  }
+
+  // ==================== Main ====================
+
+  //
+  //   0 --2-- 1 --2-- 2
+  //   |               |
+  //   1               1
+  //   |               |
+  //   3 --1-- 4 --1-- 5
+  //
+  public static void main(String[] args) {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(6);
+    int[][] edges = {{0, 1, 2}, {1, 2, 2}, {0, 3, 1}, {2, 5, 1}, {3, 4, 1}, {4, 5, 1}};
+    for (int[] edge : edges) {
+      solver.addEdge(edge[0], edge[1], edge[2]);
+      solver.addEdge(edge[1], edge[0], edge[2]);
+    }
+
+    System.out.println(solver.dijkstra(0, 2)); // 4.0
+    System.out.println(solver.reconstructPath()); // [0, 3, 4, 5, 2]
+  }
+}
@@ -0,0 +1,292 @@
+/**
+ * A blocked (tiled), multi-threaded version of {@link FloydWarshallSolver}, for large graphs.
+ *
+ * <p>The textbook triple loop streams the whole matrix through the cache once per node, which
+ * makes it memory bound once the matrix outgrows the cache. Here the distances live in one flat
+ * array split into square tiles of blockSize x blockSize, and the k loop goes a block of nodes at
+ * a time in three phases:
+ *
+ * <ol>
+ *   <li>The diagonal tile of the block runs Floyd-Warshall on itself.
+ *   <li>The other tiles of the block's row and column only depend on themselves and the diagonal
+ *       tile, so they are updated in parallel.
+ *   <li>Every remaining tile only depends on itself, its tile in the block's row and its tile in
+ *       the block's column, so they are all updated in parallel.
+ * </ol>
+ *
+ * <p>Each tile update works on three tiles which fit in the cache together. The negative cycle
+ * propagation is the same as in FloydWarshallSolver.
+ *
+ * <p>The next hops are recorded as the tiles relax the pairs, like in FloydWarshallSolver. The
+ * tiles relax the pairs in a different order than the textbook loop though, so with a zero-weight
+ * cycle the next hops could end up pointing around the cycle. To prevent that, a tie on the
+ * distance is broken by the number of edges of the path: no cycle has zero weight when the edges
+ * are counted too, so following the next hops always reaches the destination.
+ *
+ * <p>Time: O(V^3)
+ *
+ * <p>Space: O(V^2)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import static java.lang.Double.NEGATIVE_INFINITY;
+import static java.lang.Double.POSITIVE_INFINITY;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+public class BlockedFloydWarshallSolver {
+
+  public static final int DEFAULT_BLOCK_SIZE = 64;
+
+  private final int n, blockSize, blocks;
+  private final ForkJoinPool pool;
+  private boolean solved;
+  // dp[i * n + j] is the distance from i to j, hops[i * n + j] the number of edges of that path
+  // and next[i * n + j] the node after i on it.
+  private final double[] dp;
+  private final int[] hops, next;
+  private double[][] apspMatrix;
+
+  private static final int REACHES_NEGATIVE_CYCLE = -1;
+  private static final int NO_EDGE = -2;
+
+  /**
+   * Creates a solver with the default block size which runs on the common fork/join pool. See
+   * {@link FloydWarshallSolver#FloydWarshallSolver(double[][])} for the matrix.
+   *
+   * @throws IllegalArgumentException if the matrix is null or empty.
+   */
+  public BlockedFloydWarshallSolver(double[][] matrix) {
+    this(matrix, ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Creates a solver with tiles of blockSize x blockSize which runs on the given fork/join pool.
+   *
+   * @throws IllegalArgumentException if the matrix is null, empty or too large for one array, the
+   *     pool is null or the block size isn't positive.
+   */
+  public BlockedFloydWarshallSolver(double[][] matrix, ForkJoinPool pool, int blockSize) {
+    if (matrix == null || matrix.length == 0)
+      throw new IllegalArgumentException("Matrix cannot be null or empty.");
+    if ((long) matrix.length * matrix.length > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Matrix is too large: " + matrix.length);
+    if (pool == null)
+      throw new IllegalArgumentException("Pool cannot be null.");
+    if (blockSize <= 0)
+      throw new IllegalArgumentException("Block size must be positive, got: " + blockSize);
+    n = matrix.length;
+    this.pool = pool;
+    this.blockSize = blockSize;
+    blocks = (n + blockSize - 1) / blockSize;
+    dp = new double[n * n];
+    hops = new int[n * n];
+    next = new int[n * n];
+
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        next[i * n + j] = matrix[i][j] != POSITIVE_INFINITY ? j : NO_EDGE;
+        dp[i * n + j] = matrix[i][j];
+        // A zero on the diagonal is the empty path, which has no edges.
+        hops[i * n + j] = i == j && matrix[i][j] == 0 ? 0 : 1;
+      }
+    }
+  }
+
+  /**
+   * Runs Floyd-Warshall to compute the shortest distance between every pair of nodes.
+   *
+   * @return the solved All Pairs Shortest Path (APSP) matrix.
+   */
+  public double[][] getApspMatrix() {
+    solve();
+    if (apspMatrix == null) {
+      apspMatrix = new double[n][n];
+      for (int i = 0; i < n; i++)
+        System.arraycopy(dp, i * n, apspMatrix[i], 0, n);
+    }
+    return apspMatrix;
+  }
+
+  /** Returns the shortest distance from 'start' to 'end' without building the APSP matrix. */
+  public double getDistance(int start, int end) {
+    solve();
+    return dp[start * n + end];
+  }
+
+  /** Executes the blocked Floyd-Warshall algorithm. */
+  public void solve() {
+    if (solved)
+      return;
+
+    // Compute all pairs shortest paths, one block of intermediate nodes at a time.
+    for (int kb = 0; kb < blocks; kb++) {
+      int k = kb;
+      updateTile(k, k, k, true);
+      forEachTask(2 * blocks, t -> {
+        int other = t >> 1;
+        if (other == k)
+          return;
+        if ((t & 1) == 0)
+          updateTile(k, other, k, true);
+        else
+          updateTile(other, k, k, true);
+      });
+      forEachTask(blocks * blocks, t -> {
+        int ib = t / blocks, jb = t % blocks;
+        if (ib != k && jb != k)
+          updateTile(ib, jb, k, false);
+      });
+    }
+
+    propagateNegativeCycles();
+    solved = true;
+  }
+
+  // Relaxes the tile (ib, jb) through the nodes of block kb. When the tile may depend on itself
+  // (it's in the row or column of kb) the nodes of kb go in the outer loop, like the textbook
+  // algorithm. Otherwise the rows go outside, which reads both tiles row by row.
+  private void updateTile(int ib, int jb, int kb, boolean dependsOnItself) {
+    int iLo = ib * blockSize, iHi = Math.min(n, iLo + blockSize);
+    int jLo = jb * blockSize, jHi = Math.min(n, jLo + blockSize);
+    int kLo = kb * blockSize, kHi = Math.min(n, kLo + blockSize);
+    if (dependsOnItself) {
+      for (int k = kLo; k < kHi; k++)
+        for (int i = iLo; i < iHi; i++)
+          relax(i, k, jLo, jHi);
+    } else {
+      for (int i = iLo; i < iHi; i++)
+        for (int k = kLo; k < kHi; k++)
+          relax(i, k, jLo, jHi);
+    }
+  }
+
+  // Relaxes the pairs (i, j) for j in [jLo, jHi) through k. A path through k which is as short as
+  // the current one still replaces it if it has fewer edges.
+  private void relax(int i, int k, int jLo, int jHi) {
+    double ik = dp[i * n + k];
+    if (ik == POSITIVE_INFINITY)
+      return;
+    int hopsIk = hops[i * n + k], nextIk = next[i * n + k];
+    for (int j = jLo, ij = i * n + jLo, kj = k * n + jLo; j < jHi; j++, ij++, kj++) {
+      double d = ik + dp[kj];
+      if (d < dp[ij] || (d == dp[ij] && hopsIk + hops[kj] < hops[ij])) {
+        dp[ij] = d;
+        hops[ij] = hopsIk + hops[kj];
+        next[ij] = nextIk;
+      }
+    }
+  }
+
+  // Identify negative cycles by propagating NEGATIVE_INFINITY to every pair (i, j) where i reaches
+  // a node k on a negative cycle which reaches j. The pairs are all found before any is changed,
+  // so that the rows can be processed in parallel.
+  private void propagateNegativeCycles() {
+    List<Integer> negative = new ArrayList<>();
+    for (int k = 0; k < n; k++)
+      if (dp[k * n + k] < 0)
+        negative.add(k);
+    if (negative.isEmpty())
+      return;
+
+    // poisoned[i] has bit j set if dp[i][j] becomes NEGATIVE_INFINITY, or is null if none does.
+    long[][] poisoned = new long[n][];
+    forEachTask(n, i -> {
+      for (int k : negative) {
+        if (dp[i * n + k] == POSITIVE_INFINITY)
+          continue;
+        if (poisoned[i] == null)
+          poisoned[i] = new long[(n + 63) >> 6];
+        for (int j = 0; j < n; j++)
+          if (dp[k * n + j] != POSITIVE_INFINITY)
+            poisoned[i][j >> 6] |= 1L << j;
+      }
+    });
+    forEachTask(n, i -> {
+      if (poisoned[i] == null)
+        return;
+      for (int j = 0; j < n; j++) {
+        if ((poisoned[i][j >> 6] & (1L << j)) != 0) {
+          dp[i * n + j] = NEGATIVE_INFINITY;
+          next[i * n + j] = REACHES_NEGATIVE_CYCLE;
+        }
+      }
+    });
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
+   *
+   * @return an array of node indexes of the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected return an empty list. If the shortest path from 'start' to 'end'
+   *     reaches a negative cycle return null.
+   */
+  public List<Integer> reconstructShortestPath(int start, int end) {
+    solve();
+    List<Integer> path = new ArrayList<>();
+    if (dp[start * n + end] == POSITIVE_INFINITY)
+      return path;
+    int at = start;
+    for (; at != end; at = next[at * n + end]) {
+      if (at == REACHES_NEGATIVE_CYCLE)
+        return null;
+      if (at == NO_EDGE)
+        return new ArrayList<>();
+      path.add(at);
+    }
+    if (next[at * n + end] == REACHES_NEGATIVE_CYCLE)
+      return null;
+    path.add(end);
+    return path;
+  }
+
+  // Runs the action for every task in [0, count) on the pool, in parallel.
+  private void forEachTask(int count, IntConsumer action) {
+    pool.invoke(new RangeTask(0, count, action));
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final IntConsumer action;
+
+    RangeTask(int lo, int hi, IntConsumer action) {
+      this.lo = lo;
+      this.hi = hi;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo == 1) {
+        action.accept(lo);
+      } else if (hi > lo) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new RangeTask(lo, mid, action), new RangeTask(mid, hi, action));
+      }
+    }
+  }
+
+  public static void main(String[] args) {
+    // The graph of FloydWarshallSolver's first example: a negative cycle between nodes 2 and 3.
+    double[][] m = FloydWarshallSolver.createGraph(4);
+    m[0][1] = 4;
+    m[1][2] = 1;
+    m[2][3] = 2;
+    m[3][2] = -5;
+
+    BlockedFloydWarshallSolver solver =
+        new BlockedFloydWarshallSolver(m, ForkJoinPool.commonPool(), 2);
+    System.out.printf("dist(0, 1) = %.0f\n", solver.getDistance(0, 1)); // 4
+    System.out.printf("dist(0, 2) = %.0f\n", solver.getDistance(0, 2)); // -Infinity
+    System.out.println("path(0, 1) = " + solver.reconstructShortestPath(0, 1)); // [0, 1]
+    System.out.println("path(0, 2) = " + solver.reconstructShortestPath(0, 2)); // null
+  }
+}
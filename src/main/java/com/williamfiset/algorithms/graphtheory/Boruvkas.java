@@ -14,6 +14,9 @@
  *
  * <p>If the graph is disconnected, no MST exists and the solver returns null.
  *
+ * <p>The graph is either an edge list, or an undirected {@link CsrGraph} with every edge in both
+ * directions and long weights as the edge costs.
+ *
  * <p>Time:  O(E log V)
  * <p>Space: O(V + E)
  *
@@ -21,7 +24,9 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -39,7 +44,10 @@ public class Boruvkas {
   }
 
   private final int n;
+
+  // Exactly one of the two representations is non null.
   private final Edge[] graph;
+  private final CsrGraph csrGraph;
   private boolean solved;
   private boolean mstExists;
   private long minCostSum;
@@ -50,10 +58,21 @@ public class Boruvkas {
       throw new IllegalArgumentException();
     }
     this.graph = graph;
+    this.csrGraph = null;
     this.n = n;
     this.mst = new ArrayList<>();
   }
 
+  public Boruvkas(CsrGraph graph) {
+    if (graph == null || !graph.hasLongWeights()) {
+      throw new IllegalArgumentException();
+    }
+    this.graph = null;
+    this.csrGraph = graph;
+    this.n = graph.numNodes();
+    this.mst = new ArrayList<>();
+  }
+
   /**
    * Returns the edges in the MST, or empty if the graph is disconnected.
    */
@@ -78,22 +97,7 @@ public class Boruvkas {
     UnionFind uf = new UnionFind(n);
 
     while (uf.components > 1) {
-      Edge[] cheapest = new Edge[n];
-
-      // For each edge, track the cheapest crossing edge for each component.
-      for (Edge e : graph) {
-        int root1 = uf.find(e.u);
-        int root2 = uf.find(e.v);
-        if (root1 == root2) {
-          continue;
-        }
-        if (cheapest[root1] == null || e.cost < cheapest[root1].cost) {
-          cheapest[root1] = e;
-        }
-        if (cheapest[root2] == null || e.cost < cheapest[root2].cost) {
-          cheapest[root2] = e;
-        }
-      }
+      Edge[] cheapest = csrGraph != null ? findCheapestCsrEdges(uf) : findCheapestEdges(uf);
 
       // Merge components using their cheapest crossing edges.
       int prevComponents = uf.components;
@@ -114,6 +118,56 @@ public class Boruvkas {
     solved = true;
   }
 
+  private Edge[] findCheapestEdges(UnionFind uf) {
+    Edge[] cheapest = new Edge[n];
+
+    // For each edge, track the cheapest crossing edge for each component.
+    for (Edge e : graph) {
+      int root1 = uf.find(e.u);
+      int root2 = uf.find(e.v);
+      if (root1 == root2) {
+        continue;
+      }
+      if (cheapest[root1] == null || e.cost < cheapest[root1].cost) {
+        cheapest[root1] = e;
+      }
+      if (cheapest[root2] == null || e.cost < cheapest[root2].cost) {
+        cheapest[root2] = e;
+      }
+    }
+    return cheapest;
+  }
+
+  // Finds the cheapest crossing edge of every component of a CsrGraph. Every edge is seen from
+  // both of its nodes, so only the component of the source is updated, and an Edge is only created
+  // for the cheapest edge of each component.
+  private Edge[] findCheapestCsrEdges(UnionFind uf) {
+    int[] cheapestEdge = new int[n], cheapestFrom = new int[n];
+    Arrays.fill(cheapestEdge, -1);
+    for (int u = 0; u < n; u++) {
+      int root1 = uf.find(u);
+      for (int e = csrGraph.edgeStart(u); e < csrGraph.edgeEnd(u); e++) {
+        if (root1 == uf.find(csrGraph.target(e))) {
+          continue;
+        }
+        int best = cheapestEdge[root1];
+        if (best == -1 || csrGraph.longWeight(e) < csrGraph.longWeight(best)) {
+          cheapestEdge[root1] = e;
+          cheapestFrom[root1] = u;
+        }
+      }
+    }
+    Edge[] cheapest = new Edge[n];
+    for (int root = 0; root < n; root++) {
+      int e = cheapestEdge[root];
+      if (e != -1) {
+        int cost = Math.toIntExact(csrGraph.longWeight(e));
+        cheapest[root] = new Edge(cheapestFrom[root], csrGraph.target(e), cost);
+      }
+    }
+    return cheapest;
+  }
+
   // ==================== Main ====================
 
   //
@@ -16,6 +16,9 @@
  *       from the end node back to the start.</li>
  * </ol>
  *
+ * <p>The graph is either a list of edge lists, or a {@link CsrGraph}, which uses a fraction of the
+ * memory and is faster to traverse on large graphs.
+ *
  * <p>Time:  O(V + E)
  * <p>Space: O(V)
  *
@@ -23,9 +26,9 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
-import java.util.ArrayDeque;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -41,8 +44,10 @@ public class BreadthFirstSearchAdjacencyList {
   }
 
   private final int n;
+  // Exactly one of the two representations is non null.
   private final List<List<Edge>> graph;
-  private Integer[] prev;
+  private final CsrGraph csrGraph;
+  private int[] prev;
 
   public BreadthFirstSearchAdjacencyList(List<List<Edge>> graph) {
     if (graph == null) {
@@ -50,6 +55,16 @@ public class BreadthFirstSearchAdjacencyList {
     }
     this.n = graph.size();
     this.graph = graph;
+    this.csrGraph = null;
+  }
+
+  public BreadthFirstSearchAdjacencyList(CsrGraph graph) {
+    if (graph == null) {
+      throw new IllegalArgumentException("Graph can not be null");
+    }
+    this.n = graph.numNodes();
+    this.graph = null;
+    this.csrGraph = graph;
   }
 
   /**
@@ -60,7 +75,7 @@ public class BreadthFirstSearchAdjacencyList {
   public List<Integer> reconstructPath(int start, int end) {
     bfs(start);
     LinkedList<Integer> path = new LinkedList<>();
-    for (Integer at = end; at != null; at = prev[at]) {
+    for (int at = end; at != -1; at = prev[at]) {
       path.addFirst(at);
     }
     if (path.isEmpty() || path.getFirst().intValue() != start) {
@@ -69,21 +84,36 @@ public class BreadthFirstSearchAdjacencyList {
     return path;
   }
 
+  // Every node enters the queue at most once, so the queue is an array of size n with a head and a
+  // tail index, which avoids boxing the node indexes.
   private void bfs(int start) {
-    prev = new Integer[n];
+    prev = new int[n];
+    Arrays.fill(prev, -1);
     boolean[] visited = new boolean[n];
-    Deque<Integer> queue = new ArrayDeque<>(n);
+    int[] queue = new int[n];
+    int head = 0, tail = 0;
 
-    queue.offer(start);
+    queue[tail++] = start;
     visited[start] = true;
 
-    while (!queue.isEmpty()) {
-      int node = queue.poll();
-      for (Edge edge : graph.get(node)) {
-        if (!visited[edge.to]) {
-          visited[edge.to] = true;
-          prev[edge.to] = node;
-          queue.offer(edge.to);
+    while (head < tail) {
+      int node = queue[head++];
+      if (csrGraph != null) {
+        for (int e = csrGraph.edgeStart(node); e < csrGraph.edgeEnd(node); e++) {
+          int to = csrGraph.target(e);
+          if (!visited[to]) {
+            visited[to] = true;
+            prev[to] = node;
+            queue[tail++] = to;
+          }
+        }
+      } else {
+        for (Edge edge : graph.get(node)) {
+          if (!visited[edge.to]) {
+            visited[edge.to] = true;
+            prev[edge.to] = node;
+            queue[tail++] = edge.to;
+          }
         }
       }
     }
@@ -138,5 +168,15 @@ public class BreadthFirstSearchAdjacencyList {
 
     System.out.println(solver.reconstructPath(0, 7)); // [0, 1, 4, 7]
     System.out.println(solver.reconstructPath(3, 5)); // [3, 6, 7, 5]
+
+    // The same graph in compressed sparse row form.
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int u = 0; u < n; u++) {
+      for (Edge edge : graph.get(u)) {
+        builder.addEdge(edge.from, edge.to);
+      }
+    }
+    solver = new BreadthFirstSearchAdjacencyList(builder.build());
+    System.out.println(solver.reconstructPath(0, 7)); // [0, 1, 4, 7]
   }
 }
@@ -20,6 +20,11 @@
  *
  * <p>Works on disconnected graphs by running DFS from every unvisited node.
  *
+ * <p>The DFS keeps its own stack of nodes instead of recursing, so graphs with millions of nodes
+ * and very long paths don't need a big thread stack, and allocates nothing per edge. Besides
+ * adjacency lists the graph can be given as an {@code int[][]} or a {@link CsrGraph}, both of
+ * which must hold every undirected edge in both directions.
+ *
  * <p>See also: {@link ArticulationPointsAdjacencyList} for finding cut vertices.
  *
  * <p>Tested against HackerEarth online judge at:
@@ -34,13 +39,18 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.datastructures.stack.IntStack;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.List;
 
 public class BridgesAdjacencyList {
 
   private final int n;
+  // Exactly one of the three representations is non null.
   private final List<List<Integer>> graph;
+  private final CsrGraph csrGraph;
+  private final int[][] adjacency;
   private boolean solved;
   private int id;
   private int[] low, ids;
@@ -52,9 +62,36 @@ public class BridgesAdjacencyList {
       throw new IllegalArgumentException();
     }
     this.graph = graph;
+    this.csrGraph = null;
+    this.adjacency = null;
     this.n = n;
   }
 
+  public BridgesAdjacencyList(CsrGraph graph) {
+    if (graph == null || graph.numNodes() == 0) {
+      throw new IllegalArgumentException();
+    }
+    this.graph = null;
+    this.csrGraph = graph;
+    this.adjacency = null;
+    this.n = graph.numNodes();
+  }
+
+  public BridgesAdjacencyList(int[][] graph) {
+    if (graph == null || graph.length == 0) {
+      throw new IllegalArgumentException();
+    }
+    for (int[] edges : graph) {
+      if (edges == null) {
+        throw new IllegalArgumentException();
+      }
+    }
+    this.graph = null;
+    this.csrGraph = null;
+    this.adjacency = graph;
+    this.n = graph.length;
+  }
+
   /**
    * Returns a list of bridge edges. Each element is an {@code int[]} of length 2
    * where {@code [0]} and {@code [1]} are the node indices on either side of the bridge.
@@ -71,10 +108,15 @@ public class BridgesAdjacencyList {
     visited = new boolean[n];
     bridges = new ArrayList<>();
 
+    // The DFS path, and for every node its parent and the number of its edges visited so far.
+    IntStack path = new IntStack(n);
+    int[] parent = new int[n], edgeIndex = new int[n];
+
     // Run DFS from each unvisited node to handle disconnected components.
     for (int i = 0; i < n; i++) {
       if (!visited[i]) {
-        dfs(i, -1);
+        parent[i] = -1;
+        dfs(i, path, parent, edgeIndex);
       }
     }
 
@@ -82,29 +124,60 @@ public class BridgesAdjacencyList {
     return bridges;
   }
 
-  private void dfs(int at, int parent) {
-    visited[at] = true;
-    low[at] = ids[at] = ++id;
-
-    for (int to : graph.get(at)) {
-      if (to == parent) {
+  private void dfs(int start, IntStack path, int[] parent, int[] edgeIndex) {
+    visit(start, path);
+    while (!path.isEmpty()) {
+      int at = path.peekInt();
+      if (edgeIndex[at] < degree(at)) {
+        int to = neighbor(at, edgeIndex[at]++);
+        if (to == parent[at]) {
+          continue;
+        }
+        if (!visited[to]) {
+          parent[to] = at;
+          visit(to, path);
+        } else {
+          // Back edge: update low-link to the earliest reachable ancestor.
+          low[at] = min(low[at], ids[to]);
+        }
         continue;
       }
-      if (!visited[to]) {
-        dfs(to, at);
-        low[at] = min(low[at], low[to]);
-        // If no vertex in the subtree rooted at 'to' can reach 'at' or above,
-        // then removing edge (at, to) would disconnect the graph.
-        if (ids[at] < low[to]) {
-          bridges.add(new int[] {at, to});
+
+      // All the edges of 'at' are done, so its low-link is final and its parent can use it.
+      path.popInt();
+      int from = parent[at];
+      if (from != -1) {
+        low[from] = min(low[from], low[at]);
+        // If no vertex in the subtree rooted at 'at' can reach 'from' or above,
+        // then removing edge (from, at) would disconnect the graph.
+        if (ids[from] < low[at]) {
+          bridges.add(new int[] {from, at});
         }
-      } else {
-        // Back edge: update low-link to the earliest reachable ancestor.
-        low[at] = min(low[at], ids[to]);
       }
     }
   }
 
+  private void visit(int at, IntStack path) {
+    visited[at] = true;
+    low[at] = ids[at] = ++id;
+    path.push(at);
+  }
+
+  private int degree(int at) {
+    if (csrGraph != null) {
+      return csrGraph.outDegree(at);
+    }
+    return adjacency != null ? adjacency[at].length : graph.get(at).size();
+  }
+
+  // The lists are expected to be random access, like the ones createGraph makes.
+  private int neighbor(int at, int i) {
+    if (csrGraph != null) {
+      return csrGraph.target(csrGraph.edgeStart(at) + i);
+    }
+    return adjacency != null ? adjacency[at][i] : graph.get(at).get(i);
+  }
+
   /* Graph helpers */
 
   public static List<List<Integer>> createGraph(int n) {
@@ -0,0 +1,698 @@
+/**
+ * Contraction Hierarchies: a preprocessed directed graph which answers shortest path queries by
+ * exploring a few hundred nodes, where Dijkstra explores a large part of the graph.
+ *
+ * <p>Preprocessing contracts the nodes one at a time, from the least important to the most
+ * important. Contracting node v removes it from the graph, and for every pair of edges u -> v -> w
+ * adds a shortcut u -> w of the same cost, unless a 'witness search', a Dijkstra from u which
+ * avoids v, finds a path from u to w that is no longer. The hierarchy is the original graph plus
+ * the shortcuts, and the rank of a node is the order in which it was contracted.
+ *
+ * <p>Every shortest path then has a shortest 'up-down' equivalent: one which only goes to higher
+ * ranked nodes, then only to lower ranked ones. A query is a bidirectional Dijkstra in which the
+ * forward search from the start only follows edges going up, and the backward search from the end
+ * only follows (reversed) edges coming down. Each of them stops once its smallest key is no
+ * smaller than the best path found, and a path is unpacked by recursively replacing every
+ * shortcut u -> w with the two edges u -> middle -> w it stands for.
+ *
+ * <p>Nodes are ordered by their edge difference (the number of shortcuts contracting them would
+ * add, minus the number of edges it would remove) plus the number of their neighbours already
+ * contracted, which spreads the contraction evenly over the graph. The priorities go stale as the
+ * graph changes, so the neighbours of a contracted node are updated right away, and a node taken
+ * from the queue is re-evaluated and put back if it no longer has the smallest priority.
+ *
+ * <p>Witness searches give up after settling a few hundred nodes, in which case the shortcut is
+ * added, which is never wrong, only possibly superfluous. Road networks contract well; grid-like
+ * graphs without a natural hierarchy end up with a dense core and take much longer to preprocess.
+ *
+ * <p>A hierarchy serializes to a compact little endian binary form with {@link #writeTo}, so that a
+ * service can load it with {@link #readFrom} instead of preprocessing the graph on every start.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapLong;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class ContractionHierarchy {
+
+  private static final int MAGIC = 0x43484731;
+  private static final int HEADER_BYTES = 16;
+
+  // Witness searches give up after settling this many nodes. Estimating a priority only needs the
+  // number of shortcuts roughly, so it uses a smaller limit.
+  private static final int WITNESS_SETTLE_LIMIT = 500, PRIORITY_SETTLE_LIMIT = 50;
+
+  private final int n;
+  private final int[] rank;
+
+  // The upward edges u -> v (rank[u] < rank[v]), stored at u. A shortcut stands for the path
+  // u -> middle -> v, and the middle of an original edge is -1.
+  private final int[] upOffsets, upTargets, upMiddles;
+  private final double[] upWeights;
+
+  // The downward edges u -> v (rank[u] > rank[v]), stored at v with target u, which is the way the
+  // backward search follows them.
+  private final int[] downOffsets, downTargets, downMiddles;
+  private final double[] downWeights;
+
+  // The context used by the queries which aren't given one.
+  private QueryContext context;
+
+  private ContractionHierarchy(int n, int[] rank, EdgeArrays up, EdgeArrays down) {
+    this.n = n;
+    this.rank = rank;
+    this.upOffsets = up.offsets;
+    this.upTargets = up.targets;
+    this.upMiddles = up.middles;
+    this.upWeights = up.weights;
+    this.downOffsets = down.offsets;
+    this.downTargets = down.targets;
+    this.downMiddles = down.middles;
+    this.downWeights = down.weights;
+  }
+
+  /**
+   * Preprocesses a directed graph whose edge weights are the non negative costs. Self loops are
+   * dropped and of several parallel edges only the cheapest is kept.
+   */
+  public static ContractionHierarchy build(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    return new Contractor(graph).contractAll();
+  }
+
+  public int numNodes() {
+    return n;
+  }
+
+  // Returns the number of edges of the hierarchy, original edges and shortcuts.
+  public int numEdges() {
+    return upTargets.length + downTargets.length;
+  }
+
+  public int numShortcuts() {
+    int shortcuts = 0;
+    for (int middle : upMiddles) if (middle != -1) shortcuts++;
+    for (int middle : downMiddles) if (middle != -1) shortcuts++;
+    return shortcuts;
+  }
+
+  // Returns the position of the node in the contraction order, the most important node has rank
+  // n - 1.
+  public int rank(int node) {
+    return rank[node];
+  }
+
+  /**
+   * The state of one query, which is allocated once and reset in time proportional to the part of
+   * the hierarchy the previous query explored. Threads which query the same hierarchy each need
+   * their own context.
+   */
+  public static final class QueryContext {
+    private final int n;
+    private final double[] distF, distB;
+    // prevF[v] is the node before v on the upward path from the start, nextB[v] the node after v
+    // on the downward path to the end.
+    private final int[] prevF, nextB;
+    private final MinIndexedDHeapDouble pqF, pqB;
+    private final int[] reached;
+    private int reachedCount, settledCount;
+
+    // The best path found, through the node 'meeting', and its length.
+    private double mu;
+    private int meeting;
+
+    public QueryContext(ContractionHierarchy hierarchy) {
+      n = hierarchy.n;
+      int size = Math.max(1, n);
+      distF = new double[size];
+      distB = new double[size];
+      prevF = new int[size];
+      nextB = new int[size];
+      reached = new int[size];
+      Arrays.fill(distF, Double.POSITIVE_INFINITY);
+      Arrays.fill(distB, Double.POSITIVE_INFINITY);
+      Arrays.fill(prevF, -1);
+      Arrays.fill(nextB, -1);
+      pqF = new MinIndexedDHeapDouble(4, size);
+      pqB = new MinIndexedDHeapDouble(4, size);
+    }
+
+    // Returns the number of nodes settled by the two searches of the last query.
+    public int nodesSettled() {
+      return settledCount;
+    }
+
+    private void reach(int node) {
+      if (distF[node] == Double.POSITIVE_INFINITY && distB[node] == Double.POSITIVE_INFINITY)
+        reached[reachedCount++] = node;
+    }
+
+    private void reset() {
+      for (int i = 0; i < reachedCount; i++) {
+        int node = reached[i];
+        distF[node] = distB[node] = Double.POSITIVE_INFINITY;
+        prevF[node] = nextB[node] = -1;
+      }
+      reachedCount = settledCount = 0;
+      pqF.clear();
+      pqB.clear();
+    }
+  }
+
+  /**
+   * Returns the length of the shortest path from 'start' to 'end', or Double.POSITIVE_INFINITY if
+   * there is none.
+   */
+  public double distance(int start, int end) {
+    if (context == null) context = new QueryContext(this);
+    return distance(start, end, context);
+  }
+
+  /** Returns the length of the shortest path like {@link #distance(int, int)}, with a context. */
+  public double distance(int start, int end, QueryContext ctx) {
+    if (ctx.n != n)
+      throw new IllegalArgumentException("The context was created for a different hierarchy");
+    if (start < 0 || start >= n || end < 0 || end >= n)
+      throw new IllegalArgumentException("Node out of range");
+    ctx.reset();
+
+    ctx.reach(start);
+    ctx.distF[start] = 0;
+    ctx.pqF.insert(start, 0);
+    ctx.reach(end);
+    ctx.distB[end] = 0;
+    ctx.pqB.insert(end, 0);
+    ctx.mu = start == end ? 0 : Double.POSITIVE_INFINITY;
+    ctx.meeting = start;
+
+    while (true) {
+      // A search is done once it can't find a path shorter than mu anymore.
+      boolean forwardDone = ctx.pqF.isEmpty() || ctx.pqF.peekMinValue() >= ctx.mu;
+      boolean backwardDone = ctx.pqB.isEmpty() || ctx.pqB.peekMinValue() >= ctx.mu;
+      if (forwardDone && backwardDone) break;
+
+      if (backwardDone || (!forwardDone && ctx.pqF.peekMinValue() <= ctx.pqB.peekMinValue())) {
+        int u = ctx.pqF.pollMinKeyIndex();
+        ctx.settledCount++;
+        for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++)
+          relax(ctx, u, upTargets[e], ctx.distF[u] + upWeights[e], true);
+      } else {
+        int u = ctx.pqB.pollMinKeyIndex();
+        ctx.settledCount++;
+        for (int e = downOffsets[u]; e < downOffsets[u + 1]; e++)
+          relax(ctx, u, downTargets[e], ctx.distB[u] + downWeights[e], false);
+      }
+    }
+    return ctx.mu;
+  }
+
+  private static void relax(QueryContext ctx, int u, int v, double dist, boolean forward) {
+    double[] own = forward ? ctx.distF : ctx.distB;
+    if (dist >= own[v]) return;
+    MinIndexedDHeapDouble pq = forward ? ctx.pqF : ctx.pqB;
+    if (own[v] == Double.POSITIVE_INFINITY) {
+      ctx.reach(v);
+      pq.insert(v, dist);
+    } else {
+      pq.decrease(v, dist);
+    }
+    own[v] = dist;
+    if (forward) ctx.prevF[v] = u;
+    else ctx.nextB[v] = u;
+
+    double length = ctx.distF[v] + ctx.distB[v];
+    if (length < ctx.mu) {
+      ctx.mu = length;
+      ctx.meeting = v;
+    }
+  }
+
+  /**
+   * Returns the nodes of the shortest path from 'start' to 'end' in the original graph, or an empty
+   * list if there is none.
+   */
+  public List<Integer> reconstructPath(int start, int end) {
+    if (context == null) context = new QueryContext(this);
+    return reconstructPath(start, end, context);
+  }
+
+  /** Returns the shortest path like {@link #reconstructPath(int, int)}, with a context. */
+  public List<Integer> reconstructPath(int start, int end, QueryContext ctx) {
+    List<Integer> path = new ArrayList<>();
+    if (distance(start, end, ctx) == Double.POSITIVE_INFINITY) return path;
+
+    // The path in the hierarchy: up from the start to the meeting node, then down to the end.
+    List<Integer> nodes = new ArrayList<>();
+    for (int at = ctx.meeting; at != -1; at = ctx.prevF[at]) nodes.add(at);
+    Collections.reverse(nodes);
+    for (int at = ctx.nextB[ctx.meeting]; at != -1; at = ctx.nextB[at]) nodes.add(at);
+
+    path.add(start);
+    int[] stack = new int[16];
+    for (int i = 0; i + 1 < nodes.size(); i++) {
+      // Unpacks the edge with an explicit stack of (from, to) pairs, since shortcuts can nest
+      // deeper than the call stack allows.
+      int size = 0;
+      stack[size++] = nodes.get(i);
+      stack[size++] = nodes.get(i + 1);
+      while (size > 0) {
+        int to = stack[--size], from = stack[--size];
+        int middle = middle(from, to);
+        if (middle == -1) {
+          path.add(to);
+          continue;
+        }
+        if (size + 4 > stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+        stack[size++] = middle;
+        stack[size++] = to;
+        stack[size++] = from;
+        stack[size++] = middle;
+      }
+    }
+    return path;
+  }
+
+  // Returns the middle node of the hierarchy edge from -> to, which is -1 for an original edge.
+  private int middle(int from, int to) {
+    if (rank[from] < rank[to]) {
+      for (int e = upOffsets[from]; e < upOffsets[from + 1]; e++)
+        if (upTargets[e] == to) return upMiddles[e];
+    } else {
+      for (int e = downOffsets[to]; e < downOffsets[to + 1]; e++)
+        if (downTargets[e] == from) return downMiddles[e];
+    }
+    throw new IllegalStateException("No edge " + from + " -> " + to + " in the hierarchy");
+  }
+
+  // ==================== Serialization ====================
+
+  // Returns the number of bytes writeTo() needs.
+  public long serializedSize() {
+    return HEADER_BYTES
+        + 4L * n
+        + 4L * (n + 1) * 2
+        + 16L * upTargets.length
+        + 16L * downTargets.length;
+  }
+
+  /**
+   * Writes the hierarchy at the position of the buffer, and advances the position past it.
+   *
+   * <p>The layout is a 16 byte header (magic, number of nodes, number of upward edges, number of
+   * downward edges), the ranks, then the offsets, targets, middles and weights of the upward edges
+   * followed by those of the downward edges. That is 16 bytes per edge and 12 per node.
+   */
+  public void writeTo(ByteBuffer out) {
+    if (serializedSize() > out.remaining())
+      throw new IllegalArgumentException("Buffer too small for the hierarchy");
+    ByteBuffer buffer = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(n).putInt(upTargets.length).putInt(downTargets.length);
+    putInts(buffer, rank);
+    putInts(buffer, upOffsets);
+    putInts(buffer, upTargets);
+    putInts(buffer, upMiddles);
+    putDoubles(buffer, upWeights);
+    putInts(buffer, downOffsets);
+    putInts(buffer, downTargets);
+    putInts(buffer, downMiddles);
+    putDoubles(buffer, downWeights);
+    out.position(out.position() + buffer.position());
+  }
+
+  /** Reads a hierarchy written by {@link #writeTo} and advances the position of the buffer. */
+  public static ContractionHierarchy readFrom(ByteBuffer in) {
+    ByteBuffer buffer = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC)
+      throw new IllegalArgumentException("Not a serialized contraction hierarchy");
+    int n = buffer.getInt(), mUp = buffer.getInt(), mDown = buffer.getInt();
+    if (n < 0 || mUp < 0 || mDown < 0)
+      throw new IllegalArgumentException("Corrupt contraction hierarchy header");
+    long size = 4L * n + 8L * (n + 1) + 16L * mUp + 16L * mDown;
+    if (buffer.remaining() < size) throw new IllegalArgumentException("Truncated hierarchy");
+
+    int[] rank = getInts(buffer, n);
+    EdgeArrays up = EdgeArrays.read(buffer, n, mUp);
+    EdgeArrays down = EdgeArrays.read(buffer, n, mDown);
+
+    boolean[] seen = new boolean[n];
+    for (int r : rank) {
+      if (r < 0 || r >= n || seen[r]) throw new IllegalArgumentException("Corrupt node ranks");
+      seen[r] = true;
+    }
+    in.position(in.position() + buffer.position());
+    return new ContractionHierarchy(n, rank, up, down);
+  }
+
+  /** Writes the hierarchy to a file, replacing the file if it exists. */
+  public void writeTo(Path file) throws IOException {
+    if (serializedSize() > Integer.MAX_VALUE)
+      throw new IllegalStateException("Hierarchy too large for a single file mapping");
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, serializedSize());
+      writeTo(buffer);
+      buffer.force();
+    }
+  }
+
+  /** Reads a hierarchy from a file written by {@link #writeTo(Path)}. */
+  public static ContractionHierarchy readFrom(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Not a serialized contraction hierarchy");
+      return readFrom(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  private static void putInts(ByteBuffer buffer, int[] values) {
+    buffer.asIntBuffer().put(values);
+    buffer.position(buffer.position() + 4 * values.length);
+  }
+
+  private static void putDoubles(ByteBuffer buffer, double[] values) {
+    buffer.asDoubleBuffer().put(values);
+    buffer.position(buffer.position() + 8 * values.length);
+  }
+
+  private static int[] getInts(ByteBuffer buffer, int length) {
+    int[] values = new int[length];
+    buffer.asIntBuffer().get(values);
+    buffer.position(buffer.position() + 4 * length);
+    return values;
+  }
+
+  private static double[] getDoubles(ByteBuffer buffer, int length) {
+    double[] values = new double[length];
+    buffer.asDoubleBuffer().get(values);
+    buffer.position(buffer.position() + 8 * length);
+    return values;
+  }
+
+  // The edges of one direction of the hierarchy in compressed sparse row form.
+  private static final class EdgeArrays {
+    final int[] offsets, targets, middles;
+    final double[] weights;
+
+    EdgeArrays(int[] offsets, int[] targets, int[] middles, double[] weights) {
+      this.offsets = offsets;
+      this.targets = targets;
+      this.middles = middles;
+      this.weights = weights;
+    }
+
+    // Groups the edges by node with a counting sort.
+    static EdgeArrays of(int n, EdgeList edges) {
+      int m = edges.size;
+      int[] offsets = new int[n + 1];
+      for (int i = 0; i < m; i++) offsets[edges.nodes[i] + 1]++;
+      for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+      int[] cursor = Arrays.copyOf(offsets, n);
+      int[] targets = new int[m], middles = new int[m];
+      double[] weights = new double[m];
+      for (int i = 0; i < m; i++) {
+        int e = cursor[edges.nodes[i]]++;
+        targets[e] = edges.targets[i];
+        middles[e] = edges.middles[i];
+        weights[e] = edges.weights[i];
+      }
+      return new EdgeArrays(offsets, targets, middles, weights);
+    }
+
+    static EdgeArrays read(ByteBuffer buffer, int n, int m) {
+      int[] offsets = getInts(buffer, n + 1);
+      int[] targets = getInts(buffer, m), middles = getInts(buffer, m);
+      double[] weights = getDoubles(buffer, m);
+      if (offsets[0] != 0 || offsets[n] != m)
+        throw new IllegalArgumentException("Corrupt hierarchy offsets");
+      for (int u = 0; u < n; u++)
+        if (offsets[u] > offsets[u + 1])
+          throw new IllegalArgumentException("Corrupt hierarchy offsets");
+      for (int e = 0; e < m; e++)
+        if (targets[e] < 0 || targets[e] >= n || middles[e] < -1 || middles[e] >= n)
+          throw new IllegalArgumentException("Corrupt hierarchy edge " + e);
+      return new EdgeArrays(offsets, targets, middles, weights);
+    }
+  }
+
+  // A growable list of hierarchy edges (node, target, middle, weight).
+  private static final class EdgeList {
+    int size;
+    int[] nodes = new int[16], targets = new int[16], middles = new int[16];
+    double[] weights = new double[16];
+
+    void add(int node, int target, int middle, double weight) {
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, 2 * size);
+        targets = Arrays.copyOf(targets, 2 * size);
+        middles = Arrays.copyOf(middles, 2 * size);
+        weights = Arrays.copyOf(weights, 2 * size);
+      }
+      nodes[size] = node;
+      targets[size] = target;
+      middles[size] = middle;
+      weights[size] = weight;
+      size++;
+    }
+  }
+
+  // ==================== Preprocessing ====================
+
+  // The graph being contracted, which holds the remaining nodes and the edges between them.
+  private static final class Contractor {
+    final int n;
+
+    // Edge i goes from 'from[i]' to 'to[i]'. A shortcut stands for the path from -> middle -> to.
+    int m;
+    int[] from = new int[16], to = new int[16], middle = new int[16];
+    double[] weight = new double[16];
+
+    // The ids of the edges leaving and entering every node.
+    final int[][] out, in;
+    final int[] outSize, inSize;
+
+    final boolean[] contracted;
+    final int[] contractedNeighbours, rank;
+
+    // The state of the witness searches, reset like a Dijkstra QueryContext.
+    final double[] dist;
+    final int[] reached;
+    int reachedCount;
+    final MinIndexedDHeapDouble pq;
+
+    final EdgeList up = new EdgeList(), down = new EdgeList();
+
+    Contractor(CsrGraph graph) {
+      n = graph.numNodes();
+      out = new int[n][];
+      in = new int[n][];
+      outSize = new int[n];
+      inSize = new int[n];
+      contracted = new boolean[n];
+      contractedNeighbours = new int[n];
+      rank = new int[n];
+      dist = new double[n];
+      reached = new int[n];
+      Arrays.fill(dist, Double.POSITIVE_INFINITY);
+      pq = new MinIndexedDHeapDouble(4, Math.max(1, n));
+      for (int u = 0; u < n; u++) {
+        out[u] = new int[Math.max(2, graph.outDegree(u))];
+        in[u] = new int[2];
+      }
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          int v = graph.target(e);
+          double w = graph.weight(e);
+          if (!(w >= 0)) throw new IllegalArgumentException("No negative edge weights");
+          if (u != v) addEdge(u, v, w, -1);
+        }
+      }
+    }
+
+    ContractionHierarchy contractAll() {
+      MinIndexedDHeapLong queue = new MinIndexedDHeapLong(4, Math.max(1, n));
+      for (int v = 0; v < n; v++) queue.insert(v, priority(v));
+
+      int[] touched = new int[n];
+      Arrays.fill(touched, -1);
+      for (int order = 0; !queue.isEmpty(); ) {
+        int v = queue.pollMinKeyIndex();
+        long priority = priority(v);
+        if (!queue.isEmpty() && priority > queue.peekMinValue()) {
+          queue.insert(v, priority);
+          continue;
+        }
+        rank[v] = order++;
+        contract(v, false);
+
+        // The remaining edges of v become part of the hierarchy.
+        for (int i = 0; i < outSize[v]; i++) {
+          int e = out[v][i];
+          if (!contracted[to[e]]) up.add(v, to[e], middle[e], weight[e]);
+        }
+        for (int i = 0; i < inSize[v]; i++) {
+          int e = in[v][i];
+          if (!contracted[from[e]]) down.add(v, from[e], middle[e], weight[e]);
+        }
+        contracted[v] = true;
+
+        for (int i = 0; i < outSize[v]; i++) updateNeighbour(queue, to[out[v][i]], v, touched);
+        for (int i = 0; i < inSize[v]; i++) updateNeighbour(queue, from[in[v][i]], v, touched);
+        out[v] = in[v] = null;
+      }
+      return new ContractionHierarchy(n, rank, EdgeArrays.of(n, up), EdgeArrays.of(n, down));
+    }
+
+    // Updates the priority of a remaining neighbour x of the node v just contracted, once.
+    private void updateNeighbour(MinIndexedDHeapLong queue, int x, int v, int[] touched) {
+      if (contracted[x] || touched[x] == v) return;
+      touched[x] = v;
+      contractedNeighbours[x]++;
+      removeContractedEdges(x);
+      queue.update(x, priority(x));
+    }
+
+    // The priority of a node is its edge difference plus its contracted neighbours, lowest first.
+    private long priority(int v) {
+      int removed = 0;
+      for (int i = 0; i < outSize[v]; i++) if (!contracted[to[out[v][i]]]) removed++;
+      for (int i = 0; i < inSize[v]; i++) if (!contracted[from[in[v][i]]]) removed++;
+      return contract(v, true) - removed + contractedNeighbours[v];
+    }
+
+    // Adds the shortcuts needed to remove v from the graph, and returns how many there are. If
+    // 'simulate' is true it only counts them.
+    private int contract(int v, boolean simulate) {
+      int shortcuts = 0;
+      for (int i = 0; i < inSize[v]; i++) {
+        int inEdge = in[v][i], u = from[inEdge];
+        if (contracted[u]) continue;
+
+        double maxCost = -1;
+        for (int j = 0; j < outSize[v]; j++) {
+          int w = to[out[v][j]];
+          if (!contracted[w] && w != u)
+            maxCost = Math.max(maxCost, weight[inEdge] + weight[out[v][j]]);
+        }
+        if (maxCost < 0) continue;
+
+        witnessSearch(u, v, maxCost, simulate ? PRIORITY_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT);
+        for (int j = 0; j < outSize[v]; j++) {
+          int outEdge = out[v][j], w = to[outEdge];
+          if (contracted[w] || w == u) continue;
+          double cost = weight[inEdge] + weight[outEdge];
+          if (dist[w] > cost) {
+            shortcuts++;
+            if (!simulate) addEdge(u, w, cost, v);
+          }
+        }
+      }
+      return shortcuts;
+    }
+
+    // Runs a Dijkstra from 'source' which avoids 'excluded' and ignores paths longer than maxCost,
+    // settling at most 'limit' nodes. dist[w] is then the length of some path to w, or infinity.
+    private void witnessSearch(int source, int excluded, double maxCost, int limit) {
+      for (int i = 0; i < reachedCount; i++) dist[reached[i]] = Double.POSITIVE_INFINITY;
+      reachedCount = 0;
+      pq.clear();
+
+      dist[source] = 0;
+      reached[reachedCount++] = source;
+      pq.insert(source, 0);
+      for (int settled = 0; !pq.isEmpty() && settled < limit; settled++) {
+        if (pq.peekMinValue() > maxCost) break;
+        int x = pq.pollMinKeyIndex();
+        for (int i = 0; i < outSize[x]; i++) {
+          int e = out[x][i], y = to[e];
+          if (contracted[y] || y == excluded) continue;
+          double newDist = dist[x] + weight[e];
+          if (newDist > maxCost || newDist >= dist[y]) continue;
+          if (dist[y] == Double.POSITIVE_INFINITY) {
+            reached[reachedCount++] = y;
+            pq.insert(y, newDist);
+          } else {
+            pq.decrease(y, newDist);
+          }
+          dist[y] = newDist;
+        }
+      }
+    }
+
+    // Adds the edge u -> v, or lowers the cost of the existing one.
+    private void addEdge(int u, int v, double cost, int via) {
+      for (int i = 0; i < outSize[u]; i++) {
+        int e = out[u][i];
+        if (to[e] == v) {
+          if (cost < weight[e]) {
+            weight[e] = cost;
+            middle[e] = via;
+          }
+          return;
+        }
+      }
+      if (m == from.length) {
+        from = Arrays.copyOf(from, 2 * m);
+        to = Arrays.copyOf(to, 2 * m);
+        middle = Arrays.copyOf(middle, 2 * m);
+        weight = Arrays.copyOf(weight, 2 * m);
+      }
+      from[m] = u;
+      to[m] = v;
+      middle[m] = via;
+      weight[m] = cost;
+      if (outSize[u] == out[u].length) out[u] = Arrays.copyOf(out[u], 2 * outSize[u]);
+      out[u][outSize[u]++] = m;
+      if (inSize[v] == in[v].length) in[v] = Arrays.copyOf(in[v], 2 * inSize[v]);
+      in[v][inSize[v]++] = m;
+      m++;
+    }
+
+    // Drops the edges between x and contracted nodes from the lists of x.
+    private void removeContractedEdges(int x) {
+      int size = 0;
+      for (int i = 0; i < outSize[x]; i++) {
+        if (!contracted[to[out[x][i]]]) out[x][size++] = out[x][i];
+      }
+      outSize[x] = size;
+      size = 0;
+      for (int i = 0; i < inSize[x]; i++) {
+        if (!contracted[from[in[x][i]]]) in[x][size++] = in[x][i];
+      }
+      inSize[x] = size;
+    }
+  }
+
+  // ==================== Main ====================
+
+  public static void main(String[] args) {
+    //   0 --1-- 1 --1-- 2 --1-- 3 --1-- 4
+    //    \_____________10______________/
+    CsrGraph.Builder builder = CsrGraph.builder(5);
+    for (int i = 0; i < 4; i++) builder.addUndirectedEdge(i, i + 1, 1.0);
+    builder.addUndirectedEdge(0, 4, 10.0);
+
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(builder.build());
+    System.out.println(hierarchy.distance(0, 4)); // 4.0
+    System.out.println(hierarchy.reconstructPath(0, 4)); // [0, 1, 2, 3, 4]
+    System.out.println(hierarchy.numShortcuts() + " shortcuts");
+  }
+}
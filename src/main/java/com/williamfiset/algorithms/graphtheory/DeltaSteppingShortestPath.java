@@ -0,0 +1,238 @@
+/**
+ * Parallel single source shortest paths with delta-stepping (Meyer and Sanders).
+ *
+ * <p>Dijkstra settles one node at a time, which leaves nothing to do in parallel. Delta-stepping
+ * instead puts the nodes in buckets of width delta by tentative distance, and relaxes the edges of
+ * all the nodes of the lowest non empty bucket at once, in parallel. An edge is 'light' if its
+ * cost is at most delta and 'heavy' otherwise. Relaxing a light edge can put its target back in
+ * the current bucket, so the light edges of a bucket are relaxed in rounds until the bucket stays
+ * empty, while heavy edges can only reach later buckets and are relaxed once per node, after the
+ * bucket is done.
+ *
+ * <p>Delta trades work for parallelism: with a tiny delta every bucket holds a few nodes and the
+ * algorithm behaves like Dijkstra, with a huge delta there is a single bucket and it behaves like a
+ * parallel Bellman-Ford which relaxes edges many times. The default is the largest edge cost over
+ * the average out degree.
+ *
+ * <p>The distances are non negative doubles, whose bit patterns order like the values themselves,
+ * so they are kept as longs and lowered with a compare and set. A node lowered by several threads
+ * at once may be queued more than once, the copies are dropped when its bucket is processed.
+ *
+ * <p>Time: O(E * L / delta + V) expected work on graphs with random edge costs, where L is the
+ * largest distance. All edge costs must be non negative.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class DeltaSteppingShortestPath {
+
+  // Frontiers at most this large are relaxed by a single task.
+  private static final int SEQUENTIAL_CUTOFF = 1024;
+
+  private static final long INFINITY = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+  private final CsrGraph graph;
+  private final ForkJoinPool pool;
+  private final double delta;
+
+  /** Solves on the common fork/join pool with the default delta. */
+  public DeltaSteppingShortestPath(CsrGraph graph) {
+    this(graph, ForkJoinPool.commonPool(), defaultDelta(graph));
+  }
+
+  /** Solves on the given fork/join pool with buckets of width delta. */
+  public DeltaSteppingShortestPath(CsrGraph graph, ForkJoinPool pool, double delta) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    if (!(delta > 0) || Double.isInfinite(delta))
+      throw new IllegalArgumentException("delta must be positive and finite, got: " + delta);
+    for (int e = 0; e < graph.numEdges(); e++)
+      if (!(graph.weight(e) >= 0)) throw new IllegalArgumentException("No negative edge weights");
+    this.graph = graph;
+    this.pool = pool;
+    this.delta = delta;
+  }
+
+  // Returns the largest edge cost divided by the average out degree, the choice of Meyer and
+  // Sanders for random edge costs, or 1 if that's not positive.
+  public static double defaultDelta(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    double maxCost = 0;
+    for (int e = 0; e < graph.numEdges(); e++) maxCost = Math.max(maxCost, graph.weight(e));
+    double averageDegree = Math.max(1.0, (double) graph.numEdges() / graph.numNodes());
+    double delta = maxCost / averageDegree;
+    return delta > 0 && !Double.isInfinite(delta) ? delta : 1;
+  }
+
+  public double getDelta() {
+    return delta;
+  }
+
+  /**
+   * Returns the shortest distance from 'start' to every node, Double.POSITIVE_INFINITY for the
+   * nodes which can't be reached.
+   */
+  public double[] deltaStepping(int start) {
+    int n = graph.numNodes();
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Node out of range: " + start);
+
+    AtomicLongArray dist = new AtomicLongArray(n);
+    for (int i = 0; i < n; i++) dist.set(i, INFINITY);
+    dist.set(start, Double.doubleToRawLongBits(0));
+
+    // The non empty buckets by bucket number. Keeping only those, rather than an array of all of
+    // them, allows any delta however small compared to the distances.
+    TreeMap<Long, IntList> buckets = new TreeMap<>();
+    buckets.put(0L, IntList.of(start));
+
+    // frontierStamp[v] == round if v is in the current frontier, bucketStamp[v] == bucketRound
+    // if v was already in a frontier of the current bucket.
+    int[] frontierStamp = new int[n], bucketStamp = new int[n];
+    int round = 0, bucketRound = 0;
+    IntList settled = new IntList();
+
+    while (!buckets.isEmpty()) {
+      long b = buckets.firstKey();
+      bucketRound++;
+      settled.size = 0;
+
+      // Relaxing light edges can refill bucket b, so they are relaxed until it stays empty.
+      for (IntList bucket; (bucket = buckets.remove(b)) != null; ) {
+        // Takes the nodes still in bucket b, without the duplicates and the stale entries of
+        // nodes which have since moved to a lower bucket.
+        round++;
+        IntList frontier = new IntList();
+        for (int i = 0; i < bucket.size; i++) {
+          int v = bucket.values[i];
+          if (frontierStamp[v] == round || bucketOf(dist.get(v)) != b) continue;
+          frontierStamp[v] = round;
+          frontier.add(v);
+          if (bucketStamp[v] != bucketRound) {
+            bucketStamp[v] = bucketRound;
+            settled.add(v);
+          }
+        }
+        enqueue(relax(frontier, dist, true), dist, buckets);
+      }
+      // Heavy edges only reach later buckets, and the distances of bucket b are now final.
+      enqueue(relax(settled, dist, false), dist, buckets);
+    }
+
+    double[] result = new double[n];
+    for (int i = 0; i < n; i++) result[i] = Double.longBitsToDouble(dist.get(i));
+    return result;
+  }
+
+  private long bucketOf(long distBits) {
+    return (long) (Double.longBitsToDouble(distBits) / delta);
+  }
+
+  private void enqueue(IntList improved, AtomicLongArray dist, TreeMap<Long, IntList> buckets) {
+    for (int i = 0; i < improved.size; i++) {
+      int v = improved.values[i];
+      buckets.computeIfAbsent(bucketOf(dist.get(v)), key -> new IntList()).add(v);
+    }
+  }
+
+  // Relaxes the light (or heavy) edges of the nodes and returns the nodes whose distance went down.
+  private IntList relax(IntList nodes, AtomicLongArray dist, boolean light) {
+    RelaxTask task = new RelaxTask(nodes.values, 0, nodes.size, dist, light);
+    if (nodes.size <= SEQUENTIAL_CUTOFF) return task.compute();
+    return pool.invoke(task);
+  }
+
+  private final class RelaxTask extends RecursiveTask<IntList> {
+    private static final long serialVersionUID = 1L;
+
+    final int[] nodes;
+    final int lo, hi;
+    final AtomicLongArray dist;
+    final boolean light;
+
+    RelaxTask(int[] nodes, int lo, int hi, AtomicLongArray dist, boolean light) {
+      this.nodes = nodes;
+      this.lo = lo;
+      this.hi = hi;
+      this.dist = dist;
+      this.light = light;
+    }
+
+    @Override
+    protected IntList compute() {
+      if (hi - lo > SEQUENTIAL_CUTOFF) {
+        int mid = (lo + hi) >>> 1;
+        RelaxTask left = new RelaxTask(nodes, lo, mid, dist, light);
+        left.fork();
+        IntList improved = new RelaxTask(nodes, mid, hi, dist, light).compute();
+        improved.addAll(left.join());
+        return improved;
+      }
+      IntList improved = new IntList();
+      for (int i = lo; i < hi; i++) {
+        int u = nodes[i];
+        double d = Double.longBitsToDouble(dist.get(u));
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          double cost = graph.weight(e);
+          if ((cost <= delta) != light) continue;
+          int v = graph.target(e);
+          long newDist = Double.doubleToRawLongBits(d + cost);
+          // Lowers dist[v] to newDist unless another thread got it lower first.
+          for (long current = dist.get(v); newDist < current; current = dist.get(v)) {
+            if (dist.compareAndSet(v, current, newDist)) {
+              improved.add(v);
+              break;
+            }
+          }
+        }
+      }
+      return improved;
+    }
+  }
+
+  // A growable list of ints.
+  private static final class IntList {
+    int[] values = new int[8];
+    int size;
+
+    static IntList of(int value) {
+      IntList list = new IntList();
+      list.add(value);
+      return list;
+    }
+
+    void add(int value) {
+      if (size == values.length) values = Arrays.copyOf(values, 2 * size);
+      values[size++] = value;
+    }
+
+    void addAll(IntList other) {
+      if (size + other.size > values.length)
+        values = Arrays.copyOf(values, Math.max(2 * values.length, size + other.size));
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+    }
+  }
+
+  public static void main(String[] args) {
+    CsrGraph graph =
+        CsrGraph.builder(5)
+            .addEdge(0, 1, 4.0)
+            .addEdge(0, 2, 1.0)
+            .addEdge(2, 1, 2.0)
+            .addEdge(1, 3, 1.0)
+            .addEdge(2, 3, 5.0)
+            .addEdge(3, 4, 3.0)
+            .build();
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(graph);
+    // [0.0, 3.0, 1.0, 4.0, 7.0]
+    System.out.println(Arrays.toString(solver.deltaStepping(0)));
+  }
+}
@@ -3,18 +3,23 @@
  * specific ending node. Dijkstra's can also be modified to find the shortest path between a
  * starting node and all other nodes in the graph with minimal effort.
  *
+ * <p>The solver either builds its own adjacency list through {@link #addEdge}, or runs directly on
+ * an immutable {@link CsrGraph}, whose weights are used as the edge costs.
+ *
+ * <p>The state of a query lives in a {@link QueryContext}, which is allocated once and only resets
+ * the nodes the previous query reached, so that a short query on a huge graph doesn't pay for the
+ * whole graph. The distances are kept in a {@link MinIndexedDHeapDouble}, which never boxes them.
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.graphtheory;
 
-import static java.lang.Math.max;
-import static java.lang.Math.min;
-
+import com.williamfiset.algorithms.datastructures.priorityqueue.MinIndexedDHeapDouble;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 public class DijkstrasShortestPathAdjacencyListWithDHeap {
 
@@ -32,9 +37,13 @@ public class DijkstrasShortestPathAdjacencyListWithDHeap {
   private final int n;
 
   private int edgeCount;
-  private double[] dist;
-  private Integer[] prev;
+
+  // The context of the queries which don't pass their own, created on the first query.
+  private QueryContext context;
+
+  // Exactly one of the two representations is non null.
   private final List<List<Edge>> graph;
+  private final CsrGraph csrGraph;
 
   /**
    * Initialize the solver by providing the graph size. Use the {@link #addEdge} method to add edges
@@ -47,6 +56,22 @@ public class DijkstrasShortestPathAdjacencyListWithDHeap {
     this.graph = new ArrayList<>(n);
     for (int i = 0; i < n; i++)
       graph.add(new ArrayList<>());
+    this.csrGraph = null;
+  }
+
+  /**
+   * Initialize the solver with an immutable graph. The weight of an edge is its cost, and edges
+   * can't be added with {@link #addEdge}.
+   *
+   * @param graph - A directed graph, an unweighted graph has costs of 1.
+   */
+  public DijkstrasShortestPathAdjacencyListWithDHeap(CsrGraph graph) {
+    if (graph == null)
+      throw new IllegalArgumentException("Graph can not be null");
+    this.n = graph.numNodes();
+    this.edgeCount = graph.numEdges();
+    this.graph = null;
+    this.csrGraph = graph;
   }
 
   /**
@@ -57,69 +82,146 @@ public class DijkstrasShortestPathAdjacencyListWithDHeap {
    * @param cost - The cost of the edge.
    */
   public void addEdge(int from, int to, int cost) {
+    if (csrGraph != null)
+      throw new UnsupportedOperationException("The solver was created from an immutable graph");
     edgeCount++;
     graph.get(from).add(new Edge(to, cost));
+    // The heap degree of the context depends on the number of edges.
+    context = null;
   }
 
+  // Returns the adjacency list, or null if the solver was created from a CsrGraph.
   public List<List<Edge>> getGraph() {
     return graph;
   }
 
+  /**
+   * The state of one shortest path query: the distances, the predecessors, which nodes are settled
+   * and the priority queue. Its arrays have one entry per node of the graph and are only allocated
+   * once. Every query records the nodes it reaches, and the next query resets only those, so a
+   * query costs time proportional to the part of the graph it explores.
+   *
+   * <p>The solver has a context of its own for {@link #dijkstra(int, int)}. Threads which query the
+   * same solver concurrently each need their own context, and must not add edges meanwhile.
+   */
+  public static final class QueryContext {
+    private final int n;
+    private final double[] dist;
+    private final int[] prev;
+    private final boolean[] visited;
+    private final MinIndexedDHeapDouble ipq;
+
+    // The nodes with a finite distance, which are the ones to reset before the next query.
+    private final int[] reached;
+    private int reachedCount, settledCount;
+
+    public QueryContext(DijkstrasShortestPathAdjacencyListWithDHeap solver) {
+      n = solver.n;
+      dist = new double[n];
+      prev = new int[n];
+      visited = new boolean[n];
+      reached = new int[n];
+      Arrays.fill(dist, Double.POSITIVE_INFINITY);
+      Arrays.fill(prev, -1);
+      ipq = new MinIndexedDHeapDouble(n == 0 ? 2 : solver.edgeCount / n, Math.max(1, n));
+    }
+
+    // Returns the number of nodes the last query reached, which is an upper bound on the nodes it
+    // settled.
+    public int nodesReached() {
+      return reachedCount;
+    }
+
+    // Returns the number of nodes the last query settled (took out of the priority queue).
+    public int nodesSettled() {
+      return settledCount;
+    }
+
+    // Returns the distance from the start of the last query to the node, which is exact if the node
+    // was settled (and in particular for the end node).
+    public double distance(int node) {
+      return dist[node];
+    }
+
+    private void reach(int node, double distance, int from) {
+      if (dist[node] == Double.POSITIVE_INFINITY)
+        reached[reachedCount++] = node;
+      dist[node] = distance;
+      prev[node] = from;
+    }
+
+    private void reset() {
+      for (int i = 0; i < reachedCount; i++) {
+        int node = reached[i];
+        dist[node] = Double.POSITIVE_INFINITY;
+        prev[node] = -1;
+        visited[node] = false;
+      }
+      reachedCount = settledCount = 0;
+      ipq.clear();
+    }
+  }
+
   /**
    * Runs Dijkstra's algorithm on a directed graph to find the shortest path from a starting node to
    * an ending node. If there is no path between the starting node and the destination node the
    * returned value is Double.POSITIVE_INFINITY.
    */
   public double dijkstra(int start, int end) {
+    if (context == null)
+      context = new QueryContext(this);
+    return dijkstra(start, end, context);
+  }
+
+  /** Runs Dijkstra's algorithm like {@link #dijkstra(int, int)}, with the given query context. */
+  public double dijkstra(int start, int end, QueryContext ctx) {
+    if (ctx.n != n)
+      throw new IllegalArgumentException("The context was created for a different graph");
+    ctx.reset();
 
     // Keep an Indexed Priority Queue (ipq) of the next most promising node to visit.
-    int degree = edgeCount / n;
-    MinIndexedDHeap<Double> ipq = new MinIndexedDHeap<>(degree, n);
+    MinIndexedDHeapDouble ipq = ctx.ipq;
     ipq.insert(start, 0.0);
-
-    dist = new double[n];
-    Arrays.fill(dist, Double.POSITIVE_INFINITY);
-    dist[start] = 0.0;
-
-    boolean[] visited = new boolean[n];
-    prev = new Integer[n];
+    ctx.reach(start, 0.0, -1);
 
     while (!ipq.isEmpty()) {
-      int nodeId = ipq.peekMinKeyIndex();
-
-      visited[nodeId] = true;
-      double minValue = ipq.pollMinValue();
-
-      // We already found a better path before we got to processing this node.
-      if (minValue > dist[nodeId])
-        continue;
-
-      for (Edge edge : graph.get(nodeId)) {
-        if (visited[edge.to])
-          continue;
-
-        // Relax edge by updating minimum cost if applicable.
-        double newDist = dist[nodeId] + edge.cost;
-        if (newDist < dist[edge.to]) {
-          prev[edge.to] = nodeId;
-          dist[edge.to] = newDist;
-          // Insert the cost of going to a node for the first time in the PQ,
-          // or try and update it to a better value by calling decrease.
-          if (!ipq.contains(edge.to))
-            ipq.insert(edge.to, newDist);
-          else
-            ipq.decrease(edge.to, newDist);
-        }
+      // The queue is updated with decrease key, so the value of a node is always its distance.
+      int nodeId = ipq.pollMinKeyIndex();
+      ctx.visited[nodeId] = true;
+      ctx.settledCount++;
+
+      if (csrGraph != null) {
+        for (int e = csrGraph.edgeStart(nodeId); e < csrGraph.edgeEnd(nodeId); e++)
+          relax(ctx, nodeId, csrGraph.target(e), csrGraph.weight(e));
+      } else {
+        for (Edge edge : graph.get(nodeId))
+          relax(ctx, nodeId, edge.to, edge.cost);
       }
 
       // Once we've processed the end node we can return early because the
       // distance cannot improve after this point.
       if (nodeId == end)
-        return dist[end];
+        return ctx.dist[end];
     }
     return Double.POSITIVE_INFINITY;
   }
 
+  // Relax edge by updating minimum cost if applicable.
+  private static void relax(QueryContext ctx, int from, int to, double cost) {
+    if (ctx.visited[to])
+      return;
+    double newDist = ctx.dist[from] + cost;
+    if (newDist < ctx.dist[to]) {
+      // Insert the cost of going to a node for the first time in the PQ,
+      // or try and update it to a better value by calling decrease.
+      if (ctx.dist[to] == Double.POSITIVE_INFINITY)
+        ctx.ipq.insert(to, newDist);
+      else
+        ctx.ipq.decrease(to, newDist);
+      ctx.reach(to, newDist, from);
+    }
+  }
+
   /**
    * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
    *
@@ -127,237 +229,20 @@ public class DijkstrasShortestPathAdjacencyListWithDHeap {
    *     'end' are not connected then an empty list is returned.
    */
   public List<Integer> reconstructPath(int start, int end) {
-    dijkstra(start, end);
+    if (context == null)
+      context = new QueryContext(this);
+    return reconstructPath(start, end, context);
+  }
+
+  /** Reconstructs the shortest path like {@link #reconstructPath(int, int)}, with the context. */
+  public List<Integer> reconstructPath(int start, int end, QueryContext ctx) {
+    dijkstra(start, end, ctx);
     LinkedList<Integer> path = new LinkedList<>();
-    if (dist[end] == Double.POSITIVE_INFINITY)
+    if (ctx.dist[end] == Double.POSITIVE_INFINITY)
       return path;
-    for (int at = end; at != start; at = prev[at])
+    for (int at = end; at != start; at = ctx.prev[at])
       path.addFirst(at);
     path.addFirst(start);
     return path;
   }
-
-  private static class MinIndexedDHeap<T extends Comparable<T>> {
-
-    // Current number of elements in the heap.
-    private int sz;
-
-    // Maximum number of elements in the heap.
-    private final int N;
-
-    // The degree of every node in the heap.
-    private final int D;
-
-    // Lookup arrays to track the child/parent indexes of each node.
-    private final int[] child, parent;
-
-    // The Position Map (pm) maps Key Indexes (ki) to where the position of that
-    // key is represented in the priority queue in the domain [0, sz).
-    public final int[] pm;
-
-    // The Inverse Map (im) stores the indexes of the keys in the range
-    // [0, sz) which make up the priority queue. It should be noted that
-    // 'im' and 'pm' are inverses of each other, so: pm[im[i]] = im[pm[i]] = i
-    public final int[] im;
-
-    // The values associated with the keys. It is very important to note
-    // that this array is indexed by the key indexes (aka 'ki').
-    public final Object[] values;
-
-    // Initializes a D-ary heap with a maximum capacity of maxSize.
-    public MinIndexedDHeap(int degree, int maxSize) {
-      if (maxSize <= 0)
-        throw new IllegalArgumentException("maxSize <= 0");
-
-      D = max(2, degree);
-      N = max(D + 1, maxSize);
-
-      im = new int[N];
-      pm = new int[N];
-      child = new int[N];
-      parent = new int[N];
-      values = new Object[N];
-
-      for (int i = 0; i < N; i++) {
-        parent[i] = (i - 1) / D;
-        child[i] = i * D + 1;
-        pm[i] = im[i] = -1;
-      }
-    }
-
-    public int size() {
-      return sz;
-    }
-
-    public boolean isEmpty() {
-      return sz == 0;
-    }
-
-    public boolean contains(int ki) {
-      keyInBoundsOrThrow(ki);
-      return pm[ki] != -1;
-    }
-
-    public int peekMinKeyIndex() {
-      isNotEmptyOrThrow();
-      return im[0];
-    }
-
-    public int pollMinKeyIndex() {
-      int minki = peekMinKeyIndex();
-      delete(minki);
-      return minki;
-    }
-
-    @SuppressWarnings("unchecked")
-    public T peekMinValue() {
-      isNotEmptyOrThrow();
-      return (T) values[im[0]];
-    }
-
-    public T pollMinValue() {
-      T minValue = peekMinValue();
-      delete(peekMinKeyIndex());
-      return minValue;
-    }
-
-    public void insert(int ki, T value) {
-      if (contains(ki))
-        throw new IllegalArgumentException("index already exists; received: " + ki);
-      valueNotNullOrThrow(value);
-      pm[ki] = sz;
-      im[sz] = ki;
-      values[ki] = value;
-      swim(sz++);
-    }
-
-    @SuppressWarnings("unchecked")
-    public T valueOf(int ki) {
-      keyExistsOrThrow(ki);
-      return (T) values[ki];
-    }
-
-    @SuppressWarnings("unchecked")
-    public T delete(int ki) {
-      keyExistsOrThrow(ki);
-      final int i = pm[ki];
-      swap(i, --sz);
-      sink(i);
-      swim(i);
-      T value = (T) values[ki];
-      values[ki] = null;
-      pm[ki] = -1;
-      im[sz] = -1;
-      return value;
-    }
-
-    @SuppressWarnings("unchecked")
-    public T update(int ki, T value) {
-      keyExistsAndValueNotNullOrThrow(ki, value);
-      final int i = pm[ki];
-      T oldValue = (T) values[ki];
-      values[ki] = value;
-      sink(i);
-      swim(i);
-      return oldValue;
-    }
-
-    // Strictly decreases the value associated with 'ki' to 'value'
-    public void decrease(int ki, T value) {
-      keyExistsAndValueNotNullOrThrow(ki, value);
-      if (less(value, values[ki])) {
-        values[ki] = value;
-        swim(pm[ki]);
-      }
-    }
-
-    // Strictly increases the value associated with 'ki' to 'value'
-    public void increase(int ki, T value) {
-      keyExistsAndValueNotNullOrThrow(ki, value);
-      if (less(values[ki], value)) {
-        values[ki] = value;
-        sink(pm[ki]);
-      }
-    }
-
-    /* Helper functions */
-
-    private void sink(int i) {
-      for (int j = minChild(i); j != -1; ) {
-        swap(i, j);
-        i = j;
-        j = minChild(i);
-      }
-    }
-
-    private void swim(int i) {
-      while (less(i, parent[i])) {
-        swap(i, parent[i]);
-        i = parent[i];
-      }
-    }
-
-    // From the parent node at index i find the minimum child below it
-    private int minChild(int i) {
-      int index = -1, from = child[i], to = min(sz, from + D);
-      for (int j = from; j < to; j++)
-        if (less(j, i))
-          index = i = j;
-      return index;
-    }
-
-    private void swap(int i, int j) {
-      pm[im[j]] = i;
-      pm[im[i]] = j;
-      int tmp = im[i];
-      im[i] = im[j];
-      im[j] = tmp;
-    }
-
-    // Tests if the value of node i < node j
-    @SuppressWarnings("unchecked")
-    private boolean less(int i, int j) {
-      return ((Comparable<? super T>) values[im[i]]).compareTo((T) values[im[j]]) < 0;
-    }
-
-    @SuppressWarnings("unchecked")
-    private boolean less(Object obj1, Object obj2) {
-      return ((Comparable<? super T>) obj1).compareTo((T) obj2) < 0;
-    }
-
-    @Override
-    public String toString() {
-      List<Integer> lst = new ArrayList<>(sz);
-      for (int i = 0; i < sz; i++)
-        lst.add(im[i]);
-      return lst.toString();
-    }
-
-    /* Helper functions to make the code more readable. */
-
-    private void isNotEmptyOrThrow() {
-      if (isEmpty())
-        throw new NoSuchElementException("Priority queue underflow");
-    }
-
-    private void keyExistsAndValueNotNullOrThrow(int ki, Object value) {
-      keyExistsOrThrow(ki);
-      valueNotNullOrThrow(value);
-    }
-
-    private void keyExistsOrThrow(int ki) {
-      if (!contains(ki))
-        throw new NoSuchElementException("Index does not exist; received: " + ki);
-    }
-
-    private void valueNotNullOrThrow(Object value) {
-      if (value == null)
-        throw new IllegalArgumentException("value cannot be null");
-    }
-
-    private void keyInBoundsOrThrow(int ki) {
-      if (ki < 0 || ki >= N)
-        throw new IllegalArgumentException("Key index out of bounds; received: " + ki);
-    }
-  }
 }
@@ -14,6 +14,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class EagerPrimsAdjacencyList {
@@ -34,7 +35,10 @@ public class EagerPrimsAdjacencyList {
   }
 
   private final int n;
+
+  // Exactly one of the two representations is non null.
   private final List<List<Edge>> graph;
+  private final CsrGraph csrGraph;
 
   private boolean solved;
   private boolean mstExists;
@@ -55,6 +59,21 @@ public class EagerPrimsAdjacencyList {
       throw new IllegalArgumentException();
     this.n = graph.size();
     this.graph = graph;
+    this.csrGraph = null;
+  }
+
+  /**
+   * Creates a solver for an undirected graph in compressed sparse row form (every edge in both
+   * directions), whose long weights are the edge costs.
+   *
+   * @throws IllegalArgumentException if the graph is null, empty or doesn't have long weights.
+   */
+  public EagerPrimsAdjacencyList(CsrGraph graph) {
+    if (graph == null || graph.numNodes() == 0 || !graph.hasLongWeights())
+      throw new IllegalArgumentException();
+    this.n = graph.numNodes();
+    this.graph = null;
+    this.csrGraph = graph;
   }
 
   /** Returns the MST edges, or null if no MST exists. */
@@ -71,6 +90,10 @@ public class EagerPrimsAdjacencyList {
 
   private void relaxEdgesAtNode(int node) {
     visited[node] = true;
+    if (csrGraph != null) {
+      relaxCsrEdgesAtNode(node);
+      return;
+    }
     for (Edge edge : graph.get(node)) {
       if (visited[edge.to])
         continue;
@@ -82,6 +105,21 @@ public class EagerPrimsAdjacencyList {
     }
   }
 
+  // Only allocates an Edge when it improves on the best known edge to a node.
+  private void relaxCsrEdgesAtNode(int node) {
+    for (int e = csrGraph.edgeStart(node); e < csrGraph.edgeEnd(node); e++) {
+      int to = csrGraph.target(e);
+      if (visited[to])
+        continue;
+
+      int cost = Math.toIntExact(csrGraph.longWeight(e));
+      if (!ipq.contains(to))
+        ipq.insert(to, new Edge(node, to, cost));
+      else if (cost < ipq.valueOf(to).cost)
+        ipq.decrease(to, new Edge(node, to, cost));
+    }
+  }
+
   private void solve() {
     if (solved)
       return;
@@ -307,6 +345,11 @@ public class EagerPrimsAdjacencyList {
       return pm[ki] != -1;
     }
 
+    @SuppressWarnings("unchecked")
+    public T valueOf(int ki) {
+      return (T) values[ki];
+    }
+
     public int peekMinKeyIndex() {
       return im[0];
     }
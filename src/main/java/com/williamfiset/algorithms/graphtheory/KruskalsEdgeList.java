@@ -1,10 +1,25 @@
 /**
  * An implementation of Kruskal's MST algorithm using an edge list Time Complexity: O(ElogE)
  *
+ * <p>Sorting every edge dominates the running time, even though the MST is usually complete long
+ * before the heaviest edges are reached. filterKruskals implements Filter-Kruskal (Osipov,
+ * Sanders and Singler) over primitive edge arrays instead: the edges are partitioned around a
+ * pivot cost, the light side is solved first, then the heavy side is filtered, dropping the edges
+ * whose ends the light edges already connected, before it's solved the same way. Only small
+ * partitions are sorted, and on large ones the partitioning and the filtering run in parallel on
+ * a fork/join pool. Time Complexity: O(E + Vlog(V)log(E/V)) expected on random graphs.
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongPredicate;
+
 public class KruskalsEdgeList {
 
   // Union find data structure
@@ -21,6 +36,13 @@ public class KruskalsEdgeList {
       }
     }
 
+    // Finds the root without path compression, which leaves the union find untouched so that
+    // several threads can call it at once.
+    public int root(int p) {
+      while (p != id[p]) p = id[p];
+      return p;
+    }
+
     public int find(int p) {
       int root = p;
       while (root != id[root]) root = id[root];
@@ -54,7 +76,7 @@ public class KruskalsEdgeList {
     }
   }
 
-  static class Edge implements Comparable<Edge> {
+  public static class Edge implements Comparable<Edge> {
     int from, to, cost;
 
     public Edge(int from, int to, int cost) {
@@ -72,7 +94,7 @@ public class KruskalsEdgeList {
   // Given a graph represented as an edge list this method finds
   // the Minimum Spanning Tree (MST) cost if there exists
   // a MST, otherwise it returns null.
-  static Long kruskals(Edge[] edges, int n) {
+  public static Long kruskals(Edge[] edges, int n) {
 
     if (edges == null) return null;
 
@@ -99,4 +121,235 @@ public class KruskalsEdgeList {
 
     return sum;
   }
+
+  // Finds the MST cost of an undirected graph in compressed sparse row form (every edge in both
+  // directions) whose long weights are the edge costs, or returns null if there is no MST. Only
+  // the direction from the smaller to the larger node of every edge is kept.
+  public static Long kruskals(CsrGraph graph) {
+
+    if (graph == null) return null;
+
+    int n = graph.numNodes(), m = 0;
+    for (int u = 0; u < n; u++)
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) if (u < graph.target(e)) m++;
+
+    Edge[] edges = new Edge[m];
+    for (int u = 0, i = 0; u < n; u++) {
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        int v = graph.target(e);
+        if (u < v) edges[i++] = new Edge(u, v, Math.toIntExact(graph.longWeight(e)));
+      }
+    }
+    return kruskals(edges, n);
+  }
+
+  // Finds the MST cost of the undirected graph with n nodes and an edge from from[i] to to[i] of
+  // cost cost[i] for every i with Filter-Kruskal on the common fork/join pool, or returns null if
+  // there is no MST.
+  public static Long filterKruskals(int[] from, int[] to, int[] cost, int n) {
+    return filterKruskals(from, to, cost, n, ForkJoinPool.commonPool());
+  }
+
+  // Same as above on the given fork/join pool.
+  public static Long filterKruskals(int[] from, int[] to, int[] cost, int n, ForkJoinPool pool) {
+    if (from == null || to == null || cost == null || pool == null) return null;
+    if (from.length != to.length || from.length != cost.length)
+      throw new IllegalArgumentException("The edge arrays must have the same length");
+    if (n <= 0) return null;
+    return new FilterKruskal(from, to, cost, n, pool).solve();
+  }
+
+  private static final class FilterKruskal {
+
+    // Partitions at most this large are sorted and scanned like plain Kruskal.
+    static final int SORT_CUTOFF = 1 << 12;
+
+    // Partitions larger than this are partitioned and filtered in parallel, in blocks of
+    // BLOCK_SIZE edges.
+    static final int PARALLEL_CUTOFF = 1 << 16;
+    static final int BLOCK_SIZE = 1 << 13;
+
+    // The pivot is the median of this many keys picked at random. The keys of a single cost end up
+    // in orders where the keys at fixed positions make a bad pivot, every time.
+    static final int SAMPLE_SIZE = 9;
+
+    // Partitions which split off less than this fraction of their keys are sorted instead.
+    static final int MIN_SPLIT_FRACTION = 16;
+
+    final int[] from, to, cost;
+    final int n;
+    final ForkJoinPool pool;
+    final UnionFind uf;
+    final SplittableRandom random = new SplittableRandom();
+
+    // Partitions deeper than this are sorted, which bounds the recursion.
+    final int maxDepth;
+
+    // Every edge as its cost in the high 32 bits and its index in the low 32 bits, which orders
+    // the edges by cost and makes all the keys different. tmp is scratch for the partitions.
+    final long[] keys;
+    long[] tmp;
+
+    long sum;
+    int mstEdges;
+
+    FilterKruskal(int[] from, int[] to, int[] cost, int n, ForkJoinPool pool) {
+      this.from = from;
+      this.to = to;
+      this.cost = cost;
+      this.n = n;
+      this.pool = pool;
+      this.uf = new UnionFind(n);
+      keys = new long[cost.length];
+      for (int i = 0; i < keys.length; i++) keys[i] = ((long) cost[i] << 32) | i;
+      maxDepth = 2 * (32 - Integer.numberOfLeadingZeros(keys.length));
+    }
+
+    Long solve() {
+      filterKruskal(0, keys.length, 0);
+      return mstEdges == n - 1 ? sum : null;
+    }
+
+    // Adds the MST edges among keys[lo, hi) which hold every edge lighter than the edges after hi.
+    void filterKruskal(int lo, int hi, int depth) {
+      while (mstEdges < n - 1) {
+        if (hi - lo <= SORT_CUTOFF || depth > maxDepth) {
+          kruskal(lo, hi);
+          return;
+        }
+        long pivot = samplePivot(lo, hi);
+        int mid = partition(lo, hi, key -> key <= pivot, false);
+        int minSplit = (hi - lo) / MIN_SPLIT_FRACTION;
+        if (mid - lo < minSplit || hi - mid < minSplit) {
+          kruskal(lo, hi);
+          return;
+        }
+        filterKruskal(lo, mid, depth + 1);
+        lo = mid;
+        hi = partition(lo, hi, key -> uf.root(from[index(key)]) != uf.root(to[index(key)]), true);
+        depth++;
+      }
+    }
+
+    // Returns the median of SAMPLE_SIZE keys of [lo, hi) picked at random.
+    long samplePivot(int lo, int hi) {
+      long[] sample = new long[SAMPLE_SIZE];
+      for (int i = 0; i < SAMPLE_SIZE; i++) sample[i] = keys[random.nextInt(lo, hi)];
+      Arrays.sort(sample);
+      return sample[SAMPLE_SIZE / 2];
+    }
+
+    void kruskal(int lo, int hi) {
+      Arrays.sort(keys, lo, hi);
+      for (int i = lo; i < hi && mstEdges < n - 1; i++) {
+        int edge = index(keys[i]);
+        if (uf.connected(from[edge], to[edge])) continue;
+        uf.union(from[edge], to[edge]);
+        sum += cost[edge];
+        mstEdges++;
+      }
+    }
+
+    // Moves the keys of [lo, hi) which pass the test in front of the others and returns where the
+    // others start. If 'drop' is true the others are thrown away instead.
+    int partition(int lo, int hi, LongPredicate test, boolean drop) {
+      if (hi - lo <= PARALLEL_CUTOFF) {
+        if (drop) {
+          int end = lo;
+          for (int i = lo; i < hi; i++) if (test.test(keys[i])) keys[end++] = keys[i];
+          return end;
+        }
+        int i = lo, j = hi - 1;
+        while (i <= j) {
+          if (test.test(keys[i])) i++;
+          else {
+            long swap = keys[i];
+            keys[i] = keys[j];
+            keys[j--] = swap;
+          }
+        }
+        return i;
+      }
+
+      // Counts the passing keys of every block, then every block copies its keys to their place
+      // in tmp, and tmp is copied back.
+      int blocks = (hi - lo + BLOCK_SIZE - 1) / BLOCK_SIZE;
+      int[] passed = new int[blocks];
+      pool.invoke(new BlockTask(lo, hi, 0, blocks, test, passed, null, null));
+
+      int[] passStart = new int[blocks], failStart = new int[blocks];
+      int passing = 0;
+      for (int b = 0; b < blocks; b++) {
+        passStart[b] = lo + passing;
+        passing += passed[b];
+      }
+      for (int b = 0, failing = 0; b < blocks; b++) {
+        failStart[b] = lo + passing + failing;
+        failing += Math.min(BLOCK_SIZE, hi - lo - b * BLOCK_SIZE) - passed[b];
+      }
+      if (tmp == null) tmp = new long[keys.length];
+      pool.invoke(new BlockTask(lo, hi, 0, blocks, test, null, passStart, drop ? null : failStart));
+
+      int end = drop ? lo + passing : hi;
+      System.arraycopy(tmp, lo, keys, lo, end - lo);
+      return lo + passing;
+    }
+
+    // Over the blocks [blockLo, blockHi) of keys[lo, hi), either counts the keys of every block
+    // which pass the test into 'passed', or copies them to tmp starting at passStart, and the
+    // other keys starting at failStart unless it's null.
+    final class BlockTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+
+      final int lo, hi, blockLo, blockHi;
+      final LongPredicate test;
+      final int[] passed, passStart, failStart;
+
+      BlockTask(
+          int lo,
+          int hi,
+          int blockLo,
+          int blockHi,
+          LongPredicate test,
+          int[] passed,
+          int[] passStart,
+          int[] failStart) {
+        this.lo = lo;
+        this.hi = hi;
+        this.blockLo = blockLo;
+        this.blockHi = blockHi;
+        this.test = test;
+        this.passed = passed;
+        this.passStart = passStart;
+        this.failStart = failStart;
+      }
+
+      @Override
+      protected void compute() {
+        if (blockHi - blockLo > 1) {
+          int mid = (blockLo + blockHi) >>> 1;
+          invokeAll(
+              new BlockTask(lo, hi, blockLo, mid, test, passed, passStart, failStart),
+              new BlockTask(lo, hi, mid, blockHi, test, passed, passStart, failStart));
+          return;
+        }
+        int start = lo + blockLo * BLOCK_SIZE, end = Math.min(hi, start + BLOCK_SIZE);
+        if (passed != null) {
+          int count = 0;
+          for (int i = start; i < end; i++) if (test.test(keys[i])) count++;
+          passed[blockLo] = count;
+          return;
+        }
+        int pass = passStart[blockLo], fail = failStart != null ? failStart[blockLo] : 0;
+        for (int i = start; i < end; i++) {
+          if (test.test(keys[i])) tmp[pass++] = keys[i];
+          else if (failStart != null) tmp[fail++] = keys[i];
+        }
+      }
+    }
+
+    static int index(long key) {
+      return (int) key;
+    }
+  }
 }
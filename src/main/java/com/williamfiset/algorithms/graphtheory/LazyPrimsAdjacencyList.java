@@ -12,6 +12,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class LazyPrimsAdjacencyList {
@@ -32,7 +33,10 @@ public class LazyPrimsAdjacencyList {
   }
 
   private final int n;
+
+  // Exactly one of the two representations is non null.
   private final List<List<Edge>> graph;
+  private final CsrGraph csrGraph;
 
   private boolean solved;
   private boolean mstExists;
@@ -53,6 +57,21 @@ public class LazyPrimsAdjacencyList {
       throw new IllegalArgumentException();
     this.n = graph.size();
     this.graph = graph;
+    this.csrGraph = null;
+  }
+
+  /**
+   * Creates a solver for an undirected graph in compressed sparse row form (every edge in both
+   * directions), whose long weights are the edge costs.
+   *
+   * @throws IllegalArgumentException if the graph is null, empty or doesn't have long weights.
+   */
+  public LazyPrimsAdjacencyList(CsrGraph graph) {
+    if (graph == null || graph.numNodes() == 0 || !graph.hasLongWeights())
+      throw new IllegalArgumentException();
+    this.n = graph.numNodes();
+    this.graph = null;
+    this.csrGraph = graph;
   }
 
   /** Returns the MST edges, or null if no MST exists. */
@@ -69,6 +88,14 @@ public class LazyPrimsAdjacencyList {
 
   private void addEdges(int node) {
     visited[node] = true;
+    if (csrGraph != null) {
+      for (int e = csrGraph.edgeStart(node); e < csrGraph.edgeEnd(node); e++) {
+        int to = csrGraph.target(e);
+        if (!visited[to])
+          pq.offer(new Edge(node, to, Math.toIntExact(csrGraph.longWeight(e))));
+      }
+      return;
+    }
     for (Edge e : graph.get(node))
       if (!visited[e.to])
         pq.offer(e);
@@ -0,0 +1,290 @@
+/**
+ * Boruvka's Minimum Spanning Tree Algorithm — Parallel (edge arrays, ForkJoinPool)
+ *
+ * <p>Boruvka's algorithm is the MST algorithm which parallelizes naturally: every component picks
+ * its cheapest crossing edge independently of the others. This version is meant for graphs with
+ * hundreds of millions of edges, so the edges are kept as three arrays {@code u[i], v[i], w[i]}
+ * rather than one object per edge, and every round runs on a fork/join pool:
+ *
+ * <ol>
+ *   <li>The edges are split into chunks. Each worker drops the edges of its chunks which now lie
+ *       inside a single component, and offers the others as the cheapest edge of the components
+ *       of both ends, with a compare and set which only ever lowers the edge.</li>
+ *   <li>The cheapest edges are merged into a {@link ConcurrentUnionFind}, in parallel too.</li>
+ * </ol>
+ *
+ * <p>Ties are broken by edge index. With no two edges equal the MST is unique and the edges picked
+ * in a round are a forest, so every picked edge belongs to it whatever order the workers merge
+ * them in, and every run returns the same edges.
+ *
+ * <p>If the graph is disconnected, no MST exists and the solver returns empty, like {@link
+ * Boruvkas}.
+ *
+ * <p>Time: O(E log V) work, O(log V) rounds
+ *
+ * <p>Space: O(V + E), an int per edge on top of the edge arrays
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.unionfind.ConcurrentUnionFind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+public class ParallelBoruvkas {
+
+  public static class Edge {
+    public final int u, v;
+    public final double cost;
+
+    public Edge(int u, int v, double cost) {
+      this.u = u;
+      this.v = v;
+      this.cost = cost;
+    }
+  }
+
+  // The edges are filtered in chunks of this many, and ranges of fewer nodes or chunks than the
+  // cutoffs are processed by a single task.
+  private static final int CHUNK_SIZE = 1 << 13;
+  private static final int NODE_CUTOFF = 1 << 13;
+  private static final int CHUNK_CUTOFF = 1;
+
+  private final int n, m;
+  private final int[] u, v;
+  private final double[] w;
+  private final ForkJoinPool pool;
+  private boolean solved;
+  private boolean mstExists;
+  private double minCostSum;
+  private List<Edge> mst;
+
+  /** Solves on the common fork/join pool. */
+  public ParallelBoruvkas(int n, int[] u, int[] v, double[] w) {
+    this(n, u, v, w, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Solves the graph with n nodes and an undirected edge of cost w[i] between u[i] and v[i] for
+   * every i, on the given fork/join pool.
+   */
+  public ParallelBoruvkas(int n, int[] u, int[] v, double[] w, ForkJoinPool pool) {
+    if (n < 0 || u == null || v == null || w == null || pool == null) {
+      throw new IllegalArgumentException();
+    }
+    if (u.length != v.length || u.length != w.length) {
+      throw new IllegalArgumentException("The edge arrays must have the same length");
+    }
+    for (int i = 0; i < u.length; i++) {
+      if (u[i] < 0 || u[i] >= n || v[i] < 0 || v[i] >= n || Double.isNaN(w[i])) {
+        throw new IllegalArgumentException("Invalid edge: " + i);
+      }
+    }
+    this.n = n;
+    this.m = u.length;
+    this.u = u;
+    this.v = v;
+    this.w = w;
+    this.pool = pool;
+    this.mst = new ArrayList<>();
+  }
+
+  /**
+   * Returns the edges in the MST, or empty if the graph is disconnected.
+   */
+  public Optional<List<Edge>> getMst() {
+    solve();
+    return mstExists ? Optional.of(mst) : Optional.empty();
+  }
+
+  /**
+   * Returns the total cost of the MST, or empty if the graph is disconnected.
+   */
+  public OptionalDouble getMstCost() {
+    solve();
+    return mstExists ? OptionalDouble.of(minCostSum) : OptionalDouble.empty();
+  }
+
+  private void solve() {
+    if (solved) {
+      return;
+    }
+    solved = true;
+    if (n == 0) {
+      return;
+    }
+
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+
+    // Chunk c holds its live edges, the ones which still cross two components, at the start of
+    // live[c * CHUNK_SIZE, (c + 1) * CHUNK_SIZE), and liveCount[c] says how many there are.
+    int chunks = (m + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    int[] live = new int[m], liveCount = new int[chunks];
+    forEach(
+        0,
+        chunks,
+        CHUNK_CUTOFF,
+        c -> {
+          int start = c * CHUNK_SIZE;
+          liveCount[c] = Math.min(CHUNK_SIZE, m - start);
+          for (int i = 0; i < liveCount[c]; i++) {
+            live[start + i] = start + i;
+          }
+        });
+
+    // The index of the cheapest crossing edge of every component by root, or -1.
+    AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+    forEach(0, n, NODE_CUTOFF, root -> cheapest.set(root, -1));
+
+    // The root of every node as of the start of the round, read by the edge scan far more cheaply
+    // than the union find itself.
+    int[] component = new int[n];
+
+    int[] mstEdges = new int[n - 1];
+    AtomicInteger mstSize = new AtomicInteger();
+
+    while (uf.components() > 1) {
+      forEach(0, n, NODE_CUTOFF, node -> component[node] = uf.find(node));
+      forEach(
+          0,
+          chunks,
+          CHUNK_CUTOFF,
+          c -> {
+            int start = c * CHUNK_SIZE, count = 0;
+            for (int i = start; i < start + liveCount[c]; i++) {
+              int e = live[i];
+              int root1 = component[u[e]], root2 = component[v[e]];
+              if (root1 == root2) {
+                continue;
+              }
+              live[start + count++] = e;
+              offer(cheapest, root1, e);
+              offer(cheapest, root2, e);
+            }
+            liveCount[c] = count;
+          });
+
+      // Merge components using their cheapest crossing edges. Both components of an edge may
+      // have picked it, only the first unify merges them.
+      int prevComponents = uf.components();
+      forEach(
+          0,
+          n,
+          NODE_CUTOFF,
+          root -> {
+            int e = cheapest.get(root);
+            if (e != -1) {
+              cheapest.set(root, -1);
+              if (uf.unify(u[e], v[e])) {
+                mstEdges[mstSize.getAndIncrement()] = e;
+              }
+            }
+          });
+
+      if (uf.components() == prevComponents) {
+        break;
+      }
+    }
+
+    // The workers add the edges in any order, sorting them makes the output and the rounding of
+    // the cost the same on every run.
+    Arrays.sort(mstEdges, 0, mstSize.get());
+    for (int i = 0; i < mstSize.get(); i++) {
+      int e = mstEdges[i];
+      mst.add(new Edge(u[e], v[e], w[e]));
+      minCostSum += w[e];
+    }
+    mstExists = (mst.size() == n - 1);
+  }
+
+  // Lowers the cheapest edge of the component 'root' to edge e, unless it already is cheaper.
+  private void offer(AtomicIntegerArray cheapest, int root, int e) {
+    for (int current = cheapest.get(root);
+        current == -1 || isCheaper(e, current);
+        current = cheapest.get(root)) {
+      if (cheapest.compareAndSet(root, current, e)) {
+        return;
+      }
+    }
+  }
+
+  // Compares by cost, then by index so that no two edges are ever equal.
+  private boolean isCheaper(int e, int f) {
+    return w[e] < w[f] || (w[e] == w[f] && e < f);
+  }
+
+  private void forEach(int lo, int hi, int cutoff, IntConsumer action) {
+    if (lo < hi) {
+      pool.invoke(new RangeTask(lo, hi, cutoff, action));
+    }
+  }
+
+  // Runs the action on lo to hi - 1, splitting the range while it's larger than the cutoff.
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi, cutoff;
+    final IntConsumer action;
+
+    RangeTask(int lo, int hi, int cutoff, IntConsumer action) {
+      this.lo = lo;
+      this.hi = hi;
+      this.cutoff = cutoff;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= cutoff) {
+        for (int i = lo; i < hi; i++) {
+          action.accept(i);
+        }
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new RangeTask(lo, mid, cutoff, action), new RangeTask(mid, hi, cutoff, action));
+    }
+  }
+
+  // ==================== Main ====================
+
+  //
+  //                  1                 7                 2
+  //      0 ---------------  1 ---------------  2 ---------------  3
+  //      |                  |                  |                  |
+  //      |                  |                  |                  |
+  //    4 |                3 |                5 |                6 |
+  //      |                  |                  |                  |
+  //      |                  |                  |                  |
+  //      4 ---------------  5 ---------------  6 ---------------  7
+  //                  8                 2                 9
+  //
+  //  MST cost: 23
+  //
+  public static void main(String[] args) {
+    int[] u = {0, 1, 2, 0, 1, 2, 3, 4, 5, 6};
+    int[] v = {1, 2, 3, 4, 5, 6, 7, 5, 6, 7};
+    double[] w = {1, 7, 2, 4, 3, 5, 6, 8, 2, 9};
+
+    ParallelBoruvkas solver = new ParallelBoruvkas(8, u, v, w);
+
+    OptionalDouble cost = solver.getMstCost();
+    if (cost.isPresent()) {
+      System.out.println("MST cost: " + cost.getAsDouble()); // 23.0
+      for (Edge e : solver.getMst().get()) {
+        System.out.printf("Edge %d-%d, cost: %.1f%n", e.u, e.v, e.cost);
+      }
+    } else {
+      System.out.println("No MST exists");
+    }
+  }
+}
@@ -0,0 +1,247 @@
+/**
+ * Connected Components — Parallel (CSR graph, ForkJoinPool)
+ *
+ * <p>Finds the connected components of a graph with every core of a fork/join pool. The nodes,
+ * and with them the edge list of the compressed sparse row graph, are split into ranges which
+ * the workers process in parallel. Edges are taken as undirected, so the graph doesn't need to
+ * hold both directions. There are two algorithms:
+ *
+ * <ul>
+ *   <li>UNION_FIND unifies the ends of every edge in a {@link ConcurrentUnionFind}. One pass over
+ *       the edges, whatever the shape of the graph.
+ *   <li>LABEL_PROPAGATION is Shiloach-Vishkin style: every node points at a label, a node of its
+ *       component no larger than itself. Rounds hook the label of one end of every edge below the
+ *       smaller label of the other end, then point every node straight at its root, until a round
+ *       changes nothing. The number of rounds grows with the diameter, so this suits low diameter
+ *       graphs such as social or web graphs best.
+ * </ul>
+ *
+ * <p>Both keep the smallest node of a component as its root, so the components are numbered by
+ * their smallest node, exactly like {@link ConnectedComponentsDfs} numbers them, and the ids of
+ * the two solvers can be compared directly.
+ *
+ * <p>Time: O((V + E) * α(V)) work for UNION_FIND, O((V + E) * rounds) for LABEL_PROPAGATION
+ *
+ * <p>Space: O(V)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.datastructures.unionfind.ConcurrentUnionFind;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+public class ParallelConnectedComponents {
+
+  public enum Algorithm {
+    UNION_FIND,
+    LABEL_PROPAGATION
+  }
+
+  // Node ranges with fewer nodes plus edges than this are processed by a single task.
+  private static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+  private final int n;
+  private final CsrGraph graph;
+  private final ForkJoinPool pool;
+  private final Algorithm algorithm;
+  private boolean solved;
+  private int componentCount;
+  private int[] componentIds, componentSizes;
+
+  // Set when a label propagation round lowers a label.
+  private volatile boolean changed;
+
+  /** Finds the components with union find on the common fork/join pool. */
+  public ParallelConnectedComponents(CsrGraph graph) {
+    this(graph, ForkJoinPool.commonPool(), Algorithm.UNION_FIND);
+  }
+
+  public ParallelConnectedComponents(CsrGraph graph, ForkJoinPool pool, Algorithm algorithm) {
+    if (graph == null || pool == null || algorithm == null) {
+      throw new IllegalArgumentException();
+    }
+    this.n = graph.numNodes();
+    this.graph = graph;
+    this.pool = pool;
+    this.algorithm = algorithm;
+  }
+
+  /** Returns the number of connected components. */
+  public int countComponents() {
+    solve();
+    return componentCount;
+  }
+
+  /** Returns the component id of the given node. Component ids are 0-indexed. */
+  public int componentId(int node) {
+    solve();
+    return componentIds[node];
+  }
+
+  /**
+   * Returns the component id array where {@code componentIds[i]} is the component id of node i.
+   * Component ids are 0-indexed, in the order of the smallest node of each component.
+   */
+  public int[] getComponentIds() {
+    solve();
+    return componentIds;
+  }
+
+  /** Returns the size of the component that the given node belongs to. */
+  public int componentSize(int node) {
+    solve();
+    return componentSizes[componentIds[node]];
+  }
+
+  private void solve() {
+    if (solved) {
+      return;
+    }
+
+    IntUnaryOperator root = i -> i;
+    if (n > 0) {
+      root = algorithm == Algorithm.UNION_FIND ? unionFind()::find : labelPropagation()::get;
+    }
+
+    // Roots are the smallest node of their component, so they come before the other nodes.
+    componentIds = new int[n];
+    componentSizes = new int[n];
+    for (int i = 0; i < n; i++) {
+      int r = root.applyAsInt(i);
+      componentIds[i] = r == i ? componentCount++ : componentIds[r];
+      componentSizes[componentIds[i]]++;
+    }
+    componentSizes = Arrays.copyOf(componentSizes, componentCount);
+
+    solved = true;
+  }
+
+  private ConcurrentUnionFind unionFind() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+    forEachNode(
+        u -> {
+          for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+            uf.unify(u, graph.target(e));
+          }
+        });
+    return uf;
+  }
+
+  private AtomicIntegerArray labelPropagation() {
+    AtomicIntegerArray labels = new AtomicIntegerArray(n);
+    for (int i = 0; i < n; i++) {
+      labels.set(i, i);
+    }
+
+    do {
+      changed = false;
+
+      // Hooking: every label is a root here, the larger of the two is hooked below the smaller.
+      forEachNode(
+          u -> {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+              int label1 = labels.get(u), label2 = labels.get(graph.target(e));
+              if (label1 != label2) {
+                lowerLabel(labels, Math.max(label1, label2), Math.min(label1, label2));
+              }
+            }
+          });
+
+      // Shortcutting: points every node straight at the root of its tree.
+      forEachNode(
+          u -> {
+            int label = labels.get(u);
+            while (labels.get(label) != label) {
+              label = labels.get(label);
+            }
+            labels.set(u, label);
+          });
+    } while (changed);
+
+    return labels;
+  }
+
+  // Lowers the label of 'node' to 'label', unless another thread already got it lower.
+  private void lowerLabel(AtomicIntegerArray labels, int node, int label) {
+    for (int current = labels.get(node); label < current; current = labels.get(node)) {
+      if (labels.compareAndSet(node, current, label)) {
+        changed = true;
+        return;
+      }
+    }
+  }
+
+  private void forEachNode(IntConsumer action) {
+    pool.invoke(new NodeRangeTask(0, n, action));
+  }
+
+  // Runs the action on the nodes lo to hi - 1, splitting the range while it has too much work.
+  private final class NodeRangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final IntConsumer action;
+
+    NodeRangeTask(int lo, int hi, IntConsumer action) {
+      this.lo = lo;
+      this.hi = hi;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      int work = hi - lo + graph.edgeEnd(hi - 1) - graph.edgeStart(lo);
+      if (work <= SEQUENTIAL_CUTOFF || hi - lo == 1) {
+        for (int u = lo; u < hi; u++) {
+          action.accept(u);
+        }
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new NodeRangeTask(lo, mid, action), new NodeRangeTask(mid, hi, action));
+    }
+  }
+
+  // ==================== Main ====================
+
+  //
+  //    0 --- 1       3 --- 6
+  //    |   / |       |     |
+  //    |  /  |       |     |
+  //    7     2 - 5   4     9       10
+  //
+  //          8
+  //
+  //  Components: {0,1,2,5,7}, {3,4,6,9}, {8}, {10}
+  //  Count: 4
+  //
+  public static void main(String[] args) {
+    CsrGraph graph =
+        CsrGraph.builder(11)
+            .addEdge(0, 1)
+            .addEdge(1, 7)
+            .addEdge(7, 0)
+            .addEdge(1, 2)
+            .addEdge(2, 5)
+            .addEdge(3, 4)
+            .addEdge(3, 6)
+            .addEdge(6, 9)
+            .build();
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      ParallelConnectedComponents solver =
+          new ParallelConnectedComponents(graph, ForkJoinPool.commonPool(), algorithm);
+      // [0, 0, 0, 1, 1, 0, 1, 0, 2, 1, 3]
+      System.out.printf(
+          "%s: %d components %s%n",
+          algorithm, solver.countComponents(), Arrays.toString(solver.getComponentIds()));
+    }
+  }
+}
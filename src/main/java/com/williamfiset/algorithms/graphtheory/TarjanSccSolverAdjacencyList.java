@@ -9,6 +9,10 @@
  *   <li>https://www.hackerearth.com/practice/algorithms/graphs/strongly-connected-components/tutorial
  * </ul>
  *
+ * <p>The depth first search keeps its own stack of nodes, with the position of the next edge to
+ * visit for each of them, instead of recursing, so graphs with millions of nodes and very long
+ * paths don't need a big thread stack. Nothing is allocated per edge.
+ *
  * <p>Time: O(V + E)
  *
  * <p>Space: O(V)
@@ -19,18 +23,23 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.datastructures.stack.IntStack;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class TarjanSccSolverAdjacencyList {
 
   private final int n;
+  // Exactly one of the three representations is non null.
   private final List<List<Integer>> graph;
+  private final CsrGraph csrGraph;
+  private final int[][] adjacency;
 
   private boolean solved;
   private int sccCount, id;
   private boolean[] onStack;
   private int[] ids, low, sccs;
-  private Deque<Integer> stack;
+  private IntStack stack;
 
   private static final int UNVISITED = -1;
 
@@ -45,6 +54,40 @@ public class TarjanSccSolverAdjacencyList {
       throw new IllegalArgumentException("Graph cannot be null.");
     n = graph.size();
     this.graph = graph;
+    this.csrGraph = null;
+    this.adjacency = null;
+  }
+
+  /**
+   * Creates a Tarjan SCC solver for a directed graph in compressed sparse row form.
+   *
+   * @throws IllegalArgumentException if the graph is null.
+   */
+  public TarjanSccSolverAdjacencyList(CsrGraph graph) {
+    if (graph == null)
+      throw new IllegalArgumentException("Graph cannot be null.");
+    n = graph.numNodes();
+    this.graph = null;
+    this.csrGraph = graph;
+    this.adjacency = null;
+  }
+
+  /**
+   * Creates a Tarjan SCC solver for a directed graph where graph[i] holds the nodes node i has an
+   * edge to.
+   *
+   * @throws IllegalArgumentException if the graph or one of its rows is null.
+   */
+  public TarjanSccSolverAdjacencyList(int[][] graph) {
+    if (graph == null)
+      throw new IllegalArgumentException("Graph cannot be null.");
+    for (int[] edges : graph)
+      if (edges == null)
+        throw new IllegalArgumentException("Graph rows cannot be null.");
+    n = graph.length;
+    this.graph = null;
+    this.csrGraph = null;
+    this.adjacency = graph;
   }
 
   /** Returns the number of strongly connected components in the graph. */
@@ -73,38 +116,70 @@ public class TarjanSccSolverAdjacencyList {
     low = new int[n];
     sccs = new int[n];
     onStack = new boolean[n];
-    stack = new ArrayDeque<>();
+    stack = new IntStack(n);
     Arrays.fill(ids, UNVISITED);
 
+    // The depth first search path, and the number of edges of each of its nodes visited so far.
+    IntStack path = new IntStack(n);
+    int[] edgeIndex = new int[n];
+
     for (int i = 0; i < n; i++)
       if (ids[i] == UNVISITED)
-        dfs(i);
+        dfs(i, path, edgeIndex);
 
     solved = true;
   }
 
-  private void dfs(int at) {
+  private void dfs(int start, IntStack path, int[] edgeIndex) {
+    visit(start, path);
+    while (!path.isEmpty()) {
+      int at = path.peekInt();
+      if (edgeIndex[at] < degree(at)) {
+        int to = neighbor(at, edgeIndex[at]++);
+        if (ids[to] == UNVISITED)
+          visit(to, path);
+        else if (onStack[to])
+          low[at] = min(low[at], low[to]);
+        continue;
+      }
+
+      // All the edges of 'at' are done, which is where the recursive version returns.
+      path.popInt();
+      // If we're at the root of an SCC, pop all nodes in this component off the stack.
+      if (ids[at] == low[at]) {
+        for (int node = stack.popInt(); ; node = stack.popInt()) {
+          onStack[node] = false;
+          sccs[node] = sccCount;
+          if (node == at)
+            break;
+        }
+        sccCount++;
+      }
+      if (!path.isEmpty() && onStack[at]) {
+        int parent = path.peekInt();
+        low[parent] = min(low[parent], low[at]);
+      }
+    }
+  }
+
+  private void visit(int at, IntStack path) {
     ids[at] = low[at] = id++;
     stack.push(at);
     onStack[at] = true;
+    path.push(at);
+  }
 
-    for (int to : graph.get(at)) {
-      if (ids[to] == UNVISITED)
-        dfs(to);
-      if (onStack[to])
-        low[at] = min(low[at], low[to]);
-    }
+  private int degree(int at) {
+    if (csrGraph != null)
+      return csrGraph.outDegree(at);
+    return adjacency != null ? adjacency[at].length : graph.get(at).size();
+  }
 
-    // If we're at the root of an SCC, pop all nodes in this component off the stack.
-    if (ids[at] == low[at]) {
-      for (int node = stack.pop(); ; node = stack.pop()) {
-        onStack[node] = false;
-        sccs[node] = sccCount;
-        if (node == at)
-          break;
-      }
-      sccCount++;
-    }
+  // The lists are expected to be random access, like the ones createGraph makes.
+  private int neighbor(int at, int i) {
+    if (csrGraph != null)
+      return csrGraph.target(csrGraph.edgeStart(at) + i);
+    return adjacency != null ? adjacency[at][i] : graph.get(at).get(i);
   }
 
   /** Creates an adjacency list with n nodes. */
@@ -0,0 +1,232 @@
+/**
+ * JMH benchmark comparing unidirectional Dijkstra against bidirectional Dijkstra, bidirectional A*
+ * and a contraction hierarchy on point to point queries, which is what routing mostly asks for.
+ *
+ * <p>The graph looks like a road network: the nodes are the points of a side x side grid, moved
+ * by a random offset, and every node is connected to its four neighbours in both directions. Every
+ * tenth row and column is a highway whose edges cost the distance between their ends, the other
+ * streets cost between 1.5 and 2.5 times that, so the euclidean distance is a consistent
+ * heuristic. A benchmark iteration answers the same 100 random queries, the contraction hierarchy
+ * is built beforehand.
+ *
+ * <p>Before the benchmarks run, main() prints the setup time of every solver (which is the
+ * preprocessing for the hierarchy) and the average number of nodes it settles per query, which
+ * unlike the time doesn't depend on the machine.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory.benchmark;
+
+import com.williamfiset.algorithms.graphtheory.BidirectionalShortestPath;
+import com.williamfiset.algorithms.graphtheory.ContractionHierarchy;
+import com.williamfiset.algorithms.graphtheory.DijkstrasShortestPathAdjacencyListWithDHeap;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BidirectionalSearchBenchmark {
+
+  private static final int QUERIES = 100;
+
+  // A point to point shortest path solver, and the number of nodes its last query settled.
+  public interface Solver {
+    double query(int start, int end);
+
+    int settledCount();
+  }
+
+  public enum Implementation {
+    DIJKSTRA {
+      @Override
+      Solver create(RoadGraph road) {
+        DijkstrasShortestPathAdjacencyListWithDHeap solver =
+            new DijkstrasShortestPathAdjacencyListWithDHeap(road.graph);
+        DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext ctx =
+            new DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext(solver);
+        return new Solver() {
+          @Override
+          public double query(int start, int end) {
+            return solver.dijkstra(start, end, ctx);
+          }
+
+          @Override
+          public int settledCount() {
+            return ctx.nodesSettled();
+          }
+        };
+      }
+    },
+    BIDIRECTIONAL_DIJKSTRA {
+      @Override
+      Solver create(RoadGraph road) {
+        BidirectionalShortestPath solver = new BidirectionalShortestPath(road.graph);
+        return new Solver() {
+          @Override
+          public double query(int start, int end) {
+            return solver.dijkstra(start, end);
+          }
+
+          @Override
+          public int settledCount() {
+            return solver.nodesSettled();
+          }
+        };
+      }
+    },
+    BIDIRECTIONAL_ASTAR {
+      @Override
+      Solver create(RoadGraph road) {
+        BidirectionalShortestPath solver = new BidirectionalShortestPath(road.graph);
+        BidirectionalShortestPath.Heuristic heuristic =
+            BidirectionalShortestPath.euclidean(road.x, road.y);
+        return new Solver() {
+          @Override
+          public double query(int start, int end) {
+            return solver.astar(start, end, heuristic);
+          }
+
+          @Override
+          public int settledCount() {
+            return solver.nodesSettled();
+          }
+        };
+      }
+    },
+    CONTRACTION_HIERARCHY {
+      @Override
+      Solver create(RoadGraph road) {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(road.graph);
+        ContractionHierarchy.QueryContext ctx = new ContractionHierarchy.QueryContext(hierarchy);
+        return new Solver() {
+          @Override
+          public double query(int start, int end) {
+            return hierarchy.distance(start, end, ctx);
+          }
+
+          @Override
+          public int settledCount() {
+            return ctx.nodesSettled();
+          }
+        };
+      }
+    };
+
+    abstract Solver create(RoadGraph road);
+  }
+
+  // A perturbed grid with the coordinates of its nodes.
+  static final class RoadGraph {
+    final double[] x, y;
+    final CsrGraph graph;
+
+    static final int HIGHWAY_SPACING = 10;
+
+    RoadGraph(int side) {
+      int n = side * side;
+      Random random = new Random(0x5EED);
+      x = new double[n];
+      y = new double[n];
+      for (int i = 0; i < n; i++) {
+        x[i] = i % side + 0.4 * random.nextDouble();
+        y[i] = i / side + 0.4 * random.nextDouble();
+      }
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < n; i++) {
+        int row = i / side, col = i % side;
+        if (col + 1 < side) addRoad(builder, random, i, i + 1, row % HIGHWAY_SPACING == 0);
+        if (row + 1 < side) addRoad(builder, random, i, i + side, col % HIGHWAY_SPACING == 0);
+      }
+      graph = builder.build();
+    }
+
+    private void addRoad(CsrGraph.Builder builder, Random random, int u, int v, boolean highway) {
+      double length = Math.hypot(x[u] - x[v], y[u] - y[v]);
+      double slowdown = highway ? 1 : 1.5 + random.nextDouble();
+      builder.addUndirectedEdge(u, v, length * slowdown);
+    }
+  }
+
+  @Param public Implementation implementation;
+
+  @Param({"500"})
+  public int side;
+
+  private int[] starts, ends;
+  private Solver solver;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    solver = implementation.create(new RoadGraph(side));
+    starts = new int[QUERIES];
+    ends = new int[QUERIES];
+    randomQueries(side * side, starts, ends);
+  }
+
+  static void randomQueries(int n, int[] starts, int[] ends) {
+    Random random = new Random(42);
+    for (int i = 0; i < starts.length; i++) {
+      starts[i] = random.nextInt(n);
+      ends[i] = random.nextInt(n);
+    }
+  }
+
+  @Benchmark
+  public double queries() {
+    double total = 0;
+    for (int i = 0; i < QUERIES; i++) total += solver.query(starts[i], ends[i]);
+    return total;
+  }
+
+  // Prints the time each solver takes to set up, and the average number of nodes it settles per
+  // query.
+  static void printSettledReport(int side) {
+    RoadGraph road = new RoadGraph(side);
+    int[] starts = new int[QUERIES], ends = new int[QUERIES];
+    randomQueries(side * side, starts, ends);
+
+    System.out.printf(
+        "%d nodes, %d edges, %d queries%n%n%-24s %12s %14s%n",
+        road.graph.numNodes(),
+        road.graph.numEdges(),
+        QUERIES,
+        "solver",
+        "setup (ms)",
+        "settled/query");
+    for (Implementation implementation : Implementation.values()) {
+      long start = System.nanoTime();
+      Solver solver = implementation.create(road);
+      long millis = (System.nanoTime() - start) / 1000000;
+      long settled = 0;
+      for (int i = 0; i < QUERIES; i++) {
+        solver.query(starts[i], ends[i]);
+        settled += solver.settledCount();
+      }
+      System.out.printf("%-24s %12d %14d%n", implementation, millis, settled / QUERIES);
+    }
+    System.out.println();
+  }
+
+  public static void main(String[] args) throws Exception {
+    printSettledReport(500);
+    BenchmarkRunner.run(BidirectionalSearchBenchmark.class, args);
+  }
+}
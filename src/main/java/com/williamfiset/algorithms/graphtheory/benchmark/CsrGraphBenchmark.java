@@ -0,0 +1,162 @@
+/**
+ * JMH benchmark comparing the adjacency lists of the graphtheory solvers against a {@link
+ * CsrGraph}, on the same random directed graph with n nodes and n * degree weighted edges.
+ *
+ * <p>Two traversals are measured, with the solvers of the graphtheory package:
+ *
+ * <ul>
+ *   <li>bfs: a breadth first search from node 0 with BreadthFirstSearchAdjacencyList.
+ *   <li>dijkstra: a shortest path from node 0 to node n - 1 with
+ *       DijkstrasShortestPathAdjacencyListWithDHeap, which stops early once it reaches n - 1.
+ * </ul>
+ *
+ * <p>Before the benchmarks run, main() prints the heap used by each representation in bytes per
+ * edge, measured as the difference in used heap after garbage collection (so it is approximate),
+ * along with the time taken to build it. The adjacency lists hold the edges of both solvers, which
+ * each want their own Edge class, while a single weighted CsrGraph serves both.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory.benchmark;
+
+import com.williamfiset.algorithms.graphtheory.BreadthFirstSearchAdjacencyList;
+import com.williamfiset.algorithms.graphtheory.DijkstrasShortestPathAdjacencyListWithDHeap;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CsrGraphBenchmark {
+
+  // The solvers of one graph representation.
+  public static final class Solvers {
+    final BreadthFirstSearchAdjacencyList bfs;
+    final DijkstrasShortestPathAdjacencyListWithDHeap dijkstra;
+
+    Solvers(
+        BreadthFirstSearchAdjacencyList bfs, DijkstrasShortestPathAdjacencyListWithDHeap dijkstra) {
+      this.bfs = bfs;
+      this.dijkstra = dijkstra;
+    }
+  }
+
+  public enum Implementation {
+    ADJACENCY_LIST {
+      @Override
+      Solvers build(int n, int[] from, int[] to, int[] cost) {
+        List<List<BreadthFirstSearchAdjacencyList.Edge>> graph =
+            BreadthFirstSearchAdjacencyList.createEmptyGraph(n);
+        DijkstrasShortestPathAdjacencyListWithDHeap dijkstra =
+            new DijkstrasShortestPathAdjacencyListWithDHeap(n);
+        for (int i = 0; i < from.length; i++) {
+          BreadthFirstSearchAdjacencyList.addDirectedEdge(graph, from[i], to[i]);
+          dijkstra.addEdge(from[i], to[i], cost[i]);
+        }
+        return new Solvers(new BreadthFirstSearchAdjacencyList(graph), dijkstra);
+      }
+    },
+    CSR_GRAPH {
+      @Override
+      Solvers build(int n, int[] from, int[] to, int[] cost) {
+        CsrGraph.Builder builder = CsrGraph.builder(n);
+        for (int i = 0; i < from.length; i++) builder.addEdge(from[i], to[i], (long) cost[i]);
+        CsrGraph graph = builder.build();
+        return new Solvers(
+            new BreadthFirstSearchAdjacencyList(graph),
+            new DijkstrasShortestPathAdjacencyListWithDHeap(graph));
+      }
+    };
+
+    abstract Solvers build(int n, int[] from, int[] to, int[] cost);
+  }
+
+  @Param public Implementation implementation;
+
+  @Param({"1000000"})
+  public int n;
+
+  @Param({"8"})
+  public int degree;
+
+  private int[] from, to, cost;
+  private Solvers solvers;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    int m = n * degree;
+    from = new int[m];
+    to = new int[m];
+    cost = new int[m];
+    randomEdges(n, from, to, cost);
+    solvers = implementation.build(n, from, to, cost);
+  }
+
+  static void randomEdges(int n, int[] from, int[] to, int[] cost) {
+    Random random = new Random(0x5EED);
+    for (int i = 0; i < from.length; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+      cost[i] = 1 + random.nextInt(100);
+    }
+  }
+
+  @Benchmark
+  public List<Integer> bfs() {
+    return solvers.bfs.reconstructPath(0, n - 1);
+  }
+
+  @Benchmark
+  public double dijkstra() {
+    return solvers.dijkstra.dijkstra(0, n - 1);
+  }
+
+  // Prints the heap used by each representation in bytes per edge, and its build time.
+  static void printMemoryReport(int n, int degree) {
+    int m = n * degree;
+    int[] from = new int[m], to = new int[m], cost = new int[m];
+    randomEdges(n, from, to, cost);
+
+    System.out.printf(
+        "%d nodes, %d edges%n%n%-16s %12s %14s%n", n, m, "graph", "bytes/edge", "build (ms)");
+    for (Implementation implementation : Implementation.values()) {
+      long before = usedMemory(), start = System.nanoTime();
+      Solvers solvers = implementation.build(n, from, to, cost);
+      long millis = (System.nanoTime() - start) / 1000000;
+      long bytes = usedMemory() - before;
+      System.out.printf("%-16s %12.1f %14d%n", implementation, (double) bytes / m, millis);
+      // Keeps the solvers reachable until their memory has been measured.
+      if (solvers.bfs == null) throw new AssertionError();
+    }
+    System.out.println();
+  }
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public static void main(String[] args) throws Exception {
+    printMemoryReport(1000000, 8);
+    BenchmarkRunner.run(CsrGraphBenchmark.class, args);
+  }
+}
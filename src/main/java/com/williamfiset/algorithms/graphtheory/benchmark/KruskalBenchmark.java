@@ -0,0 +1,107 @@
+/**
+ * JMH benchmark comparing Kruskal's algorithm which sorts every edge, KruskalsEdgeList.kruskals,
+ * against Filter-Kruskal, KruskalsEdgeList.filterKruskals, on random connected graphs.
+ *
+ * <ul>
+ *   <li>SPARSE: 200,000 nodes with 8 edges per node on average.
+ *   <li>DENSE: 2,000 nodes with 500 edges per node on average, where Filter-Kruskal skips most of
+ *       the sorting since the MST is complete long before the heavy edges.
+ * </ul>
+ *
+ * <p>Edge costs are uniform in [0, 2^20). The graphs start with the spanning path 0-1-...-(n-1)
+ * so that an MST always exists. kruskals sorts its Edge array in place, so it gets a fresh copy of
+ * the array every time, which is included in its time.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory.benchmark;
+
+import com.williamfiset.algorithms.graphtheory.KruskalsEdgeList;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class KruskalBenchmark {
+
+  public enum Density {
+    SPARSE(200_000, 8),
+    DENSE(2_000, 500);
+
+    final int n, degree;
+
+    Density(int n, int degree) {
+      this.n = n;
+      this.degree = degree;
+    }
+  }
+
+  public enum Implementation {
+    SORT_ALL {
+      @Override
+      Long mstCost(KruskalBenchmark graph) {
+        return KruskalsEdgeList.kruskals(graph.edges.clone(), graph.n);
+      }
+    },
+    FILTER_KRUSKAL {
+      @Override
+      Long mstCost(KruskalBenchmark graph) {
+        return KruskalsEdgeList.filterKruskals(graph.from, graph.to, graph.cost, graph.n);
+      }
+    };
+
+    abstract Long mstCost(KruskalBenchmark graph);
+  }
+
+  @Param public Implementation implementation;
+
+  @Param public Density density;
+
+  private int n;
+  private int[] from, to, cost;
+  private KruskalsEdgeList.Edge[] edges;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    n = density.n;
+    int m = n * density.degree;
+    Random random = new Random(0x5EED);
+    from = new int[m];
+    to = new int[m];
+    cost = new int[m];
+    edges = new KruskalsEdgeList.Edge[m];
+    for (int i = 0; i < m; i++) {
+      // The first n - 1 edges form the spanning path 0-1-...-(n-1).
+      from[i] = i < n - 1 ? i : random.nextInt(n);
+      to[i] = i < n - 1 ? i + 1 : random.nextInt(n);
+      cost[i] = random.nextInt(1 << 20);
+      edges[i] = new KruskalsEdgeList.Edge(from[i], to[i], cost[i]);
+    }
+  }
+
+  @Benchmark
+  public Long mstCost() {
+    return implementation.mstCost(this);
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner.run(KruskalBenchmark.class, args);
+  }
+}
@@ -29,25 +29,16 @@ public class CapacityScalingSolverAdjacencyList extends NetworkFlowSolverBase {
     super(n, s, t);
   }
 
-  /**
-   * Adds a directed edge (and residual edge) to the flow graph.
-   *
-   * @param from - The index of the node the directed edge starts at.
-   * @param to - The index of the node the directed edge end at.
-   * @param capacity - The capacity of the edge.
-   */
-  @Override
-  public void addEdge(int from, int to, long capacity) {
-    super.addEdge(from, to, capacity);
-    delta = max(delta, capacity);
-  }
-
   // Performs the Ford-Fulkerson method applying a depth first search as
   // a means of finding an augmenting path.
   @Override
   public void solve() {
-    // Start delta at the largest power of 2 <= the largest capacity.
+    // Start delta at the largest power of 2 <= the largest remaining capacity, which is the
+    // largest capacity unless the solver is continuing from the flow of a previous run.
     // Equivalent of: delta = (long) pow(2, (int)floor(log(delta)/log(2)))
+    delta = 0;
+    for (List<Edge> edges : graph)
+      for (Edge edge : edges) delta = max(delta, edge.remainingCapacity());
     delta = Long.highestOneBit(delta);
 
     // Repeatedly find augmenting paths from source to sink using only edges
@@ -0,0 +1,309 @@
+/**
+ * Implementation of Dinic's network flow algorithm over a residual graph stored in flat arrays,
+ * for very large networks.
+ *
+ * <p>{@link Dinics} keeps an Edge object per edge, each pointing at its residual edge, and finds
+ * augmenting paths with a recursive DFS. On graphs with millions of edges the blocking flow phases
+ * then spend most of their time following pointers. This version stores the edges as arrays
+ * instead:
+ *
+ * <ul>
+ *   <li>Edge e goes from its node to to[e] with remaining capacity cap[e]. The edges of node u are
+ *       a linked list from head[u] through next[e].
+ *   <li>Every edge is added together with its residual edge, so the residual of edge e is always
+ *       e ^ 1.
+ * </ul>
+ *
+ * <p>The DFS is iterative, keeping the current path of edges in an array, and resumes every node
+ * at its current arc, the first edge which may still be part of an augmenting path. The BFS uses
+ * an int[] queue.
+ *
+ * <p>The {@link NetworkFlowSolverBase} API works unchanged, including {@link #setCapacity}. The
+ * Edge objects returned by {@link #getGraph} are only created when it's called.
+ *
+ * <p>Run script:
+ *
+ * <p>$ bazel run //src/main/java/com/williamfiset/algorithms/graphtheory/networkflow:DinicsEdgeArrays
+ *
+ * <p>Time Complexity: O(EV²)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory.networkflow;
+
+import static java.lang.Math.min;
+
+import java.util.*;
+
+public class DinicsEdgeArrays extends NetworkFlowSolverBase {
+
+  private int edgeCount;
+  private int[] head, next, to;
+  private long[] cap, capacity;
+
+  private int[] level, current, queue, path;
+
+  // The Edge objects of getGraph, by edge index, or null until it's first called.
+  private ArrayEdge[] edgeObjects;
+
+  // An edge of getGraph, which knows its index in the arrays and reads its capacity from them.
+  private class ArrayEdge extends Edge {
+    final int index;
+
+    ArrayEdge(int from, int to, int index) {
+      super(from, to, DinicsEdgeArrays.this.capacity[index], 0, (index & 1) == 1);
+      this.index = index;
+    }
+
+    @Override
+    public long getCapacity() {
+      return DinicsEdgeArrays.this.capacity[index];
+    }
+  }
+
+  /**
+   * Creates an instance of a flow network solver. Use the {@link #addEdge} method to add edges to
+   * the graph.
+   *
+   * @param n - The number of nodes in the graph including source and sink nodes.
+   * @param s - The index of the source node, 0 <= s < n
+   * @param t - The index of the sink node, 0 <= t < n, t != s
+   */
+  public DinicsEdgeArrays(int n, int s, int t) {
+    super(n, s, t);
+    head = new int[n];
+    Arrays.fill(head, -1);
+    next = new int[16];
+    to = new int[16];
+    cap = new long[16];
+    capacity = new long[16];
+  }
+
+  /**
+   * Adds a directed edge (and residual edge) to the flow graph.
+   *
+   * @param from - The index of the node the directed edge starts at.
+   * @param to - The index of the node the directed edge ends at.
+   * @param capacity - The capacity of the edge.
+   */
+  @Override
+  public void addEdge(int from, int to, long capacity) {
+    if (capacity < 0) throw new IllegalArgumentException("Capacity < 0");
+    if (edgeCount + 2 > next.length) {
+      int newLength = 2 * next.length;
+      next = Arrays.copyOf(next, newLength);
+      this.to = Arrays.copyOf(this.to, newLength);
+      cap = Arrays.copyOf(cap, newLength);
+      this.capacity = Arrays.copyOf(this.capacity, newLength);
+    }
+    appendEdge(from, to, capacity);
+    appendEdge(to, from, 0);
+    invalidateSolution();
+  }
+
+  /** Dinic's ignores costs, this is the same as {@link #addEdge(int, int, long)}. */
+  @Override
+  public void addEdge(int from, int to, long capacity, long cost) {
+    addEdge(from, to, capacity);
+  }
+
+  private void appendEdge(int from, int to, long capacity) {
+    int e = edgeCount++;
+    this.to[e] = to;
+    this.capacity[e] = cap[e] = capacity;
+    next[e] = head[from];
+    head[from] = e;
+  }
+
+  /**
+   * Returns the graph after the solver has been executed, with the flow of every edge. The lists
+   * hold the edges in the order they were added, like the other solvers.
+   */
+  @Override
+  public List<Edge>[] getGraph() {
+    List<Edge>[] graph = super.getGraph();
+    int built = edgeObjects == null ? 0 : edgeObjects.length;
+    if (built < edgeCount) {
+      edgeObjects = Arrays.copyOf(edgeObjects == null ? new ArrayEdge[0] : edgeObjects, edgeCount);
+      for (int e = built; e < edgeCount; e += 2) {
+        int from = to[e + 1];
+        ArrayEdge e1 = new ArrayEdge(from, to[e], e);
+        ArrayEdge e2 = new ArrayEdge(to[e], from, e + 1);
+        e1.residual = e2;
+        e2.residual = e1;
+        edgeObjects[e] = e1;
+        edgeObjects[e + 1] = e2;
+        graph[from].add(e1);
+        graph[to[e]].add(e2);
+      }
+    }
+    // The arrays hold the current flow, the flow of edge e is its capacity minus its remaining
+    // capacity.
+    for (int e = 0; e < edgeCount; e++) edgeObjects[e].flow = capacity[e] - cap[e];
+    return graph;
+  }
+
+  /** {@inheritDoc} The edge must come from this solver's {@link #getGraph}. */
+  @Override
+  public void setCapacity(Edge edge, long capacity) {
+    if (capacity < 0) throw new IllegalArgumentException("Capacity < 0");
+    int e = edge instanceof ArrayEdge ? ((ArrayEdge) edge).index : -1;
+    if (e == -1 || edgeObjects == null || e >= edgeObjects.length || edgeObjects[e] != edge)
+      throw new IllegalArgumentException("Edge is not part of this graph");
+    if (edge.isResidual())
+      throw new IllegalArgumentException("Edge is not a forward edge of this graph");
+    long flow = this.capacity[e] - cap[e];
+    this.capacity[e] = capacity;
+    cap[e] = capacity - flow;
+    if (flow > capacity) {
+      // Take the excess flow off the edge, then repair the flow around it.
+      long excess = flow - capacity;
+      cap[e] += excess;
+      cap[e ^ 1] -= excess;
+      cancelExcess(to[e ^ 1], to[e], excess);
+    }
+    invalidateSolution();
+  }
+
+  @Override
+  protected long augmentResidualPaths(int from, int to, long amount) {
+    if (from == to) return amount;
+    long pushed = 0;
+    int[] queue = new int[n], prev = new int[n];
+    while (pushed < amount) {
+      Arrays.fill(prev, -1);
+      int front = 0, back = 0;
+      queue[back++] = from;
+      while (front < back && prev[to] == -1) {
+        int node = queue[front++];
+        for (int e = head[node]; e != -1; e = next[e]) {
+          int v = this.to[e];
+          if (cap[e] > 0 && v != from && prev[v] == -1) {
+            prev[v] = e;
+            queue[back++] = v;
+          }
+        }
+      }
+      if (prev[to] == -1) break;
+
+      long bottleNeck = amount - pushed;
+      for (int node = to; node != from; node = this.to[prev[node] ^ 1])
+        bottleNeck = min(bottleNeck, cap[prev[node]]);
+      for (int node = to; node != from; node = this.to[prev[node] ^ 1]) {
+        cap[prev[node]] -= bottleNeck;
+        cap[prev[node] ^ 1] += bottleNeck;
+      }
+      pushed += bottleNeck;
+    }
+    return pushed;
+  }
+
+  @Override
+  public void solve() {
+    level = new int[n];
+    current = new int[n];
+    queue = new int[n];
+    path = new int[n];
+
+    while (bfs()) {
+      System.arraycopy(head, 0, current, 0, n);
+      maxFlow += blockingFlow();
+    }
+
+    for (int i = 0; i < n; i++) if (level[i] != -1) minCut[i] = true;
+  }
+
+  // Do a BFS from source to sink and compute the depth/level of each node
+  // which is the minimum number of edges from that node to the source.
+  private boolean bfs() {
+    Arrays.fill(level, -1);
+    level[s] = 0;
+    int front = 0, back = 0;
+    queue[back++] = s;
+    while (front < back) {
+      int node = queue[front++];
+      for (int e = head[node]; e != -1; e = next[e]) {
+        if (cap[e] > 0 && level[to[e]] == -1) {
+          level[to[e]] = level[node] + 1;
+          queue[back++] = to[e];
+        }
+      }
+    }
+    return level[t] != -1;
+  }
+
+  // Finds augmenting paths in the level graph until there are none left. path[0, depth) holds the
+  // edges from the source to the node 'at'. Nodes from which the sink can't be reached get level
+  // -1, so that no other path enters them again in this phase.
+  private long blockingFlow() {
+    long totalFlow = 0;
+    int at = s, depth = 0;
+    while (true) {
+      if (at == t) {
+        long flow = INF;
+        for (int i = 0; i < depth; i++) flow = min(flow, cap[path[i]]);
+        // Augment the path, then resume from the tail of its first saturated edge.
+        int saturated = depth;
+        for (int i = depth - 1; i >= 0; i--) {
+          int e = path[i];
+          cap[e] -= flow;
+          cap[e ^ 1] += flow;
+          if (cap[e] == 0) saturated = i;
+        }
+        totalFlow += flow;
+        depth = saturated;
+        at = depth == 0 ? s : to[path[depth - 1]];
+        continue;
+      }
+
+      int e = current[at];
+      while (e != -1 && (cap[e] == 0 || level[to[e]] != level[at] + 1)) e = next[e];
+      current[at] = e;
+
+      if (e != -1) {
+        path[depth++] = e;
+        at = to[e];
+      } else {
+        // Dead end, retreat and move on to the next edge of the previous node.
+        if (depth == 0) return totalFlow;
+        level[at] = -1;
+        depth--;
+        at = depth == 0 ? s : to[path[depth - 1]];
+        current[at] = next[current[at]];
+      }
+    }
+  }
+
+  /* Example */
+
+  public static void main(String[] args) {
+    testSmallFlowGraph();
+  }
+
+  // Testing graph from:
+  // http://crypto.cs.mcgill.ca/~crepeau/COMP251/KeyNoteSlides/07demo-maxflowCS-C.pdf
+  private static void testSmallFlowGraph() {
+    int n = 6;
+    int s = n - 1;
+    int t = n - 2;
+
+    DinicsEdgeArrays solver = new DinicsEdgeArrays(n, s, t);
+
+    // Source edges
+    solver.addEdge(s, 0, 10);
+    solver.addEdge(s, 1, 10);
+
+    // Sink edges
+    solver.addEdge(2, t, 10);
+    solver.addEdge(3, t, 10);
+
+    // Middle edges
+    solver.addEdge(0, 1, 2);
+    solver.addEdge(0, 2, 4);
+    solver.addEdge(0, 3, 8);
+    solver.addEdge(1, 3, 9);
+    solver.addEdge(3, 2, 6);
+
+    System.out.println(solver.getMaxFlow()); // 19
+  }
+}
@@ -57,6 +57,12 @@ public class MinCostMaxFlowJohnsons extends NetworkFlowSolverBase {
     }
   }
 
+  // Augmenting from a min-cost flow of a different graph wouldn't give the min cost.
+  @Override
+  protected boolean canWarmStart() {
+    return false;
+  }
+
   @Override
   public void solve() {
     init();
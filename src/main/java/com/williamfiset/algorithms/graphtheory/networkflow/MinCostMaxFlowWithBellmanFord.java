@@ -28,6 +28,12 @@ public class MinCostMaxFlowWithBellmanFord extends NetworkFlowSolverBase {
     super(n, s, t);
   }
 
+  // Augmenting from a min-cost flow of a different graph wouldn't give the min cost.
+  @Override
+  protected boolean canWarmStart() {
+    return false;
+  }
+
   @Override
   public void solve() {
 
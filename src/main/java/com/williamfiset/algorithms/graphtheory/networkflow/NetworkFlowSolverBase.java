@@ -1,9 +1,16 @@
 /**
+ * Base class of the network flow solvers, which holds the flow graph and solves it lazily on the
+ * first query after the graph changed.
+ *
+ * <p>Note: {@code Edge.capacity} is private since capacities can change after solving; read it
+ * with {@link Edge#getCapacity()} and change it with {@link #setCapacity}.
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.graphtheory.networkflow;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class NetworkFlowSolverBase {
@@ -15,25 +22,38 @@ public abstract class NetworkFlowSolverBase {
     public int from, to;
     public Edge residual;
     public long flow, cost;
-    public final long capacity, originalCost;
+    public final long originalCost;
+
+    // Only the solver changes the capacity, through setCapacity().
+    private long capacity;
+    private final boolean residualEdge;
 
     public Edge(int from, int to, long capacity) {
       this(from, to, capacity, 0 /* unused */);
     }
 
     public Edge(int from, int to, long capacity, long cost) {
+      this(from, to, capacity, cost, capacity == 0);
+    }
+
+    protected Edge(int from, int to, long capacity, long cost, boolean residualEdge) {
       this.from = from;
       this.to = to;
       this.capacity = capacity;
       this.originalCost = this.cost = cost;
+      this.residualEdge = residualEdge;
+    }
+
+    public long getCapacity() {
+      return capacity;
     }
 
     public boolean isResidual() {
-      return capacity == 0;
+      return residualEdge;
     }
 
     public long remainingCapacity() {
-      return capacity - flow;
+      return getCapacity() - flow;
     }
 
     public void augment(long bottleNeck) {
@@ -46,7 +66,7 @@ public abstract class NetworkFlowSolverBase {
       String v = (to == s) ? "s" : ((to == t) ? "t" : String.valueOf(to));
       return String.format(
           "Edge %s -> %s | flow = %d | capacity = %d | is residual: %s",
-          u, v, flow, capacity, isResidual());
+          u, v, flow, getCapacity(), isResidual());
     }
   }
 
@@ -67,9 +87,13 @@ public abstract class NetworkFlowSolverBase {
   private int[] visited;
 
   // Indicates whether the network flow algorithm has ran. We should not need to
-  // run the solver multiple times, because it always yields the same result.
+  // run the solver multiple times, because it always yields the same result,
+  // until an edge is added or has its capacity changed.
   private boolean solved;
 
+  // Indicates whether the edges may hold the flow of a previous run.
+  private boolean hasFlow;
+
   /**
    * Creates an instance of a flow network solver. Use the {@link #addEdge} method to add edges to
    * the graph.
@@ -103,22 +127,115 @@ public abstract class NetworkFlowSolverBase {
    */
   public void addEdge(int from, int to, long capacity) {
     if (capacity < 0) throw new IllegalArgumentException("Capacity < 0");
-    Edge e1 = new Edge(from, to, capacity);
-    Edge e2 = new Edge(to, from, 0);
+    Edge e1 = new Edge(from, to, capacity, 0, false);
+    Edge e2 = new Edge(to, from, 0, 0, true);
     e1.residual = e2;
     e2.residual = e1;
     graph[from].add(e1);
     graph[to].add(e2);
+    invalidateSolution();
   }
 
   /** Cost variant of {@link #addEdge(int, int, int)} for min-cost max-flow */
   public void addEdge(int from, int to, long capacity, long cost) {
-    Edge e1 = new Edge(from, to, capacity, cost);
-    Edge e2 = new Edge(to, from, 0, -cost);
+    Edge e1 = new Edge(from, to, capacity, cost, false);
+    Edge e2 = new Edge(to, from, 0, -cost, true);
     e1.residual = e2;
     e2.residual = e1;
     graph[from].add(e1);
     graph[to].add(e2);
+    invalidateSolution();
+  }
+
+  /**
+   * Changes the capacity of an edge of the graph (see {@link #getGraph}), which can also be done
+   * after the solver has been executed. The next query then re-solves the network starting from
+   * the current flow rather than from zero flow, which is much faster when only a few capacities
+   * changed. If the edge carries more flow than its new capacity, the extra flow is cancelled
+   * right away: rerouted through the rest of the network where possible, otherwise sent back to
+   * the source, lowering the max flow.
+   *
+   * <p>Solvers which can't continue from an existing flow, such as the min-cost max-flow ones,
+   * re-solve from zero flow instead.
+   *
+   * @param edge - An edge added to this solver's graph, not a residual edge.
+   * @param capacity - The new capacity of the edge.
+   */
+  public void setCapacity(Edge edge, long capacity) {
+    if (capacity < 0) throw new IllegalArgumentException("Capacity < 0");
+    if (edge.isResidual() || edge.from < 0 || edge.from >= n || !graph[edge.from].contains(edge))
+      throw new IllegalArgumentException("Edge is not a forward edge of this graph");
+    long excess = edge.flow - capacity;
+    edge.capacity = capacity;
+    if (excess > 0 && canWarmStart()) {
+      edge.augment(-excess);
+      cancelExcess(edge.from, edge.to, excess);
+    }
+    invalidateSolution();
+  }
+
+  /**
+   * Repairs the flow after 'excess' units of flow were removed from an edge from 'from' to 'to',
+   * which left 'from' with more flow in than out and 'to' with more flow out than in.
+   */
+  protected void cancelExcess(int from, int to, long excess) {
+    // Reroute the flow around the edge, this keeps the max flow the same.
+    excess -= augmentResidualPaths(from, to, excess);
+    if (excess == 0) return;
+    // Return what's left to the source and take it back from the sink. The flow into 'from' and
+    // out of 'to' came from the source and went to the sink, so both paths must carry all of it.
+    if (augmentResidualPaths(from, s, excess) != excess
+        || augmentResidualPaths(t, to, excess) != excess)
+      throw new IllegalStateException("Failed to cancel the excess flow of the edge");
+    maxFlow -= excess;
+  }
+
+  /**
+   * Pushes up to 'amount' units of flow from 'from' to 'to' along shortest paths in the residual
+   * graph, and returns how much was pushed.
+   */
+  protected long augmentResidualPaths(int from, int to, long amount) {
+    if (from == to) return amount;
+    long pushed = 0;
+    Edge[] prev = new Edge[n];
+    int[] queue = new int[n];
+    while (pushed < amount) {
+      markAllNodesAsUnvisited();
+      visit(from);
+      int head = 0, tail = 0;
+      queue[tail++] = from;
+      while (head < tail && !visited(to)) {
+        int node = queue[head++];
+        for (Edge edge : graph[node]) {
+          if (edge.remainingCapacity() > 0 && !visited(edge.to)) {
+            visit(edge.to);
+            prev[edge.to] = edge;
+            queue[tail++] = edge.to;
+          }
+        }
+      }
+      if (!visited(to)) break;
+
+      long bottleNeck = amount - pushed;
+      for (int node = to; node != from; node = prev[node].from)
+        bottleNeck = Math.min(bottleNeck, prev[node].remainingCapacity());
+      for (int node = to; node != from; node = prev[node].from) prev[node].augment(bottleNeck);
+      pushed += bottleNeck;
+    }
+    return pushed;
+  }
+
+  /**
+   * Returns whether {@link #solve} can continue from the flow of a previous run after the graph
+   * changed. Solvers which can't are re-solved from zero flow.
+   */
+  protected boolean canWarmStart() {
+    return true;
+  }
+
+  // Marks the solution as out of date, so that the next query re-solves the network.
+  protected void invalidateSolution() {
+    solved = false;
   }
 
   // Marks node 'i' as visited.
@@ -168,13 +285,30 @@ public abstract class NetworkFlowSolverBase {
     return minCut;
   }
 
-  // Wrapper method that ensures we only call solve() once
+  // Wrapper method that ensures we only call solve() once per change of the graph
   private void execute() {
     if (solved) return;
     solved = true;
+    if (hasFlow) {
+      if (!canWarmStart()) clearFlow();
+      Arrays.fill(minCut, false);
+      markAllNodesAsUnvisited();
+    }
+    hasFlow = true;
     solve();
   }
 
+  // Resets the graph to zero flow, for solvers which can't warm start.
+  private void clearFlow() {
+    for (List<Edge> edges : graph) {
+      for (Edge edge : edges) {
+        edge.flow = 0;
+        edge.cost = edge.originalCost;
+      }
+    }
+    maxFlow = minCost = 0;
+  }
+
   // Method to implement which solves the network flow problem.
   public abstract void solve();
 }
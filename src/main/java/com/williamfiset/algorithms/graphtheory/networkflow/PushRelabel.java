@@ -0,0 +1,295 @@
+/**
+ * Implementation of the highest-label push-relabel max flow algorithm, with the global relabeling
+ * and gap heuristics.
+ *
+ * <p>Rather than looking for augmenting paths, push-relabel floods the network from the source: it
+ * saturates every source edge, then repeatedly pushes the excess flow of a node "downhill" to a
+ * neighbor one height below it, raising (relabeling) the node when it has no such neighbor. Excess
+ * which can't reach the sink eventually flows back to the source. Nodes with excess are processed
+ * highest first.
+ *
+ * <p>Two heuristics make a large difference in practice:
+ *
+ * <ul>
+ *   <li>Global relabeling periodically sets every height to the exact residual distance to the
+ *       sink (or n plus the distance to the source for nodes which can't reach the sink) with a
+ *       backwards BFS.
+ *   <li>Gap: when no node is left at some height h below n, no node above h can reach the sink
+ *       anymore, so they are all lifted to n at once.
+ * </ul>
+ *
+ * <p>This usually beats the augmenting path solvers on dense networks such as bipartite
+ * assignment problems.
+ *
+ * <p>Run script:
+ *
+ * <p>$ bazel run //src/main/java/com/williamfiset/algorithms/graphtheory/networkflow:PushRelabel
+ *
+ * <p>Time Complexity: O(V²√E)
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.graphtheory.networkflow;
+
+import static java.lang.Math.min;
+
+import java.util.*;
+
+public class PushRelabel extends NetworkFlowSolverBase {
+
+  // Do a global relabel after the relabels have scanned about this many edges per node and edge
+  // in the graph.
+  private static final int GLOBAL_RELABEL_NODE_WORK = 6;
+  private static final int RELABEL_WORK = 12;
+
+  private Edge[][] adj;
+  private int[] height, current;
+  private long[] excess;
+
+  // The nodes with excess flow, in one stack per height linked through nextActive. The height of
+  // a node may have been raised by a gap since it was added, which is fixed when it's popped.
+  private int[] activeHead, nextActive;
+  private int maxActive;
+
+  // The nodes of every height below n in doubly linked lists, to find gaps.
+  private int[] allHead, allNext, allPrev;
+  private int maxAll;
+
+  private long work;
+
+  /**
+   * Creates an instance of a flow network solver. Use the {@link #addEdge} method to add edges to
+   * the graph.
+   *
+   * @param n - The number of nodes in the graph including source and sink nodes.
+   * @param s - The index of the source node, 0 <= s < n
+   * @param t - The index of the sink node, 0 <= t < n, t != s
+   */
+  public PushRelabel(int n, int s, int t) {
+    super(n, s, t);
+  }
+
+  @Override
+  public void solve() {
+    adj = new Edge[n][];
+    long m = 0;
+    for (int i = 0; i < n; i++) {
+      adj[i] = graph[i].toArray(new Edge[0]);
+      m += adj[i].length;
+    }
+    height = new int[n];
+    current = new int[n];
+    excess = new long[n];
+    activeHead = new int[2 * n + 1];
+    nextActive = new int[n];
+    allHead = new int[n];
+    allNext = new int[n];
+    allPrev = new int[n];
+
+    // Saturate every edge leaving the source.
+    for (Edge edge : adj[s]) {
+      long cap = edge.remainingCapacity();
+      if (cap > 0 && edge.to != s) {
+        edge.augment(cap);
+        excess[edge.to] += cap;
+      }
+    }
+
+    long globalRelabelWork = GLOBAL_RELABEL_NODE_WORK * (long) n + m;
+    globalRelabel();
+    while (maxActive >= 0) {
+      if (work > globalRelabelWork) {
+        globalRelabel();
+        continue;
+      }
+      int node = activeHead[maxActive];
+      if (node == -1) {
+        maxActive--;
+        continue;
+      }
+      activeHead[maxActive] = nextActive[node];
+      if (height[node] != maxActive) {
+        // Lifted by a gap, it belongs higher up.
+        addActive(node);
+        continue;
+      }
+      discharge(node);
+    }
+
+    maxFlow += excess[t];
+
+    // The min cut is the set of nodes still reachable from the source in the residual graph.
+    Deque<Integer> q = new ArrayDeque<>();
+    minCut[s] = true;
+    q.offer(s);
+    while (!q.isEmpty()) {
+      int node = q.poll();
+      for (Edge edge : adj[node]) {
+        if (edge.remainingCapacity() > 0 && !minCut[edge.to]) {
+          minCut[edge.to] = true;
+          q.offer(edge.to);
+        }
+      }
+    }
+  }
+
+  // Pushes all the excess of 'node' to its neighbors, relabeling it as needed.
+  private void discharge(int node) {
+    while (excess[node] > 0) {
+      if (current[node] == adj[node].length) {
+        relabel(node);
+        if (height[node] >= 2 * n) break;
+        continue;
+      }
+      Edge edge = adj[node][current[node]];
+      long cap = edge.remainingCapacity();
+      if (cap > 0 && height[node] == height[edge.to] + 1) {
+        push(node, edge, min(excess[node], cap));
+      } else {
+        current[node]++;
+      }
+    }
+  }
+
+  private void push(int node, Edge edge, long flow) {
+    edge.augment(flow);
+    excess[node] -= flow;
+    int to = edge.to;
+    if (excess[to] == 0 && to != s && to != t) {
+      excess[to] = flow;
+      addActive(to);
+    } else {
+      excess[to] += flow;
+    }
+  }
+
+  // Raises 'node' to one above its lowest residual neighbor. If the node was the last one at its
+  // height, that height becomes a gap instead and everything above it is lifted to n.
+  private void relabel(int node) {
+    int h = height[node];
+    work += RELABEL_WORK + adj[node].length;
+    if (h < n && allHead[h] == node && allNext[node] == -1) {
+      gap(h);
+      return;
+    }
+
+    int newHeight = 2 * n;
+    for (int i = 0; i < adj[node].length; i++) {
+      Edge edge = adj[node][i];
+      if (edge.remainingCapacity() > 0 && height[edge.to] + 1 < newHeight) {
+        newHeight = height[edge.to] + 1;
+        current[node] = i;
+      }
+    }
+    if (h < n) removeFromAll(node);
+    height[node] = newHeight;
+    if (newHeight < n) addToAll(node);
+  }
+
+  // Lifts every node with a height in [h, n) to n. None of them can reach the sink anymore.
+  private void gap(int h) {
+    for (int g = h; g <= maxAll; g++) {
+      for (int node = allHead[g]; node != -1; node = allNext[node]) {
+        height[node] = n;
+        current[node] = 0;
+      }
+      allHead[g] = -1;
+    }
+    maxAll = h - 1;
+  }
+
+  // Sets every height to the residual distance to the sink, or n plus the residual distance to
+  // the source for the nodes which can't reach the sink, with two backwards BFSs.
+  private void globalRelabel() {
+    work = 0;
+    Arrays.fill(height, 2 * n);
+    Arrays.fill(current, 0);
+    int[] queue = new int[n];
+    // The source stays at n or above, even if the BFS from the sink would reach it.
+    height[s] = n;
+    bfs(queue, t, 0);
+    bfs(queue, s, n);
+
+    Arrays.fill(activeHead, -1);
+    Arrays.fill(allHead, -1);
+    maxActive = maxAll = -1;
+    for (int node = 0; node < n; node++) {
+      if (height[node] < n) addToAll(node);
+      if (excess[node] > 0 && node != s && node != t) addActive(node);
+    }
+  }
+
+  // Gives every node which reaches 'root' in the residual graph, and isn't labeled yet, the
+  // height base plus its distance to root.
+  private void bfs(int[] queue, int root, int base) {
+    int head = 0, tail = 0;
+    height[root] = base;
+    queue[tail++] = root;
+    while (head < tail) {
+      int node = queue[head++];
+      for (Edge edge : adj[node]) {
+        int from = edge.to;
+        if (height[from] == 2 * n && edge.residual.remainingCapacity() > 0) {
+          height[from] = height[node] + 1;
+          queue[tail++] = from;
+        }
+      }
+    }
+  }
+
+  private void addActive(int node) {
+    int h = height[node];
+    nextActive[node] = activeHead[h];
+    activeHead[h] = node;
+    maxActive = Math.max(maxActive, h);
+  }
+
+  private void addToAll(int node) {
+    int h = height[node];
+    allPrev[node] = -1;
+    allNext[node] = allHead[h];
+    if (allHead[h] != -1) allPrev[allHead[h]] = node;
+    allHead[h] = node;
+    maxAll = Math.max(maxAll, h);
+  }
+
+  private void removeFromAll(int node) {
+    int h = height[node];
+    if (allPrev[node] != -1) allNext[allPrev[node]] = allNext[node];
+    else allHead[h] = allNext[node];
+    if (allNext[node] != -1) allPrev[allNext[node]] = allPrev[node];
+  }
+
+  /* Example */
+
+  public static void main(String[] args) {
+    testSmallFlowGraph();
+  }
+
+  // Testing graph from:
+  // http://crypto.cs.mcgill.ca/~crepeau/COMP251/KeyNoteSlides/07demo-maxflowCS-C.pdf
+  private static void testSmallFlowGraph() {
+    int n = 6;
+    int s = n - 1;
+    int t = n - 2;
+
+    PushRelabel solver = new PushRelabel(n, s, t);
+
+    // Source edges
+    solver.addEdge(s, 0, 10);
+    solver.addEdge(s, 1, 10);
+
+    // Sink edges
+    solver.addEdge(2, t, 10);
+    solver.addEdge(3, t, 10);
+
+    // Middle edges
+    solver.addEdge(0, 1, 2);
+    solver.addEdge(0, 2, 4);
+    solver.addEdge(0, 3, 8);
+    solver.addEdge(1, 3, 9);
+    solver.addEdge(3, 2, 6);
+
+    System.out.println(solver.getMaxFlow()); // 19
+  }
+}
@@ -0,0 +1,242 @@
+/**
+ * Least significant digit (LSD) radix sort over bytes for int[], long[], double[] and records
+ * keyed by a long.
+ *
+ * <p>Unlike {@link RadixSort}, which works in base 10 and only supports non-negative ints, this
+ * implementation uses base 256 so that each pass handles a whole byte of the key. An int is sorted
+ * in 4 passes and a long in 8 passes, and each pass is a stable counting sort on one byte, starting
+ * from the least significant one.
+ *
+ * <p>A few tricks keep the sort fast:
+ *
+ * <ul>
+ *   <li>The byte counts of every pass are collected up front in a single read over the data. For
+ *       large arrays this histogram pass can be split across a {@link ForkJoinPool}.
+ *   <li>A pass is skipped entirely when all keys share the same byte in that position, which is
+ *       common for small values or timestamps close together in time.
+ *   <li>A single scratch buffer is allocated per sort and passes alternate ("ping-pong") between
+ *       the input array and the buffer instead of copying back after every pass.
+ * </ul>
+ *
+ * <p>Negative numbers are handled by flipping the sign bit of every key, which maps signed
+ * two's-complement order onto unsigned order. Doubles use the IEEE-754 trick: flip only the sign
+ * bit of positive numbers and every bit of negative numbers, after which comparing the raw bits as
+ * unsigned integers gives the same order as comparing the doubles. Like {@link
+ * java.util.Arrays#sort(double[])}, -0.0 is placed before 0.0 and NaN values are placed last.
+ *
+ * <p>Time Complexity: O(n*w) where w is the key width in bytes (4 for ints, 8 for longs)
+ *
+ * <p>Space Complexity: O(n) for the scratch buffer
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToLongFunction;
+
+public class LsdRadixSort implements InplaceSort {
+
+  static final int RADIX = 256;
+
+  // Arrays smaller than this compute their histograms on a single thread even if a pool is given.
+  static final int PARALLEL_HISTOGRAM_CUTOFF = 1 << 16;
+
+  // Pool which computes the byte histograms of large arrays, or null to stay on the calling thread.
+  private final ForkJoinPool pool;
+
+  /** Creates a radix sort which runs entirely on the calling thread. */
+  public LsdRadixSort() {
+    this.pool = null;
+  }
+
+  /** Creates a radix sort which computes the byte histograms of large arrays on the given pool. */
+  public LsdRadixSort(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.pool = pool;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    if (values == null || values.length <= 1) return;
+    int n = values.length;
+    int[][] count = histogram(values, null, Integer.BYTES);
+
+    int[] src = values, dst = new int[n];
+    for (int pass = 0; pass < Integer.BYTES; pass++) {
+      int[] offset = offsets(count[pass], n);
+      if (offset == null) continue;
+      int shift = pass * 8;
+      for (int i = 0; i < n; i++) {
+        int v = src[i];
+        dst[offset[((v ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = v;
+      }
+      int[] tmp = src;
+      src = dst;
+      dst = tmp;
+    }
+    // An odd number of passes leaves the result in the scratch buffer.
+    if (src != values) System.arraycopy(src, 0, values, 0, n);
+  }
+
+  /** Sorts signed longs in ascending order. */
+  public void sort(long[] values) {
+    if (values == null || values.length <= 1) return;
+    for (int i = 0; i < values.length; i++) values[i] ^= Long.MIN_VALUE;
+    sortUnsigned(values, null);
+    for (int i = 0; i < values.length; i++) values[i] ^= Long.MIN_VALUE;
+  }
+
+  /** Sorts doubles in ascending order, matching the order of java.util.Arrays.sort(double[]). */
+  public void sort(double[] values) {
+    if (values == null || values.length <= 1) return;
+    int n = values.length;
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) keys[i] = doubleToSortableBits(values[i]);
+    sortUnsigned(keys, null);
+    for (int i = 0; i < n; i++) values[i] = sortableBitsToDouble(keys[i]);
+  }
+
+  /**
+   * Stably sorts records in ascending order of a signed long key. The key function is evaluated
+   * exactly once per record.
+   */
+  public <T> void sortByKey(T[] records, ToLongFunction<? super T> keyFunction) {
+    if (records == null || records.length <= 1) return;
+    int n = records.length;
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) keys[i] = keyFunction.applyAsLong(records[i]) ^ Long.MIN_VALUE;
+    sortUnsigned(keys, records);
+  }
+
+  // Sorts keys as unsigned 64 bit integers. If records is not null then records[i] is moved
+  // together with keys[i] so that the records end up in key order.
+  private void sortUnsigned(long[] keys, Object[] records) {
+    int n = keys.length;
+    int[][] count = histogram(null, keys, Long.BYTES);
+
+    long[] src = keys, dst = new long[n];
+    Object[] srcRecords = records, dstRecords = records == null ? null : new Object[n];
+    for (int pass = 0; pass < Long.BYTES; pass++) {
+      int[] offset = offsets(count[pass], n);
+      if (offset == null) continue;
+      int shift = pass * 8;
+      for (int i = 0; i < n; i++) {
+        int j = offset[(int) (src[i] >>> shift) & 0xFF]++;
+        dst[j] = src[i];
+        if (records != null) dstRecords[j] = srcRecords[i];
+      }
+      long[] tmp = src;
+      src = dst;
+      dst = tmp;
+      Object[] tmpRecords = srcRecords;
+      srcRecords = dstRecords;
+      dstRecords = tmpRecords;
+    }
+    if (src != keys) {
+      System.arraycopy(src, 0, keys, 0, n);
+      if (records != null) System.arraycopy(srcRecords, 0, records, 0, n);
+    }
+  }
+
+  // Turns the byte counts of one pass into the starting index of each byte value in the output.
+  // Returns null when every key has the same byte value, in which case the pass can be skipped.
+  static int[] offsets(int[] count, int n) {
+    int[] offset = new int[RADIX];
+    for (int b = 0, sum = 0; b < RADIX; b++) {
+      if (count[b] == n) return null;
+      offset[b] = sum;
+      sum += count[b];
+    }
+    return offset;
+  }
+
+  // Counts the byte values in every byte position of the (sign flipped) keys. Exactly one of
+  // ints and longs must be non null.
+  private int[][] histogram(int[] ints, long[] longs, int bytes) {
+    int n = ints != null ? ints.length : longs.length;
+    HistogramTask task = new HistogramTask(ints, longs, bytes, 0, n);
+    if (pool == null || n < PARALLEL_HISTOGRAM_CUTOFF) return task.countRange();
+    return pool.invoke(task);
+  }
+
+  // Computes the histograms of the range [lo, hi) by splitting it in half until the ranges
+  // are small, and then summing up the histograms of the two halves.
+  private static final class HistogramTask extends RecursiveTask<int[][]> {
+    private static final long serialVersionUID = 1L;
+
+    final int[] ints;
+    final long[] longs;
+    final int bytes, lo, hi;
+
+    HistogramTask(int[] ints, long[] longs, int bytes, int lo, int hi) {
+      this.ints = ints;
+      this.longs = longs;
+      this.bytes = bytes;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected int[][] compute() {
+      if (hi - lo <= PARALLEL_HISTOGRAM_CUTOFF) return countRange();
+      int mid = (lo + hi) >>> 1;
+      HistogramTask left = new HistogramTask(ints, longs, bytes, lo, mid);
+      left.fork();
+      int[][] count = new HistogramTask(ints, longs, bytes, mid, hi).compute();
+      int[][] leftCount = left.join();
+      for (int b = 0; b < bytes; b++) {
+        for (int d = 0; d < RADIX; d++) count[b][d] += leftCount[b][d];
+      }
+      return count;
+    }
+
+    // Counts the range [lo, hi) on the calling thread.
+    int[][] countRange() {
+      int[][] count = new int[bytes][RADIX];
+      if (ints != null) {
+        for (int i = lo; i < hi; i++) {
+          int key = ints[i] ^ Integer.MIN_VALUE;
+          for (int b = 0; b < bytes; b++) count[b][(key >>> (b * 8)) & 0xFF]++;
+        }
+      } else {
+        for (int i = lo; i < hi; i++) {
+          long key = longs[i];
+          for (int b = 0; b < bytes; b++) count[b][(int) (key >>> (b * 8)) & 0xFF]++;
+        }
+      }
+      return count;
+    }
+  }
+
+  // Maps a double to a long whose unsigned order matches the order of the doubles. Positive
+  // numbers only need their sign bit set, negative numbers have all their bits flipped so that
+  // larger magnitudes come first.
+  static long doubleToSortableBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+  }
+
+  // Inverse of doubleToSortableBits.
+  static double sortableBitsToDouble(long key) {
+    long bits = key < 0 ? key ^ Long.MIN_VALUE : ~key;
+    return Double.longBitsToDouble(bits);
+  }
+
+  public static void main(String[] args) {
+    LsdRadixSort sorter = new LsdRadixSort();
+
+    int[] ints = {387, -468, 134, 123, -68, 221, 769, 37, -7, 890, 1, 587};
+    sorter.sort(ints);
+    // Prints:
+    // [-468, -68, -7, 1, 37, 123, 134, 221, 387, 587, 769, 890]
+    System.out.println(java.util.Arrays.toString(ints));
+
+    double[] doubles = {3.5, -0.25, 1e10, -7.0, 0.0, Double.NEGATIVE_INFINITY};
+    sorter.sort(doubles);
+    // Prints:
+    // [-Infinity, -7.0, -0.25, 0.0, 3.5, 1.0E10]
+    System.out.println(java.util.Arrays.toString(doubles));
+  }
+}
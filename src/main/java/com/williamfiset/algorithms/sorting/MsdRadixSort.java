@@ -0,0 +1,143 @@
+/**
+ * Most significant digit (MSD) radix sort over bytes for int[] and long[].
+ *
+ * <p>MSD radix sort looks at the most significant byte first. It distributes the values into 256
+ * buckets (one per byte value) and then recursively sorts each bucket on the next byte. Since a
+ * bucket never has to look at bytes past the point where its values become distinct, MSD sort can
+ * finish well before examining every byte of every key, unlike {@link LsdRadixSort}.
+ *
+ * <p>The drawback is that the recursion creates many tiny buckets, where counting 256 byte values
+ * costs far more than it saves. Buckets with at most {@code INSERTION_SORT_CUTOFF} elements are
+ * therefore finished with insertion sort. A bucket whose values all share the current byte skips
+ * the distribution step and moves straight on to the next byte.
+ *
+ * <p>A single scratch buffer of size n and one count array per byte position are allocated per
+ * sort and reused by every recursive call. Negative numbers are supported by flipping the sign bit
+ * of each key, which maps signed order onto unsigned order.
+ *
+ * <p>Time Complexity: O(n*w) where w is the key width in bytes (4 for ints, 8 for longs)
+ *
+ * <p>Space Complexity: O(n) for the scratch buffer
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.Arrays;
+
+public class MsdRadixSort implements InplaceSort {
+
+  private static final int RADIX = 256;
+
+  // Buckets at most this large are sorted with insertion sort.
+  static final int INSERTION_SORT_CUTOFF = 32;
+
+  @Override
+  public void sort(int[] values) {
+    MsdRadixSort.msdRadixSort(values);
+  }
+
+  public static void msdRadixSort(int[] ar) {
+    if (ar == null || ar.length <= 1) return;
+    int[][] count = new int[Integer.BYTES][RADIX];
+    sort(ar, new int[ar.length], count, 0, ar.length, Integer.BYTES - 1);
+  }
+
+  public static void msdRadixSort(long[] ar) {
+    if (ar == null || ar.length <= 1) return;
+    int[][] count = new int[Long.BYTES][RADIX];
+    sort(ar, new long[ar.length], count, 0, ar.length, Long.BYTES - 1);
+  }
+
+  // Sorts ar[lo, hi) knowing that all its values agree on the bytes above position 'b'.
+  private static void sort(int[] ar, int[] buf, int[][] count, int lo, int hi, int b) {
+    if (hi - lo <= INSERTION_SORT_CUTOFF) {
+      insertionSort(ar, lo, hi);
+      return;
+    }
+    int shift = b * 8;
+    int[] cnt = count[b];
+    Arrays.fill(cnt, 0);
+    for (int i = lo; i < hi; i++) cnt[((ar[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++;
+
+    if (!distribute(cnt, hi - lo)) {
+      // Every value has the same byte here, there is nothing to distribute.
+      if (b > 0) sort(ar, buf, count, lo, hi, b - 1);
+      return;
+    }
+    for (int i = lo; i < hi; i++) {
+      buf[lo + cnt[((ar[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = ar[i];
+    }
+    System.arraycopy(buf, lo, ar, lo, hi - lo);
+    if (b == 0) return;
+
+    // After distributing, cnt[d] is the end of bucket d (and the start of bucket d+1).
+    for (int d = 0, start = 0; d < RADIX; start = cnt[d++]) {
+      if (cnt[d] - start > 1) sort(ar, buf, count, lo + start, lo + cnt[d], b - 1);
+    }
+  }
+
+  // Sorts ar[lo, hi) knowing that all its values agree on the bytes above position 'b'.
+  private static void sort(long[] ar, long[] buf, int[][] count, int lo, int hi, int b) {
+    if (hi - lo <= INSERTION_SORT_CUTOFF) {
+      insertionSort(ar, lo, hi);
+      return;
+    }
+    int shift = b * 8;
+    int[] cnt = count[b];
+    Arrays.fill(cnt, 0);
+    for (int i = lo; i < hi; i++) cnt[(int) ((ar[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF]++;
+
+    if (!distribute(cnt, hi - lo)) {
+      if (b > 0) sort(ar, buf, count, lo, hi, b - 1);
+      return;
+    }
+    for (int i = lo; i < hi; i++) {
+      buf[lo + cnt[(int) ((ar[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF]++] = ar[i];
+    }
+    System.arraycopy(buf, lo, ar, lo, hi - lo);
+    if (b == 0) return;
+
+    for (int d = 0, start = 0; d < RADIX; start = cnt[d++]) {
+      if (cnt[d] - start > 1) sort(ar, buf, count, lo + start, lo + cnt[d], b - 1);
+    }
+  }
+
+  // Turns the byte counts into the starting index of each bucket. Returns false if all n values
+  // fall into one bucket, in which case the counts are left untouched.
+  private static boolean distribute(int[] cnt, int n) {
+    for (int d = 0; d < RADIX; d++) if (cnt[d] == n) return false;
+    for (int d = 0, sum = 0; d < RADIX; d++) {
+      int c = cnt[d];
+      cnt[d] = sum;
+      sum += c;
+    }
+    return true;
+  }
+
+  private static void insertionSort(int[] ar, int lo, int hi) {
+    for (int i = lo + 1; i < hi; i++) {
+      int value = ar[i], j = i;
+      for (; j > lo && ar[j - 1] > value; j--) ar[j] = ar[j - 1];
+      ar[j] = value;
+    }
+  }
+
+  private static void insertionSort(long[] ar, int lo, int hi) {
+    for (int i = lo + 1; i < hi; i++) {
+      long value = ar[i];
+      int j = i;
+      for (; j > lo && ar[j - 1] > value; j--) ar[j] = ar[j - 1];
+      ar[j] = value;
+    }
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new MsdRadixSort();
+    int[] numbers = {387, -468, 134, 123, -68, 221, 769, 37, -7, 890, 1, 587};
+    sorter.sort(numbers);
+    // Prints:
+    // [-468, -68, -7, 1, 37, 123, 134, 221, 387, 587, 769, 890]
+    System.out.println(Arrays.toString(numbers));
+  }
+}
@@ -0,0 +1,195 @@
+/**
+ * Parallel mergesort implementation built on the fork/join framework.
+ *
+ * <p>Mergesort parallelizes naturally: the two halves of the array are independent problems, so
+ * they can be sorted at the same time by different threads. To keep all cores busy until the very
+ * end, the merge step is parallel too. The larger run is split at its middle element, that element
+ * is binary searched in the smaller run, and the two resulting (independent) merges are forked.
+ *
+ * <p>Unlike {@link MergeSort}, which allocates new arrays at every level of recursion, this
+ * implementation allocates a single scratch buffer of size n per call to sort. Recursion levels
+ * alternate ("ping-pong") between the input array and the buffer, so no copying back is needed.
+ * Below a sequential cutoff, subproblems are sorted by a plain sequential mergesort (with
+ * insertion sort for tiny ranges) since forking tasks costs more than it gains on small ranges.
+ *
+ * <p>Time Complexity: O(nlog(n)) work, O(log^3(n)) span
+ *
+ * <p>Space Complexity: O(n) for the scratch buffer
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelMergeSort implements InplaceSort {
+
+  // Subproblems at most this large are solved sequentially.
+  public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // Ranges at most this large are sorted with insertion sort.
+  private static final int INSERTION_SORT_CUTOFF = 32;
+
+  private final ForkJoinPool pool;
+  private final int sequentialCutoff;
+
+  /** Sorts using the common fork/join pool. */
+  public ParallelMergeSort() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /** Sorts using the given fork/join pool. */
+  public ParallelMergeSort(ForkJoinPool pool) {
+    this(pool, DEFAULT_SEQUENTIAL_CUTOFF);
+  }
+
+  /**
+   * Sorts using the given fork/join pool, solving subproblems with at most sequentialCutoff
+   * elements on a single thread.
+   */
+  public ParallelMergeSort(ForkJoinPool pool, int sequentialCutoff) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    if (sequentialCutoff < 1) throw new IllegalArgumentException("Cutoff must be positive");
+    this.pool = pool;
+    this.sequentialCutoff = sequentialCutoff;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    if (values == null || values.length <= 1) return;
+    int[] buffer = new int[values.length];
+    pool.invoke(new SortTask(values, buffer, 0, values.length, false, sequentialCutoff));
+  }
+
+  // Sorts the range [lo, hi) of 'ar'. When the task completes the sorted range is
+  // found in 'buf' if 'intoBuffer' is true, and in 'ar' otherwise.
+  private static final class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int[] ar, buf;
+    final int lo, hi, cutoff;
+    final boolean intoBuffer;
+
+    SortTask(int[] ar, int[] buf, int lo, int hi, boolean intoBuffer, int cutoff) {
+      this.ar = ar;
+      this.buf = buf;
+      this.lo = lo;
+      this.hi = hi;
+      this.intoBuffer = intoBuffer;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= cutoff) {
+        sequentialSort(ar, buf, lo, hi);
+        if (intoBuffer) System.arraycopy(ar, lo, buf, lo, hi - lo);
+        return;
+      }
+      // Sort both halves into the *other* array so that merging them
+      // writes the final result where our caller expects it.
+      int mid = (lo + hi) >>> 1;
+      invokeAll(
+          new SortTask(ar, buf, lo, mid, !intoBuffer, cutoff),
+          new SortTask(ar, buf, mid, hi, !intoBuffer, cutoff));
+      int[] src = intoBuffer ? ar : buf;
+      int[] dst = intoBuffer ? buf : ar;
+      new MergeTask(src, lo, mid, mid, hi, dst, lo, cutoff).compute();
+    }
+  }
+
+  // Merges the sorted runs src[aLo, aHi) and src[bLo, bHi) into dst starting at dstLo.
+  private static final class MergeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int[] src, dst;
+    final int aLo, aHi, bLo, bHi, dstLo, cutoff;
+
+    MergeTask(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dstLo, int cutoff) {
+      this.src = src;
+      this.aLo = aLo;
+      this.aHi = aHi;
+      this.bLo = bLo;
+      this.bHi = bHi;
+      this.dst = dst;
+      this.dstLo = dstLo;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      int aLen = aHi - aLo, bLen = bHi - bLo;
+      if (aLen + bLen <= cutoff) {
+        merge(src, aLo, aHi, bLo, bHi, dst, dstLo);
+        return;
+      }
+      // Always split the larger run so that both halves shrink geometrically.
+      if (aLen < bLen) {
+        new MergeTask(src, bLo, bHi, aLo, aHi, dst, dstLo, cutoff).compute();
+        return;
+      }
+      // Everything in src[aLo, aMid) and src[bLo, bSplit) is <= pivot and everything
+      // in src[aMid+1, aHi) and src[bSplit, bHi) is >= pivot, so the pivot's final
+      // position is known and the two sides can be merged independently.
+      int aMid = (aLo + aHi) >>> 1;
+      int pivot = src[aMid];
+      int bSplit = lowerBound(src, bLo, bHi, pivot);
+      int dstMid = dstLo + (aMid - aLo) + (bSplit - bLo);
+      dst[dstMid] = pivot;
+      invokeAll(
+          new MergeTask(src, aLo, aMid, bLo, bSplit, dst, dstLo, cutoff),
+          new MergeTask(src, aMid + 1, aHi, bSplit, bHi, dst, dstMid + 1, cutoff));
+    }
+  }
+
+  // Sequential top down mergesort of ar[lo, hi) which uses buf[lo, hi) as scratch space.
+  private static void sequentialSort(int[] ar, int[] buf, int lo, int hi) {
+    if (hi - lo <= INSERTION_SORT_CUTOFF) {
+      insertionSort(ar, lo, hi);
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    sequentialSort(ar, buf, lo, mid);
+    sequentialSort(ar, buf, mid, hi);
+    // The halves are already in order, nothing to merge.
+    if (ar[mid - 1] <= ar[mid]) return;
+    System.arraycopy(ar, lo, buf, lo, hi - lo);
+    merge(buf, lo, mid, mid, hi, ar, lo);
+  }
+
+  // Merges the sorted runs src[aLo, aHi) and src[bLo, bHi) into dst starting at index k.
+  private static void merge(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int k) {
+    int i = aLo, j = bLo;
+    while (i < aHi && j < bHi) dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+    while (i < aHi) dst[k++] = src[i++];
+    while (j < bHi) dst[k++] = src[j++];
+  }
+
+  // Returns the first index in the sorted range ar[lo, hi) whose value is >= key.
+  private static int lowerBound(int[] ar, int lo, int hi, int key) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (ar[mid] < key) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  private static void insertionSort(int[] ar, int lo, int hi) {
+    for (int i = lo + 1; i < hi; i++) {
+      int value = ar[i], j = i;
+      for (; j > lo && ar[j - 1] > value; j--) ar[j] = ar[j - 1];
+      ar[j] = value;
+    }
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new ParallelMergeSort();
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    // Prints:
+    // [-13, 2, 3, 4, 4, 6, 8, 10]
+    System.out.println(java.util.Arrays.toString(array));
+  }
+}
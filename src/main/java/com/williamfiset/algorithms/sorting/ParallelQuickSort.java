@@ -0,0 +1,154 @@
+/**
+ * Parallel quicksort implementation built on the fork/join framework.
+ *
+ * <p>After an array segment is partitioned around a pivot, the two sides never interact again, so
+ * they can be sorted by different threads at the same time. Each partition step forks a task for
+ * both sides until the segments become smaller than a sequential cutoff, below which forking
+ * costs more than it gains and a plain sequential quicksort (with insertion sort for tiny ranges)
+ * takes over. The sort happens entirely in place, no scratch memory is needed.
+ *
+ * <p>Unlike {@link QuickSort}, which always picks the first element as its pivot, the pivot here
+ * is the median of the first, middle and last elements. This keeps sorted and reverse sorted
+ * inputs at O(nlog(n)) rather than O(n^2). The sequential part also recurses only into the
+ * smaller side and loops on the larger one, which bounds the stack depth by O(log(n)).
+ *
+ * <p>Time Complexity: O(nlog(n)) expected work, O(n) span (the first partition is sequential)
+ *
+ * <p>Space Complexity: O(log(n)) expected stack space
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelQuickSort implements InplaceSort {
+
+  // Segments at most this large are sorted sequentially.
+  public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // Segments at most this large are sorted with insertion sort.
+  private static final int INSERTION_SORT_CUTOFF = 32;
+
+  private final ForkJoinPool pool;
+  private final int sequentialCutoff;
+
+  /** Sorts using the common fork/join pool. */
+  public ParallelQuickSort() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /** Sorts using the given fork/join pool. */
+  public ParallelQuickSort(ForkJoinPool pool) {
+    this(pool, DEFAULT_SEQUENTIAL_CUTOFF);
+  }
+
+  /**
+   * Sorts using the given fork/join pool, sorting segments with at most sequentialCutoff elements
+   * on a single thread.
+   */
+  public ParallelQuickSort(ForkJoinPool pool, int sequentialCutoff) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    if (sequentialCutoff < 1) throw new IllegalArgumentException("Cutoff must be positive");
+    this.pool = pool;
+    this.sequentialCutoff = sequentialCutoff;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    if (values == null || values.length <= 1) return;
+    pool.invoke(new QuickSortTask(values, 0, values.length - 1, sequentialCutoff));
+  }
+
+  // Sorts the interval [lo, hi] of 'ar' inplace.
+  private static final class QuickSortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int[] ar;
+    final int lo, hi, cutoff;
+
+    QuickSortTask(int[] ar, int lo, int hi, int cutoff) {
+      this.ar = ar;
+      this.lo = lo;
+      this.hi = hi;
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo + 1 <= cutoff) {
+        sequentialQuicksort(ar, lo, hi);
+        return;
+      }
+      int splitPoint = partition(ar, lo, hi);
+      invokeAll(
+          new QuickSortTask(ar, lo, splitPoint, cutoff),
+          new QuickSortTask(ar, splitPoint + 1, hi, cutoff));
+    }
+  }
+
+  // Sort interval [lo, hi] inplace on the calling thread.
+  private static void sequentialQuicksort(int[] ar, int lo, int hi) {
+    while (hi - lo + 1 > INSERTION_SORT_CUTOFF) {
+      int splitPoint = partition(ar, lo, hi);
+      // Recurse into the smaller side, then continue looping on the larger side.
+      if (splitPoint - lo < hi - splitPoint) {
+        sequentialQuicksort(ar, lo, splitPoint);
+        lo = splitPoint + 1;
+      } else {
+        sequentialQuicksort(ar, splitPoint + 1, hi);
+        hi = splitPoint;
+      }
+    }
+    insertionSort(ar, lo, hi);
+  }
+
+  // Moves the median of ar[lo], ar[mid] and ar[hi] to position lo and then performs
+  // Hoare partitioning around it. Returns j such that every value in [lo, j] is less
+  // than or equal to every value in [j+1, hi], with lo <= j < hi.
+  private static int partition(int[] ar, int lo, int hi) {
+    int mid = (lo + hi) >>> 1;
+    if (ar[mid] < ar[lo]) swap(ar, mid, lo);
+    if (ar[hi] < ar[lo]) swap(ar, hi, lo);
+    if (ar[hi] < ar[mid]) swap(ar, hi, mid);
+    swap(ar, lo, mid);
+
+    int pivot = ar[lo];
+    int i = lo - 1, j = hi + 1;
+    while (true) {
+      do {
+        i++;
+      } while (ar[i] < pivot);
+      do {
+        j--;
+      } while (ar[j] > pivot);
+      if (i < j) swap(ar, i, j);
+      else return j;
+    }
+  }
+
+  // Sort interval [lo, hi] using insertion sort.
+  private static void insertionSort(int[] ar, int lo, int hi) {
+    for (int i = lo + 1; i <= hi; i++) {
+      int value = ar[i], j = i;
+      for (; j > lo && ar[j - 1] > value; j--) ar[j] = ar[j - 1];
+      ar[j] = value;
+    }
+  }
+
+  private static void swap(int[] ar, int i, int j) {
+    int tmp = ar[i];
+    ar[i] = ar[j];
+    ar[j] = tmp;
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new ParallelQuickSort();
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    // Prints:
+    // [-13, 2, 3, 4, 4, 6, 8, 10]
+    System.out.println(java.util.Arrays.toString(array));
+  }
+}
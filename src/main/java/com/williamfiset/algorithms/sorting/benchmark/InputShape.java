@@ -0,0 +1,89 @@
+/**
+ * The standard input shapes used to benchmark sorting algorithms.
+ *
+ * <p>A sorting algorithm's running time often depends as much on the order of its input as on its
+ * size. For example, a quicksort which always picks the first element as its pivot degrades to
+ * O(n^2) on already sorted input, while insertion sort becomes O(n). Benchmarking every algorithm
+ * against the same set of shapes makes these strengths and weaknesses visible.
+ *
+ * <p>Every shape produces non-negative values in the range [0, n] so that algorithms which only
+ * support non-negative keys (like {@code RadixSort}) or a bounded key range (like {@code
+ * CountingSort}) can be measured on every shape too.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting.benchmark;
+
+import java.util.Random;
+
+public enum InputShape {
+
+  // Uniformly random values in [0, n).
+  RANDOM {
+    @Override
+    void fill(int[] ar, Random random) {
+      for (int i = 0; i < ar.length; i++) ar[i] = random.nextInt(ar.length);
+    }
+  },
+
+  // 0, 1, 2, ..., n-1
+  SORTED {
+    @Override
+    void fill(int[] ar, Random random) {
+      for (int i = 0; i < ar.length; i++) ar[i] = i;
+    }
+  },
+
+  // n-1, n-2, ..., 1, 0
+  REVERSE_SORTED {
+    @Override
+    void fill(int[] ar, Random random) {
+      for (int i = 0; i < ar.length; i++) ar[i] = ar.length - 1 - i;
+    }
+  },
+
+  // Random values drawn from only FEW_UNIQUE_VALUES distinct keys, so the
+  // array contains long runs of duplicates once sorted.
+  FEW_UNIQUE {
+    @Override
+    void fill(int[] ar, Random random) {
+      for (int i = 0; i < ar.length; i++) ar[i] = random.nextInt(FEW_UNIQUE_VALUES);
+    }
+  },
+
+  // Ascending up to the middle of the array, then descending:
+  // 0, 1, 2, ..., n/2, ..., 2, 1, 0
+  ORGAN_PIPE {
+    @Override
+    void fill(int[] ar, Random random) {
+      int n = ar.length;
+      for (int i = 0; i < n; i++) ar[i] = Math.min(i, n - 1 - i);
+    }
+  },
+
+  // Skewed values where the value k appears with frequency roughly proportional to 1/k, which is
+  // what real-world keys (word counts, user ids, request paths) tend to look like. Drawing
+  // u uniformly from [0, 1) and returning floor(n^u) is the continuous approximation of a Zipf
+  // distribution with exponent 1: P(value <= k) = log(k) / log(n).
+  ZIPF {
+    @Override
+    void fill(int[] ar, Random random) {
+      int n = Math.max(ar.length, 2);
+      for (int i = 0; i < ar.length; i++) ar[i] = (int) Math.pow(n, random.nextDouble()) - 1;
+    }
+  };
+
+  static final int FEW_UNIQUE_VALUES = 16;
+
+  abstract void fill(int[] ar, Random random);
+
+  /**
+   * Generates an array of length n with this shape. The same (n, seed) pair always produces the
+   * same array so results stay comparable between runs.
+   */
+  public int[] generate(int n, long seed) {
+    int[] ar = new int[n];
+    fill(ar, new Random(seed));
+    return ar;
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * JMH benchmark of every {@link InplaceSort} implementation in the sorting package.
+ *
+ * <p>Each algorithm is measured against every {@link InputShape} at sizes from 1K up to 100M
+ * elements. Every invocation copies the same pre-generated input into a work array before sorting
+ * it, so all algorithms see identical data. The copy is O(n) and included in the measured time,
+ * which is negligible next to the sort itself.
+ *
+ * <p>The quadratic sorts (bubble, insertion and selection sort) would take days at the larger sizes
+ * so they are excluded from the default run. Measure them explicitly with for example:
+ *
+ * <pre>
+ * bazel run //src/main/java/com/williamfiset/algorithms/sorting/benchmark:SortingBenchmark -- \
+ *   -p algorithm=BUBBLE_SORT,INSERTION_SORT,SELECTION_SORT -p n=1000,10000,100000
+ * </pre>
+ *
+ * <p>Note that {@code QuickSort} always picks the first element as its pivot, so on sorted,
+ * reverse sorted and organ pipe inputs it degrades to O(n^2) time and O(n) recursion depth, and
+ * will throw a StackOverflowError at the larger sizes. JMH reports the failure and continues with
+ * the remaining benchmarks.
+ *
+ * <p>Results are written to SortingBenchmark.json, see {@link BenchmarkRunner}.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.sorting.benchmark;
+
+import com.williamfiset.algorithms.sorting.*;
+import com.williamfiset.algorithms.utils.benchmark.BenchmarkRunner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class SortingBenchmark {
+
+  public enum Algorithm {
+    BUBBLE_SORT(new BubbleSort()),
+    BUCKET_SORT(new BucketSort()),
+    COUNTING_SORT(new CountingSort()),
+    HEAP_SORT(new Heapsort()),
+    INSERTION_SORT(new InsertionSort()),
+    LSD_RADIX_SORT(new LsdRadixSort()),
+    MERGE_SORT(new MergeSort()),
+    MSD_RADIX_SORT(new MsdRadixSort()),
+    PARALLEL_MERGE_SORT(new ParallelMergeSort()),
+    PARALLEL_QUICK_SORT(new ParallelQuickSort()),
+    QUICK_SORT(new QuickSort()),
+    QUICK_SORT3(new QuickSort3()),
+    RADIX_SORT(new RadixSort()),
+    SELECTION_SORT(new SelectionSort()),
+    TIM_SORT(new TimSort());
+
+    private final InplaceSort sorter;
+
+    Algorithm(InplaceSort sorter) {
+      this.sorter = sorter;
+    }
+
+    public InplaceSort getSorter() {
+      return sorter;
+    }
+  }
+
+  // Fixed so that every run (and every version of the code) sorts the same inputs.
+  static final long SEED = 0x5EED;
+
+  @Param({
+    "BUCKET_SORT",
+    "COUNTING_SORT",
+    "HEAP_SORT",
+    "LSD_RADIX_SORT",
+    "MERGE_SORT",
+    "MSD_RADIX_SORT",
+    "PARALLEL_MERGE_SORT",
+    "PARALLEL_QUICK_SORT",
+    "QUICK_SORT",
+    "QUICK_SORT3",
+    "RADIX_SORT",
+    "TIM_SORT"
+  })
+  public Algorithm algorithm;
+
+  // Every value of the InputShape enum.
+  @Param public InputShape shape;
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+  public int n;
+
+  private InplaceSort sorter;
+  private int[] input;
+  private int[] work;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    sorter = algorithm.getSorter();
+    input = shape.generate(n, SEED);
+    work = new int[n];
+  }
+
+  @Benchmark
+  public int[] sort() {
+    System.arraycopy(input, 0, work, 0, n);
+    sorter.sort(work);
+    // Returning the array keeps the JIT from eliminating the sort as dead code.
+    return work;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkRunner.run(SortingBenchmark.class, args);
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Runs the JMH benchmarks of a single class and saves the results as JSON.
+ *
+ * <p>Every benchmark class in this repository has a main method which delegates here, so that
+ * {@code bazel run} produces a machine-readable result file which can be diffed between two
+ * versions of the code to catch performance regressions. Any regular JMH command line option
+ * (e.g. {@code -p n=1000}, {@code -f 3}, {@code -rff out.json}) can still be passed and takes
+ * precedence over the defaults chosen here.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.benchmark;
+
+import java.io.File;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  /**
+   * Runs all the @Benchmark methods of the given class. Unless overridden on the command line,
+   * results are written in JSON format to {@code <ClassName>.json} in the directory the command
+   * was launched from.
+   */
+  public static void run(Class<?> benchmarkClass, String[] args)
+      throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    new Runner(options(benchmarkClass, commandLine, benchmarkClass.getSimpleName()).build()).run();
+  }
+
+  /**
+   * Runs all the @Benchmark methods of the given class once for each thread count 1, 2, 4, ... up
+   * to the number of available processors (always included), to show how throughput scales with
+   * contention. The results of each run go to {@code <ClassName>-<threads>threads.json}. If a
+   * thread count is given on the command line with -t, only that one is run.
+   */
+  public static void runThreadScaling(Class<?> benchmarkClass, String[] args)
+      throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.getThreads().hasValue()) {
+      run(benchmarkClass, args);
+      return;
+    }
+    int maxThreads = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; ; threads = Math.min(2 * threads, maxThreads)) {
+      String resultName = benchmarkClass.getSimpleName() + "-" + threads + "threads";
+      new Runner(options(benchmarkClass, commandLine, resultName).threads(threads).build()).run();
+      if (threads == maxThreads) break;
+    }
+  }
+
+  private static ChainedOptionsBuilder options(
+      Class<?> benchmarkClass, CommandLineOptions commandLine, String resultName) {
+    // Match only the methods of this class, not of other classes sharing its name as a prefix.
+    ChainedOptionsBuilder options =
+        new OptionsBuilder()
+            .parent(commandLine)
+            .include("^" + Pattern.quote(benchmarkClass.getName()) + "\\.");
+
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      File resultFile = new File(workingDirectory(), resultName + ".json");
+      options.result(resultFile.getPath());
+    }
+    return options;
+  }
+
+  // 'bazel run' executes binaries inside the runfiles tree, but exposes the directory the user
+  // invoked it from through BUILD_WORKING_DIRECTORY.
+  private static String workingDirectory() {
+    String dir = System.getenv("BUILD_WORKING_DIRECTORY");
+    return dir != null ? dir : System.getProperty("user.dir");
+  }
+}
@@ -0,0 +1,307 @@
+/**
+ * An immutable directed graph in compressed sparse row (CSR) form.
+ *
+ * <p>The edges leaving node u are the indexes [offsets[u], offsets[u + 1]) of the targets array
+ * (and of the weights array, if the graph is weighted):
+ *
+ * <pre>
+ *   for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+ *     int v = graph.target(e);
+ *     double w = graph.weight(e);
+ *   }
+ * </pre>
+ *
+ * <p>Compared to a {@code List<List<Edge>>}, which pays for an object header, a pointer and
+ * usually boxing for every edge, plus an ArrayList per node, a CSR graph costs 4 bytes per edge
+ * (plus 8 for a weight) and 4 bytes per node. The edges of a node are also contiguous in memory,
+ * so iterating over them streams through the arrays instead of chasing pointers.
+ *
+ * <p>Graphs are created with a {@link Builder}. An undirected graph is a directed graph with both
+ * directions of every edge, see {@link Builder#addUndirectedEdge}. The weights are either doubles
+ * or longs (or absent), and weight(e) returns them as doubles either way.
+ *
+ * @author William Fiset, william.alexandre.fiset@gmail.com
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+public final class CsrGraph {
+
+  // Ranges of at most this many nodes or edges are handled by a single thread in Builder.build.
+  private static final int NODE_CUTOFF = 1 << 10;
+  private static final int EDGE_CUTOFF = 1 << 13;
+
+  private final int n;
+  private final int[] offsets, targets;
+
+  // At most one of these is non null.
+  private final double[] weights;
+  private final long[] longWeights;
+
+  private CsrGraph(int n, int[] offsets, int[] targets, double[] weights, long[] longWeights) {
+    this.n = n;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+    this.longWeights = longWeights;
+  }
+
+  public static Builder builder(int numNodes) {
+    return new Builder(numNodes);
+  }
+
+  public int numNodes() {
+    return n;
+  }
+
+  public int numEdges() {
+    return targets.length;
+  }
+
+  // Returns the index of the first edge leaving the node.
+  public int edgeStart(int node) {
+    return offsets[node];
+  }
+
+  // Returns one past the index of the last edge leaving the node.
+  public int edgeEnd(int node) {
+    return offsets[node + 1];
+  }
+
+  public int outDegree(int node) {
+    return offsets[node + 1] - offsets[node];
+  }
+
+  public int target(int edge) {
+    return targets[edge];
+  }
+
+  public boolean isWeighted() {
+    return weights != null || longWeights != null;
+  }
+
+  public boolean hasLongWeights() {
+    return longWeights != null;
+  }
+
+  // Returns the weight of the edge, or 1 if the graph is unweighted.
+  public double weight(int edge) {
+    if (weights != null) return weights[edge];
+    if (longWeights != null) return longWeights[edge];
+    return 1;
+  }
+
+  // Returns the weight of an edge of a graph built with long weights (see hasLongWeights()).
+  public long longWeight(int edge) {
+    if (longWeights == null) throw new IllegalStateException("Graph has no long weights");
+    return longWeights[edge];
+  }
+
+  // Returns true if there is an edge from u to v. The targets of a node are sorted, so this is a
+  // binary search.
+  public boolean hasEdge(int u, int v) {
+    return Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v) >= 0;
+  }
+
+  /** Returns the graph with every edge reversed, and the same weights. */
+  public CsrGraph transpose() {
+    Builder builder = new Builder(n);
+    builder.ensureCapacity(targets.length);
+    for (int u = 0; u < n; u++) {
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        if (weights != null) builder.addEdge(targets[e], u, weights[e]);
+        else if (longWeights != null) builder.addEdge(targets[e], u, longWeights[e]);
+        else builder.addEdge(targets[e], u);
+      }
+    }
+    return builder.build();
+  }
+
+  /** Returns the number of bytes used by the arrays of the graph. */
+  public long sizeInBytes() {
+    long bytes = 4L * offsets.length + 4L * targets.length;
+    if (weights != null) bytes += 8L * weights.length;
+    if (longWeights != null) bytes += 8L * longWeights.length;
+    return bytes;
+  }
+
+  /**
+   * Collects edges in any order and turns them into a {@link CsrGraph}.
+   *
+   * <p>build() first buckets the edges by source node with a counting sort, which takes linear
+   * time and keeps the edges of a node in the order they were added. It then sorts the edges of
+   * every node by target, in parallel across nodes, which makes the graph independent of the
+   * insertion order, gives traversals a more sequential memory access pattern, and allows {@link
+   * CsrGraph#hasEdge} to binary search. Edges with the same source and target (parallel edges) are
+   * all kept, in insertion order.
+   *
+   * <p>All edges of a builder must be of the same kind: unweighted, double weighted, or long
+   * weighted.
+   */
+  public static final class Builder {
+
+    private enum WeightType {
+      NONE,
+      DOUBLE,
+      LONG
+    }
+
+    private final int n;
+    private int m;
+    private int[] from = new int[16], to = new int[16];
+    private double[] weights;
+    private long[] longWeights;
+    private WeightType weightType;
+
+    private Builder(int numNodes) {
+      if (numNodes < 0) throw new IllegalArgumentException("Illegal numNodes: " + numNodes);
+      n = numNodes;
+    }
+
+    public int numNodes() {
+      return n;
+    }
+
+    public int numEdges() {
+      return m;
+    }
+
+    public Builder addEdge(int from, int to) {
+      add(from, to, WeightType.NONE);
+      return this;
+    }
+
+    public Builder addEdge(int from, int to, double weight) {
+      add(from, to, WeightType.DOUBLE);
+      weights[m - 1] = weight;
+      return this;
+    }
+
+    public Builder addEdge(int from, int to, long weight) {
+      add(from, to, WeightType.LONG);
+      longWeights[m - 1] = weight;
+      return this;
+    }
+
+    public Builder addUndirectedEdge(int u, int v) {
+      return addEdge(u, v).addEdge(v, u);
+    }
+
+    public Builder addUndirectedEdge(int u, int v, double weight) {
+      return addEdge(u, v, weight).addEdge(v, u, weight);
+    }
+
+    public Builder addUndirectedEdge(int u, int v, long weight) {
+      return addEdge(u, v, weight).addEdge(v, u, weight);
+    }
+
+    private void add(int u, int v, WeightType type) {
+      if (u < 0 || u >= n || v < 0 || v >= n)
+        throw new IllegalArgumentException("Edge (" + u + ", " + v + ") out of range");
+      if (weightType == null) weightType = type;
+      else if (weightType != type)
+        throw new IllegalStateException("Cannot mix " + weightType + " and " + type + " edges");
+      if (m == Integer.MAX_VALUE - 8) throw new IllegalStateException("Too many edges");
+      ensureCapacity(m + 1);
+      from[m] = u;
+      to[m] = v;
+      m++;
+    }
+
+    // Grows the edge arrays so that they hold at least 'capacity' edges.
+    void ensureCapacity(int capacity) {
+      if (capacity > from.length) {
+        int newCapacity =
+            (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, 2L * from.length));
+        from = Arrays.copyOf(from, newCapacity);
+        to = Arrays.copyOf(to, newCapacity);
+      }
+      // The weight arrays are allocated on the first edge, once the weight type is known.
+      int length = from.length;
+      if (weightType == WeightType.DOUBLE && (weights == null || weights.length < length))
+        weights = weights == null ? new double[length] : Arrays.copyOf(weights, length);
+      if (weightType == WeightType.LONG && (longWeights == null || longWeights.length < length))
+        longWeights = longWeights == null ? new long[length] : Arrays.copyOf(longWeights, length);
+    }
+
+    public CsrGraph build() {
+      // Counting sort by source: offsets[u + 1] starts as the out degree of u, the prefix sums
+      // turn it into the end of u's edges, and a second array of cursors places every edge.
+      int[] offsets = new int[n + 1];
+      for (int i = 0; i < m; i++) offsets[from[i] + 1]++;
+      Arrays.parallelPrefix(offsets, Integer::sum);
+
+      int[] cursor = Arrays.copyOf(offsets, n);
+      int[] order = new int[m];
+      for (int i = 0; i < m; i++) order[cursor[from[i]]++] = i;
+
+      // Sort the edges of every node by (target, insertion order). The two are packed into a long
+      // so that a plain primitive sort, which needs no extra memory, does the job.
+      long[] keys = new long[m];
+      forEach(
+          n,
+          NODE_CUTOFF,
+          u -> {
+            int start = offsets[u], end = offsets[u + 1];
+            boolean sorted = true;
+            for (int e = start; e < end; e++) {
+              keys[e] = (long) to[order[e]] << 32 | order[e];
+              if (e > start && keys[e] < keys[e - 1]) sorted = false;
+            }
+            if (!sorted) Arrays.sort(keys, start, end);
+          });
+
+      int[] targets = new int[m];
+      double[] sortedWeights = weightType == WeightType.DOUBLE ? new double[m] : null;
+      long[] sortedLongWeights = weightType == WeightType.LONG ? new long[m] : null;
+      forEach(
+          m,
+          EDGE_CUTOFF,
+          e -> {
+            int i = (int) keys[e];
+            targets[e] = to[i];
+            if (sortedWeights != null) sortedWeights[e] = weights[i];
+            if (sortedLongWeights != null) sortedLongWeights[e] = longWeights[i];
+          });
+      return new CsrGraph(n, offsets, targets, sortedWeights, sortedLongWeights);
+    }
+  }
+
+  // Runs the action on 0 to count - 1 on the common fork/join pool.
+  private static void forEach(int count, int cutoff, IntConsumer action) {
+    if (count > 0) {
+      ForkJoinPool.commonPool().invoke(new RangeTask(0, count, cutoff, action));
+    }
+  }
+
+  // Runs the action on lo to hi - 1, splitting the range while it's larger than the cutoff.
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi, cutoff;
+    final IntConsumer action;
+
+    RangeTask(int lo, int hi, int cutoff, IntConsumer action) {
+      this.lo = lo;
+      this.hi = hi;
+      this.cutoff = cutoff;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= cutoff) {
+        for (int i = lo; i < hi; i++) {
+          action.accept(i);
+        }
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new RangeTask(lo, mid, cutoff, action), new RangeTask(mid, hi, cutoff, action));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+
+public class BinaryFuseFilterTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  static long[] hashes(int n) {
+    long[] hashes = new long[n];
+    for (int i = 0; i < n; i++) hashes[i] = RANDOM.nextLong();
+    return hashes;
+  }
+
+  @Test
+  public void testSmallSets() {
+    for (int n = 0; n <= 100; n++) {
+      long[] hashes = hashes(n);
+      BinaryFuseFilter filter = new BinaryFuseFilter(hashes);
+      for (long hash : hashes) assertThat(filter.contains(hash)).isTrue();
+    }
+  }
+
+  @Test
+  public void testNoFalseNegatives() {
+    long[] hashes = hashes(100000);
+    BinaryFuseFilter filter = new BinaryFuseFilter(hashes);
+    for (long hash : hashes) assertThat(filter.contains(hash)).isTrue();
+  }
+
+  @Test
+  public void testDuplicates() {
+    long[] hashes = new long[3000];
+    for (int i = 0; i < hashes.length; i++) hashes[i] = BlockedBloomFilter.hash(i % 1000);
+    BinaryFuseFilter filter = new BinaryFuseFilter(hashes);
+    for (long hash : hashes) assertThat(filter.contains(hash)).isTrue();
+    // Sized for the distinct keys only.
+    long[] distinct = new long[1000];
+    for (int i = 0; i < distinct.length; i++) distinct[i] = BlockedBloomFilter.hash(i);
+    assertThat(filter.getNumBits()).isEqualTo(new BinaryFuseFilter(distinct).getNumBits());
+  }
+
+  // Enough copies of one hash overflow the 6-bit counts, which used to fail every seed before the
+  // duplicates were removed.
+  @Test
+  public void testHeavilyDuplicatedHashes() {
+    long[] hashes = new long[100 * 30];
+    for (int i = 0; i < hashes.length; i++) hashes[i] = BlockedBloomFilter.hash(i / 30);
+    BinaryFuseFilter filter = new BinaryFuseFilter(hashes);
+    for (long hash : hashes) assertThat(filter.contains(hash)).isTrue();
+
+    long[] same = new long[1000];
+    Arrays.fill(same, 42L);
+    assertThat(new BinaryFuseFilter(same).contains(42L)).isTrue();
+  }
+
+  // 200000 keys need about 1.16 bytes per key (1.125 for the largest sets), and 8-bit fingerprints
+  // give a 1/256 false positive rate.
+  @Test
+  public void testSpaceAndFalsePositiveRate() {
+    int n = 200000;
+    BinaryFuseFilter filter = new BinaryFuseFilter(hashes(n));
+    assertThat((double) filter.getNumBits() / n).isAtMost(9.5);
+
+    int trials = 500000, falsePositives = 0;
+    for (int i = 0; i < trials; i++) if (filter.contains(RANDOM.nextLong())) falsePositives++;
+    double rate = (double) falsePositives / trials;
+    assertThat(rate).isWithin(0.0006).of(1.0 / 256);
+  }
+}
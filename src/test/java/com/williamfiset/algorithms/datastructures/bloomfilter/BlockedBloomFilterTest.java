@@ -0,0 +1,217 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+
+public class BlockedBloomFilterTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(100, 0));
+    assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(100, 1));
+    assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(1L << 40, 0.01));
+  }
+
+  @Test
+  public void testSizing() {
+    BlockedBloomFilter filter = new BlockedBloomFilter(100000, 0.01);
+    // A classic bloom filter needs ~9.6 bits per key for 1%, the blocked one needs a bit more.
+    assertThat(filter.getNumBits()).isAtLeast(958506);
+    assertThat(filter.getNumBits()).isAtMost(1200000);
+    assertThat(filter.getNumBits() % BlockedBloomFilter.BLOCK_BITS).isEqualTo(0);
+    assertThat(filter.expectedFalsePositiveRate(100000)).isAtMost(0.01);
+
+    // Lower rates need more hashes.
+    assertThat(new BlockedBloomFilter(1000, 1e-6).getNumHashes())
+        .isGreaterThan(filter.getNumHashes());
+  }
+
+  @Test
+  public void testFalsePositiveRateModel() {
+    // With a single hash, a query hits a set bit with probability 1 - E[(1 - 1/512)^J] where J is
+    // Poisson distributed, which has the closed form 1 - exp(-lambda/512).
+    assertThat(BlockedBloomFilter.falsePositiveRate(1000, 1, 3000))
+        .isWithin(1e-9)
+        .of(-Math.expm1(-3.0 / 512));
+  }
+
+  @Test
+  public void testNoFalseNegatives() {
+    BlockedBloomFilter filter = new BlockedBloomFilter(10000, 0.001);
+    long[] keys = new long[10000];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = RANDOM.nextLong();
+      filter.add(BlockedBloomFilter.hash(keys[i]));
+    }
+    for (long key : keys) assertThat(filter.contains(BlockedBloomFilter.hash(key))).isTrue();
+
+    filter.clear();
+    int present = 0;
+    for (long key : keys) if (filter.contains(BlockedBloomFilter.hash(key))) present++;
+    assertThat(present).isEqualTo(0);
+  }
+
+  @Test
+  public void testStrings() {
+    BlockedBloomFilter filter = new BlockedBloomFilter(100, 0.01);
+    String[] words = {"apple", "banana", "cherry", "", "a much longer string with spaces"};
+    for (String word : words) filter.add(BlockedBloomFilter.hash(word));
+    for (String word : words) assertThat(filter.contains(BlockedBloomFilter.hash(word))).isTrue();
+  }
+
+  @Test
+  public void testMeasuredFalsePositiveRate() {
+    for (double target : new double[] {0.05, 0.01, 0.001}) {
+      int n = 50000;
+      BlockedBloomFilter filter = new BlockedBloomFilter(n, target);
+      for (int i = 0; i < n; i++) filter.add(BlockedBloomFilter.hash(i));
+
+      int trials = 500000, falsePositives = 0;
+      for (int i = 0; i < trials; i++)
+        if (filter.contains(BlockedBloomFilter.hash(n + (long) i))) falsePositives++;
+      double rate = (double) falsePositives / trials;
+      assertThat(rate).isAtMost(target * 1.2);
+      assertThat(rate).isAtLeast(target * 0.5);
+    }
+  }
+
+  @Test
+  public void testBatchMethodsMatchSingleKeyMethods() {
+    BlockedBloomFilter single = new BlockedBloomFilter(5000, 0.02);
+    BlockedBloomFilter batch = new BlockedBloomFilter(5000, 0.02);
+
+    // An odd length so that the last batch is partial.
+    long[] added = new long[4999];
+    for (int i = 0; i < added.length; i++) added[i] = BlockedBloomFilter.hash(RANDOM.nextLong());
+    for (long hash : added) single.add(hash);
+    batch.addAll(added);
+    assertThat(batch.containsAll(added)).isTrue();
+
+    long[] queries = new long[1001];
+    for (int i = 0; i < queries.length; i++)
+      queries[i] = i % 2 == 0 ? added[i] : BlockedBloomFilter.hash(RANDOM.nextLong());
+    boolean[] results = new boolean[queries.length];
+    int count = batch.containsAll(queries, results);
+
+    int expectedCount = 0;
+    for (int i = 0; i < queries.length; i++) {
+      assertThat(results[i]).isEqualTo(single.contains(queries[i]));
+      if (results[i]) expectedCount++;
+    }
+    assertThat(count).isEqualTo(expectedCount);
+    assertThat(count).isAtLeast(501);
+    assertThat(batch.containsAll(queries)).isEqualTo(expectedCount == queries.length);
+
+    assertThrows(IllegalArgumentException.class, () -> batch.containsAll(queries, new boolean[5]));
+  }
+
+  @Test
+  public void testUnionAndIntersect() {
+    BlockedBloomFilter a = new BlockedBloomFilter(2000, 0.01);
+    BlockedBloomFilter b = new BlockedBloomFilter(2000, 0.01);
+    BlockedBloomFilter both = new BlockedBloomFilter(2000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      a.add(BlockedBloomFilter.hash(i));
+      b.add(BlockedBloomFilter.hash(i + 500));
+      both.add(BlockedBloomFilter.hash(i));
+      both.add(BlockedBloomFilter.hash(i + 500));
+    }
+    assertThat(a.isCompatible(b)).isTrue();
+
+    BlockedBloomFilter union = BlockedBloomFilter.fromByteArray(a.toByteArray());
+    union.union(b);
+    // The union is bit for bit the filter built from all the keys.
+    assertThat(union.toByteArray()).isEqualTo(both.toByteArray());
+
+    BlockedBloomFilter intersection = BlockedBloomFilter.fromByteArray(a.toByteArray());
+    intersection.intersect(b);
+    for (int i = 500; i < 1000; i++)
+      assertThat(intersection.contains(BlockedBloomFilter.hash(i))).isTrue();
+    int present = 0;
+    for (int i = 0; i < 500; i++) if (intersection.contains(BlockedBloomFilter.hash(i))) present++;
+    assertThat(present).isLessThan(50);
+
+    BlockedBloomFilter other = new BlockedBloomFilter(2000, 0.001);
+    assertThat(a.isCompatible(other)).isFalse();
+    assertThrows(IllegalArgumentException.class, () -> a.union(other));
+    assertThrows(IllegalArgumentException.class, () -> a.intersect(other));
+  }
+
+  @Test
+  public void testSerialization() {
+    BlockedBloomFilter filter = new BlockedBloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) filter.add(BlockedBloomFilter.hash(i));
+
+    byte[] bytes = filter.toByteArray();
+    assertThat((long) bytes.length).isEqualTo(filter.serializedSize());
+    assertThat(bytes.length).isEqualTo(BlockedBloomFilter.HEADER_BYTES + filter.getNumBits() / 8);
+
+    // Written after some other data, and followed by more.
+    ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 12);
+    buffer.putInt(7);
+    filter.writeTo(buffer);
+    buffer.putLong(-1);
+    buffer.flip();
+    assertThat(buffer.getInt()).isEqualTo(7);
+    BlockedBloomFilter copy = BlockedBloomFilter.readFrom(buffer);
+    assertThat(buffer.getLong()).isEqualTo(-1);
+
+    assertThat(copy.getNumBits()).isEqualTo(filter.getNumBits());
+    assertThat(copy.getNumHashes()).isEqualTo(filter.getNumHashes());
+    assertThat(copy.toByteArray()).isEqualTo(bytes);
+    for (int i = 0; i < 1000; i++) assertThat(copy.contains(BlockedBloomFilter.hash(i))).isTrue();
+  }
+
+  @Test
+  public void testMemoryMappedFile() throws IOException {
+    BlockedBloomFilter filter = new BlockedBloomFilter(5000, 0.01);
+    for (int i = 0; i < 5000; i++) filter.add(BlockedBloomFilter.hash(i));
+
+    Path file = Files.createTempFile("blocked-bloom-filter", ".bin");
+    try {
+      Files.write(file, filter.toByteArray());
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        BlockedBloomFilter copy = BlockedBloomFilter.readFrom(buffer);
+        assertThat(buffer.remaining()).isEqualTo(0);
+        assertThat(copy.toByteArray()).isEqualTo(filter.toByteArray());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testCorruptSerialization() {
+    byte[] bytes = new BlockedBloomFilter(100, 0.01).toByteArray();
+    assertThrows(
+        IllegalArgumentException.class, () -> BlockedBloomFilter.fromByteArray(new byte[3]));
+
+    byte[] badMagic = bytes.clone();
+    badMagic[0] ^= 1;
+    assertThrows(IllegalArgumentException.class, () -> BlockedBloomFilter.fromByteArray(badMagic));
+
+    byte[] badHashes = bytes.clone();
+    badHashes[8] = 100;
+    assertThrows(
+        IllegalArgumentException.class, () -> BlockedBloomFilter.fromByteArray(badHashes));
+
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    assertThrows(
+        IllegalArgumentException.class, () -> BlockedBloomFilter.fromByteArray(truncated));
+  }
+}
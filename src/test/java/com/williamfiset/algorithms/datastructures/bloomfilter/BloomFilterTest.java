@@ -100,6 +100,20 @@ public class BloomFilterTest {
     }
   }
 
+  @Test
+  public void testBitSetSizesAreInBits() {
+    BloomFilter filter = new BloomFilter(new int[] {100, 64, 1000});
+    // 2 + 1 + 16 longs.
+    assertThat(filter.getNumBits()).isEqualTo(19 * 64);
+
+    long[] hashes = {99, 63, 999};
+    filter.add(hashes);
+    assertThat(filter.contains(hashes)).isTrue();
+    assertThat(filter.contains(new long[] {98, 63, 999})).isFalse();
+    // Like add(), contains() reduces the hashes modulo the size of their bitset.
+    assertThat(filter.contains(new long[] {199, 127, 1999})).isTrue();
+  }
+
   static int randNum(int min, int max) {
     int range = max - min + 1;
     return rand.nextInt(range) + min;
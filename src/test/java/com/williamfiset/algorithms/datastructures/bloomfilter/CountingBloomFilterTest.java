@@ -0,0 +1,172 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class CountingBloomFilterTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 0));
+    assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1.5));
+    assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(1L << 40, 0.01));
+  }
+
+  @Test
+  public void testSizing() {
+    CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+    // m = -1000 ln(0.01) / ln(2)^2 = 9585.06, rounded up to a multiple of 16.
+    assertThat(filter.getNumCounters()).isEqualTo(9600);
+    assertThat(filter.getNumHashes()).isEqualTo(7);
+  }
+
+  @Test
+  public void testAddRemove() {
+    CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+    long a = BlockedBloomFilter.hash(1), b = BlockedBloomFilter.hash(2);
+    assertThat(filter.contains(a)).isFalse();
+    assertThat(filter.remove(a)).isFalse();
+
+    filter.add(a);
+    filter.add(a);
+    filter.add(b);
+    assertThat(filter.count(a)).isAtLeast(2);
+    assertThat(filter.remove(a)).isTrue();
+    assertThat(filter.contains(a)).isTrue();
+    assertThat(filter.remove(a)).isTrue();
+    assertThat(filter.contains(a)).isFalse();
+    assertThat(filter.contains(b)).isTrue();
+
+    filter.clear();
+    assertThat(filter.contains(b)).isFalse();
+  }
+
+  // Inserts and deletes random keys, checking against a multiset that no key which is present is
+  // ever reported missing, and that deleted keys really go away.
+  @Test
+  public void randomOperations() {
+    CountingBloomFilter filter = new CountingBloomFilter(5000, 0.001);
+    Map<Long, Integer> counts = new HashMap<>();
+    List<Long> keys = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) keys.add(RANDOM.nextLong());
+
+    for (int op = 0; op < 50000; op++) {
+      long key = keys.get(RANDOM.nextInt(keys.size()));
+      long hash = BlockedBloomFilter.hash(key);
+      int count = counts.getOrDefault(key, 0);
+      if (count > 0 && RANDOM.nextBoolean()) {
+        assertThat(filter.remove(hash)).isTrue();
+        counts.put(key, count - 1);
+      } else {
+        filter.add(hash);
+        counts.put(key, count + 1);
+      }
+    }
+
+    int missing = 0;
+    for (long key : keys) {
+      long hash = BlockedBloomFilter.hash(key);
+      int count = counts.getOrDefault(key, 0);
+      if (count > 0) {
+        assertThat(filter.contains(hash)).isTrue();
+        assertThat(filter.count(hash)).isAtLeast(Math.min(count, CountingBloomFilter.MAX_COUNT));
+      } else if (!filter.contains(hash)) missing++;
+    }
+    // Almost all keys with a count of 0 should be gone.
+    int absent = 0;
+    for (int count : counts.values()) if (count == 0) absent++;
+    assertThat(missing).isAtLeast(absent * 9 / 10);
+  }
+
+  @Test
+  public void testMeasuredFalsePositiveRate() {
+    int n = 20000;
+    CountingBloomFilter filter = new CountingBloomFilter(n, 0.01);
+    // Add twice as many keys, then remove half of them.
+    for (int i = 0; i < 2 * n; i++) filter.add(BlockedBloomFilter.hash(i));
+    for (int i = n; i < 2 * n; i++) assertThat(filter.remove(BlockedBloomFilter.hash(i))).isTrue();
+    for (int i = 0; i < n; i++) assertThat(filter.contains(BlockedBloomFilter.hash(i))).isTrue();
+
+    int trials = 200000, falsePositives = 0;
+    for (int i = 0; i < trials; i++)
+      if (filter.contains(BlockedBloomFilter.hash(3L * n + i))) falsePositives++;
+    double rate = (double) falsePositives / trials;
+    assertThat(rate).isAtMost(0.012);
+    assertThat(rate).isAtLeast(0.005);
+  }
+
+  @Test
+  public void testCountersSaturate() {
+    CountingBloomFilter filter = new CountingBloomFilter(10, 0.1);
+    long hash = BlockedBloomFilter.hash(42);
+    for (int i = 0; i < 20; i++) filter.add(hash);
+    assertThat(filter.count(hash)).isEqualTo(CountingBloomFilter.MAX_COUNT);
+    // A saturated counter does not know how many keys it counts, so it never goes back down.
+    for (int i = 0; i < 20; i++) assertThat(filter.remove(hash)).isTrue();
+    assertThat(filter.contains(hash)).isTrue();
+  }
+
+  @Test
+  public void testUnionAndIntersect() {
+    CountingBloomFilter a = new CountingBloomFilter(1000, 0.01);
+    CountingBloomFilter b = new CountingBloomFilter(1000, 0.01);
+    for (int i = 0; i < 400; i++) a.add(BlockedBloomFilter.hash(i));
+    for (int i = 200; i < 600; i++) b.add(BlockedBloomFilter.hash(i));
+
+    CountingBloomFilter union = CountingBloomFilter.fromByteArray(a.toByteArray());
+    union.union(b);
+    for (int i = 0; i < 600; i++) assertThat(union.contains(BlockedBloomFilter.hash(i))).isTrue();
+    // Keys added to both filters are counted twice, and can be removed from the union one by one.
+    for (int i = 200; i < 400; i++)
+      assertThat(union.count(BlockedBloomFilter.hash(i))).isAtLeast(2);
+    for (int i = 0; i < 200; i++) assertThat(union.remove(BlockedBloomFilter.hash(i))).isTrue();
+    for (int i = 200; i < 600; i++) assertThat(union.contains(BlockedBloomFilter.hash(i))).isTrue();
+
+    CountingBloomFilter intersection = CountingBloomFilter.fromByteArray(a.toByteArray());
+    intersection.intersect(b);
+    for (int i = 200; i < 400; i++)
+      assertThat(intersection.contains(BlockedBloomFilter.hash(i))).isTrue();
+    int present = 0;
+    for (int i = 0; i < 200; i++) if (intersection.contains(BlockedBloomFilter.hash(i))) present++;
+    assertThat(present).isLessThan(20);
+
+    CountingBloomFilter other = new CountingBloomFilter(2000, 0.01);
+    assertThat(a.isCompatible(other)).isFalse();
+    assertThrows(IllegalArgumentException.class, () -> a.union(other));
+  }
+
+  @Test
+  public void testSerialization() {
+    CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) filter.add(BlockedBloomFilter.hash(i % 300));
+
+    byte[] bytes = filter.toByteArray();
+    assertThat((long) bytes.length).isEqualTo(filter.serializedSize());
+    assertThat(bytes.length)
+        .isEqualTo(CountingBloomFilter.HEADER_BYTES + filter.getNumCounters() / 2);
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    CountingBloomFilter copy = CountingBloomFilter.readFrom(buffer);
+    assertThat(buffer.remaining()).isEqualTo(0);
+    assertThat(copy.getNumCounters()).isEqualTo(filter.getNumCounters());
+    assertThat(copy.getNumHashes()).isEqualTo(filter.getNumHashes());
+    for (int i = 0; i < 300; i++) {
+      long hash = BlockedBloomFilter.hash(i);
+      assertThat(copy.count(hash)).isEqualTo(filter.count(hash));
+    }
+
+    // The formats of the different filters are not interchangeable.
+    byte[] blocked = new BlockedBloomFilter(1000, 0.01).toByteArray();
+    assertThrows(IllegalArgumentException.class, () -> CountingBloomFilter.fromByteArray(blocked));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> CountingBloomFilter.fromByteArray(Arrays.copyOf(bytes, bytes.length - 8)));
+  }
+}
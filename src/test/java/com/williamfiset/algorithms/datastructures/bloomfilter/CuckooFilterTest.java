@@ -0,0 +1,140 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class CuckooFilterTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(100, 0.0));
+    assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(100, 3));
+    assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(100, 33));
+    assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(1L << 40, 0.01));
+  }
+
+  @Test
+  public void testFingerprintBits() {
+    // The false positive rate is about 8 / 2^f.
+    assertThat(new CuckooFilter(100, 0.01).getFingerprintBits()).isEqualTo(10);
+    assertThat(new CuckooFilter(100, 0.001).getFingerprintBits()).isEqualTo(13);
+    assertThat(new CuckooFilter(100, 0.5).getFingerprintBits())
+        .isEqualTo(CuckooFilter.MIN_FINGERPRINT_BITS);
+    assertThat(new CuckooFilter(100, 1e-12).getFingerprintBits())
+        .isEqualTo(CuckooFilter.MAX_FINGERPRINT_BITS);
+  }
+
+  @Test
+  public void testAddContainsRemove() {
+    CuckooFilter filter = new CuckooFilter(100, 0.01);
+    long a = BlockedBloomFilter.hash(1), b = BlockedBloomFilter.hash(2);
+    assertThat(filter.isEmpty()).isTrue();
+    assertThat(filter.contains(a)).isFalse();
+    assertThat(filter.remove(a)).isFalse();
+
+    assertThat(filter.add(a)).isTrue();
+    assertThat(filter.add(a)).isTrue();
+    assertThat(filter.add(b)).isTrue();
+    assertThat(filter.size()).isEqualTo(3);
+
+    // A key added twice needs two removes.
+    assertThat(filter.remove(a)).isTrue();
+    assertThat(filter.contains(a)).isTrue();
+    assertThat(filter.remove(a)).isTrue();
+    assertThat(filter.contains(a)).isFalse();
+    assertThat(filter.contains(b)).isTrue();
+    assertThat(filter.size()).isEqualTo(1);
+
+    filter.clear();
+    assertThat(filter.contains(b)).isFalse();
+    assertThat(filter.isEmpty()).isTrue();
+  }
+
+  // Every fingerprint width has its own packing, including the ones which straddle two longs.
+  @Test
+  public void testAllFingerprintSizes() {
+    for (int bits = CuckooFilter.MIN_FINGERPRINT_BITS;
+        bits <= CuckooFilter.MAX_FINGERPRINT_BITS;
+        bits++) {
+      CuckooFilter filter = new CuckooFilter(1000, bits);
+      for (int i = 0; i < 1000; i++) assertThat(filter.add(BlockedBloomFilter.hash(i))).isTrue();
+      for (int i = 0; i < 1000; i++)
+        assertThat(filter.contains(BlockedBloomFilter.hash(i))).isTrue();
+      for (int i = 0; i < 1000; i += 2)
+        assertThat(filter.remove(BlockedBloomFilter.hash(i))).isTrue();
+      for (int i = 1; i < 1000; i += 2)
+        assertThat(filter.contains(BlockedBloomFilter.hash(i))).isTrue();
+      assertThat(filter.size()).isEqualTo(500);
+    }
+  }
+
+  // Fills the filter until it refuses a key. It must hold at least its capacity by then, and every
+  // key it accepted must still be found.
+  @Test
+  public void testFillUp() {
+    CuckooFilter filter = new CuckooFilter(10000, 0.001);
+    int added = 0;
+    while (filter.add(BlockedBloomFilter.hash(added))) added++;
+    assertThat((long) added).isAtLeast(filter.getCapacity());
+    assertThat(filter.getLoadFactor()).isAtLeast(CuckooFilter.MAX_LOAD_FACTOR);
+    for (int i = 0; i < added; i++)
+      assertThat(filter.contains(BlockedBloomFilter.hash(i))).isTrue();
+
+    // Once some keys are removed there is room again.
+    for (int i = 0; i < 100; i++) assertThat(filter.remove(BlockedBloomFilter.hash(i))).isTrue();
+    for (int i = 100; i < added; i++)
+      assertThat(filter.contains(BlockedBloomFilter.hash(i))).isTrue();
+    assertThat(filter.add(BlockedBloomFilter.hash(added))).isTrue();
+  }
+
+  @Test
+  public void testMeasuredFalsePositiveRate() {
+    for (double target : new double[] {0.01, 0.001}) {
+      int n = 50000;
+      CuckooFilter filter = new CuckooFilter(n, target);
+      for (int i = 0; i < n; i++) assertThat(filter.add(BlockedBloomFilter.hash(i))).isTrue();
+
+      int trials = 500000, falsePositives = 0;
+      for (int i = 0; i < trials; i++)
+        if (filter.contains(BlockedBloomFilter.hash(n + (long) i))) falsePositives++;
+      double rate = (double) falsePositives / trials;
+      assertThat(rate).isAtMost(target);
+      assertThat(rate).isAtLeast(target / 4);
+    }
+  }
+
+  // Mixes adds and removes of random keys and compares against a multiset.
+  @Test
+  public void randomOperations() {
+    CuckooFilter filter = new CuckooFilter(4000, 16);
+    Map<Long, Integer> counts = new HashMap<>();
+    long[] keys = new long[2000];
+    for (int i = 0; i < keys.length; i++) keys[i] = RANDOM.nextLong();
+
+    for (int op = 0; op < 50000; op++) {
+      long key = keys[RANDOM.nextInt(keys.length)];
+      int count = counts.getOrDefault(key, 0);
+      if (count > 0 && RANDOM.nextBoolean()) {
+        assertThat(filter.remove(BlockedBloomFilter.hash(key))).isTrue();
+        counts.put(key, count - 1);
+      } else if (count < 2) {
+        assertThat(filter.add(BlockedBloomFilter.hash(key))).isTrue();
+        counts.put(key, count + 1);
+      }
+    }
+
+    long size = 0;
+    for (long key : keys) {
+      int count = counts.getOrDefault(key, 0);
+      if (count > 0) assertThat(filter.contains(BlockedBloomFilter.hash(key))).isTrue();
+      size += count;
+    }
+    assertThat(filter.size()).isEqualTo(size);
+  }
+}
@@ -0,0 +1,106 @@
+package com.williamfiset.algorithms.datastructures.bloomfilter;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.jupiter.api.*;
+
+public class ScalableBloomFilterTest {
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0));
+    assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0.01, 0, 0.5));
+    assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0.01, 2, 1));
+  }
+
+  @Test
+  public void testEmpty() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+    assertThat(filter.size()).isEqualTo(0);
+    assertThat(filter.getNumFilters()).isEqualTo(0);
+    assertThat(filter.contains(BlockedBloomFilter.hash(1))).isFalse();
+    assertThat(filter.expectedFalsePositiveRate()).isEqualTo(0.0);
+  }
+
+  @Test
+  public void testGrowth() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+    for (int i = 0; i < 100; i++) filter.add(BlockedBloomFilter.hash(i));
+    assertThat(filter.getNumFilters()).isEqualTo(1);
+
+    // Capacities 100, 200, 400 and 800 hold 1500 keys; a few keys may be false positives which are
+    // not added.
+    for (int i = 100; i < 1500; i++) filter.add(BlockedBloomFilter.hash(i));
+    assertThat(filter.getNumFilters()).isEqualTo(4);
+    assertThat(filter.size()).isAtLeast(1490);
+    for (int i = 0; i < 1500; i++) assertThat(filter.contains(BlockedBloomFilter.hash(i))).isTrue();
+
+    filter.clear();
+    assertThat(filter.getNumFilters()).isEqualTo(0);
+    assertThat(filter.contains(BlockedBloomFilter.hash(1))).isFalse();
+  }
+
+  @Test
+  public void testDuplicatesAreNotCounted() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(10, 0.01);
+    assertThat(filter.add(BlockedBloomFilter.hash(7))).isTrue();
+    for (int i = 0; i < 100; i++) assertThat(filter.add(BlockedBloomFilter.hash(7))).isFalse();
+    assertThat(filter.size()).isEqualTo(1);
+    assertThat(filter.getNumFilters()).isEqualTo(1);
+  }
+
+  // Grows the filter to 64 times its initial capacity, the false positive rate must still be
+  // around (and not above) the target.
+  @Test
+  public void testFalsePositiveRateStaysBounded() {
+    double target = 0.01;
+    ScalableBloomFilter filter = new ScalableBloomFilter(1000, target);
+    int n = 64000;
+    for (int i = 0; i < n; i++) filter.add(BlockedBloomFilter.hash(i));
+    assertThat(filter.expectedFalsePositiveRate()).isAtMost(target);
+
+    int trials = 300000, falsePositives = 0;
+    for (int i = 0; i < trials; i++)
+      if (filter.contains(BlockedBloomFilter.hash(n + (long) i))) falsePositives++;
+    double rate = (double) falsePositives / trials;
+    assertThat(rate).isAtMost(target * 1.1);
+    assertThat(rate).isAtLeast(target * 0.2);
+  }
+
+  @Test
+  public void testSerialization() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01, 3, 0.8);
+    for (int i = 0; i < 1000; i++) filter.add(BlockedBloomFilter.hash(i));
+
+    byte[] bytes = filter.toByteArray();
+    assertThat((long) bytes.length).isEqualTo(filter.serializedSize());
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    ScalableBloomFilter copy = ScalableBloomFilter.readFrom(buffer);
+    assertThat(buffer.remaining()).isEqualTo(0);
+
+    assertThat(copy.size()).isEqualTo(filter.size());
+    assertThat(copy.getNumFilters()).isEqualTo(filter.getNumFilters());
+    assertThat(copy.getNumBits()).isEqualTo(filter.getNumBits());
+    assertThat(copy.toByteArray()).isEqualTo(bytes);
+
+    // The copy keeps growing exactly like the original.
+    for (int i = 1000; i < 5000; i++) {
+      long hash = BlockedBloomFilter.hash(i);
+      assertThat(copy.add(hash)).isEqualTo(filter.add(hash));
+    }
+    assertThat(copy.toByteArray()).isEqualTo(filter.toByteArray());
+
+    // An empty filter round trips too.
+    ScalableBloomFilter empty =
+        ScalableBloomFilter.fromByteArray(new ScalableBloomFilter(5, 0.1).toByteArray());
+    assertThat(empty.getNumFilters()).isEqualTo(0);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScalableBloomFilter.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)));
+  }
+}
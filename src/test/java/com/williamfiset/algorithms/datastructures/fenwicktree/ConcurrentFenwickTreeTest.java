@@ -0,0 +1,106 @@
+package com.williamfiset.algorithms.datastructures.fenwicktree;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.*;
+
+public class ConcurrentFenwickTreeTest {
+
+  static final int TEST_SZ = 1000;
+  static final int THREADS = 4;
+  static final int ADDS_PER_THREAD = 20_000;
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentFenwickTree(null));
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentFenwickTree(-1));
+  }
+
+  @Test
+  public void testIndexOutOfRange() {
+    ConcurrentFenwickTree ft = new ConcurrentFenwickTree(5);
+    assertThrows(IndexOutOfBoundsException.class, () -> ft.add(0, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> ft.add(6, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> ft.sum(0, 3));
+    assertThrows(IllegalArgumentException.class, () -> ft.sum(3, 2));
+  }
+
+  @Test
+  public void testMatchesSequentialFenwickTree() {
+    Random random = new Random(1);
+    long[] values = new long[TEST_SZ + 1];
+    for (int i = 1; i <= TEST_SZ; i++) values[i] = random.nextInt(2001) - 1000;
+    ConcurrentFenwickTree ft = new ConcurrentFenwickTree(values);
+    FenwickTreeRangeQueryPointUpdate expected = new FenwickTreeRangeQueryPointUpdate(values);
+    assertThat(ft.size()).isEqualTo(TEST_SZ);
+
+    for (int loop = 0; loop < 10_000; loop++) {
+      int l = 1 + random.nextInt(TEST_SZ);
+      int r = l + random.nextInt(TEST_SZ - l + 1);
+      if (random.nextBoolean()) {
+        long v = random.nextInt(2001) - 1000;
+        ft.add(l, v);
+        expected.add(l, v);
+      } else {
+        assertThat(ft.sum(l, r)).isEqualTo(expected.sum(l, r));
+      }
+    }
+    for (int i = 1; i <= TEST_SZ; i++) assertThat(ft.get(i)).isEqualTo(expected.get(i));
+  }
+
+  @Test
+  public void testConcurrentAdds() throws InterruptedException {
+    ConcurrentFenwickTree ft = new ConcurrentFenwickTree(TEST_SZ);
+    long[] expected = new long[TEST_SZ + 1];
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      // Every thread makes the same adds, in a different order.
+      Random random = new Random(t);
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                  ft.add(1 + random.nextInt(TEST_SZ), 1);
+                }
+              }));
+      Random replay = new Random(t);
+      for (int j = 0; j < ADDS_PER_THREAD; j++) expected[1 + replay.nextInt(TEST_SZ)]++;
+    }
+    for (Thread thread : threads) thread.start();
+    for (Thread thread : threads) thread.join();
+
+    for (int i = 1; i <= TEST_SZ; i++) assertThat(ft.get(i)).isEqualTo(expected[i]);
+    assertThat(ft.sum(1, TEST_SZ)).isEqualTo((long) THREADS * ADDS_PER_THREAD);
+  }
+
+  @Test
+  public void testPrefixSumsNeverDecreaseWhileAdding() throws InterruptedException {
+    ConcurrentFenwickTree ft = new ConcurrentFenwickTree(TEST_SZ);
+    AtomicBoolean done = new AtomicBoolean();
+    Thread writer =
+        new Thread(
+            () -> {
+              Random random = new Random(3);
+              for (int j = 0; j < ADDS_PER_THREAD; j++) ft.add(1 + random.nextInt(TEST_SZ), 1);
+              done.set(true);
+            });
+    writer.start();
+
+    // Every add is counted in full or not at all by a prefix sum, and never uncounted.
+    int r = TEST_SZ / 2;
+    long last = 0;
+    while (!done.get()) {
+      long sum = ft.sum(1, r);
+      assertThat(sum).isAtLeast(last);
+      assertThat(sum).isAtMost((long) ADDS_PER_THREAD);
+      last = sum;
+    }
+    writer.join();
+    assertThat(ft.sum(1, TEST_SZ)).isEqualTo((long) ADDS_PER_THREAD);
+  }
+}
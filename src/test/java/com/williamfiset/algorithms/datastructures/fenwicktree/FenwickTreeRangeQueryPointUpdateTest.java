@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.datastructures.fenwicktree;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
 import org.junit.jupiter.api.*;
 
 public class FenwickTreeRangeQueryPointUpdateTest {
@@ -229,6 +230,86 @@ public class FenwickTreeRangeQueryPointUpdateTest {
     assertThat(ft.toString()).isNotEmpty();
   }
 
+  @Test
+  public void testQueryAll() {
+    long[] ar = genRandList(TEST_SZ);
+    FenwickTreeRangeQueryPointUpdate ft = new FenwickTreeRangeQueryPointUpdate(ar);
+
+    // Enough queries to be split between threads.
+    int k = 5 * LOOPS;
+    int[] lefts = new int[k], rights = new int[k];
+    for (int j = 0; j < k; j++) {
+      lefts[j] = lowBound(TEST_SZ);
+      rights[j] = Math.max(lefts[j], highBound(lefts[j], TEST_SZ));
+    }
+    long[] out = new long[k];
+    ft.queryAll(lefts, rights, out);
+    for (int j = 0; j < k; j++) {
+      assertThat(out[j]).isEqualTo(ft.sum(lefts[j], rights[j]));
+    }
+  }
+
+  @Test
+  public void testQueryAllInvalidRange() {
+    FenwickTreeRangeQueryPointUpdate ft = new FenwickTreeRangeQueryPointUpdate(5);
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> ft.queryAll(new int[] {0}, new int[] {1}, new long[1]));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> ft.queryAll(new int[] {3}, new int[] {2}, new long[1]));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> ft.queryAll(new int[] {1}, new int[] {6}, new long[1]));
+
+    // A bad range in a batch big enough to be split between threads fails before any is answered.
+    int k = 5000;
+    int[] lefts = new int[k], rights = new int[k];
+    Arrays.fill(lefts, 1);
+    Arrays.fill(rights, 5);
+    rights[k - 1] = 6;
+    long[] out = new long[k];
+    Arrays.fill(out, -1);
+    assertThrows(IndexOutOfBoundsException.class, () -> ft.queryAll(lefts, rights, out));
+    for (long x : out) assertThat(x).isEqualTo(-1);
+  }
+
+  @Test
+  public void testApplyUpdates() {
+    for (int sz = 1; sz <= 70; sz++) {
+      long[] ar = genRandList(sz);
+      FenwickTreeRangeQueryPointUpdate batched = new FenwickTreeRangeQueryPointUpdate(ar);
+      FenwickTreeRangeQueryPointUpdate expected = new FenwickTreeRangeQueryPointUpdate(ar);
+
+      for (int loop = 0; loop < 10; loop++) {
+        // Alternate between dense batches and a few updates spread over the whole tree.
+        int k = (int) (Math.random() * (loop % 2 == 0 ? 2 * sz : 4));
+        int[] indices = new int[k];
+        long[] deltas = new long[k];
+        for (int j = 0; j < k; j++) {
+          indices[j] = lowBound(sz);
+          deltas[j] = randValue();
+          expected.add(indices[j], deltas[j]);
+        }
+        batched.applyUpdates(indices, deltas);
+        for (int i = 1; i <= sz; i++) {
+          for (int j = i; j <= sz; j++) {
+            assertThat(batched.sum(i, j)).isEqualTo(expected.sum(i, j));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testApplyUpdatesIndexOutOfRange() {
+    FenwickTreeRangeQueryPointUpdate ft = new FenwickTreeRangeQueryPointUpdate(5);
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> ft.applyUpdates(new int[] {0}, new long[] {1}));
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> ft.applyUpdates(new int[] {6}, new long[] {1}));
+  }
+
   public static int lowBound(int N) {
     return 1 + (int) (Math.random() * N);
   }
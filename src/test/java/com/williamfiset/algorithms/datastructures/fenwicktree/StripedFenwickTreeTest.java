@@ -0,0 +1,72 @@
+package com.williamfiset.algorithms.datastructures.fenwicktree;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+
+public class StripedFenwickTreeTest {
+
+  static final int TEST_SZ = 1000;
+  static final int THREADS = 8;
+  static final int ADDS_PER_THREAD = 20_000;
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new StripedFenwickTree(-1));
+    assertThrows(IllegalArgumentException.class, () -> new StripedFenwickTree(10, 0));
+  }
+
+  @Test
+  public void testStripesRoundedUpToPowerOfTwo() {
+    assertThat(new StripedFenwickTree(10, 1).stripes()).isEqualTo(1);
+    assertThat(new StripedFenwickTree(10, 5).stripes()).isEqualTo(8);
+    assertThat(new StripedFenwickTree(10, 8).stripes()).isEqualTo(8);
+    assertThat(new StripedFenwickTree(10).size()).isEqualTo(10);
+  }
+
+  @Test
+  public void testMatchesSequentialFenwickTree() {
+    Random random = new Random(1);
+    StripedFenwickTree ft = new StripedFenwickTree(TEST_SZ, 4);
+    FenwickTreeRangeQueryPointUpdate expected = new FenwickTreeRangeQueryPointUpdate(TEST_SZ);
+    for (int loop = 0; loop < 10_000; loop++) {
+      int l = 1 + random.nextInt(TEST_SZ);
+      int r = l + random.nextInt(TEST_SZ - l + 1);
+      if (random.nextBoolean()) {
+        long v = random.nextInt(2001) - 1000;
+        ft.add(l, v);
+        expected.add(l, v);
+      } else {
+        assertThat(ft.sum(l, r)).isEqualTo(expected.sum(l, r));
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentAdds() throws InterruptedException {
+    StripedFenwickTree ft = new StripedFenwickTree(TEST_SZ, 4);
+    long[] expected = new long[TEST_SZ + 1];
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      Random random = new Random(t);
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                  ft.add(1 + random.nextInt(TEST_SZ), 2);
+                }
+              }));
+      Random replay = new Random(t);
+      for (int j = 0; j < ADDS_PER_THREAD; j++) expected[1 + replay.nextInt(TEST_SZ)] += 2;
+    }
+    for (Thread thread : threads) thread.start();
+    for (Thread thread : threads) thread.join();
+
+    for (int i = 1; i <= TEST_SZ; i++) assertThat(ft.get(i)).isEqualTo(expected[i]);
+    assertThat(ft.sum(1, TEST_SZ)).isEqualTo(2L * THREADS * ADDS_PER_THREAD);
+  }
+}
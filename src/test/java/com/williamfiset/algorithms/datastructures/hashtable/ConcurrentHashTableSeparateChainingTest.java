@@ -0,0 +1,214 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.*;
+
+public class ConcurrentHashTableSeparateChainingTest {
+
+  static final Random RANDOM = new Random(1234);
+  static final int THREADS = 4;
+
+  ConcurrentHashTableSeparateChaining<Integer, Integer> map;
+
+  @BeforeEach
+  public void setup() {
+    map = new ConcurrentHashTableSeparateChaining<>();
+  }
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new ConcurrentHashTableSeparateChaining<>(-3));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ConcurrentHashTableSeparateChaining<>(16, Double.NaN, 4));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ConcurrentHashTableSeparateChaining<>(16, 0.75, 0));
+  }
+
+  @Test
+  public void testNullKey() {
+    assertThrows(IllegalArgumentException.class, () -> map.put(null, 5));
+    assertThat(map.get(null)).isNull();
+    assertThat(map.remove(null)).isNull();
+    assertThat(map.containsKey(null)).isFalse();
+  }
+
+  @Test
+  public void testCapacityCoversEveryStripe() {
+    assertThat(new ConcurrentHashTableSeparateChaining<>(1, 0.75, 100).getCapacity())
+        .isEqualTo(128);
+    assertThat(new ConcurrentHashTableSeparateChaining<>(100, 0.75, 4).getCapacity())
+        .isEqualTo(128);
+  }
+
+  @Test
+  public void testPutGetRemove() {
+    assertThat(map.put(1, 1)).isNull();
+    assertThat(map.put(1, 5)).isEqualTo(1);
+    assertThat(map.get(1)).isEqualTo(5);
+    assertThat(map.put(2, 2)).isNull();
+    assertThat(map.size()).isEqualTo(2);
+
+    assertThat(map.remove(1)).isEqualTo(5);
+    assertThat(map.remove(1)).isNull();
+    assertThat(map.containsKey(1)).isFalse();
+    assertThat(map.containsKey(2)).isTrue();
+    assertThat(map.size()).isEqualTo(1);
+
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(2)).isNull();
+  }
+
+  // With a single stripe the threshold is exact: the 49th key of a 64 bucket table starts a
+  // resize, and the four writes from there on each migrate 16 buckets.
+  @Test
+  public void testIncrementalResize() {
+    ConcurrentHashTableSeparateChaining<Integer, Integer> map =
+        new ConcurrentHashTableSeparateChaining<>(64, 0.75, 1);
+    for (int i = 0; i < 48; i++) map.put(i, i);
+    assertThat(map.getCapacity()).isEqualTo(64);
+
+    for (int i = 48; i < 51; i++) {
+      map.put(i, i);
+      assertThat(map.getCapacity()).isEqualTo(64);
+      for (int j = 0; j <= i; j++) assertThat(map.get(j)).isEqualTo(j);
+      assertThat(map.keys()).hasSize(i + 1);
+    }
+    map.remove(0);
+    assertThat(map.getCapacity()).isEqualTo(128);
+    for (int j = 1; j < 51; j++) assertThat(map.get(j)).isEqualTo(j);
+    assertThat(map.size()).isEqualTo(50);
+  }
+
+  @Test
+  public void testKeysAndValues() {
+    for (int i = 0; i < 1000; i++) map.put(i, -i);
+    Set<Integer> keys = new HashSet<>(map.keys());
+    Set<Integer> values = new HashSet<>(map.values());
+    assertThat(keys).hasSize(1000);
+    assertThat(values).hasSize(1000);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(keys).contains(i);
+      assertThat(values).contains(-i);
+    }
+
+    int count = 0;
+    for (Integer key : map) {
+      map.remove(key);
+      count++;
+    }
+    assertThat(count).isEqualTo(1000);
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  // Compares the table against java.util.HashMap under a random mix of operations on a single
+  // thread, starting small so that the table goes through many resizes.
+  @Test
+  public void randomOperations() {
+    for (int loop = 0; loop < 100; loop++) {
+      ConcurrentHashTableSeparateChaining<Integer, Integer> map =
+          new ConcurrentHashTableSeparateChaining<>(1, 0.75, 1 + RANDOM.nextInt(8));
+      Map<Integer, Integer> jmap = new HashMap<>();
+      int range = 1 + RANDOM.nextInt(2000);
+
+      for (int op = 0; op < 3000; op++) {
+        int key = RANDOM.nextInt(range);
+        if (RANDOM.nextInt(3) == 0) assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+        else assertThat(map.put(key, op)).isEqualTo(jmap.put(key, op));
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      for (int key = 0; key < range; key++) assertThat(map.get(key)).isEqualTo(jmap.get(key));
+    }
+  }
+
+  // Every thread inserts its own range of keys, then removes half of it, while reader threads
+  // check that keys inserted before the test started never disappear, even mid-resize.
+  @Test
+  public void concurrentWriters() throws Exception {
+    final int perThread = 20000, stable = 1000;
+    ConcurrentHashTableSeparateChaining<Integer, Integer> map =
+        new ConcurrentHashTableSeparateChaining<>(1, 0.75, 4);
+    for (int i = 0; i < stable; i++) map.put(-1 - i, i);
+
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(2 * THREADS);
+    List<Future<?>> writers = new ArrayList<>(), readers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int base = t * perThread;
+      writers.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < perThread; i++) assertThat(map.put(base + i, i)).isNull();
+                for (int i = 0; i < perThread; i += 2)
+                  assertThat(map.remove(base + i)).isEqualTo(i);
+              }));
+      readers.add(
+          executor.submit(
+              () -> {
+                Random random = new Random(base);
+                while (!done.get()) {
+                  int i = random.nextInt(stable);
+                  assertThat(map.get(-1 - i)).isEqualTo(i);
+                }
+              }));
+    }
+    for (Future<?> writer : writers) writer.get();
+    done.set(true);
+    for (Future<?> reader : readers) reader.get();
+    executor.shutdown();
+
+    assertThat(map.size()).isEqualTo(stable + THREADS * perThread / 2);
+    for (int t = 0; t < THREADS; t++) {
+      for (int i = 0; i < perThread; i++) {
+        Integer value = map.get(t * perThread + i);
+        if (i % 2 == 0) assertThat(value).isNull();
+        else assertThat(value).isEqualTo(i);
+      }
+    }
+  }
+
+  // All threads fight over the same small set of keys. Afterwards every key must be either absent
+  // or hold a value written by some thread, and size() must match the number of keys found.
+  @Test
+  public void concurrentContention() throws Exception {
+    final int keys = 64;
+    ConcurrentHashTableSeparateChaining<Integer, Integer> map =
+        new ConcurrentHashTableSeparateChaining<>(1, 0.75, 2);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int seed = t;
+      futures.add(
+          executor.submit(
+              () -> {
+                Random random = new Random(seed);
+                for (int op = 0; op < 100000; op++) {
+                  int key = random.nextInt(keys);
+                  if (random.nextBoolean()) map.put(key, key);
+                  else map.remove(key);
+                }
+              }));
+    }
+    for (Future<?> future : futures) future.get();
+    executor.shutdown();
+
+    int present = 0;
+    for (int key = 0; key < keys; key++) {
+      Integer value = map.get(key);
+      if (value != null) {
+        assertThat(value).isEqualTo(key);
+        present++;
+      }
+    }
+    assertThat(map.size()).isEqualTo(present);
+    assertThat(map.keys()).hasSize(present);
+  }
+}
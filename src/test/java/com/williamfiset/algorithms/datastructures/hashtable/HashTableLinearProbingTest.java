@@ -366,6 +366,17 @@ public class HashTableLinearProbingTest {
     }
   }
 
+  @Test
+  public void testProbeLengthHistogram() {
+    assertThat(map.probeLengthHistogram()).hasLength(0);
+
+    // Colliding keys are stored at consecutive steps of the same probe sequence.
+    HashTableLinearProbing<HashObject, Integer> map = new HashTableLinearProbing<>(64, 0.9);
+    for (int i = 0; i < 10; i++) map.put(new HashObject(88, i), i);
+    map.put(new HashObject(1, 0), 0);
+    assertThat(map.probeLengthHistogram()).asList().containsExactly(2, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+  }
+
   static int randInt(int min, int max) {
     return RANDOM.nextInt((max - min) + 1) + min;
   }
@@ -0,0 +1,185 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class HashTableRobinHoodTest {
+
+  // An object whose hash value can be set to anything, to force collisions.
+  static class HashObject {
+    final int hash, data;
+
+    public HashObject(int hash, int data) {
+      this.hash = hash;
+      this.data = data;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      else if (o instanceof HashObject) {
+        HashObject ho = (HashObject) o;
+        return hashCode() == ho.hashCode() && data == ho.data;
+      }
+      return false;
+    }
+  }
+
+  static final Random RANDOM = new Random(1234);
+  static final int LOOPS = 200;
+
+  HashTableRobinHood<Integer, Integer> map;
+
+  @BeforeEach
+  public void setup() {
+    map = new HashTableRobinHood<>();
+  }
+
+  @Test
+  public void testNullKey() {
+    assertThrows(IllegalArgumentException.class, () -> map.put(null, 5));
+    assertThrows(IllegalArgumentException.class, () -> map.get(null));
+    assertThrows(IllegalArgumentException.class, () -> map.remove(null));
+  }
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new HashTableRobinHood<>(-3, 0.5));
+    assertThrows(IllegalArgumentException.class, () -> new HashTableRobinHood<>(5, 0));
+    assertThrows(IllegalArgumentException.class, () -> new HashTableRobinHood<>(5, 1.0));
+    assertThrows(IllegalArgumentException.class, () -> new HashTableRobinHood<>(5, Double.NaN));
+  }
+
+  @Test
+  public void testPowerOfTwoCapacity() {
+    assertThat(new HashTableRobinHood<Integer, Integer>(100).getCapacity()).isEqualTo(128);
+    assertThat(new HashTableRobinHood<Integer, Integer>(1).getCapacity()).isEqualTo(8);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.put(1, 1)).isNull();
+    assertThat(map.put(1, 5)).isEqualTo(1);
+    assertThat(map.get(1)).isEqualTo(5);
+    assertThat(map.put(-7, 3)).isNull();
+    assertThat(map.put(-7, -4)).isEqualTo(3);
+    assertThat(map.get(-7)).isEqualTo(-4);
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void testRemoving() {
+    map.put(11, 0);
+    map.put(12, 0);
+    map.put(13, 0);
+    assertThat(map.size()).isEqualTo(3);
+
+    assertThat(map.remove(12)).isEqualTo(0);
+    assertThat(map.remove(12)).isNull();
+    assertThat(map.containsKey(11)).isTrue();
+    assertThat(map.containsKey(12)).isFalse();
+    assertThat(map.containsKey(13)).isTrue();
+    assertThat(map.size()).isEqualTo(2);
+
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(11)).isNull();
+  }
+
+  // Every key lands in the same home bucket, so they form one long cluster and removing any of
+  // them has to shift the rest of the cluster back.
+  @Test
+  public void testBackwardShiftDeletion() {
+    HashTableRobinHood<HashObject, Integer> map = new HashTableRobinHood<>(64, 0.9);
+    List<HashObject> objects = new ArrayList<>();
+    for (int i = 0; i < 30; i++) objects.add(new HashObject(88, i));
+    for (int i = 0; i < 30; i++) map.put(objects.get(i), i);
+    assertThat(map.probeLengthHistogram()).hasLength(30);
+
+    Collections.shuffle(objects, RANDOM);
+    for (int i = 0; i < 30; i++) {
+      assertThat(map.remove(objects.get(i))).isEqualTo(objects.get(i).data);
+      for (int j = 0; j < 30; j++)
+        assertThat(map.containsKey(objects.get(j))).isEqualTo(j > i);
+      // With no tombstones the cluster shrinks with every removal.
+      assertThat(map.probeLengthHistogram()).hasLength(29 - i);
+    }
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testProbeLengthHistogram() {
+    assertThat(map.probeLengthHistogram()).hasLength(0);
+    for (int i = 0; i < 10000; i++) map.put(RANDOM.nextInt(), i);
+
+    int total = 0;
+    for (int count : map.probeLengthHistogram()) total += count;
+    assertThat(total).isEqualTo(map.size());
+  }
+
+  @Test
+  public void testHighLoadFactor() {
+    HashTableRobinHood<Integer, Integer> map = new HashTableRobinHood<>(1024, 0.95);
+    for (int i = 0; i < 972; i++) map.put(i * 31, i);
+    assertThat(map.getCapacity()).isEqualTo(1024);
+    for (int i = 0; i < 972; i++) assertThat(map.get(i * 31)).isEqualTo(i);
+    assertThat(map.get(5)).isNull();
+  }
+
+  @Test
+  public void testConcurrentModificationException() {
+    map.put(1, 1);
+    map.put(2, 1);
+    assertThrows(
+        ConcurrentModificationException.class,
+        () -> {
+          for (Integer key : map) map.put(3, 3);
+        });
+  }
+
+  @Test
+  public void testKeysAndValues() {
+    for (int i = 0; i < 100; i++) map.put(i, 2 * i);
+    List<Integer> keys = map.keys();
+    List<Integer> values = map.values();
+    assertThat(keys).hasSize(100);
+    assertThat(values).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(keys).contains(i);
+      assertThat(values).contains(2 * i);
+    }
+  }
+
+  // Compares the table against java.util.HashMap under a random mix of operations, with a small
+  // key range so that keys are updated and removed often.
+  @Test
+  public void randomOperations() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      HashTableRobinHood<Integer, Integer> map = new HashTableRobinHood<>();
+      Map<Integer, Integer> jmap = new HashMap<>();
+      int range = 1 + RANDOM.nextInt(500);
+
+      for (int op = 0; op < 2000; op++) {
+        int key = RANDOM.nextInt(range);
+        if (RANDOM.nextInt(3) == 0) {
+          assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+        } else {
+          assertThat(map.put(key, op)).isEqualTo(jmap.put(key, op));
+        }
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      for (int key = 0; key < range; key++) {
+        assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+        assertThat(map.get(key)).isEqualTo(jmap.get(key));
+      }
+    }
+  }
+}
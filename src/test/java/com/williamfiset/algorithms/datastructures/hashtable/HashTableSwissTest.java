@@ -0,0 +1,199 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class HashTableSwissTest {
+
+  // An object whose hash value can be set to anything, to force collisions.
+  static class HashObject {
+    final int hash, data;
+
+    public HashObject(int hash, int data) {
+      this.hash = hash;
+      this.data = data;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      else if (o instanceof HashObject) {
+        HashObject ho = (HashObject) o;
+        return hashCode() == ho.hashCode() && data == ho.data;
+      }
+      return false;
+    }
+  }
+
+  static final Random RANDOM = new Random(1234);
+  static final int LOOPS = 200;
+
+  HashTableSwiss<Integer, Integer> map;
+
+  @BeforeEach
+  public void setup() {
+    map = new HashTableSwiss<>();
+  }
+
+  @Test
+  public void testNullKey() {
+    assertThrows(IllegalArgumentException.class, () -> map.put(null, 5));
+    assertThrows(IllegalArgumentException.class, () -> map.get(null));
+    assertThrows(IllegalArgumentException.class, () -> map.remove(null));
+  }
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(IllegalArgumentException.class, () -> new HashTableSwiss<>(-3, 0.5));
+    assertThrows(IllegalArgumentException.class, () -> new HashTableSwiss<>(5, 0));
+    assertThrows(IllegalArgumentException.class, () -> new HashTableSwiss<>(5, 1.0));
+    assertThrows(IllegalArgumentException.class, () -> new HashTableSwiss<>(5, Double.NaN));
+  }
+
+  @Test
+  public void testCapacityIsWholeGroups() {
+    assertThat(new HashTableSwiss<Integer, Integer>(100).getCapacity()).isEqualTo(128);
+    assertThat(new HashTableSwiss<Integer, Integer>(1).getCapacity()).isEqualTo(8);
+    // A single group cannot hold even one key at this load factor.
+    assertThat(new HashTableSwiss<Integer, Integer>(1, 0.1).getCapacity()).isEqualTo(16);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.put(1, 1)).isNull();
+    assertThat(map.put(1, 5)).isEqualTo(1);
+    assertThat(map.get(1)).isEqualTo(5);
+    assertThat(map.put(-7, 3)).isNull();
+    assertThat(map.put(-7, -4)).isEqualTo(3);
+    assertThat(map.get(-7)).isEqualTo(-4);
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void testRemoving() {
+    map.put(11, 0);
+    map.put(12, 0);
+    map.put(13, 0);
+    assertThat(map.size()).isEqualTo(3);
+
+    assertThat(map.remove(12)).isEqualTo(0);
+    assertThat(map.remove(12)).isNull();
+    assertThat(map.containsKey(11)).isTrue();
+    assertThat(map.containsKey(12)).isFalse();
+    assertThat(map.containsKey(13)).isTrue();
+    assertThat(map.size()).isEqualTo(2);
+
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(11)).isNull();
+  }
+
+  // Every key has the same hash, so they all share the same probe sequence and control byte.
+  // Once the home group is full, removed keys have to leave DELETED buckets behind.
+  @Test
+  public void testCollidingKeys() {
+    HashTableSwiss<HashObject, Integer> map = new HashTableSwiss<>(64, 0.875);
+    List<HashObject> objects = new ArrayList<>();
+    for (int i = 0; i < 40; i++) objects.add(new HashObject(88, i));
+    for (int i = 0; i < 40; i++) map.put(objects.get(i), i);
+    assertThat(map.getCapacity()).isEqualTo(64);
+    assertThat(map.probeLengthHistogram()).hasLength(5);
+
+    Collections.shuffle(objects, RANDOM);
+    for (int i = 0; i < 40; i++) {
+      assertThat(map.remove(objects.get(i))).isEqualTo(objects.get(i).data);
+      for (int j = 0; j < 40; j++)
+        assertThat(map.containsKey(objects.get(j))).isEqualTo(j > i);
+    }
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  // Inserting and removing keys forever must not make the table grow forever: rebuilding a table
+  // clogged with DELETED buckets keeps its capacity.
+  @Test
+  public void testChurn() {
+    HashTableSwiss<Integer, Integer> map = new HashTableSwiss<>(1024);
+    for (int i = 0; i < 100000; i++) {
+      map.put(i, i);
+      if (i >= 400) assertThat(map.remove(i - 400)).isEqualTo(i - 400);
+    }
+    assertThat(map.size()).isEqualTo(400);
+    assertThat(map.getCapacity()).isEqualTo(1024);
+  }
+
+  @Test
+  public void testProbeLengthHistogram() {
+    assertThat(map.probeLengthHistogram()).hasLength(0);
+    for (int i = 0; i < 10000; i++) map.put(RANDOM.nextInt(), i);
+
+    int total = 0;
+    for (int count : map.probeLengthHistogram()) total += count;
+    assertThat(total).isEqualTo(map.size());
+  }
+
+  @Test
+  public void testHighLoadFactor() {
+    HashTableSwiss<Integer, Integer> map = new HashTableSwiss<>(1024, 0.95);
+    for (int i = 0; i < 972; i++) map.put(i * 31, i);
+    assertThat(map.getCapacity()).isEqualTo(1024);
+    for (int i = 0; i < 972; i++) assertThat(map.get(i * 31)).isEqualTo(i);
+    assertThat(map.get(5)).isNull();
+  }
+
+  @Test
+  public void testConcurrentModificationException() {
+    map.put(1, 1);
+    map.put(2, 1);
+    assertThrows(
+        ConcurrentModificationException.class,
+        () -> {
+          for (Integer key : map) map.put(3, 3);
+        });
+  }
+
+  @Test
+  public void testKeysAndValues() {
+    for (int i = 0; i < 100; i++) map.put(i, 2 * i);
+    List<Integer> keys = map.keys();
+    List<Integer> values = map.values();
+    assertThat(keys).hasSize(100);
+    assertThat(values).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(keys).contains(i);
+      assertThat(values).contains(2 * i);
+    }
+  }
+
+  // Compares the table against java.util.HashMap under a random mix of operations, with a small
+  // key range so that keys are updated and removed often.
+  @Test
+  public void randomOperations() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      HashTableSwiss<Integer, Integer> map = new HashTableSwiss<>();
+      Map<Integer, Integer> jmap = new HashMap<>();
+      int range = 1 + RANDOM.nextInt(500);
+
+      for (int op = 0; op < 2000; op++) {
+        int key = RANDOM.nextInt(range);
+        if (RANDOM.nextInt(3) == 0) {
+          assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+        } else {
+          assertThat(map.put(key, op)).isEqualTo(jmap.put(key, op));
+        }
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      for (int key = 0; key < range; key++) {
+        assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+        assertThat(map.get(key)).isEqualTo(jmap.get(key));
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class IntIntHashTableTest {
+
+  static final Random RANDOM = new Random(1234);
+  static final int LOOPS = 200;
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new IntIntHashTable(-3, 0.5, ProbingStrategy.LINEAR));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new IntIntHashTable(5, 1.0, ProbingStrategy.LINEAR));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new IntIntHashTable(5, Double.NaN, ProbingStrategy.LINEAR));
+    assertThrows(IllegalArgumentException.class, () -> new IntIntHashTable(5, 0.5, null));
+  }
+
+  @Test
+  public void testCapacityMatchesProbingStrategy() {
+    // Quadratic probing needs a power of two, double hashing a prime.
+    assertThat(new IntIntHashTable(20, 0.5, ProbingStrategy.QUADRATIC).getCapacity())
+        .isEqualTo(32);
+    assertThat(new IntIntHashTable(20, 0.5, ProbingStrategy.DOUBLE_HASHING).getCapacity())
+        .isEqualTo(23);
+    assertThat(new IntIntHashTable(34, 0.5, ProbingStrategy.LINEAR).getCapacity()).isEqualTo(35);
+  }
+
+  @Test
+  public void testMissingKeys() {
+    IntIntHashTable map = new IntIntHashTable();
+    assertThat(map.get(5)).isEqualTo(0);
+    assertThat(map.getOrDefault(5, -1)).isEqualTo(-1);
+    assertThat(map.containsKey(5)).isFalse();
+    assertThat(map.remove(5)).isEqualTo(0);
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testPutReturnsPreviousValue() {
+    IntIntHashTable map = new IntIntHashTable();
+    assertThat(map.put(7, 1)).isEqualTo(0);
+    assertThat(map.put(7, 2)).isEqualTo(1);
+    assertThat(map.get(7)).isEqualTo(2);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  // 0 and Integer.MIN_VALUE are the reserved sentinel keys, but must still work as normal keys.
+  @Test
+  public void testSentinelKeys() {
+    for (ProbingStrategy probing : ProbingStrategy.values()) {
+      IntIntHashTable map = new IntIntHashTable(probing);
+      int[] specialKeys = {0, Integer.MIN_VALUE};
+      for (int key : specialKeys) {
+        assertThat(map.containsKey(key)).isFalse();
+        assertThat(map.put(key, 10)).isEqualTo(0);
+        assertThat(map.put(key, 11)).isEqualTo(10);
+        assertThat(map.get(key)).isEqualTo(11);
+        assertThat(map.containsKey(key)).isTrue();
+      }
+      assertThat(map.size()).isEqualTo(2);
+      assertThat(map.keys()).asList().containsExactly(0, Integer.MIN_VALUE);
+
+      for (int key : specialKeys) {
+        assertThat(map.remove(key)).isEqualTo(11);
+        assertThat(map.containsKey(key)).isFalse();
+        assertThat(map.getOrDefault(key, -1)).isEqualTo(-1);
+      }
+      assertThat(map.isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  public void testClear() {
+    IntIntHashTable map = new IntIntHashTable();
+    for (int i = -50; i <= 50; i++) map.put(i, i);
+    map.clear();
+    assertThat(map.size()).isEqualTo(0);
+    for (int i = -50; i <= 50; i++) assertThat(map.containsKey(i)).isFalse();
+    map.put(3, 4);
+    assertThat(map.get(3)).isEqualTo(4);
+  }
+
+  @Test
+  public void testToString() {
+    IntIntHashTable map = new IntIntHashTable();
+    map.put(1, 10);
+    map.put(2, 20);
+    String s = map.toString();
+    assertThat(s).contains("1 => 10");
+    assertThat(s).contains("2 => 20");
+    assertThat(s).startsWith("{");
+    assertThat(s).endsWith("}");
+  }
+
+  // Repeatedly inserting and removing keys leaves behind REMOVED buckets, these should be
+  // cleaned up by rehashing instead of making the table grow forever.
+  @Test
+  public void testChurnDoesNotGrowTable() {
+    for (ProbingStrategy probing : ProbingStrategy.values()) {
+      IntIntHashTable map = new IntIntHashTable(probing);
+      for (int i = 1; i <= 100_000; i++) {
+        map.put(i, i);
+        if (i > 10) assertThat(map.remove(i - 10)).isEqualTo(i - 10);
+      }
+      assertThat(map.size()).isEqualTo(10);
+      assertThat(map.getCapacity()).isLessThan(100);
+    }
+  }
+
+  @Test
+  public void testRandomMapOperations() {
+    for (ProbingStrategy probing : ProbingStrategy.values()) {
+      for (int loop = 0; loop < LOOPS; loop++) {
+        IntIntHashTable map = new IntIntHashTable(probing);
+        Map<Integer, Integer> jmap = new HashMap<>();
+        double putProbability = RANDOM.nextDouble();
+        double removeProbability = RANDOM.nextDouble();
+        int range = 1 + RANDOM.nextInt(500);
+
+        for (int i = 0; i < 500; i++) {
+          int key = RANDOM.nextInt(2 * range + 1) - range;
+          if (RANDOM.nextDouble() < putProbability) {
+            Integer prev = jmap.put(key, i);
+            assertThat(map.put(key, i)).isEqualTo(prev == null ? 0 : prev);
+          }
+          assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+          assertThat(map.getOrDefault(key, -1)).isEqualTo(jmap.getOrDefault(key, -1));
+          if (RANDOM.nextDouble() < removeProbability) {
+            Integer prev = jmap.remove(key);
+            assertThat(map.remove(key)).isEqualTo(prev == null ? 0 : prev);
+          }
+          assertThat(map.size()).isEqualTo(jmap.size());
+        }
+
+        int[] keys = map.keys();
+        assertThat(keys.length).isEqualTo(jmap.size());
+        for (int key : keys) assertThat(map.get(key)).isEqualTo(jmap.get(key));
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class LongObjectHashTableTest {
+
+  static final Random RANDOM = new Random(1234);
+  static final int LOOPS = 200;
+
+  LongObjectHashTable<String> map;
+
+  @BeforeEach
+  public void setup() {
+    map = new LongObjectHashTable<>();
+  }
+
+  @Test
+  public void testIllegalCreation() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LongObjectHashTable<String>(0, 0.5, ProbingStrategy.QUADRATIC));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LongObjectHashTable<String>(5, 0, ProbingStrategy.QUADRATIC));
+  }
+
+  @Test
+  public void testMissingKeys() {
+    assertThat(map.get(5)).isNull();
+    assertThat(map.containsKey(5)).isFalse();
+    assertThat(map.remove(5)).isNull();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testNullValues() {
+    assertThat(map.put(5, null)).isNull();
+    assertThat(map.containsKey(5)).isTrue();
+    assertThat(map.get(5)).isNull();
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSentinelKeys() {
+    for (ProbingStrategy probing : ProbingStrategy.values()) {
+      LongObjectHashTable<String> map = new LongObjectHashTable<>(probing);
+      assertThat(map.put(0, "zero")).isNull();
+      assertThat(map.put(Long.MIN_VALUE, "min")).isNull();
+      assertThat(map.put(0, "ZERO")).isEqualTo("zero");
+      assertThat(map.get(0)).isEqualTo("ZERO");
+      assertThat(map.get(Long.MIN_VALUE)).isEqualTo("min");
+      assertThat(map.size()).isEqualTo(2);
+
+      assertThat(map.remove(0)).isEqualTo("ZERO");
+      assertThat(map.remove(Long.MIN_VALUE)).isEqualTo("min");
+      assertThat(map.containsKey(0)).isFalse();
+      assertThat(map.get(Long.MIN_VALUE)).isNull();
+      assertThat(map.isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  public void testClear() {
+    for (long i = -50; i <= 50; i++) map.put(i, "v" + i);
+    map.clear();
+    assertThat(map.size()).isEqualTo(0);
+    for (long i = -50; i <= 50; i++) assertThat(map.get(i)).isNull();
+  }
+
+  @Test
+  public void testRandomMapOperations() {
+    for (ProbingStrategy probing : ProbingStrategy.values()) {
+      for (int loop = 0; loop < LOOPS; loop++) {
+        LongObjectHashTable<Integer> map = new LongObjectHashTable<>(probing);
+        Map<Long, Integer> jmap = new HashMap<>();
+        double putProbability = RANDOM.nextDouble();
+        double removeProbability = RANDOM.nextDouble();
+        int range = 1 + RANDOM.nextInt(500);
+
+        for (int i = 0; i < 500; i++) {
+          long key = (RANDOM.nextInt(2 * range + 1) - range) * 1_000_000_007L;
+          if (RANDOM.nextDouble() < putProbability) {
+            assertThat(map.put(key, i)).isEqualTo(jmap.put(key, i));
+          }
+          assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+          assertThat(map.get(key)).isEqualTo(jmap.get(key));
+          if (RANDOM.nextDouble() < removeProbability) {
+            assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+          }
+          assertThat(map.size()).isEqualTo(jmap.size());
+        }
+
+        long[] keys = map.keys();
+        assertThat(keys.length).isEqualTo(jmap.size());
+        for (long key : keys) assertThat(map.get(key)).isEqualTo(jmap.get(key));
+      }
+    }
+  }
+}
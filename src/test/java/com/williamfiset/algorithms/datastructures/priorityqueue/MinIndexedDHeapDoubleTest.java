@@ -0,0 +1,122 @@
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class MinIndexedDHeapDoubleTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  @Test
+  public void testIllegalSize() {
+    assertThrows(IllegalArgumentException.class, () -> new MinIndexedDHeapDouble(2, 0));
+    assertThrows(IllegalArgumentException.class, () -> new MinIndexedDHeapDouble(2, -1));
+  }
+
+  @Test
+  public void testIllegalKeys() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(4, 10);
+    assertThrows(IllegalArgumentException.class, () -> pq.insert(10, 1.0));
+    assertThrows(IllegalArgumentException.class, () -> pq.contains(-1));
+    assertThrows(NoSuchElementException.class, () -> pq.peekMinValue());
+    assertThrows(NoSuchElementException.class, () -> pq.valueOf(3));
+    assertThrows(NoSuchElementException.class, () -> pq.decrease(3, 1.0));
+    pq.insert(5, 1.0);
+    assertThrows(IllegalArgumentException.class, () -> pq.insert(5, 2.0));
+  }
+
+  @Test
+  public void testOperations() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(3, 7);
+
+    pq.insert(4, 4.5);
+    assertThat(pq.contains(4)).isTrue();
+    assertThat(pq.peekMinValue()).isEqualTo(4.5);
+    assertThat(pq.update(4, 8.0)).isEqualTo(4.5);
+    assertThat(pq.pollMinKeyIndex()).isEqualTo(4);
+    assertThat(pq.contains(4)).isFalse();
+
+    pq.insert(3, 99);
+    pq.insert(1, 101);
+    pq.insert(2, 60);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(2);
+    pq.increase(2, 150);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(3);
+    pq.increase(3, 50); // Not an increase, ignored.
+    assertThat(pq.valueOf(3)).isEqualTo(99.0);
+    pq.decrease(1, 200); // Not a decrease, ignored.
+    pq.decrease(1, -0.5);
+    assertThat(pq.peekMinValue()).isEqualTo(-0.5);
+    assertThat(pq.delete(1)).isEqualTo(-0.5);
+    assertThat(pq.size()).isEqualTo(2);
+    assertThat(pq.pollMinValue()).isEqualTo(99.0);
+    assertThat(pq.pollMinValue()).isEqualTo(150.0);
+    assertThat(pq.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testClear() {
+    MinIndexedDHeapDouble pq = new MinIndexedDHeapDouble(2, 100);
+    for (int i = 0; i < 50; i++) pq.insert(2 * i, RANDOM.nextDouble());
+    pq.clear();
+    assertThat(pq.isEmpty()).isTrue();
+    for (int i = 0; i < 100; i++) assertThat(pq.contains(i)).isFalse();
+    pq.insert(0, 3.0);
+    pq.insert(1, 2.0);
+    assertThat(pq.pollMinKeyIndex()).isEqualTo(1);
+  }
+
+  // Runs the same random operations on the generic heap and checks that both agree.
+  @Test
+  public void testAgainstGenericHeap() {
+    for (int degree = 2; degree <= 8; degree++) {
+      int n = 500;
+      MinIndexedDHeapDouble pq1 = new MinIndexedDHeapDouble(degree, n);
+      MinIndexedDHeap<Double> pq2 = new MinIndexedDHeap<>(degree, n);
+      for (int op = 0; op < 20000; op++) {
+        int ki = RANDOM.nextInt(n);
+        double value = RANDOM.nextInt(1000) / 4.0;
+        if (!pq2.contains(ki)) {
+          pq1.insert(ki, value);
+          pq2.insert(ki, value);
+        } else {
+          switch (RANDOM.nextInt(5)) {
+            case 0:
+              pq1.decrease(ki, value);
+              pq2.decrease(ki, value);
+              break;
+            case 1:
+              pq1.increase(ki, value);
+              pq2.increase(ki, value);
+              break;
+            case 2:
+              assertThat(pq1.update(ki, value)).isEqualTo(pq2.update(ki, value));
+              break;
+            case 3:
+              assertThat(pq1.delete(ki)).isEqualTo(pq2.delete(ki));
+              break;
+            default:
+              assertThat(pq1.pollMinValue()).isEqualTo(pq2.pollMinValue());
+          }
+        }
+        assertThat(pq1.size()).isEqualTo(pq2.size());
+        if (pq1.contains(ki)) assertThat(pq1.valueOf(ki)).isEqualTo(pq2.valueOf(ki));
+        if (!pq2.isEmpty()) assertThat(pq1.peekMinValue()).isEqualTo(pq2.peekMinValue());
+      }
+      assertThat(pq1.isMinHeap()).isTrue();
+
+      // Polling everything gives the values in sorted order.
+      double last = Double.NEGATIVE_INFINITY;
+      while (!pq1.isEmpty()) {
+        int ki = pq1.peekMinKeyIndex();
+        double value = pq1.pollMinValue();
+        assertThat(value).isEqualTo(pq2.delete(ki));
+        assertThat(value).isAtLeast(last);
+        last = value;
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.williamfiset.algorithms.datastructures.priorityqueue;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class MinIndexedDHeapLongTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  @Test
+  public void testIllegalSize() {
+    assertThrows(IllegalArgumentException.class, () -> new MinIndexedDHeapLong(2, 0));
+    assertThrows(IllegalArgumentException.class, () -> new MinIndexedDHeapLong(2, -1));
+  }
+
+  @Test
+  public void testIllegalKeys() {
+    MinIndexedDHeapLong pq = new MinIndexedDHeapLong(4, 10);
+    assertThrows(IllegalArgumentException.class, () -> pq.insert(10, 1));
+    assertThrows(IllegalArgumentException.class, () -> pq.contains(-1));
+    assertThrows(NoSuchElementException.class, () -> pq.peekMinValue());
+    assertThrows(NoSuchElementException.class, () -> pq.valueOf(3));
+    assertThrows(NoSuchElementException.class, () -> pq.decrease(3, 1));
+    pq.insert(5, 1);
+    assertThrows(IllegalArgumentException.class, () -> pq.insert(5, 2));
+  }
+
+  @Test
+  public void testOperations() {
+    MinIndexedDHeapLong pq = new MinIndexedDHeapLong(3, 7);
+
+    // Values which doubles can't tell apart.
+    long big = 1L << 60;
+    pq.insert(4, big + 1);
+    pq.insert(2, big);
+    pq.insert(6, Long.MIN_VALUE);
+    assertThat(pq.pollMinValue()).isEqualTo(Long.MIN_VALUE);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(2);
+    pq.increase(2, big + 2);
+    assertThat(pq.peekMinKeyIndex()).isEqualTo(4);
+    pq.decrease(2, big);
+    assertThat(pq.pollMinKeyIndex()).isEqualTo(2);
+    assertThat(pq.delete(4)).isEqualTo(big + 1);
+    assertThat(pq.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testClear() {
+    MinIndexedDHeapLong pq = new MinIndexedDHeapLong(2, 100);
+    for (int i = 0; i < 50; i++) pq.insert(2 * i, RANDOM.nextLong());
+    pq.clear();
+    assertThat(pq.isEmpty()).isTrue();
+    for (int i = 0; i < 100; i++) assertThat(pq.contains(i)).isFalse();
+    pq.insert(0, 3);
+    pq.insert(1, 2);
+    assertThat(pq.pollMinKeyIndex()).isEqualTo(1);
+  }
+
+  // Runs the same random operations on the generic heap and checks that both agree.
+  @Test
+  public void testAgainstGenericHeap() {
+    for (int degree = 2; degree <= 8; degree++) {
+      int n = 500;
+      MinIndexedDHeapLong pq1 = new MinIndexedDHeapLong(degree, n);
+      MinIndexedDHeap<Long> pq2 = new MinIndexedDHeap<>(degree, n);
+      for (int op = 0; op < 20000; op++) {
+        int ki = RANDOM.nextInt(n);
+        long value = RANDOM.nextInt(1000) - 500L;
+        if (!pq2.contains(ki)) {
+          pq1.insert(ki, value);
+          pq2.insert(ki, value);
+        } else {
+          switch (RANDOM.nextInt(5)) {
+            case 0:
+              pq1.decrease(ki, value);
+              pq2.decrease(ki, value);
+              break;
+            case 1:
+              pq1.increase(ki, value);
+              pq2.increase(ki, value);
+              break;
+            case 2:
+              assertThat(pq1.update(ki, value)).isEqualTo(pq2.update(ki, value));
+              break;
+            case 3:
+              assertThat(pq1.delete(ki)).isEqualTo(pq2.delete(ki));
+              break;
+            default:
+              assertThat(pq1.pollMinValue()).isEqualTo(pq2.pollMinValue());
+          }
+        }
+        assertThat(pq1.size()).isEqualTo(pq2.size());
+        if (pq1.contains(ki)) assertThat(pq1.valueOf(ki)).isEqualTo(pq2.valueOf(ki));
+        if (!pq2.isEmpty()) assertThat(pq1.peekMinValue()).isEqualTo(pq2.peekMinValue());
+      }
+      assertThat(pq1.isMinHeap()).isTrue();
+
+      // Polling everything gives the values in sorted order.
+      long last = Long.MIN_VALUE;
+      while (!pq1.isEmpty()) {
+        int ki = pq1.peekMinKeyIndex();
+        long value = pq1.pollMinValue();
+        assertThat(value).isEqualTo(pq2.delete(ki));
+        assertThat(value).isAtLeast(last);
+        last = value;
+      }
+    }
+  }
+}
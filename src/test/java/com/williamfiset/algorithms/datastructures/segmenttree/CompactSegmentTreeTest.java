@@ -3,6 +3,8 @@ package com.williamfiset.algorithms.datastructures.segmenttree;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class CompactSegmentTreeTest {
@@ -121,4 +123,86 @@ public class CompactSegmentTreeTest {
     // Query second half: sum of 51..100 = 3775
     assertThat(st.query(50, 100)).isEqualTo(3775);
   }
+
+  @Test
+  public void testQueryAll_matchesQuery() {
+    Random random = new Random(1);
+    int n = 1000;
+    long[] values = new long[n];
+    for (int i = 0; i < n; i++) values[i] = random.nextInt(100);
+    CompactSegmentTree st = new CompactSegmentTree(values);
+
+    // Enough queries to be split between threads.
+    int k = 5000;
+    int[] lefts = new int[k], rights = new int[k];
+    for (int j = 0; j < k; j++) {
+      lefts[j] = random.nextInt(n);
+      rights[j] = lefts[j] + 1 + random.nextInt(n - lefts[j]);
+    }
+    long[] out = new long[k];
+    st.queryAll(lefts, rights, out);
+    for (int j = 0; j < k; j++) {
+      assertThat(out[j]).isEqualTo(st.query(lefts[j], rights[j]));
+    }
+  }
+
+  @Test
+  public void testQueryAll_invalidArguments() {
+    CompactSegmentTree st = new CompactSegmentTree(new long[] {1, 2, 3});
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> st.queryAll(new int[] {0}, new int[] {1, 2}, new long[1]));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> st.queryAll(new int[] {1}, new int[] {1}, new long[1]));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> st.queryAll(new int[] {0}, new int[] {4}, new long[1]));
+
+    // A bad range in a batch big enough to be split between threads fails before any is answered.
+    int k = 5000;
+    int[] lefts = new int[k], rights = new int[k];
+    Arrays.fill(rights, 3);
+    lefts[k - 1] = 3;
+    long[] out = new long[k];
+    assertThrows(IndexOutOfBoundsException.class, () -> st.queryAll(lefts, rights, out));
+    assertThat(out).isEqualTo(new long[k]);
+  }
+
+  @Test
+  public void testApplyUpdates_matchesModify() {
+    Random random = new Random(2);
+    for (int n = 1; n <= 70; n++) {
+      long[] values = new long[n];
+      for (int i = 0; i < n; i++) values[i] = random.nextInt(100);
+      CompactSegmentTree batched = new CompactSegmentTree(values);
+      CompactSegmentTree expected = new CompactSegmentTree(values);
+
+      for (int it = 0; it < 10; it++) {
+        int k = random.nextInt(2 * n);
+        int[] indices = new int[k];
+        long[] x = new long[k];
+        for (int j = 0; j < k; j++) {
+          indices[j] = random.nextInt(n);
+          x[j] = random.nextInt(100) - 50;
+          expected.modify(indices[j], x[j]);
+        }
+        batched.applyUpdates(indices, x);
+        for (int l = 0; l < n; l++) {
+          for (int r = l + 1; r <= n; r++) {
+            assertThat(batched.query(l, r)).isEqualTo(expected.query(l, r));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testApplyUpdates_invalidArguments() {
+    CompactSegmentTree st = new CompactSegmentTree(new long[] {1, 2, 3});
+    assertThrows(
+        IllegalArgumentException.class, () -> st.applyUpdates(new int[] {0}, new long[0]));
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> st.applyUpdates(new int[] {3}, new long[] {1}));
+  }
 }
@@ -7,6 +7,8 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class GenericSegmentTreeTest {
@@ -1039,6 +1041,116 @@ public class GenericSegmentTreeTest {
     return Math.abs(a);
   }
 
+  @Test
+  public void testQueryAll_matchesRangeQuery() {
+    GenericSegmentTree.SegmentCombinationFn[] fns = {
+      GenericSegmentTree.SegmentCombinationFn.SUM,
+      GenericSegmentTree.SegmentCombinationFn.MIN,
+      GenericSegmentTree.SegmentCombinationFn.MAX
+    };
+    Random random = new Random(1);
+    for (GenericSegmentTree.SegmentCombinationFn fn : fns) {
+      for (GenericSegmentTree.RangeUpdateFn update : GenericSegmentTree.RangeUpdateFn.values()) {
+        int n = 1 + random.nextInt(300);
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) values[i] = random.nextInt(10);
+        GenericSegmentTree st = new GenericSegmentTree(values, fn, update);
+        for (int it = 0; it < 50; it++) {
+          int l = random.nextInt(n), r = l + random.nextInt(n - l);
+          st.rangeUpdate(l, r, random.nextInt(3));
+        }
+
+        // Enough queries to be split between threads.
+        int k = 5000;
+        int[] lefts = new int[k], rights = new int[k];
+        for (int j = 0; j < k; j++) {
+          lefts[j] = random.nextInt(n);
+          rights[j] = lefts[j] + random.nextInt(n - lefts[j]);
+        }
+        long[] out = new long[k];
+        st.queryAll(lefts, rights, out);
+        for (int j = 0; j < k; j++) {
+          assertThat(out[j]).isEqualTo(st.rangeQuery(lefts[j], rights[j]));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testQueryAll_invalidArguments() {
+    GenericSegmentTree st =
+        new GenericSegmentTree(
+            new long[] {1, 2, 3},
+            GenericSegmentTree.SegmentCombinationFn.SUM,
+            GenericSegmentTree.RangeUpdateFn.ADDITION);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> st.queryAll(new int[] {0}, new int[] {1, 2}, new long[1]));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> st.queryAll(new int[] {2}, new int[] {1}, new long[1]));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> st.queryAll(new int[] {0}, new int[] {3}, new long[1]));
+
+    // A bad range in a batch big enough to be split between threads fails before any is answered.
+    int k = 5000;
+    int[] lefts = new int[k], rights = new int[k];
+    Arrays.fill(rights, 2);
+    rights[k - 1] = 3;
+    long[] out = new long[k];
+    assertThrows(IndexOutOfBoundsException.class, () -> st.queryAll(lefts, rights, out));
+    assertThat(out).isEqualTo(new long[k]);
+  }
+
+  @Test
+  public void testApplyUpdates_matchesPointUpdates() {
+    Random random = new Random(2);
+    for (GenericSegmentTree.RangeUpdateFn update : GenericSegmentTree.RangeUpdateFn.values()) {
+      for (int n = 1; n <= MAX_N; n++) {
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) values[i] = random.nextInt(10);
+        GenericSegmentTree batched =
+            new GenericSegmentTree(values, GenericSegmentTree.SegmentCombinationFn.SUM, update);
+        GenericSegmentTree expected =
+            new GenericSegmentTree(values, GenericSegmentTree.SegmentCombinationFn.SUM, update);
+
+        for (int it = 0; it < 20; it++) {
+          // A range update leaves lazy deltas for the batch to push down.
+          int l = random.nextInt(n), r = l + random.nextInt(n - l);
+          batched.rangeUpdate(l, r, 2);
+          expected.rangeUpdate(l, r, 2);
+
+          int k = random.nextInt(2 * n);
+          int[] indices = new int[k];
+          long[] x = new long[k];
+          for (int j = 0; j < k; j++) {
+            indices[j] = random.nextInt(n);
+            x[j] = random.nextInt(3);
+            expected.rangeUpdate(indices[j], indices[j], x[j]);
+          }
+          batched.applyUpdates(indices, x);
+          for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+              assertThat(batched.rangeQuery(i, j)).isEqualTo(expected.rangeQuery(i, j));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testApplyUpdates_indexOutOfRange() {
+    GenericSegmentTree st =
+        new GenericSegmentTree(
+            new long[] {1, 2, 3},
+            GenericSegmentTree.SegmentCombinationFn.SUM,
+            GenericSegmentTree.RangeUpdateFn.ADDITION);
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> st.applyUpdates(new int[] {3}, new long[] {1}));
+  }
+
   private static long bruteForceGcd(long[] values, int l, int r) {
     long s = values[l];
     for (int i = l; i <= r; i++) {
@@ -0,0 +1,179 @@
+/**
+ * bazel test //src/test/java/com/williamfiset/algorithms/datastructures/segmenttree:LongSegmentTreeTest
+ */
+package com.williamfiset.algorithms.datastructures.segmenttree;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.datastructures.segmenttree.GenericSegmentTree.RangeUpdateFn;
+import com.williamfiset.algorithms.datastructures.segmenttree.GenericSegmentTree.SegmentCombinationFn;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class LongSegmentTreeTest {
+
+  static int ITERATIONS = 250;
+  static int MAX_N = 17;
+
+  @Test
+  public void testSumQuerySumUpdate_simple() {
+    long[] ar = {1, 2, 1, 2, 1};
+    LongSegmentTree st = new LongSegmentTree(ar, SegmentCombinationFn.SUM, RangeUpdateFn.ADDITION);
+
+    st.rangeUpdate(0, 1, 5);
+    st.rangeUpdate(3, 4, 2);
+    st.rangeUpdate(0, 4, 3);
+
+    assertThat(st.rangeQuery(0, 0)).isEqualTo(1 + 3 + 5);
+    assertThat(st.rangeQuery(3, 4)).isEqualTo(2 * 2 + 2 * 3 + 2 + 1);
+    assertThat(st.rangeQuery(0, 4)).isEqualTo(2 * 5 + 2 * 2 + 3 * 5 + 1 + 1 + 1 + 2 + 2);
+  }
+
+  @Test
+  public void testProductQueryAssignUpdate_simple() {
+    long[] ar = {3, 1, 2, 4};
+    LongSegmentTree st =
+        new LongSegmentTree(ar, SegmentCombinationFn.PRODUCT, RangeUpdateFn.ASSIGN);
+
+    st.rangeUpdate(0, 2, 2);
+    assertThat(st.rangeQuery(0, 3)).isEqualTo(2 * 2 * 2 * 4);
+    st.rangeUpdate(2, 3, 3);
+    assertThat(st.rangeQuery(1, 3)).isEqualTo(2 * 3 * 3);
+  }
+
+  @Test
+  public void testEmptyRange_returnsIdentity() {
+    long[] ar = {5, 6, 7};
+    assertThat(new LongSegmentTree(ar, LongMonoid.SUM, LongLazyAction.SUM_ADD).rangeQuery(2, 1))
+        .isEqualTo(0);
+    assertThat(new LongSegmentTree(ar, LongMonoid.MIN, LongLazyAction.ADD).rangeQuery(2, 1))
+        .isEqualTo(Long.MAX_VALUE);
+    assertThat(new LongSegmentTree(ar, LongMonoid.PRODUCT, LongLazyAction.PRODUCT_MULTIPLY)
+            .rangeQuery(2, 1))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void testGcdQueryAdditionUpdate_throwsException() {
+    assertThrows(
+        UnsupportedOperationException.class,
+        () ->
+            new LongSegmentTree(new long[] {1}, SegmentCombinationFn.GCD, RangeUpdateFn.ADDITION));
+  }
+
+  @Test
+  public void testProductQueryAdditionUpdate_throwsException() {
+    assertThrows(
+        UnsupportedOperationException.class,
+        () ->
+            new LongSegmentTree(
+                new long[] {1}, SegmentCombinationFn.PRODUCT, RangeUpdateFn.ADDITION));
+  }
+
+  @Test
+  public void testNullArguments_throwsException() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LongSegmentTree(null, SegmentCombinationFn.SUM, RangeUpdateFn.ADDITION));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LongSegmentTree(new long[] {1}, null, RangeUpdateFn.ADDITION));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LongSegmentTree(new long[] {1}, SegmentCombinationFn.SUM, null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LongSegmentTree(new long[] {1}, LongMonoid.SUM, null));
+  }
+
+  @Test
+  public void testRandomizedAgainstBruteForce_allSupportedCombinations() {
+    for (SegmentCombinationFn fn : SegmentCombinationFn.values()) {
+      for (RangeUpdateFn update : RangeUpdateFn.values()) {
+        if (update == RangeUpdateFn.ADDITION
+            && (fn == SegmentCombinationFn.GCD || fn == SegmentCombinationFn.PRODUCT)) {
+          continue;
+        }
+        testRandomized(fn, update);
+      }
+    }
+  }
+
+  // Applies random updates to a LongSegmentTree and to a plain array, and compares random range
+  // queries. The values stay small and non-negative, since MIN/MAX with multiplication is only
+  // correct for non-negative factors.
+  private static void testRandomized(SegmentCombinationFn fn, RangeUpdateFn update) {
+    Random random = new Random(fn.ordinal() * 31 + update.ordinal());
+    int maxValue = fn == SegmentCombinationFn.PRODUCT ? 3 : 20;
+    for (int n = 1; n <= MAX_N; n++) {
+      long[] ar = new long[n];
+      for (int i = 0; i < n; i++) ar[i] = random.nextInt(maxValue);
+      LongSegmentTree st = new LongSegmentTree(ar, fn, update);
+
+      for (int it = 0; it < ITERATIONS; it++) {
+        int l = random.nextInt(n);
+        int r = l + random.nextInt(n - l);
+        if (random.nextBoolean()) {
+          // Multiplying repeatedly would overflow, so multiply by 0, 1 or 2 only now and then.
+          long x = update == RangeUpdateFn.MULTIPLICATION ? random.nextInt(3) : random.nextInt(5);
+          if (update == RangeUpdateFn.MULTIPLICATION && x == 2 && random.nextInt(4) != 0) x = 1;
+          st.rangeUpdate(l, r, x);
+          for (int i = l; i <= r; i++) {
+            if (update == RangeUpdateFn.ADDITION) ar[i] += x;
+            else if (update == RangeUpdateFn.ASSIGN) ar[i] = x;
+            else ar[i] *= x;
+          }
+        } else {
+          assertThat(st.rangeQuery(l, r)).isEqualTo(bruteForce(ar, l, r, fn));
+        }
+      }
+    }
+  }
+
+  private static long bruteForce(long[] ar, int l, int r, SegmentCombinationFn fn) {
+    LongMonoid monoid;
+    switch (fn) {
+      case SUM:
+        monoid = LongMonoid.SUM;
+        break;
+      case MIN:
+        monoid = LongMonoid.MIN;
+        break;
+      case MAX:
+        monoid = LongMonoid.MAX;
+        break;
+      case GCD:
+        monoid = LongMonoid.GCD;
+        break;
+      default:
+        monoid = LongMonoid.PRODUCT;
+    }
+    long result = monoid.identity();
+    for (int i = l; i <= r; i++) result = monoid.combine(result, ar[i]);
+    return result;
+  }
+
+  @Test
+  public void testRandomizedAgainstGenericSegmentTree() {
+    Random random = new Random(7);
+    int n = 100;
+    long[] ar = new long[n];
+    for (int i = 0; i < n; i++) ar[i] = random.nextInt(200) - 100;
+    LongSegmentTree st = new LongSegmentTree(ar, SegmentCombinationFn.MIN, RangeUpdateFn.ADDITION);
+    GenericSegmentTree expected =
+        new GenericSegmentTree(ar, SegmentCombinationFn.MIN, RangeUpdateFn.ADDITION);
+
+    for (int it = 0; it < 10 * ITERATIONS; it++) {
+      int l = random.nextInt(n);
+      int r = l + random.nextInt(n - l);
+      if (random.nextBoolean()) {
+        long x = random.nextInt(21) - 10;
+        st.rangeUpdate(l, r, x);
+        expected.rangeUpdate(l, r, x);
+      } else {
+        assertThat(st.rangeQuery(l, r)).isEqualTo(expected.rangeQuery(l, r));
+      }
+    }
+  }
+}
@@ -108,4 +108,22 @@ public class StackTest {
     assertThat(iterated).isEmpty();
     assertThat(stack.isEmpty()).isTrue();
   }
+
+  @Test
+  public void testIntStackPrimitiveOperations() {
+    IntStack stack = new IntStack(3);
+    stack.push(1);
+    stack.push(Integer.valueOf(2));
+    stack.push(3);
+
+    assertThat(stack.peekInt()).isEqualTo(3);
+    assertThat(stack.popInt()).isEqualTo(3);
+    assertThat(stack.pop()).isEqualTo(2);
+    assertThat(stack.size()).isEqualTo(1);
+
+    stack.clear();
+    assertThat(stack.isEmpty()).isTrue();
+    assertThrows(Exception.class, () -> stack.popInt());
+    assertThrows(Exception.class, () -> stack.peekInt());
+  }
 }
@@ -0,0 +1,85 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentUnionFindTest {
+
+  @Test
+  public void testIllegalSize() {
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentUnionFind(0));
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentUnionFind(-1));
+  }
+
+  @Test
+  public void testSequentialUnions() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(5);
+    assertThat(uf.size()).isEqualTo(5);
+    assertThat(uf.components()).isEqualTo(5);
+
+    assertThat(uf.unify(3, 4)).isTrue();
+    assertThat(uf.unify(4, 3)).isFalse();
+    assertThat(uf.unify(1, 4)).isTrue();
+    assertThat(uf.components()).isEqualTo(3);
+
+    assertThat(uf.connected(1, 3)).isTrue();
+    assertThat(uf.connected(0, 3)).isFalse();
+    assertThat(uf.connected(2, 2)).isTrue();
+  }
+
+  // The root of a component is its smallest element, whatever the order of the unions.
+  @Test
+  public void testRootIsSmallestElement() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(10);
+    uf.unify(9, 7);
+    uf.unify(7, 8);
+    uf.unify(5, 9);
+    uf.unify(2, 4);
+    for (int i : new int[] {5, 7, 8, 9}) assertThat(uf.find(i)).isEqualTo(5);
+    assertThat(uf.find(4)).isEqualTo(2);
+    assertThat(uf.find(6)).isEqualTo(6);
+  }
+
+  @Test
+  public void testConcurrentUnionsMatchUnionFind() throws Exception {
+    int n = 100_000, threads = 4, unionsPerThread = 30_000;
+    int[][] pairs = new int[threads * unionsPerThread][];
+    Random random = new Random(42);
+    UnionFind expected = new UnionFind(n);
+    for (int i = 0; i < pairs.length; i++) {
+      pairs[i] = new int[] {random.nextInt(n), random.nextInt(n)};
+      expected.unify(pairs[i][0], pairs[i][1]);
+    }
+
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int from = t * unionsPerThread, to = from + unionsPerThread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = from; i < to; i++) uf.unify(pairs[i][0], pairs[i][1]);
+                }));
+      }
+      for (Future<?> future : futures) future.get();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(uf.components()).isEqualTo(expected.components());
+    for (int i = 0; i < n; i++) {
+      assertThat(uf.find(i) == uf.find(expected.find(i))).isTrue();
+      assertThat(uf.find(i)).isAtMost(i);
+    }
+  }
+}
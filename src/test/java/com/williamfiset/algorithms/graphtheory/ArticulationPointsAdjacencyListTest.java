@@ -2,6 +2,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.jupiter.api.*;
 
@@ -248,4 +249,47 @@ public class ArticulationPointsAdjacencyListTest {
     expected[1] = true; // middle node.
     assertThat(actual).isEqualTo(expected);
   }
+
+  @Test
+  public void testIntArrayAndCsrGraphsAgainstAdjacencyList() {
+    Random random = new Random(77);
+    for (int n = 1; n <= 40; n++) {
+      List<List<Integer>> graph = createGraph(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      Set<Long> edges = new HashSet<>();
+      for (int i = 0; i < n + n / 4; i++) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        if (u == v || !edges.add((long) Math.min(u, v) * n + Math.max(u, v))) continue;
+        addEdge(graph, u, v);
+        builder.addUndirectedEdge(u, v);
+      }
+      int[][] adjacency = new int[n][];
+      for (int i = 0; i < n; i++) adjacency[i] = graph.get(i).stream().mapToInt(x -> x).toArray();
+
+      boolean[] expected = new ArticulationPointsAdjacencyList(graph, n).findArticulationPoints();
+      assertThat(new ArticulationPointsAdjacencyList(adjacency).findArticulationPoints())
+          .isEqualTo(expected);
+      assertThat(new ArticulationPointsAdjacencyList(builder.build()).findArticulationPoints())
+          .isEqualTo(expected);
+    }
+  }
+
+  // Far deeper than a recursive DFS could go with the default thread stack size. Every node of a
+  // path but its two ends is an articulation point.
+  @Test
+  public void testMillionNodePath() {
+    int n = 1_000_000;
+    int[][] path = new int[n][];
+    path[0] = new int[] {1};
+    path[n - 1] = new int[] {n - 2};
+    for (int i = 1; i + 1 < n; i++) path[i] = new int[] {i - 1, i + 1};
+
+    ArticulationPointsAdjacencyList solver = new ArticulationPointsAdjacencyList(path);
+    boolean[] isArticulationPoint = solver.findArticulationPoints();
+    int count = 0;
+    for (boolean b : isArticulationPoint) if (b) count++;
+    assertThat(count).isEqualTo(n - 2);
+    assertThat(isArticulationPoint[0]).isFalse();
+    assertThat(isArticulationPoint[n - 1]).isFalse();
+  }
 }
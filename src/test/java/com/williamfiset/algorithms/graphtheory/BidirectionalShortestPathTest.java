@@ -0,0 +1,208 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class BidirectionalShortestPathTest {
+
+  private static final double EPS = 1e-9;
+
+  @Test
+  public void singleNode() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(1);
+    assertThat(solver.dijkstra(0, 0)).isEqualTo(0.0);
+    assertThat(solver.reconstructPath()).containsExactly(0);
+  }
+
+  @Test
+  public void unreachableNodeReturnsInfinity() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(3);
+    solver.addEdge(0, 1, 5);
+
+    assertThat(solver.dijkstra(0, 2)).isPositiveInfinity();
+    assertThat(solver.reconstructPath()).isEmpty();
+  }
+
+  @Test
+  public void reconstructPathBeforeQueryIsEmpty() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(2);
+    solver.addEdge(0, 1, 1);
+    assertThat(solver.reconstructPath()).isEmpty();
+  }
+
+  @Test
+  public void edgesAreDirected() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(2);
+    solver.addEdge(0, 1, 5);
+
+    assertThat(solver.dijkstra(0, 1)).isEqualTo(5.0);
+    assertThat(solver.dijkstra(1, 0)).isPositiveInfinity();
+  }
+
+  // The first node reached by both searches, 1, is not on the shortest path.
+  @Test
+  public void doesNotStopAtFirstCommonNode() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(5);
+    solver.addEdge(0, 1, 3);
+    solver.addEdge(1, 4, 3);
+    solver.addEdge(0, 2, 2);
+    solver.addEdge(2, 3, 2);
+    solver.addEdge(3, 4, 1.5);
+
+    assertThat(solver.dijkstra(0, 4)).isEqualTo(5.5);
+    assertThat(solver.reconstructPath()).containsExactly(0, 2, 3, 4).inOrder();
+  }
+
+  @Test
+  public void addEdgeAfterQueryThrows() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(2);
+    solver.addEdge(0, 1, 1);
+    solver.dijkstra(0, 1);
+    assertThrows(IllegalStateException.class, () -> solver.addEdge(1, 0, 1));
+  }
+
+  @Test
+  public void negativeCostThrows() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(2);
+    assertThrows(IllegalArgumentException.class, () -> solver.addEdge(0, 1, -1));
+    CsrGraph graph = CsrGraph.builder(2).addEdge(0, 1, -1.0).build();
+    assertThrows(IllegalArgumentException.class, () -> new BidirectionalShortestPath(graph));
+  }
+
+  @Test
+  public void nodeOutOfRangeThrows() {
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(2);
+    assertThrows(IllegalArgumentException.class, () -> solver.dijkstra(0, 2));
+  }
+
+  @Test
+  public void bidirectionalDijkstraMatchesDijkstra() {
+    Random random = new Random(12);
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + random.nextInt(40);
+      CsrGraph graph = randomGraph(random, n, random.nextInt(4 * n));
+      DijkstrasShortestPathAdjacencyListWithDHeap dijkstra =
+          new DijkstrasShortestPathAdjacencyListWithDHeap(graph);
+      BidirectionalShortestPath solver = new BidirectionalShortestPath(graph);
+
+      for (int query = 0; query < 10; query++) {
+        int start = random.nextInt(n), end = random.nextInt(n);
+        double expected = dijkstra.dijkstra(start, end);
+        assertThat(solver.dijkstra(start, end)).isWithin(EPS).of(expected);
+        assertPathHasLength(graph, solver.reconstructPath(), start, end, expected);
+      }
+    }
+  }
+
+  @Test
+  public void bidirectionalAStarMatchesDijkstra() {
+    Random random = new Random(34);
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + random.nextInt(40);
+      double[] x = new double[n], y = new double[n];
+      for (int i = 0; i < n; i++) {
+        x[i] = random.nextDouble() * 100;
+        y[i] = random.nextDouble() * 100;
+      }
+      // Edges cost at least the distance between their ends, so the heuristic is consistent.
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = random.nextInt(4 * n); i > 0; i--) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        double length = Math.hypot(x[u] - x[v], y[u] - y[v]);
+        builder.addEdge(u, v, length * (1 + random.nextDouble()));
+      }
+      CsrGraph graph = builder.build();
+      DijkstrasShortestPathAdjacencyListWithDHeap dijkstra =
+          new DijkstrasShortestPathAdjacencyListWithDHeap(graph);
+      BidirectionalShortestPath solver = new BidirectionalShortestPath(graph);
+      BidirectionalShortestPath.Heuristic heuristic = BidirectionalShortestPath.euclidean(x, y);
+
+      for (int query = 0; query < 10; query++) {
+        int start = random.nextInt(n), end = random.nextInt(n);
+        double expected = dijkstra.dijkstra(start, end);
+        assertThat(solver.astar(start, end, heuristic)).isWithin(EPS).of(expected);
+        assertPathHasLength(graph, solver.reconstructPath(), start, end, expected);
+      }
+    }
+  }
+
+  @Test
+  public void searchesSettleFewerNodesOnGrid() {
+    int side = 100, n = side * side;
+    double[] x = new double[n], y = new double[n];
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i < n; i++) {
+      x[i] = i % side;
+      y[i] = i / side;
+      if (i % side + 1 < side) builder.addUndirectedEdge(i, i + 1, 1.0);
+      if (i + side < n) builder.addUndirectedEdge(i, i + side, 1.0);
+    }
+    CsrGraph graph = builder.build();
+    DijkstrasShortestPathAdjacencyListWithDHeap dijkstra =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(graph);
+    DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext ctx =
+        new DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext(dijkstra);
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(graph);
+
+    int start = 50 * side + 20, end = 50 * side + 80;
+    assertThat(dijkstra.dijkstra(start, end, ctx)).isEqualTo(60.0);
+    assertThat(solver.dijkstra(start, end)).isEqualTo(60.0);
+    int bidirectionalSettled = solver.nodesSettled();
+    assertThat(solver.astar(start, end, BidirectionalShortestPath.euclidean(x, y)))
+        .isEqualTo(60.0);
+    int astarSettled = solver.nodesSettled();
+
+    assertThat(bidirectionalSettled).isLessThan(ctx.nodesSettled());
+    assertThat(astarSettled).isLessThan(bidirectionalSettled);
+  }
+
+  @Test
+  public void queriesDoNotInterfere() {
+    int n = 1000;
+    BidirectionalShortestPath solver = new BidirectionalShortestPath(n);
+    for (int i = 0; i + 1 < n; i++) {
+      solver.addEdge(i, i + 1, 1);
+      solver.addEdge(i + 1, i, 1);
+    }
+
+    assertThat(solver.dijkstra(0, n - 1)).isEqualTo(n - 1.0);
+    assertThat(solver.dijkstra(500, 503)).isEqualTo(3.0);
+    assertThat(solver.nodesSettled()).isAtMost(6);
+    assertThat(solver.reconstructPath()).containsExactly(500, 501, 502, 503).inOrder();
+    assertThat(solver.dijkstra(503, 500)).isEqualTo(3.0);
+    assertThat(solver.reconstructPath()).containsExactly(503, 502, 501, 500).inOrder();
+  }
+
+  private static CsrGraph randomGraph(Random random, int n, int m) {
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i < m; i++)
+      builder.addEdge(random.nextInt(n), random.nextInt(n), (double) random.nextInt(20));
+    return builder.build();
+  }
+
+  // Checks that the path goes from start to end over edges of the graph, and has the given length.
+  private static void assertPathHasLength(
+      CsrGraph graph, List<Integer> path, int start, int end, double expected) {
+    if (expected == Double.POSITIVE_INFINITY) {
+      assertThat(path).isEmpty();
+      return;
+    }
+    assertThat(path.get(0)).isEqualTo(start);
+    assertThat(path.get(path.size() - 1)).isEqualTo(end);
+    double length = 0;
+    for (int i = 0; i + 1 < path.size(); i++) {
+      int u = path.get(i), v = path.get(i + 1);
+      double cheapest = Double.POSITIVE_INFINITY;
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++)
+        if (graph.target(e) == v) cheapest = Math.min(cheapest, graph.weight(e));
+      assertThat(cheapest).isLessThan(Double.POSITIVE_INFINITY);
+      length += cheapest;
+    }
+    assertThat(length).isWithin(EPS).of(expected);
+  }
+}
@@ -0,0 +1,270 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+
+public class BlockedFloydWarshallSolverTest {
+
+  static final double INF = Double.POSITIVE_INFINITY;
+  static final double NEG_INF = Double.NEGATIVE_INFINITY;
+
+  static final int[] BLOCK_SIZES = {1, 2, 3, 7, 16, 64};
+
+  private static void addRandomEdges(
+      Random random, double[][] matrix, int count, boolean allowNegativeEdges) {
+    int n = matrix.length;
+    while (count-- > 0) {
+      int i = random.nextInt(n);
+      int j = random.nextInt(n);
+      if (i == j) continue;
+      int v = random.nextInt(100);
+      // Negative edges only very rarely, one of them is enough to create negative cycles.
+      if (allowNegativeEdges && random.nextDouble() < 0.005) v = -v;
+      matrix[i][j] = v;
+    }
+  }
+
+  // Checks the blocked solver against FloydWarshallSolver. The weights are integers, so the
+  // distances are exact whatever order the sums are done in. Paths may differ when two have the
+  // same cost, so only their cost is compared. A path from a node to itself is just that node,
+  // whatever the cost of the cycles through it.
+  private static void assertSameAsFloydWarshall(double[][] matrix, ForkJoinPool pool, int block) {
+    int n = matrix.length;
+    FloydWarshallSolver expected = new FloydWarshallSolver(matrix);
+    BlockedFloydWarshallSolver actual = new BlockedFloydWarshallSolver(matrix, pool, block);
+    double[][] dist = expected.getApspMatrix();
+    assertThat(actual.getApspMatrix()).isEqualTo(dist);
+
+    for (int s = 0; s < n; s++) {
+      for (int e = 0; e < n; e++) {
+        List<Integer> path = actual.reconstructShortestPath(s, e);
+        if (dist[s][e] == NEG_INF) {
+          assertThat(path).isNull();
+        } else if (dist[s][e] == INF) {
+          assertThat(path).isEmpty();
+        } else if (s == e) {
+          assertThat(path).isEqualTo(expected.reconstructShortestPath(s, e));
+        } else {
+          assertThat(path.get(0)).isEqualTo(s);
+          assertThat(path.get(path.size() - 1)).isEqualTo(e);
+          double cost = 0;
+          for (int i = 0; i + 1 < path.size(); i++) cost += matrix[path.get(i)][path.get(i + 1)];
+          assertThat(cost).isEqualTo(dist[s][e]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    double[][] m = FloydWarshallSolver.createGraph(3);
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    assertThrows(IllegalArgumentException.class, () -> new BlockedFloydWarshallSolver(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new BlockedFloydWarshallSolver(new double[0][0]));
+    assertThrows(
+        IllegalArgumentException.class, () -> new BlockedFloydWarshallSolver(m, null, 2));
+    assertThrows(
+        IllegalArgumentException.class, () -> new BlockedFloydWarshallSolver(m, pool, 0));
+  }
+
+  @Test
+  public void testNegativeCycle() {
+    double[][] m = FloydWarshallSolver.createGraph(5);
+    m[0][1] = 4;
+    m[1][2] = 1;
+    m[2][3] = 2;
+    m[3][2] = -5;
+    m[3][4] = 1;
+
+    BlockedFloydWarshallSolver solver =
+        new BlockedFloydWarshallSolver(m, ForkJoinPool.commonPool(), 2);
+    assertThat(solver.getDistance(0, 1)).isEqualTo(4.0);
+    assertThat(solver.getDistance(0, 4)).isEqualTo(NEG_INF);
+    assertThat(solver.getDistance(2, 2)).isEqualTo(NEG_INF);
+    assertThat(solver.getDistance(4, 0)).isEqualTo(INF);
+    assertThat(solver.reconstructShortestPath(0, 1)).containsExactly(0, 1).inOrder();
+    assertThat(solver.reconstructShortestPath(0, 4)).isNull();
+    assertThat(solver.reconstructShortestPath(4, 0)).isEmpty();
+  }
+
+  @Test
+  public void testSingleNodeNegativeCycle() {
+    double[][] m = {{-1}};
+    BlockedFloydWarshallSolver solver = new BlockedFloydWarshallSolver(m);
+    assertThat(solver.getDistance(0, 0)).isEqualTo(NEG_INF);
+    assertThat(solver.reconstructShortestPath(0, 0)).isNull();
+  }
+
+  @Test
+  public void testSameAsFloydWarshall_nonNegativeEdges() {
+    Random random = new Random(1);
+    for (int n = 1; n <= 40; n += 3) {
+      double[][] m = FloydWarshallSolver.createGraph(n);
+      addRandomEdges(random, m, n * 3, false);
+      for (int block : BLOCK_SIZES) {
+        assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsFloydWarshall_negativeEdges() {
+    Random random = new Random(2);
+    for (int n = 1; n <= 40; n += 3) {
+      for (int trial = 0; trial < 5; trial++) {
+        double[][] m = FloydWarshallSolver.createGraph(n);
+        addRandomEdges(random, m, n * 2, true);
+        // Make sure a few graphs have a negative cycle.
+        if (n > 2 && trial == 0) m[n - 1][n - 2] = m[n - 2][n - 1] = -1;
+        for (int block : BLOCK_SIZES) {
+          assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+        }
+      }
+    }
+  }
+
+  // The tiles relax the pairs in a different order than the textbook loop, which used to leave
+  // the next hops going around a zero-weight cycle forever.
+  @Test
+  public void testZeroWeightCycle() {
+    double[][] m = FloydWarshallSolver.createGraph(4);
+    m[0][2] = -2;
+    m[2][0] = 2;
+    m[0][3] = 4;
+    m[3][1] = -1;
+    m[1][3] = 3;
+    m[3][2] = 3;
+
+    FloydWarshallSolver expected = new FloydWarshallSolver(m);
+    BlockedFloydWarshallSolver solver =
+        new BlockedFloydWarshallSolver(m, ForkJoinPool.commonPool(), 2);
+    assertThat(solver.getDistance(0, 1)).isEqualTo(3.0);
+    assertThat(solver.reconstructShortestPath(0, 1))
+        .isEqualTo(expected.reconstructShortestPath(0, 1));
+    for (int block : BLOCK_SIZES) {
+      assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+    }
+  }
+
+  // A positive self loop on the destination must not stop the path from reaching it.
+  @Test
+  public void testPositiveSelfLoop() {
+    double[][] m = FloydWarshallSolver.createGraph(3);
+    m[0][1] = 1;
+    m[1][2] = 1;
+    m[2][2] = 5;
+
+    BlockedFloydWarshallSolver solver = new BlockedFloydWarshallSolver(m);
+    assertThat(solver.reconstructShortestPath(0, 2)).containsExactly(0, 1, 2).inOrder();
+    for (int block : BLOCK_SIZES) {
+      assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+    }
+  }
+
+  // A direct edge only slightly longer than the shortest path, relative to the distance, must not be
+  // taken, at both large and small scales.
+  @Test
+  public void testNearlyTightEdgeIsNotOnShortestPath() {
+    double[][] large = FloydWarshallSolver.createGraph(3);
+    large[0][2] = 1e12 + 100;
+    large[0][1] = 5e11;
+    large[1][2] = 5e11;
+
+    double[][] small = FloydWarshallSolver.createGraph(3);
+    small[0][2] = 5e-10;
+    small[0][1] = 1e-10;
+    small[1][2] = 1e-10;
+
+    for (double[][] m : new double[][][] {large, small}) {
+      FloydWarshallSolver expected = new FloydWarshallSolver(m);
+      BlockedFloydWarshallSolver solver = new BlockedFloydWarshallSolver(m);
+      assertThat(solver.reconstructShortestPath(0, 2)).containsExactly(0, 1, 2).inOrder();
+      assertThat(solver.reconstructShortestPath(0, 2))
+          .isEqualTo(expected.reconstructShortestPath(0, 2));
+      for (int block : BLOCK_SIZES) {
+        assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+      }
+    }
+  }
+
+  // With real weights, the sums along a long path round differently depending on the order they
+  // are done in. Next hops rebuilt from the final distances used to lose such paths, so the
+  // chain spans several blocks.
+  @Test
+  public void testLongChainOfRealWeights() {
+    Random random = new Random(6);
+    int n = 600;
+    double[][] m = FloydWarshallSolver.createGraph(n);
+    for (int i = 0; i + 1 < n; i++) m[i][i + 1] = random.nextDouble();
+
+    FloydWarshallSolver expected = new FloydWarshallSolver(m);
+    BlockedFloydWarshallSolver solver = new BlockedFloydWarshallSolver(m);
+    for (int end : new int[] {1, 105, 300, n - 1}) {
+      List<Integer> path = solver.reconstructShortestPath(0, end);
+      assertThat(path).hasSize(end + 1);
+      assertThat(path).isEqualTo(expected.reconstructShortestPath(0, end));
+    }
+    for (int start = 0; start < n; start += 37) {
+      for (int end = start; end < n; end += 41) {
+        assertThat(solver.reconstructShortestPath(start, end))
+            .isEqualTo(expected.reconstructShortestPath(start, end));
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsFloydWarshall_infiniteDiagonal() {
+    Random random = new Random(5);
+    for (int n = 1; n <= 30; n++) {
+      for (int trial = 0; trial < 5; trial++) {
+        double[][] m = FloydWarshallSolver.createGraph(n);
+        addRandomEdges(random, m, n * 2, false);
+        for (int i = 0; i < n; i++) m[i][i] = trial == 0 ? 1 + random.nextInt(10) : INF;
+        for (int block : BLOCK_SIZES) {
+          assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsFloydWarshall_zeroWeightCycles() {
+    Random random = new Random(4);
+    for (int n = 2; n <= 30; n++) {
+      for (int trial = 0; trial < 5; trial++) {
+        double[][] m = FloydWarshallSolver.createGraph(n);
+        addRandomEdges(random, m, n * 2, false);
+        // Pairs of opposite edges, each pair a zero-weight cycle.
+        for (int c = 0; c < n; c++) {
+          int i = random.nextInt(n), j = random.nextInt(n);
+          if (i == j) continue;
+          m[i][j] = random.nextInt(10) - 5;
+          m[j][i] = -m[i][j];
+        }
+        for (int block : BLOCK_SIZES) {
+          assertSameAsFloydWarshall(m, ForkJoinPool.commonPool(), block);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLargeGraphOnFourThreads() {
+    Random random = new Random(3);
+    int n = 300;
+    double[][] m = FloydWarshallSolver.createGraph(n);
+    addRandomEdges(random, m, n * 4, true);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertSameAsFloydWarshall(m, pool, BlockedFloydWarshallSolver.DEFAULT_BLOCK_SIZE);
+      assertSameAsFloydWarshall(m, pool, 17);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.williamfiset.algorithms.graphtheory.Boruvkas.Edge;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.jupiter.api.*;
 
@@ -246,4 +247,32 @@ public class BoruvkasTest {
     assertThat(solver.getMstCost().getAsLong()).isEqualTo(5L);
     assertThat(solver.getMst().get()).hasSize(2);
   }
+
+  @Test
+  public void testCsrGraphNeedsLongWeights() {
+    assertThrows(IllegalArgumentException.class, () -> new Boruvkas(null));
+    CsrGraph unweighted = CsrGraph.builder(2).addUndirectedEdge(0, 1).build();
+    assertThrows(IllegalArgumentException.class, () -> new Boruvkas(unweighted));
+  }
+
+  @Test
+  public void testCsrGraphAgainstEdgeList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 60; n++) {
+      List<Edge> edges = new ArrayList<>();
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < 2 * n; i++) {
+        int u = random.nextInt(n), v = random.nextInt(n), cost = random.nextInt(20);
+        edges.add(new Edge(u, v, cost));
+        builder.addUndirectedEdge(u, v, (long) cost);
+      }
+
+      Boruvkas solver = new Boruvkas(builder.build());
+      OptionalLong expected = new Boruvkas(n, edges.toArray(new Edge[0])).getMstCost();
+      assertThat(solver.getMstCost()).isEqualTo(expected);
+      if (expected.isPresent()) {
+        assertThat(solver.getMst().get()).hasSize(n - 1);
+      }
+    }
+  }
 }
@@ -8,6 +8,7 @@ import static java.lang.Math.max;
 import static java.lang.Math.random;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -27,7 +28,10 @@ public class BreadthFirstSearchAdjacencyListTest {
   @Test
   public void testNullGraphInput() {
     assertThrows(
-        IllegalArgumentException.class, () -> new BreadthFirstSearchAdjacencyList(null));
+        IllegalArgumentException.class,
+        () -> new BreadthFirstSearchAdjacencyList((List<List<Edge>>) null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new BreadthFirstSearchAdjacencyList((CsrGraph) null));
   }
 
   @Test
@@ -122,4 +126,29 @@ public class BreadthFirstSearchAdjacencyListTest {
 
     return graph2;
   }
+
+  // The CSR graph sorts the neighbours of every node, so the two solvers may find different paths,
+  // but they must have the same length and only use edges of the graph.
+  @Test
+  public void testCsrGraphAgainstAdjacencyList() {
+    for (int n = 1; n <= 100; n++) {
+      List<List<Edge>> graph = createEmptyGraph(n);
+      generateRandomGraph(graph, n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int u = 0; u < n; u++) for (Edge edge : graph.get(u)) builder.addEdge(u, edge.to);
+      CsrGraph csrGraph = builder.build();
+
+      BreadthFirstSearchAdjacencyList listSolver = new BreadthFirstSearchAdjacencyList(graph);
+      BreadthFirstSearchAdjacencyList csrSolver = new BreadthFirstSearchAdjacencyList(csrGraph);
+      for (int i = 0; i < 10; i++) {
+        int s = (int) (random() * n);
+        int e = (int) (random() * n);
+        List<Integer> path = csrSolver.reconstructPath(s, e);
+        assertThat(path.size()).isEqualTo(listSolver.reconstructPath(s, e).size());
+        for (int j = 1; j < path.size(); j++) {
+          assertThat(csrGraph.hasEdge(path.get(j - 1), path.get(j))).isTrue();
+        }
+      }
+    }
+  }
 }
@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.*;
@@ -155,4 +156,43 @@ public class BridgesAdjacencyListTest {
     }
     return bridges;
   }
+
+  @Test
+  public void testIntArrayAndCsrGraphsAgainstAdjacencyList() {
+    Random random = new Random(99);
+    for (int n = 1; n <= 40; n++) {
+      List<List<Integer>> graph = createGraph(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      // Sparse enough to leave some bridges, without parallel edges.
+      Set<Long> edges = new HashSet<>();
+      for (int i = 0; i < n + n / 4; i++) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        if (u == v || !edges.add((long) Math.min(u, v) * n + Math.max(u, v))) continue;
+        addEdge(graph, u, v);
+        builder.addUndirectedEdge(u, v);
+      }
+      int[][] adjacency = new int[n][];
+      for (int i = 0; i < n; i++) adjacency[i] = graph.get(i).stream().mapToInt(x -> x).toArray();
+
+      List<Pair<Integer, Integer>> expected =
+          getSortedBridges(new BridgesAdjacencyList(graph, n).findBridges());
+      assertThat(getSortedBridges(new BridgesAdjacencyList(adjacency).findBridges()))
+          .containsExactlyElementsIn(expected);
+      assertThat(getSortedBridges(new BridgesAdjacencyList(builder.build()).findBridges()))
+          .containsExactlyElementsIn(expected);
+    }
+  }
+
+  // Far deeper than a recursive DFS could go with the default thread stack size.
+  @Test
+  public void testMillionNodePathAndCycle() {
+    int n = 1_000_000;
+    CsrGraph.Builder path = CsrGraph.builder(n);
+    for (int i = 0; i + 1 < n; i++) path.addUndirectedEdge(i, i + 1);
+    assertThat(new BridgesAdjacencyList(path.build()).findBridges()).hasSize(n - 1);
+
+    int[][] cycle = new int[n][];
+    for (int i = 0; i < n; i++) cycle[i] = new int[] {(i + n - 1) % n, (i + 1) % n};
+    assertThat(new BridgesAdjacencyList(cycle).findBridges()).isEmpty();
+  }
 }
@@ -0,0 +1,229 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ContractionHierarchyTest {
+
+  private static final double EPS = 1e-9;
+
+  @Test
+  public void singleNode() {
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(CsrGraph.builder(1).build());
+    assertThat(hierarchy.distance(0, 0)).isEqualTo(0.0);
+    assertThat(hierarchy.reconstructPath(0, 0)).containsExactly(0);
+  }
+
+  @Test
+  public void unreachableNodeReturnsInfinity() {
+    CsrGraph graph = CsrGraph.builder(3).addEdge(0, 1, 5.0).build();
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+    assertThat(hierarchy.distance(0, 2)).isPositiveInfinity();
+    assertThat(hierarchy.distance(1, 0)).isPositiveInfinity();
+    assertThat(hierarchy.reconstructPath(0, 2)).isEmpty();
+  }
+
+  // Contracting the inner nodes of the line leaves shortcuts which beat the direct edge 0 -> 4.
+  @Test
+  public void pathUnpacksShortcuts() {
+    CsrGraph.Builder builder = CsrGraph.builder(5);
+    for (int i = 0; i < 4; i++) builder.addUndirectedEdge(i, i + 1, 1.0);
+    builder.addUndirectedEdge(0, 4, 10.0);
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(builder.build());
+
+    assertThat(hierarchy.distance(0, 4)).isEqualTo(4.0);
+    assertThat(hierarchy.reconstructPath(0, 4)).containsExactly(0, 1, 2, 3, 4).inOrder();
+    assertThat(hierarchy.reconstructPath(4, 1)).containsExactly(4, 3, 2, 1).inOrder();
+  }
+
+  @Test
+  public void parallelEdgesAndSelfLoops() {
+    CsrGraph graph =
+        CsrGraph.builder(2).addEdge(0, 1, 7.0).addEdge(0, 1, 3.0).addEdge(0, 0, 1.0).build();
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+    assertThat(hierarchy.distance(0, 1)).isEqualTo(3.0);
+    assertThat(hierarchy.numEdges()).isEqualTo(1);
+  }
+
+  @Test
+  public void negativeCostThrows() {
+    CsrGraph graph = CsrGraph.builder(2).addEdge(0, 1, -1.0).build();
+    assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(graph));
+  }
+
+  @Test
+  public void ranksArePermutation() {
+    CsrGraph graph = randomGraph(new Random(1), 50, 200);
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+    boolean[] seen = new boolean[50];
+    for (int v = 0; v < 50; v++) seen[hierarchy.rank(v)] = true;
+    for (boolean s : seen) assertThat(s).isTrue();
+  }
+
+  @Test
+  public void matchesDijkstraOnRandomGraphs() {
+    Random random = new Random(7);
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + random.nextInt(60);
+      CsrGraph graph = randomGraph(random, n, random.nextInt(5 * n));
+      DijkstrasShortestPathAdjacencyListWithDHeap dijkstra =
+          new DijkstrasShortestPathAdjacencyListWithDHeap(graph);
+      ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+      for (int query = 0; query < 20; query++) {
+        int start = random.nextInt(n), end = random.nextInt(n);
+        double expected = dijkstra.dijkstra(start, end);
+        assertThat(hierarchy.distance(start, end)).isWithin(EPS).of(expected);
+        assertPathHasLength(graph, hierarchy.reconstructPath(start, end), start, end, expected);
+      }
+    }
+  }
+
+  @Test
+  public void settlesFewNodesOnGrid() {
+    int side = 40, n = side * side;
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    Random random = new Random(3);
+    for (int i = 0; i < n; i++) {
+      if (i % side + 1 < side) builder.addUndirectedEdge(i, i + 1, 1 + random.nextDouble());
+      if (i + side < n) builder.addUndirectedEdge(i, i + side, 1 + random.nextDouble());
+    }
+    CsrGraph graph = builder.build();
+    DijkstrasShortestPathAdjacencyListWithDHeap dijkstra =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(graph);
+    DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext dijkstraCtx =
+        new DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext(dijkstra);
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+    ContractionHierarchy.QueryContext ctx = new ContractionHierarchy.QueryContext(hierarchy);
+
+    long dijkstraSettled = 0, hierarchySettled = 0;
+    for (int query = 0; query < 50; query++) {
+      int start = random.nextInt(n), end = random.nextInt(n);
+      assertThat(hierarchy.distance(start, end, ctx))
+          .isWithin(EPS)
+          .of(dijkstra.dijkstra(start, end, dijkstraCtx));
+      dijkstraSettled += dijkstraCtx.nodesSettled();
+      hierarchySettled += ctx.nodesSettled();
+    }
+    assertThat(hierarchySettled * 5).isLessThan(dijkstraSettled);
+  }
+
+  @Test
+  public void byteBufferRoundTrip() {
+    Random random = new Random(11);
+    CsrGraph graph = randomGraph(random, 80, 400);
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) hierarchy.serializedSize() + 3);
+    buffer.put((byte) 1);
+    hierarchy.writeTo(buffer);
+    assertThat(buffer.position()).isEqualTo(1 + hierarchy.serializedSize());
+    buffer.flip();
+    buffer.get();
+    ContractionHierarchy copy = ContractionHierarchy.readFrom(buffer);
+    assertThat(buffer.position()).isEqualTo(1 + hierarchy.serializedSize());
+
+    assertSameAnswers(random, hierarchy, copy);
+  }
+
+  @Test
+  public void fileRoundTrip() throws Exception {
+    Random random = new Random(13);
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(randomGraph(random, 100, 500));
+    Path file = Files.createTempFile("contraction-hierarchy", ".bin");
+    try {
+      hierarchy.writeTo(file);
+      assertThat(Files.size(file)).isEqualTo(hierarchy.serializedSize());
+      assertSameAnswers(random, hierarchy, ContractionHierarchy.readFrom(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void corruptInputThrows() {
+    CsrGraph graph = randomGraph(new Random(5), 20, 60);
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+    byte[] bytes = new byte[(int) hierarchy.serializedSize()];
+    hierarchy.writeTo(ByteBuffer.wrap(bytes));
+
+    byte[] badMagic = bytes.clone();
+    badMagic[0] ^= 1;
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ContractionHierarchy.readFrom(ByteBuffer.wrap(badMagic)));
+
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ContractionHierarchy.readFrom(ByteBuffer.wrap(truncated)));
+
+    // The first rank is right after the 16 byte header.
+    byte[] badRank = bytes.clone();
+    badRank[16] = (byte) 0xFF;
+    badRank[19] = (byte) 0x7F;
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ContractionHierarchy.readFrom(ByteBuffer.wrap(badRank)));
+  }
+
+  @Test
+  public void contextOfAnotherHierarchyThrows() {
+    ContractionHierarchy small = ContractionHierarchy.build(CsrGraph.builder(2).build());
+    ContractionHierarchy large = ContractionHierarchy.build(CsrGraph.builder(3).build());
+    ContractionHierarchy.QueryContext ctx = new ContractionHierarchy.QueryContext(small);
+    assertThrows(IllegalArgumentException.class, () -> large.distance(0, 1, ctx));
+  }
+
+  private static void assertSameAnswers(
+      Random random, ContractionHierarchy expected, ContractionHierarchy actual) {
+    int n = expected.numNodes();
+    assertThat(actual.numNodes()).isEqualTo(n);
+    assertThat(actual.numEdges()).isEqualTo(expected.numEdges());
+    for (int query = 0; query < 100; query++) {
+      int start = random.nextInt(n), end = random.nextInt(n);
+      assertThat(actual.distance(start, end)).isEqualTo(expected.distance(start, end));
+      assertThat(actual.reconstructPath(start, end))
+          .isEqualTo(expected.reconstructPath(start, end));
+    }
+  }
+
+  private static CsrGraph randomGraph(Random random, int n, int m) {
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i < m; i++)
+      builder.addEdge(random.nextInt(n), random.nextInt(n), (double) random.nextInt(20));
+    return builder.build();
+  }
+
+  // Checks that the path goes from start to end over edges of the graph, and has the given length.
+  private static void assertPathHasLength(
+      CsrGraph graph, List<Integer> path, int start, int end, double expected) {
+    if (expected == Double.POSITIVE_INFINITY) {
+      assertThat(path).isEmpty();
+      return;
+    }
+    assertThat(path.get(0)).isEqualTo(start);
+    assertThat(path.get(path.size() - 1)).isEqualTo(end);
+    double length = 0;
+    for (int i = 0; i + 1 < path.size(); i++) {
+      int u = path.get(i), v = path.get(i + 1);
+      double cheapest = Double.POSITIVE_INFINITY;
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++)
+        if (graph.target(e) == v) cheapest = Math.min(cheapest, graph.weight(e));
+      assertThat(cheapest).isLessThan(Double.POSITIVE_INFINITY);
+      length += cheapest;
+    }
+    assertThat(length).isWithin(EPS).of(expected);
+  }
+}
@@ -0,0 +1,143 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class DeltaSteppingShortestPathTest {
+
+  private static final double EPS = 1e-9;
+
+  @Test
+  public void singleNode() {
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(CsrGraph.builder(1).build());
+    assertThat(solver.deltaStepping(0)).isEqualTo(new double[] {0});
+  }
+
+  @Test
+  public void unreachableNodesAreInfinite() {
+    CsrGraph graph = CsrGraph.builder(3).addEdge(0, 1, 2.0).build();
+    double[] dist = new DeltaSteppingShortestPath(graph).deltaStepping(0);
+    assertThat(dist[1]).isEqualTo(2.0);
+    assertThat(dist[2]).isPositiveInfinity();
+  }
+
+  @Test
+  public void zeroCostEdges() {
+    CsrGraph graph =
+        CsrGraph.builder(4).addEdge(0, 1, 0.0).addEdge(1, 2, 0.0).addEdge(2, 3, 1.0).build();
+    double[] dist = new DeltaSteppingShortestPath(graph).deltaStepping(0);
+    assertThat(dist).isEqualTo(new double[] {0, 0, 0, 1});
+  }
+
+  @Test
+  public void sameAsBellmanFord() {
+    Random random = new Random(1);
+    for (int loop = 0; loop < 100; loop++) {
+      int n = 1 + random.nextInt(30), m = random.nextInt(4 * n);
+      List<BellmanFordAdjacencyList.Edge>[] lists = BellmanFordAdjacencyList.createGraph(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < m; i++) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        double cost = random.nextInt(10);
+        BellmanFordAdjacencyList.addEdge(lists, u, v, cost);
+        builder.addEdge(u, v, cost);
+      }
+      DeltaSteppingShortestPath solver =
+          new DeltaSteppingShortestPath(builder.build(), ForkJoinPool.commonPool(), 3);
+      int start = random.nextInt(n);
+      assertThat(solver.deltaStepping(start))
+          .isEqualTo(BellmanFordAdjacencyList.bellmanFord(lists, n, start));
+    }
+  }
+
+  // Tiny, default and huge deltas, the last of which puts every node in one bucket and relaxes
+  // large frontiers on several threads.
+  @Test
+  public void largeGraphAnyDelta() {
+    Random random = new Random(2);
+    int n = 20000;
+    CsrGraph graph = randomGraph(random, n, 8 * n);
+    double[] expected = dijkstra(graph, 0);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (double delta : new double[] {0.01, DeltaSteppingShortestPath.defaultDelta(graph), 1e9}) {
+        double[] dist = new DeltaSteppingShortestPath(graph, pool, delta).deltaStepping(0);
+        for (int i = 0; i < n; i++) assertThat(dist[i]).isWithin(EPS).of(expected[i]);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void largeDiameterGraph() {
+    Random random = new Random(3);
+    int side = 150, n = side * side;
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i < n; i++) {
+      if (i % side + 1 < side) builder.addUndirectedEdge(i, i + 1, random.nextDouble());
+      if (i + side < n) builder.addUndirectedEdge(i, i + side, random.nextDouble());
+    }
+    CsrGraph graph = builder.build();
+    double[] dist = new DeltaSteppingShortestPath(graph).deltaStepping(n / 2);
+    double[] expected = dijkstra(graph, n / 2);
+    for (int i = 0; i < n; i++) assertThat(dist[i]).isWithin(EPS).of(expected[i]);
+  }
+
+  @Test
+  public void illegalArgumentsThrow() {
+    CsrGraph graph = CsrGraph.builder(2).addEdge(0, 1, 1.0).build();
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingShortestPath(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new DeltaSteppingShortestPath(graph, null, 1));
+    assertThrows(
+        IllegalArgumentException.class, () -> new DeltaSteppingShortestPath(graph, pool, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new DeltaSteppingShortestPath(graph, pool, Double.POSITIVE_INFINITY));
+    CsrGraph negative = CsrGraph.builder(2).addEdge(0, 1, -1.0).build();
+    assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingShortestPath(negative));
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(graph);
+    assertThrows(IllegalArgumentException.class, () -> solver.deltaStepping(2));
+  }
+
+  private static CsrGraph randomGraph(Random random, int n, int m) {
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i < m; i++)
+      builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextDouble() * 100);
+    return builder.build();
+  }
+
+  // A plain lazy Dijkstra to compare against.
+  private static double[] dijkstra(CsrGraph graph, int start) {
+    double[] dist = new double[graph.numNodes()];
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    dist[start] = 0;
+    PriorityQueue<double[]> pq = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+    pq.add(new double[] {0, start});
+    while (!pq.isEmpty()) {
+      double[] top = pq.poll();
+      int u = (int) top[1];
+      if (top[0] > dist[u]) continue;
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        int v = graph.target(e);
+        double newDist = dist[u] + graph.weight(e);
+        if (newDist < dist[v]) {
+          dist[v] = newDist;
+          pq.add(new double[] {newDist, v});
+        }
+      }
+    }
+    return dist;
+  }
+}
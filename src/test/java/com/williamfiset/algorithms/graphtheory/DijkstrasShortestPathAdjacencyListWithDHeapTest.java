@@ -1,8 +1,11 @@
 package com.williamfiset.algorithms.graphtheory;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class DijkstrasShortestPathAdjacencyListWithDHeapTest {
@@ -152,4 +155,96 @@ public class DijkstrasShortestPathAdjacencyListWithDHeapTest {
     assertThat(graph.get(1)).isEmpty();
     assertThat(graph.get(2)).isEmpty();
   }
+
+  @Test
+  public void csrGraphMatchesAdjacencyList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 60; n++) {
+      DijkstrasShortestPathAdjacencyListWithDHeap listSolver =
+          new DijkstrasShortestPathAdjacencyListWithDHeap(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < 3 * n; i++) {
+        int from = random.nextInt(n), to = random.nextInt(n), cost = random.nextInt(20);
+        listSolver.addEdge(from, to, cost);
+        builder.addEdge(from, to, (long) cost);
+      }
+      DijkstrasShortestPathAdjacencyListWithDHeap csrSolver =
+          new DijkstrasShortestPathAdjacencyListWithDHeap(builder.build());
+
+      for (int start = 0; start < n; start++) {
+        int end = random.nextInt(n);
+        assertThat(csrSolver.dijkstra(start, end)).isEqualTo(listSolver.dijkstra(start, end));
+      }
+    }
+  }
+
+  @Test
+  public void csrGraphWithoutWeightsHasUnitCosts() {
+    CsrGraph graph = CsrGraph.builder(4).addEdge(0, 1).addEdge(1, 2).addEdge(0, 3).build();
+    DijkstrasShortestPathAdjacencyListWithDHeap solver =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(graph);
+
+    assertThat(solver.dijkstra(0, 2)).isEqualTo(2.0);
+    assertThat(solver.reconstructPath(0, 2)).containsExactly(0, 1, 2).inOrder();
+    assertThat(solver.getGraph()).isNull();
+    assertThrows(UnsupportedOperationException.class, () -> solver.addEdge(2, 3, 1));
+  }
+
+  // Queries which share a context must give the same answers as fresh solvers.
+  @Test
+  public void reusedContextMatchesFreshSolver() {
+    Random random = new Random(4321);
+    int n = 200;
+    DijkstrasShortestPathAdjacencyListWithDHeap solver =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(n);
+    DijkstrasShortestPathAdjacencyListWithDHeap fresh =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(n);
+    for (int i = 0; i < 3 * n; i++) {
+      int from = random.nextInt(n), to = random.nextInt(n), cost = random.nextInt(50);
+      solver.addEdge(from, to, cost);
+      fresh.addEdge(from, to, cost);
+    }
+
+    DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext ctx =
+        new DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext(solver);
+    for (int query = 0; query < 500; query++) {
+      int start = random.nextInt(n), end = random.nextInt(n);
+      assertThat(solver.dijkstra(start, end, ctx)).isEqualTo(fresh.dijkstra(start, end));
+      assertThat(ctx.distance(end)).isEqualTo(fresh.dijkstra(start, end));
+      assertThat(solver.reconstructPath(start, end))
+          .isEqualTo(fresh.reconstructPath(start, end));
+    }
+  }
+
+  // A query that stops early only touches, and later resets, the nodes near its start.
+  @Test
+  public void contextOnlyResetsReachedNodes() {
+    int n = 100000;
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i + 1 < n; i++) builder.addUndirectedEdge(i, i + 1, 1L);
+    DijkstrasShortestPathAdjacencyListWithDHeap solver =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(builder.build());
+    DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext ctx =
+        new DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext(solver);
+
+    assertThat(solver.dijkstra(0, n - 1, ctx)).isEqualTo(n - 1.0);
+    assertThat(ctx.nodesReached()).isEqualTo(n);
+    assertThat(ctx.nodesSettled()).isEqualTo(n);
+    assertThat(solver.dijkstra(500, 503, ctx)).isEqualTo(3.0);
+    assertThat(ctx.nodesReached()).isAtMost(9);
+    // Nodes reached by the first query are unreachable again in the second one.
+    assertThat(ctx.distance(0)).isPositiveInfinity();
+    assertThat(solver.reconstructPath(503, 500, ctx)).containsExactly(503, 502, 501, 500).inOrder();
+  }
+
+  @Test
+  public void contextOfAnotherGraphThrows() {
+    DijkstrasShortestPathAdjacencyListWithDHeap small =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(2);
+    DijkstrasShortestPathAdjacencyListWithDHeap large =
+        new DijkstrasShortestPathAdjacencyListWithDHeap(3);
+    DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext ctx =
+        new DijkstrasShortestPathAdjacencyListWithDHeap.QueryContext(small);
+    assertThrows(IllegalArgumentException.class, () -> large.dijkstra(0, 1, ctx));
+  }
 }
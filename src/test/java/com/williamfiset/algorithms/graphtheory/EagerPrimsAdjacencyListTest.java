@@ -4,6 +4,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.williamfiset.algorithms.graphtheory.EagerPrimsAdjacencyList.Edge;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.jupiter.api.*;
 
@@ -19,7 +20,10 @@ public class EagerPrimsAdjacencyListTest {
 
   @Test
   public void testNullGraphThrowsException() {
-    assertThrows(IllegalArgumentException.class, () -> new EagerPrimsAdjacencyList(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new EagerPrimsAdjacencyList((List<List<Edge>>) null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new EagerPrimsAdjacencyList((CsrGraph) null));
   }
 
   @Test
@@ -216,4 +220,36 @@ public class EagerPrimsAdjacencyListTest {
 
     assertThat(eagerSolver.getMstCost()).isEqualTo(lazySolver.getMstCost());
   }
+
+  @Test
+  public void testCsrGraphNeedsLongWeights() {
+    CsrGraph empty = CsrGraph.builder(0).build();
+    assertThrows(IllegalArgumentException.class, () -> new EagerPrimsAdjacencyList(empty));
+    CsrGraph unweighted = CsrGraph.builder(2).addUndirectedEdge(0, 1).build();
+    assertThrows(IllegalArgumentException.class, () -> new EagerPrimsAdjacencyList(unweighted));
+    CsrGraph doubleWeights = CsrGraph.builder(2).addUndirectedEdge(0, 1, 1.5).build();
+    assertThrows(IllegalArgumentException.class, () -> new EagerPrimsAdjacencyList(doubleWeights));
+  }
+
+  @Test
+  public void testCsrGraphAgainstAdjacencyList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 60; n++) {
+      List<List<Edge>> g = createGraph(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < 2 * n; i++) {
+        int from = random.nextInt(n), to = random.nextInt(n), cost = random.nextInt(20) - 5;
+        addEdge(g, from, to, cost);
+        builder.addUndirectedEdge(from, to, (long) cost);
+      }
+
+      EagerPrimsAdjacencyList solver = new EagerPrimsAdjacencyList(builder.build());
+      assertThat(solver.getMstCost()).isEqualTo(new EagerPrimsAdjacencyList(g).getMstCost());
+      if (solver.getMst() != null) {
+        long cost = 0;
+        for (Edge edge : solver.getMst()) cost += edge.cost;
+        assertThat(cost).isEqualTo(solver.getMstCost());
+      }
+    }
+  }
 }
@@ -9,6 +9,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.jupiter.api.*;
 
@@ -28,7 +29,9 @@ public class KosarajuTest {
 
   @Test
   public void nullGraphConstructor() {
-    assertThrowsExactly(IllegalArgumentException.class, () -> new Kosaraju(null));
+    assertThrowsExactly(
+        IllegalArgumentException.class, () -> new Kosaraju((List<List<Integer>>) null));
+    assertThrowsExactly(IllegalArgumentException.class, () -> new Kosaraju((CsrGraph) null));
   }
 
   @Test
@@ -237,4 +240,27 @@ public class KosarajuTest {
     }
     return true;
   }
+
+  // Two nodes must be in the same SCC for the CSR solver exactly when they are for the list one.
+  @Test
+  public void testCsrGraphAgainstAdjacencyList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 60; n++) {
+      List<List<Integer>> g = createGraph(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < 2 * n; i++) {
+        int from = random.nextInt(n), to = random.nextInt(n);
+        addEdge(g, from, to);
+        builder.addEdge(from, to);
+      }
+
+      Kosaraju listSolver = new Kosaraju(g);
+      Kosaraju csrSolver = new Kosaraju(builder.build());
+      assertThat(csrSolver.sccCount()).isEqualTo(listSolver.sccCount());
+      int[] expected = listSolver.getSccs(), actual = csrSolver.getSccs();
+      for (int u = 0; u < n; u++)
+        for (int v = 0; v < n; v++)
+          assertThat(actual[u] == actual[v]).isEqualTo(expected[u] == expected[v]);
+    }
+  }
 }
@@ -0,0 +1,128 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.KruskalsEdgeList.Edge;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+
+public class KruskalsEdgeListTest {
+
+  @Test
+  public void testNullGraph() {
+    assertThat(KruskalsEdgeList.kruskals(null, 5)).isNull();
+    assertThat(KruskalsEdgeList.kruskals((CsrGraph) null)).isNull();
+  }
+
+  @Test
+  public void testSimpleTriangle() {
+    Edge[] edges = {new Edge(0, 1, 1), new Edge(1, 2, 2), new Edge(0, 2, 3)};
+    assertThat(KruskalsEdgeList.kruskals(edges, 3)).isEqualTo(3L);
+
+    CsrGraph graph =
+        CsrGraph.builder(3)
+            .addUndirectedEdge(0, 1, 1L)
+            .addUndirectedEdge(1, 2, 2L)
+            .addUndirectedEdge(0, 2, 3L)
+            .build();
+    assertThat(KruskalsEdgeList.kruskals(graph)).isEqualTo(3L);
+  }
+
+  @Test
+  public void testDisconnectedGraph() {
+    CsrGraph graph = CsrGraph.builder(4).addUndirectedEdge(0, 1, 1L).build();
+    assertThat(KruskalsEdgeList.kruskals(graph)).isNull();
+  }
+
+  @Test
+  public void testCsrGraphAgainstEdgeList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 60; n++) {
+      List<Edge> edges = new ArrayList<>();
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < 2 * n; i++) {
+        int u = random.nextInt(n), v = random.nextInt(n), cost = random.nextInt(20);
+        edges.add(new Edge(u, v, cost));
+        builder.addUndirectedEdge(u, v, (long) cost);
+      }
+      Long expected = KruskalsEdgeList.kruskals(edges.toArray(new Edge[0]), n);
+      assertThat(KruskalsEdgeList.kruskals(builder.build())).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testFilterKruskalsNullAndEmpty() {
+    assertThat(KruskalsEdgeList.filterKruskals(null, new int[0], new int[0], 1)).isNull();
+    assertThat(KruskalsEdgeList.filterKruskals(new int[0], new int[0], new int[0], 0)).isNull();
+    assertThat(KruskalsEdgeList.filterKruskals(new int[0], new int[0], new int[0], 1))
+        .isEqualTo(0L);
+    assertThat(KruskalsEdgeList.filterKruskals(new int[0], new int[0], new int[0], 2)).isNull();
+  }
+
+  @Test
+  public void testFilterKruskalsAgainstKruskals() {
+    Random random = new Random(4321);
+    for (int loop = 0; loop < 100; loop++) {
+      int n = 1 + random.nextInt(100);
+      assertFilterKruskalsMatches(random, n, random.nextInt(8 * n), 50, ForkJoinPool.commonPool());
+    }
+  }
+
+  // Large enough to be partitioned and filtered in parallel, sparse and dense, with many equal
+  // and negative costs.
+  @Test
+  public void testFilterKruskalsLargeGraphs() {
+    Random random = new Random(42);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertFilterKruskalsMatches(random, 100_000, 500_000, 1_000_000, pool);
+      assertFilterKruskalsMatches(random, 1_000, 400_000, 1_000_000, pool);
+      assertFilterKruskalsMatches(random, 1_000, 400_000, 10, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Only a few distinct costs, so that whole partitions hold keys of a single cost. Picking the
+  // pivot at fixed positions used to split off one key at a time there and overflow the stack.
+  @Test
+  public void testFilterKruskalsFewDistinctCosts() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int seed : new int[] {11, 12, 13, 27}) {
+        for (int maxCost = 2; maxCost <= 4; maxCost++) {
+          Random random = new Random(seed);
+          int n = 19_738, m = 234_668;
+          int[] from = new int[m], to = new int[m], cost = new int[m];
+          Edge[] edges = new Edge[m];
+          for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            cost[i] = 1 + random.nextInt(maxCost);
+            edges[i] = new Edge(from[i], to[i], cost[i]);
+          }
+          Long expected = KruskalsEdgeList.kruskals(edges, n);
+          assertThat(KruskalsEdgeList.filterKruskals(from, to, cost, n, pool)).isEqualTo(expected);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void assertFilterKruskalsMatches(
+      Random random, int n, int m, int maxCost, ForkJoinPool pool) {
+    int[] from = new int[m], to = new int[m], cost = new int[m];
+    Edge[] edges = new Edge[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+      cost[i] = random.nextInt(2 * maxCost) - maxCost;
+      edges[i] = new Edge(from[i], to[i], cost[i]);
+    }
+    Long expected = KruskalsEdgeList.kruskals(edges, n);
+    assertThat(KruskalsEdgeList.filterKruskals(from, to, cost, n, pool)).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,115 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+
+public class ParallelBoruvkasTest {
+
+  @Test
+  public void testIllegalArgumentsThrow() {
+    int[] u = {0}, v = {1};
+    double[] w = {1};
+    assertThrows(IllegalArgumentException.class, () -> new ParallelBoruvkas(2, null, v, w));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelBoruvkas(2, u, v, w, null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new ParallelBoruvkas(2, u, new int[0], w));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelBoruvkas(1, u, v, w));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ParallelBoruvkas(2, u, v, new double[] {Double.NaN}));
+  }
+
+  @Test
+  public void testSingleNode() {
+    ParallelBoruvkas solver = new ParallelBoruvkas(1, new int[0], new int[0], new double[0]);
+    assertThat(solver.getMstCost().getAsDouble()).isEqualTo(0.0);
+    assertThat(solver.getMst().get()).isEmpty();
+  }
+
+  @Test
+  public void testDisconnected() {
+    ParallelBoruvkas solver =
+        new ParallelBoruvkas(3, new int[] {0}, new int[] {1}, new double[] {2.5});
+    assertThat(solver.getMstCost().isPresent()).isFalse();
+    assertThat(solver.getMst().isPresent()).isFalse();
+  }
+
+  // Every edge costs the same, ties must still give a tree.
+  @Test
+  public void testAllEqualCosts() {
+    int n = 30;
+    List<int[]> edges = new ArrayList<>();
+    for (int i = 0; i < n; i++) for (int j = i + 1; j < n; j++) edges.add(new int[] {i, j});
+    int[] u = new int[edges.size()], v = new int[edges.size()];
+    double[] w = new double[edges.size()];
+    for (int i = 0; i < edges.size(); i++) {
+      u[i] = edges.get(i)[0];
+      v[i] = edges.get(i)[1];
+      w[i] = 1;
+    }
+    ParallelBoruvkas solver = new ParallelBoruvkas(n, u, v, w);
+    assertThat(solver.getMstCost().getAsDouble()).isEqualTo(n - 1.0);
+    assertIsSpanningTree(n, solver.getMst().get());
+  }
+
+  @Test
+  public void testSameCostAsBoruvkas() {
+    Random random = new Random(17);
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + random.nextInt(50), m = random.nextInt(4 * n);
+      assertSameCostAsBoruvkas(random, n, m, ForkJoinPool.commonPool());
+    }
+  }
+
+  // Many chunks of edges, merged by several workers at once.
+  @Test
+  public void testLargeGraph() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertSameCostAsBoruvkas(new Random(18), 50_000, 400_000, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void assertSameCostAsBoruvkas(Random random, int n, int m, ForkJoinPool pool) {
+    int[] u = new int[m], v = new int[m];
+    double[] w = new double[m];
+    Boruvkas.Edge[] edges = new Boruvkas.Edge[m];
+    for (int i = 0; i < m; i++) {
+      u[i] = random.nextInt(n);
+      v[i] = random.nextInt(n);
+      int cost = random.nextInt(100);
+      w[i] = cost;
+      edges[i] = new Boruvkas.Edge(u[i], v[i], cost);
+    }
+
+    OptionalLong expected = new Boruvkas(n, edges).getMstCost();
+    ParallelBoruvkas solver = new ParallelBoruvkas(n, u, v, w, pool);
+    assertThat(solver.getMstCost().isPresent()).isEqualTo(expected.isPresent());
+    if (expected.isPresent()) {
+      assertThat(solver.getMstCost().getAsDouble()).isEqualTo((double) expected.getAsLong());
+      assertIsSpanningTree(n, solver.getMst().get());
+    }
+  }
+
+  private static void assertIsSpanningTree(int n, List<ParallelBoruvkas.Edge> mst) {
+    assertThat(mst).hasSize(n - 1);
+    ConnectedComponentsDfs components = new ConnectedComponentsDfs(toGraph(n, mst));
+    assertThat(components.countComponents()).isEqualTo(1);
+  }
+
+  private static List<List<Integer>> toGraph(int n, List<ParallelBoruvkas.Edge> edges) {
+    List<List<Integer>> graph = new ArrayList<>();
+    for (int i = 0; i < n; i++) graph.add(new ArrayList<>());
+    for (ParallelBoruvkas.Edge e : edges) {
+      graph.get(e.u).add(e.v);
+      graph.get(e.v).add(e.u);
+    }
+    return graph;
+  }
+}
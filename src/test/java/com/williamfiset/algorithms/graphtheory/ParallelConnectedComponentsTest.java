@@ -0,0 +1,103 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.graphtheory.ParallelConnectedComponents.Algorithm;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+
+public class ParallelConnectedComponentsTest {
+
+  @Test
+  public void testIllegalArgumentsThrow() {
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    CsrGraph graph = CsrGraph.builder(1).build();
+    assertThrows(IllegalArgumentException.class, () -> new ParallelConnectedComponents(null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ParallelConnectedComponents(graph, null, Algorithm.UNION_FIND));
+    assertThrows(
+        IllegalArgumentException.class, () -> new ParallelConnectedComponents(graph, pool, null));
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    for (Algorithm algorithm : Algorithm.values()) {
+      ParallelConnectedComponents solver =
+          new ParallelConnectedComponents(
+              CsrGraph.builder(0).build(), ForkJoinPool.commonPool(), algorithm);
+      assertThat(solver.countComponents()).isEqualTo(0);
+    }
+  }
+
+  // Edges are taken as undirected, a single direction is enough.
+  @Test
+  public void testDirectedEdgesConnect() {
+    CsrGraph graph = CsrGraph.builder(5).addEdge(4, 2).addEdge(3, 4).addEdge(1, 0).build();
+    for (Algorithm algorithm : Algorithm.values()) {
+      ParallelConnectedComponents solver =
+          new ParallelConnectedComponents(graph, ForkJoinPool.commonPool(), algorithm);
+      assertThat(solver.getComponentIds()).isEqualTo(new int[] {0, 0, 1, 1, 1});
+      assertThat(solver.componentSize(3)).isEqualTo(3);
+      assertThat(solver.componentSize(0)).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void testSameIdsAsDfs() {
+    Random random = new Random(5);
+    for (int loop = 0; loop < 100; loop++) {
+      int n = 1 + random.nextInt(200), m = random.nextInt(n + n / 2);
+      List<List<Integer>> lists = new ArrayList<>();
+      for (int i = 0; i < n; i++) lists.add(new ArrayList<>());
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < m; i++) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        lists.get(u).add(v);
+        lists.get(v).add(u);
+        builder.addEdge(u, v);
+      }
+      ConnectedComponentsDfs dfs = new ConnectedComponentsDfs(lists);
+      assertSameAsDfs(builder.build(), dfs, ForkJoinPool.commonPool());
+    }
+  }
+
+  // Large enough to be split across the workers, with a long path for label propagation.
+  @Test
+  public void testLargeGraph() {
+    Random random = new Random(6);
+    int n = 200_000;
+    List<List<Integer>> lists = new ArrayList<>();
+    for (int i = 0; i < n; i++) lists.add(new ArrayList<>());
+    CsrGraph.Builder builder = CsrGraph.builder(n);
+    for (int i = 0; i < n / 2; i++) {
+      int u = random.nextInt(n), v = random.nextInt(n);
+      lists.get(u).add(v);
+      lists.get(v).add(u);
+      builder.addEdge(u, v);
+    }
+    for (int i = 1; i < 1000; i++) {
+      lists.get(i - 1).add(i);
+      lists.get(i).add(i - 1);
+      builder.addEdge(i - 1, i);
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertSameAsDfs(builder.build(), new ConnectedComponentsDfs(lists), pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static void assertSameAsDfs(
+      CsrGraph graph, ConnectedComponentsDfs dfs, ForkJoinPool pool) {
+    for (Algorithm algorithm : Algorithm.values()) {
+      ParallelConnectedComponents solver = new ParallelConnectedComponents(graph, pool, algorithm);
+      assertThat(solver.countComponents()).isEqualTo(dfs.countComponents());
+      assertThat(solver.getComponentIds()).isEqualTo(dfs.getComponentIds());
+    }
+  }
+}
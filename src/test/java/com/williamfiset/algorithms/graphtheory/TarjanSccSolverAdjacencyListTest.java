@@ -4,6 +4,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.jupiter.api.*;
 
@@ -23,7 +24,11 @@ public class TarjanSccSolverAdjacencyListTest {
 
   @Test
   public void nullGraphConstructor() {
-    assertThrows(IllegalArgumentException.class, () -> new TarjanSccSolverAdjacencyList(null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new TarjanSccSolverAdjacencyList((List<List<Integer>>) null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new TarjanSccSolverAdjacencyList((CsrGraph) null));
   }
 
   @Test
@@ -239,4 +244,65 @@ public class TarjanSccSolverAdjacencyListTest {
     }
     return true;
   }
+
+  // Two nodes must be in the same SCC for the CSR solver exactly when they are for the list one.
+  @Test
+  public void testCsrGraphAgainstAdjacencyList() {
+    Random random = new Random(1234);
+    for (int n = 1; n <= 60; n++) {
+      List<List<Integer>> g = createGraph(n);
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < 2 * n; i++) {
+        int from = random.nextInt(n), to = random.nextInt(n);
+        addEdge(g, from, to);
+        builder.addEdge(from, to);
+      }
+
+      TarjanSccSolverAdjacencyList listSolver = new TarjanSccSolverAdjacencyList(g);
+      TarjanSccSolverAdjacencyList csrSolver = new TarjanSccSolverAdjacencyList(builder.build());
+      assertThat(csrSolver.sccCount()).isEqualTo(listSolver.sccCount());
+      int[] expected = listSolver.getSccs(), actual = csrSolver.getSccs();
+      for (int u = 0; u < n; u++)
+        for (int v = 0; v < n; v++)
+          assertThat(actual[u] == actual[v]).isEqualTo(expected[u] == expected[v]);
+    }
+  }
+
+  @Test
+  public void testIntArrayGraphAgainstAdjacencyList() {
+    Random random = new Random(4321);
+    for (int n = 1; n <= 60; n++) {
+      List<List<Integer>> g = createGraph(n);
+      for (int i = 0; i < 2 * n; i++) addEdge(g, random.nextInt(n), random.nextInt(n));
+      int[][] adjacency = new int[n][];
+      for (int i = 0; i < n; i++) adjacency[i] = g.get(i).stream().mapToInt(x -> x).toArray();
+
+      TarjanSccSolverAdjacencyList listSolver = new TarjanSccSolverAdjacencyList(g);
+      TarjanSccSolverAdjacencyList arraySolver = new TarjanSccSolverAdjacencyList(adjacency);
+      assertThat(arraySolver.sccCount()).isEqualTo(listSolver.sccCount());
+      assertThat(arraySolver.getSccs()).isEqualTo(listSolver.getSccs());
+    }
+  }
+
+  // Far deeper than a recursive DFS could go with the default thread stack size.
+  @Test
+  public void testMillionNodeCycleAndChain() {
+    int n = 1_000_000;
+    int[][] cycle = new int[n][];
+    for (int i = 0; i < n; i++) cycle[i] = new int[] {(i + 1) % n};
+    assertThat(new TarjanSccSolverAdjacencyList(cycle).sccCount()).isEqualTo(1);
+
+    CsrGraph.Builder chain = CsrGraph.builder(n);
+    for (int i = 0; i + 1 < n; i++) chain.addEdge(i, i + 1);
+    assertThat(new TarjanSccSolverAdjacencyList(chain.build()).sccCount()).isEqualTo(n);
+  }
+
+  @Test
+  public void nullIntArrayGraphConstructor() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new TarjanSccSolverAdjacencyList((int[][]) null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new TarjanSccSolverAdjacencyList(new int[][] {{1}, null}));
+  }
 }
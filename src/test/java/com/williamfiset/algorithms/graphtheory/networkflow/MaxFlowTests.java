@@ -18,10 +18,12 @@ public class MaxFlowTests {
   void createAllSolvers(int n, int s, int t) {
     solvers.add(new CapacityScalingSolverAdjacencyList(n, s, t));
     solvers.add(new Dinics(n, s, t));
+    solvers.add(new DinicsEdgeArrays(n, s, t));
     solvers.add(new EdmondsKarpAdjacencyList(n, s, t));
     solvers.add(new FordFulkersonDfsSolverAdjacencyList(n, s, t));
     solvers.add(new MinCostMaxFlowWithBellmanFord(n, s, t));
     solvers.add(new MinCostMaxFlowJohnsons(n, s, t));
+    solvers.add(new PushRelabel(n, s, t));
   }
 
   void addEdge(int f, int t, int c) {
@@ -190,4 +192,248 @@ public class MaxFlowTests {
       }
     }
   }
+
+  // Checks that the flow of every edge is within its capacity, and that the flow into every node
+  // but the source and sink equals the flow out of it.
+  private static void assertValidFlow(NetworkFlowSolverBase solver, int n, int s, int t) {
+    long[] netFlow = new long[n];
+    for (List<Edge> edges : solver.getGraph()) {
+      for (Edge e : edges) {
+        assertThat(e.flow).isAtMost(e.getCapacity());
+        netFlow[e.from] += e.flow;
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      if (i != s && i != t) assertThat(netFlow[i]).isEqualTo(0);
+    }
+    assertThat(netFlow[s]).isEqualTo(solver.getMaxFlow());
+  }
+
+  // The capacity of the edges crossing the min cut must equal the max flow.
+  private static void assertMinCut(NetworkFlowSolverBase solver) {
+    boolean[] cut = solver.getMinCut();
+    long capacity = 0;
+    for (List<Edge> edges : solver.getGraph()) {
+      for (Edge e : edges) {
+        if (cut[e.from] && !cut[e.to]) capacity += e.getCapacity();
+      }
+    }
+    assertThat(cut[solver.s]).isTrue();
+    assertThat(cut[solver.t]).isFalse();
+    assertThat(capacity).isEqualTo(solver.getMaxFlow());
+  }
+
+  @Test
+  public void testPushRelabelAgainstDinicsOnRandomGraphs() {
+    Random random = new Random(42);
+    for (int trial = 0; trial < 300; trial++) {
+      int n = 2 + random.nextInt(30), m = random.nextInt(n * n / 2 + 1);
+      int s = random.nextInt(n), t = (s + 1 + random.nextInt(n - 1)) % n;
+      NetworkFlowSolverBase dinics = new Dinics(n, s, t);
+      NetworkFlowSolverBase pushRelabel = new PushRelabel(n, s, t);
+      for (int i = 0; i < m; i++) {
+        int from = random.nextInt(n), to = random.nextInt(n), capacity = random.nextInt(20);
+        dinics.addEdge(from, to, capacity);
+        pushRelabel.addEdge(from, to, capacity);
+      }
+
+      assertThat(pushRelabel.getMaxFlow()).isEqualTo(dinics.getMaxFlow());
+      assertThat(pushRelabel.getMinCut()).isEqualTo(dinics.getMinCut());
+      assertValidFlow(pushRelabel, n, s, t);
+      assertMinCut(pushRelabel);
+    }
+  }
+
+  @Test
+  public void testPushRelabelOnBipartiteAssignment() {
+    int k = 300, n = 2 * k + 2, s = n - 1, t = n - 2;
+    Random random = new Random(7);
+    NetworkFlowSolverBase dinics = new Dinics(n, s, t);
+    NetworkFlowSolverBase pushRelabel = new PushRelabel(n, s, t);
+    for (int i = 0; i < k; i++) {
+      dinics.addEdge(s, i, 1);
+      pushRelabel.addEdge(s, i, 1);
+      dinics.addEdge(k + i, t, 1);
+      pushRelabel.addEdge(k + i, t, 1);
+      for (int j = 0; j < k; j++) {
+        if (random.nextInt(10) == 0) {
+          dinics.addEdge(i, k + j, 1);
+          pushRelabel.addEdge(i, k + j, 1);
+        }
+      }
+    }
+
+    assertThat(pushRelabel.getMaxFlow()).isEqualTo(dinics.getMaxFlow());
+    assertValidFlow(pushRelabel, n, s, t);
+    assertMinCut(pushRelabel);
+  }
+
+  @Test
+  public void testDinicsEdgeArraysAgainstDinicsOnRandomGraphs() {
+    Random random = new Random(43);
+    for (int trial = 0; trial < 300; trial++) {
+      int n = 2 + random.nextInt(30), m = random.nextInt(n * n / 2 + 1);
+      int s = random.nextInt(n), t = (s + 1 + random.nextInt(n - 1)) % n;
+      NetworkFlowSolverBase dinics = new Dinics(n, s, t);
+      NetworkFlowSolverBase edgeArrays = new DinicsEdgeArrays(n, s, t);
+      for (int i = 0; i < m; i++) {
+        int from = random.nextInt(n), to = random.nextInt(n), capacity = random.nextInt(20);
+        dinics.addEdge(from, to, capacity);
+        edgeArrays.addEdge(from, to, capacity);
+      }
+
+      assertThat(edgeArrays.getMaxFlow()).isEqualTo(dinics.getMaxFlow());
+      assertThat(edgeArrays.getMinCut()).isEqualTo(dinics.getMinCut());
+      assertValidFlow(edgeArrays, n, s, t);
+      assertMinCut(edgeArrays);
+    }
+  }
+
+  @Test
+  public void testDinicsEdgeArraysGraphKeepsEdgeOrder() {
+    int n = 4, s = 0, t = 3;
+    DinicsEdgeArrays solver = new DinicsEdgeArrays(n, s, t);
+    solver.addEdge(s, 1, 5);
+    solver.addEdge(s, 2, 4);
+    solver.addEdge(1, t, 3);
+    solver.addEdge(2, t, 9);
+
+    List<Edge> sourceEdges = solver.getGraph()[s];
+    assertThat(sourceEdges).hasSize(2);
+    assertThat(sourceEdges.get(0).to).isEqualTo(1);
+    assertThat(sourceEdges.get(0).flow).isEqualTo(3);
+    assertThat(sourceEdges.get(1).to).isEqualTo(2);
+    assertThat(sourceEdges.get(1).flow).isEqualTo(4);
+    assertThat(sourceEdges.get(0).residual.residual).isSameInstanceAs(sourceEdges.get(0));
+    assertThat(solver.getGraph()[1].get(0).isResidual()).isTrue();
+  }
+
+  // A path of a million edges, far deeper than a recursive DFS could go.
+  @Test
+  public void testDinicsEdgeArraysOnLongPath() {
+    int n = 1_000_000, s = 0, t = n - 1;
+    DinicsEdgeArrays solver = new DinicsEdgeArrays(n, s, t);
+    for (int i = 0; i + 1 < n; i++) {
+      solver.addEdge(i, i + 1, 5 + i % 7);
+      if (i % 2 == 0) solver.addEdge(i, i + 1, 1);
+    }
+    // The bottleneck is edge 7 -> 8, with a capacity of 5 and no parallel edge.
+    assertThat(solver.getMaxFlow()).isEqualTo(5);
+  }
+
+  // Changes capacities and adds edges after solving, for every solver, and checks that each
+  // re-solve gives the max flow of the changed network solved from scratch.
+  @Test
+  public void testIncrementalChangesAgainstSolvingFromScratch() {
+    Random random = new Random(44);
+    for (int trial = 0; trial < 40; trial++) {
+      int n = 2 + random.nextInt(15), s = 0, t = n - 1;
+      solvers = new ArrayList<>();
+      createAllSolvers(n, s, t);
+      // Every edge as {from, to, capacity, index in the adjacency list of 'from'}.
+      List<int[]> edges = new ArrayList<>();
+      int[] degree = new int[n];
+      int m = 1 + random.nextInt(n * n / 2 + 1);
+      for (int i = 0; i < m; i++) addRandomEdge(random, n, edges, degree);
+
+      for (int round = 0; round < 10; round++) {
+        NetworkFlowSolverBase fromScratch = new Dinics(n, s, t);
+        for (int[] e : edges) fromScratch.addEdge(e[0], e[1], e[2]);
+        for (NetworkFlowSolverBase solver : solvers) {
+          assertThat(solver.getMaxFlow()).isEqualTo(fromScratch.getMaxFlow());
+          assertValidFlow(solver, n, s, t);
+          // The min-cost max-flow solvers don't compute the min cut.
+          if (!solver.getClass().getSimpleName().startsWith("MinCost")) assertMinCut(solver);
+        }
+
+        for (int changes = 1 + random.nextInt(3); changes > 0; changes--) {
+          if (random.nextInt(4) == 0) {
+            addRandomEdge(random, n, edges, degree);
+          } else {
+            int[] e = edges.get(random.nextInt(edges.size()));
+            e[2] = random.nextInt(20);
+            for (NetworkFlowSolverBase solver : solvers) {
+              solver.setCapacity(edgeAt(solver, e), e[2]);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private void addRandomEdge(Random random, int n, List<int[]> edges, int[] degree) {
+    int from = random.nextInt(n), to = random.nextInt(n), capacity = random.nextInt(20);
+    edges.add(new int[] {from, to, capacity, degree[from]++});
+    degree[to]++;
+    addEdge(from, to, capacity);
+  }
+
+  // Finds the edge of the solver, without re-solving after every change where possible.
+  // DinicsEdgeArrays only creates its Edge objects in getGraph().
+  private static Edge edgeAt(NetworkFlowSolverBase solver, int[] e) {
+    if (solver instanceof DinicsEdgeArrays) return solver.getGraph()[e[0]].get(e[3]);
+    return solver.graph[e[0]].get(e[3]);
+  }
+
+  @Test
+  public void testDecreasingCapacityBelowFlowLowersMaxFlow() {
+    int n = 4, s = 0, t = 3;
+    createAllSolvers(n, s, t);
+    addEdge(s, 1, 10);
+    addEdge(1, 2, 10);
+    addEdge(2, t, 10);
+    addEdge(s, 2, 3);
+    assertFlow(10);
+
+    for (NetworkFlowSolverBase solver : solvers) {
+      List<Edge>[] graph = solver.getGraph();
+      solver.setCapacity(graph[1].get(1), 4); // 1 -> 2
+    }
+    assertFlow(7);
+    for (NetworkFlowSolverBase solver : solvers) assertValidFlow(solver, n, s, t);
+
+    for (NetworkFlowSolverBase solver : solvers) {
+      solver.setCapacity(solver.getGraph()[1].get(1), 10);
+      solver.addEdge(1, t, 5);
+    }
+    assertFlow(13);
+  }
+
+  @Test
+  public void testSetCapacityValidation() {
+    DinicsEdgeArrays solver = new DinicsEdgeArrays(2, 0, 1);
+    solver.addEdge(0, 1, 1);
+    Edge edge = solver.getGraph()[0].get(0);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> solver.setCapacity(edge, -1));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> solver.setCapacity(new Edge(0, 1, 1), 2));
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> solver.setCapacity(edge.residual, 2));
+
+    Dinics dinics = new Dinics(2, 0, 1);
+    dinics.addEdge(0, 1, 1);
+    Edge dinicsEdge = dinics.getGraph()[0].get(0);
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> dinics.setCapacity(dinicsEdge, -1));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> dinics.setCapacity(dinicsEdge.residual, 2));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> dinics.setCapacity(new Edge(0, 1, 1), 2));
+    // An edge of another solver over the same nodes.
+    Assertions.assertThrows(IllegalArgumentException.class, () -> dinics.setCapacity(edge, 2));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> solver.setCapacity(dinicsEdge, 2));
+
+    // A zero capacity edge is still a forward edge, and stays one when its capacity goes to 0.
+    dinics.addEdge(0, 1, 0);
+    Edge zero = dinics.getGraph()[0].get(1);
+    assertThat(zero.isResidual()).isFalse();
+    dinics.setCapacity(zero, 3);
+    dinics.setCapacity(dinicsEdge, 0);
+    assertThat(dinicsEdge.isResidual()).isFalse();
+    assertThat(dinics.getMaxFlow()).isEqualTo(3);
+    dinics.setCapacity(dinicsEdge, 2);
+    assertThat(dinics.getMaxFlow()).isEqualTo(5);
+  }
 }
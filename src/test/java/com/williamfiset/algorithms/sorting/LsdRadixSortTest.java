@@ -0,0 +1,170 @@
+package com.williamfiset.algorithms.sorting;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+
+public class LsdRadixSortTest {
+
+  private final LsdRadixSort sorter = new LsdRadixSort();
+  private final Random random = new Random(42);
+
+  // A record keyed by a long, 'order' remembers the original position to check stability.
+  private static class Event {
+    final long timestamp;
+    final int order;
+
+    Event(long timestamp, int order) {
+      this.timestamp = timestamp;
+      this.order = order;
+    }
+  }
+
+  @Test
+  public void testEmptyAndSingleElementArrays() {
+    int[] ints = {};
+    long[] longs = {7};
+    double[] doubles = {};
+    sorter.sort(ints);
+    sorter.sort(longs);
+    sorter.sort(doubles);
+    assertThat(ints).isEqualTo(new int[] {});
+    assertThat(longs).isEqualTo(new long[] {7});
+    assertThat(doubles).isEqualTo(new double[] {});
+  }
+
+  @Test
+  public void testNullArrays() {
+    sorter.sort((int[]) null);
+    sorter.sort((long[]) null);
+    sorter.sort((double[]) null);
+  }
+
+  @Test
+  public void testNullPool() {
+    assertThrows(IllegalArgumentException.class, () -> new LsdRadixSort(null));
+  }
+
+  @Test
+  public void testIntExtremes() {
+    int[] array = {0, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 1, -256, 256};
+    sorter.sort(array);
+    assertThat(array)
+        .isEqualTo(new int[] {Integer.MIN_VALUE, -256, -1, 0, 1, 256, Integer.MAX_VALUE});
+  }
+
+  @Test
+  public void testLongExtremes() {
+    long[] array = {0, Long.MAX_VALUE, -1, Long.MIN_VALUE, 1, 1L << 40, -(1L << 40)};
+    sorter.sort(array);
+    assertThat(array)
+        .isEqualTo(
+            new long[] {Long.MIN_VALUE, -(1L << 40), -1, 0, 1, 1L << 40, Long.MAX_VALUE});
+  }
+
+  @Test
+  public void testDoubleSpecialValues() {
+    double[] array = {
+      Double.NaN, 1.5, -0.0, 0.0, Double.NEGATIVE_INFINITY, -1.5, Double.POSITIVE_INFINITY,
+      Double.MIN_VALUE, -Double.MAX_VALUE
+    };
+    double[] expected = array.clone();
+    Arrays.sort(expected);
+    sorter.sort(array);
+    assertThat(array).isEqualTo(expected);
+  }
+
+  // Keys which only differ in their low bytes exercise the skipping of constant byte passes.
+  @Test
+  public void testCloseTimestamps() {
+    long base = 1_700_000_000_000L;
+    long[] array = new long[1000];
+    for (int i = 0; i < array.length; i++) array[i] = base + random.nextInt(5000);
+    long[] expected = array.clone();
+    Arrays.sort(expected);
+    sorter.sort(array);
+    assertThat(array).isEqualTo(expected);
+  }
+
+  @Test
+  public void testRandomized() {
+    for (int size = 0; size < 500; size++) {
+      int[] ints = TestUtils.randomIntegerArray(size, -50, 51);
+      long[] longs = new long[size];
+      double[] doubles = new double[size];
+      for (int i = 0; i < size; i++) {
+        longs[i] = random.nextLong();
+        doubles[i] = random.nextGaussian() * 1e6;
+      }
+      int[] expectedInts = ints.clone();
+      long[] expectedLongs = longs.clone();
+      double[] expectedDoubles = doubles.clone();
+      Arrays.sort(expectedInts);
+      Arrays.sort(expectedLongs);
+      Arrays.sort(expectedDoubles);
+
+      sorter.sort(ints);
+      sorter.sort(longs);
+      sorter.sort(doubles);
+      assertThat(ints).isEqualTo(expectedInts);
+      assertThat(longs).isEqualTo(expectedLongs);
+      assertThat(doubles).isEqualTo(expectedDoubles);
+    }
+  }
+
+  @Test
+  public void testSortByKeyIsStable() {
+    Event[] events = new Event[2000];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = new Event(random.nextInt(100) - 50, i);
+    }
+    Event[] expected = events.clone();
+    // Arrays.sort on objects is stable too.
+    Arrays.sort(expected, Comparator.comparingLong(e -> e.timestamp));
+
+    sorter.sortByKey(events, e -> e.timestamp);
+    assertThat(events).isEqualTo(expected);
+  }
+
+  // Large enough for the histograms to be computed in parallel.
+  @Test
+  public void testParallelHistogram() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      LsdRadixSort parallelSorter = new LsdRadixSort(pool);
+      int n = 4 * LsdRadixSort.PARALLEL_HISTOGRAM_CUTOFF + 17;
+      int[] ints = new int[n];
+      long[] longs = new long[n];
+      for (int i = 0; i < n; i++) {
+        ints[i] = random.nextInt();
+        longs[i] = random.nextLong();
+      }
+      int[] expectedInts = ints.clone();
+      long[] expectedLongs = longs.clone();
+      Arrays.sort(expectedInts);
+      Arrays.sort(expectedLongs);
+
+      parallelSorter.sort(ints);
+      parallelSorter.sort(longs);
+      assertThat(ints).isEqualTo(expectedInts);
+      assertThat(longs).isEqualTo(expectedLongs);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSortableBitsRoundTrip() {
+    double[] values = {0.0, -0.0, 1.0, -1.0, Double.MAX_VALUE, Double.NEGATIVE_INFINITY};
+    for (double value : values) {
+      long bits = LsdRadixSort.doubleToSortableBits(value);
+      assertThat(LsdRadixSort.sortableBitsToDouble(bits)).isEqualTo(value);
+    }
+  }
+}
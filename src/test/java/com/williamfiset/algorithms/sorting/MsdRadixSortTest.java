@@ -0,0 +1,105 @@
+package com.williamfiset.algorithms.sorting;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+
+public class MsdRadixSortTest {
+
+  private final MsdRadixSort sorter = new MsdRadixSort();
+  private final Random random = new Random(42);
+
+  @Test
+  public void testEmptyArray() {
+    int[] array = {};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {});
+  }
+
+  @Test
+  public void testNullArray() {
+    MsdRadixSort.msdRadixSort((int[]) null);
+    MsdRadixSort.msdRadixSort((long[]) null);
+  }
+
+  @Test
+  public void testWithDuplicates() {
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {-13, 2, 3, 4, 4, 6, 8, 10});
+  }
+
+  @Test
+  public void testIntExtremes() {
+    int[] array = new int[100];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = i % 2 == 0 ? Integer.MIN_VALUE + i : Integer.MAX_VALUE - i;
+    }
+    int[] expected = array.clone();
+    Arrays.sort(expected);
+    sorter.sort(array);
+    assertThat(array).isEqualTo(expected);
+  }
+
+  // Every value shares its upper bytes, so the sort has to skip down to the lowest byte.
+  @Test
+  public void testSharedPrefix() {
+    long[] array = new long[1000];
+    for (int i = 0; i < array.length; i++) array[i] = 0x0123456789AB0000L | random.nextInt(256);
+    long[] expected = array.clone();
+    Arrays.sort(expected);
+    MsdRadixSort.msdRadixSort(array);
+    assertThat(array).isEqualTo(expected);
+  }
+
+  @Test
+  public void testAllSameElements() {
+    long[] array = new long[500];
+    Arrays.fill(array, -42);
+    MsdRadixSort.msdRadixSort(array);
+    long[] expected = new long[500];
+    Arrays.fill(expected, -42);
+    assertThat(array).isEqualTo(expected);
+  }
+
+  @Test
+  public void testRandomized() {
+    for (int size = 0; size < 500; size++) {
+      int[] ints = TestUtils.randomIntegerArray(size, -50, 51);
+      long[] longs = new long[size];
+      for (int i = 0; i < size; i++) longs[i] = random.nextLong();
+      int[] expectedInts = ints.clone();
+      long[] expectedLongs = longs.clone();
+      Arrays.sort(expectedInts);
+      Arrays.sort(expectedLongs);
+
+      sorter.sort(ints);
+      MsdRadixSort.msdRadixSort(longs);
+      assertThat(ints).isEqualTo(expectedInts);
+      assertThat(longs).isEqualTo(expectedLongs);
+    }
+  }
+
+  @Test
+  public void testLargeRandomArrays() {
+    int n = 200_000;
+    int[] ints = new int[n];
+    long[] longs = new long[n];
+    for (int i = 0; i < n; i++) {
+      ints[i] = random.nextInt();
+      longs[i] = random.nextLong();
+    }
+    int[] expectedInts = ints.clone();
+    long[] expectedLongs = longs.clone();
+    Arrays.sort(expectedInts);
+    Arrays.sort(expectedLongs);
+
+    sorter.sort(ints);
+    MsdRadixSort.msdRadixSort(longs);
+    assertThat(ints).isEqualTo(expectedInts);
+    assertThat(longs).isEqualTo(expectedLongs);
+  }
+}
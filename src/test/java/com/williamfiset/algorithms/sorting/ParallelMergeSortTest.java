@@ -0,0 +1,137 @@
+package com.williamfiset.algorithms.sorting;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+
+public class ParallelMergeSortTest {
+
+  private final ParallelMergeSort sorter = new ParallelMergeSort();
+
+  @Test
+  public void testEmptyArray() {
+    int[] array = {};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {});
+  }
+
+  @Test
+  public void testSingleElement() {
+    int[] array = {42};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {42});
+  }
+
+  @Test
+  public void testAlreadySorted() {
+    int[] array = {1, 2, 3, 4, 5};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {1, 2, 3, 4, 5});
+  }
+
+  @Test
+  public void testReverseSorted() {
+    int[] array = {5, 4, 3, 2, 1};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {1, 2, 3, 4, 5});
+  }
+
+  @Test
+  public void testWithDuplicates() {
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {-13, 2, 3, 4, 4, 6, 8, 10});
+  }
+
+  @Test
+  public void testAllSameElements() {
+    int[] array = {5, 5, 5, 5, 5};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {5, 5, 5, 5, 5});
+  }
+
+  @Test
+  public void testNegativeNumbers() {
+    int[] array = {-3, -1, -4, -1, -5};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {-5, -4, -3, -1, -1});
+  }
+
+  @Test
+  public void testMixedPositiveAndNegative() {
+    int[] array = {3, -2, 0, 7, -5, 1};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {-5, -2, 0, 1, 3, 7});
+  }
+
+  @Test
+  public void testTwoElements() {
+    int[] array = {9, 1};
+    sorter.sort(array);
+    assertThat(array).isEqualTo(new int[] {1, 9});
+  }
+
+  @Test
+  public void testRandomized() {
+    for (int size = 0; size < 500; size++) {
+      int[] values = TestUtils.randomIntegerArray(size, -50, 51);
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      sorter.sort(values);
+      assertThat(values).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ParallelMergeSort(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new ParallelMergeSort(ForkJoinPool.commonPool(), 0));
+  }
+
+  @Test
+  public void testNullArray() {
+    sorter.sort(null);
+  }
+
+  // A tiny sequential cutoff forces the parallel code paths to run on small arrays.
+  @Test
+  public void testRandomizedWithTinyCutoff() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ParallelMergeSort parallelSorter = new ParallelMergeSort(pool, 2);
+      for (int size = 0; size < 500; size++) {
+        int[] values = TestUtils.randomIntegerArray(size, -50, 51);
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        parallelSorter.sort(values);
+        assertThat(values).isEqualTo(expected);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testLargeArrays() {
+    int n = 1_000_000;
+    int[] random = TestUtils.randomIntegerArray(n, -1_000_000_000, 1_000_000_000);
+    int[] sorted = new int[n];
+    int[] reversed = new int[n];
+    int[] fewUnique = TestUtils.randomIntegerArray(n, 0, 4);
+    for (int i = 0; i < n; i++) {
+      sorted[i] = i;
+      reversed[i] = n - i;
+    }
+    for (int[] values : new int[][] {random, sorted, reversed, fewUnique}) {
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      sorter.sort(values);
+      assertThat(values).isEqualTo(expected);
+    }
+  }
+}
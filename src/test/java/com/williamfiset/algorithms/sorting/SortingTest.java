@@ -21,7 +21,11 @@ public class SortingTest {
     COUNTING_SORT(new CountingSort()),
     HEAP_SORT(new Heapsort()),
     INSERTION_SORT(new InsertionSort()),
+    LSD_RADIX_SORT(new LsdRadixSort()),
     MERGE_SORT(new MergeSort()),
+    MSD_RADIX_SORT(new MsdRadixSort()),
+    PARALLEL_MERGE_SORT(new ParallelMergeSort()),
+    PARALLEL_QUICK_SORT(new ParallelQuickSort()),
     QUICK_SORT(new QuickSort()),
     QUICK_SORT3(new QuickSort3()),
     RADIX_SORT(new RadixSort()),
@@ -46,7 +50,11 @@ public class SortingTest {
           SortingAlgorithm.COUNTING_SORT,
           SortingAlgorithm.HEAP_SORT,
           SortingAlgorithm.INSERTION_SORT,
+          SortingAlgorithm.LSD_RADIX_SORT,
           SortingAlgorithm.MERGE_SORT,
+          SortingAlgorithm.MSD_RADIX_SORT,
+          SortingAlgorithm.PARALLEL_MERGE_SORT,
+          SortingAlgorithm.PARALLEL_QUICK_SORT,
           SortingAlgorithm.QUICK_SORT,
           SortingAlgorithm.QUICK_SORT3,
           SortingAlgorithm.RADIX_SORT,
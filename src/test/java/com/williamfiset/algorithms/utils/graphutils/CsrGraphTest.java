@@ -0,0 +1,144 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.*;
+
+public class CsrGraphTest {
+
+  static final Random RANDOM = new Random(1234);
+
+  // Returns the targets of the edges leaving u, in the order the graph stores them.
+  static List<Integer> neighbors(CsrGraph graph, int u) {
+    List<Integer> neighbors = new ArrayList<>();
+    for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) neighbors.add(graph.target(e));
+    return neighbors;
+  }
+
+  @Test
+  public void testIllegalEdges() {
+    assertThrows(IllegalArgumentException.class, () -> CsrGraph.builder(-1));
+    CsrGraph.Builder builder = CsrGraph.builder(3);
+    assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, 3));
+    assertThrows(IllegalArgumentException.class, () -> builder.addEdge(-1, 0));
+
+    // All edges must be of the same kind.
+    builder.addEdge(0, 1, 2.5);
+    assertThrows(IllegalStateException.class, () -> builder.addEdge(1, 2));
+    assertThrows(IllegalStateException.class, () -> builder.addEdge(1, 2, 3L));
+    assertThat(builder.numEdges()).isEqualTo(1);
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    CsrGraph graph = CsrGraph.builder(0).build();
+    assertThat(graph.numNodes()).isEqualTo(0);
+    assertThat(graph.numEdges()).isEqualTo(0);
+    assertThat(graph.isWeighted()).isFalse();
+
+    graph = CsrGraph.builder(3).build();
+    for (int u = 0; u < 3; u++) assertThat(graph.outDegree(u)).isEqualTo(0);
+  }
+
+  @Test
+  public void testUnweightedGraph() {
+    CsrGraph graph =
+        CsrGraph.builder(4)
+            .addEdge(2, 3)
+            .addEdge(0, 2)
+            .addEdge(0, 1)
+            .addUndirectedEdge(3, 1)
+            .addEdge(0, 0)
+            .build();
+
+    assertThat(graph.numNodes()).isEqualTo(4);
+    assertThat(graph.numEdges()).isEqualTo(6);
+    assertThat(neighbors(graph, 0)).containsExactly(0, 1, 2).inOrder();
+    assertThat(neighbors(graph, 1)).containsExactly(3);
+    assertThat(neighbors(graph, 2)).containsExactly(3);
+    assertThat(neighbors(graph, 3)).containsExactly(1);
+    assertThat(graph.outDegree(0)).isEqualTo(3);
+    assertThat(graph.hasEdge(0, 2)).isTrue();
+    assertThat(graph.hasEdge(2, 0)).isFalse();
+    assertThat(graph.weight(0)).isEqualTo(1.0);
+    assertThrows(IllegalStateException.class, () -> graph.longWeight(0));
+  }
+
+  // Weights move with their edges when the edges of a node are sorted, and parallel edges stay in
+  // insertion order.
+  @Test
+  public void testWeightsFollowEdges() {
+    CsrGraph graph =
+        CsrGraph.builder(3)
+            .addEdge(0, 2, 20L)
+            .addEdge(0, 1, 10L)
+            .addEdge(0, 2, 21L)
+            .addEdge(1, 0, 5L)
+            .build();
+
+    assertThat(graph.hasLongWeights()).isTrue();
+    assertThat(neighbors(graph, 0)).containsExactly(1, 2, 2).inOrder();
+    assertThat(graph.longWeight(graph.edgeStart(0))).isEqualTo(10L);
+    assertThat(graph.longWeight(graph.edgeStart(0) + 1)).isEqualTo(20L);
+    assertThat(graph.longWeight(graph.edgeStart(0) + 2)).isEqualTo(21L);
+    assertThat(graph.weight(graph.edgeStart(1))).isEqualTo(5.0);
+
+    CsrGraph doubles = CsrGraph.builder(2).addUndirectedEdge(0, 1, 0.5).build();
+    assertThat(doubles.isWeighted()).isTrue();
+    assertThat(doubles.hasLongWeights()).isFalse();
+    assertThat(doubles.weight(doubles.edgeStart(1))).isEqualTo(0.5);
+  }
+
+  @Test
+  public void testTranspose() {
+    CsrGraph graph =
+        CsrGraph.builder(3).addEdge(0, 1, 1.0).addEdge(0, 2, 2.0).addEdge(1, 2, 3.0).build();
+    CsrGraph transpose = graph.transpose();
+
+    assertThat(transpose.numEdges()).isEqualTo(3);
+    assertThat(neighbors(transpose, 0)).isEmpty();
+    assertThat(neighbors(transpose, 1)).containsExactly(0);
+    assertThat(neighbors(transpose, 2)).containsExactly(0, 1).inOrder();
+    assertThat(transpose.weight(transpose.edgeStart(2))).isEqualTo(2.0);
+    assertThat(transpose.weight(transpose.edgeStart(2) + 1)).isEqualTo(3.0);
+  }
+
+  @Test
+  public void testSizeInBytes() {
+    CsrGraph graph = CsrGraph.builder(9).addEdge(0, 1, 1L).addEdge(1, 2, 1L).build();
+    // 10 offsets, 2 targets and 2 weights.
+    assertThat(graph.sizeInBytes()).isEqualTo(4 * 10 + 4 * 2 + 8 * 2);
+  }
+
+  // Builds large random graphs, so that the builder sorts big adjacency lists in parallel, and
+  // compares them against adjacency lists.
+  @Test
+  public void randomGraphs() {
+    for (int n : new int[] {1, 10, 1000}) {
+      int m = 50 * n;
+      List<List<long[]>> expected = new ArrayList<>();
+      for (int i = 0; i < n; i++) expected.add(new ArrayList<>());
+      CsrGraph.Builder builder = CsrGraph.builder(n);
+      for (int i = 0; i < m; i++) {
+        int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+        builder.addEdge(u, v, (long) i);
+        expected.get(u).add(new long[] {v, i});
+      }
+      CsrGraph graph = builder.build();
+
+      assertThat(graph.numEdges()).isEqualTo(m);
+      for (int u = 0; u < n; u++) {
+        // A stable sort by target gives the expected order.
+        List<long[]> edges = expected.get(u);
+        edges.sort(Comparator.comparingLong(edge -> edge[0]));
+        assertThat(graph.outDegree(u)).isEqualTo(edges.size());
+        for (int i = 0, e = graph.edgeStart(u); e < graph.edgeEnd(u); i++, e++) {
+          assertThat((long) graph.target(e)).isEqualTo(edges.get(i)[0]);
+          assertThat(graph.longWeight(e)).isEqualTo(edges.get(i)[1]);
+        }
+      }
+    }
+  }
+}